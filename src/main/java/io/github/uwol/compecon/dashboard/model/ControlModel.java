@@ -28,6 +28,8 @@ import io.github.uwol.compecon.engine.statistics.NotificationListenerModel;
 
 public class ControlModel extends NotificationListenerModel {
 
+	private static final long serialVersionUID = 1L;
+
 	public void deficitSpending(final Currency currency) {
 		ApplicationContext.getInstance().getAgentService().findState(currency).doDeficitSpending();
 	}
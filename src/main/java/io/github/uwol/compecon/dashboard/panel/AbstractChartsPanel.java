@@ -20,6 +20,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.dashboard.panel;
 
 import java.awt.Color;
+import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 
 import javax.swing.JPanel;
@@ -39,6 +40,7 @@ import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
 
 public abstract class AbstractChartsPanel extends JPanel {
 
@@ -55,7 +57,10 @@ public abstract class AbstractChartsPanel extends JPanel {
 		final DateAxis dateAxis = (DateAxis) plot.getDomainAxis();
 		final NumberAxis valueAxis = (NumberAxis) plot.getRangeAxis();
 
-		dateAxis.setDateFormatOverride(new SimpleDateFormat("dd-MMM"));
+		final DateFormat dateFormat = new SimpleDateFormat("dd-MMM");
+		dateFormat.setTimeZone(TimeSystemImpl.TIME_ZONE);
+		dateAxis.setTimeZone(TimeSystemImpl.TIME_ZONE);
+		dateAxis.setDateFormatOverride(dateFormat);
 		valueAxis.setAutoRangeIncludesZero(true);
 		valueAxis.setUpperMargin(0.15);
 		valueAxis.setLowerMargin(0.15);
@@ -22,6 +22,7 @@ package io.github.uwol.compecon.dashboard.panel;
 import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 
 import javax.swing.BoxLayout;
@@ -40,6 +41,7 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
 
 public class ControlPanel extends JPanel implements ModelListener {
 
@@ -233,7 +235,8 @@ public class ControlPanel extends JPanel implements ModelListener {
 	}
 
 	private void refreshDateTime() {
-		dateTimeLabel.setText(
-				new SimpleDateFormat().format(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()));
+		final DateFormat dateFormat = new SimpleDateFormat();
+		dateFormat.setTimeZone(TimeSystemImpl.TIME_ZONE);
+		dateTimeLabel.setText(dateFormat.format(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()));
 	}
 }
@@ -221,14 +221,13 @@ public class LogPanel extends JPanel implements ModelListener {
 
 		@Override
 		public int getRowCount() {
-			// -5, so that concurrent changes in the messages queue do not
-			// produce exceptions
-			return Math.max(agentDetailModel.getCurrentLog().getRows().size() - 5, 0);
+			return agentDetailModel.getCurrentLog().size();
 		}
 
 		@Override
 		public Object getValueAt(final int rowIndex, final int colIndex) {
-			return agentDetailModel.getCurrentLog().getRows().get(rowIndex);
+			// rows are rendered on request
+			return agentDetailModel.getCurrentLog().getRow(rowIndex);
 		}
 
 		@Override
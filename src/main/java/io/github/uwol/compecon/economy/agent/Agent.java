@@ -37,5 +37,12 @@ public interface Agent extends LifecycleEntity, PropertyOwner, MarketParticipant
 
 	public Currency getPrimaryCurrency();
 
+	/**
+	 * @return dense index of the agent in the agent state store of its DAO.
+	 */
+	public int getStateIndex();
+
 	public Set<TimeSystemEvent> getTimeSystemEvents();
+
+	public void setStateIndex(final int stateIndex);
 }
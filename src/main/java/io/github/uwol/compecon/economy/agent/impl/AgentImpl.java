@@ -19,14 +19,17 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.agent.impl;
 
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.behaviour.PricingBehaviour;
+import io.github.uwol.compecon.economy.behaviour.impl.PricingBehaviourImpl;
 import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
 import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.property.GoodTypeOwnership;
 import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.property.PropertyIssued;
 import io.github.uwol.compecon.economy.property.PropertyOwner;
@@ -39,14 +42,20 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.security.debt.Bond;
 import io.github.uwol.compecon.economy.security.equity.Share;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.AgentStateStore;
 import io.github.uwol.compecon.engine.log.Log;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
 
-public abstract class AgentImpl implements Agent {
+public abstract class AgentImpl implements Agent, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	public class BalanceSheetPublicationEvent implements TimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
+
 		@Override
 		public boolean isDeconstructed() {
 			return isDeconstructed;
@@ -80,6 +89,8 @@ public abstract class AgentImpl implements Agent {
 		}
 	};
 
+	protected GoodTypeOwnership goodTypeOwnership;
+
 	protected int id;
 
 	protected boolean isDeconstructed = false;
@@ -94,6 +105,14 @@ public abstract class AgentImpl implements Agent {
 	 */
 	protected double referenceCredit;
 
+	protected int stateIndex = -1;
+
+	/**
+	 * store with the hot state of the agent, or null, if the state is kept in
+	 * fields
+	 */
+	protected AgentStateStore<?> stateStore;
+
 	protected Set<TimeSystemEvent> timeSystemEvents = new HashSet<TimeSystemEvent>();
 
 	protected void assureBankAccountTransactions() {
@@ -158,6 +177,11 @@ public abstract class AgentImpl implements Agent {
 		return bankAccountTransactionsDelegate;
 	}
 
+	@Override
+	public GoodTypeOwnership getGoodTypeOwnership() {
+		return goodTypeOwnership;
+	}
+
 	@Override
 	public int getId() {
 		return id;
@@ -181,6 +205,15 @@ public abstract class AgentImpl implements Agent {
 		return referenceCredit;
 	}
 
+	@Override
+	public int getStateIndex() {
+		return stateIndex;
+	}
+
+	public AgentStateStore<?> getStateStore() {
+		return stateStore;
+	}
+
 	@Override
 	public Set<TimeSystemEvent> getTimeSystemEvents() {
 		return timeSystemEvents;
@@ -250,10 +283,11 @@ public abstract class AgentImpl implements Agent {
 		final Map<GoodType, Double> prices = ApplicationContext.getInstance().getMarketService()
 				.getMarginalMarketPrices(primaryCurrency);
 
-		for (final Entry<GoodType, Double> balanceEntry : ApplicationContext.getInstance().getPropertyService()
-				.getGoodTypeBalances(this).entrySet()) {
-			final GoodType goodType = balanceEntry.getKey();
-			final double amount = balanceEntry.getValue();
+		final double[] balances = ApplicationContext.getInstance().getPropertyService()
+				.getGoodTypeBalancesByOrdinal(this);
+
+		for (final GoodType goodType : GoodType.values()) {
+			final double amount = balances[goodType.ordinal()];
 			final double price = prices.get(goodType);
 
 			if (!Double.isNaN(price)) {
@@ -295,6 +329,23 @@ public abstract class AgentImpl implements Agent {
 		return balanceSheet;
 	}
 
+	/**
+	 * moves the period data of the pricing behaviour into the state store of the
+	 * agent, or back into the pricing behaviour, if the agent has no state store.
+	 */
+	protected void movePricingBehaviourPeriodData(final PricingBehaviour pricingBehaviour) {
+		if (pricingBehaviour instanceof PricingBehaviourImpl) {
+			if (stateStore != null) {
+				((PricingBehaviourImpl) pricingBehaviour).setPeriodData(
+						stateStore.getPricingBehaviourPeriodDataPage(stateIndex),
+						stateStore.getPricingBehaviourPeriodDataOffset(stateIndex));
+			} else {
+				((PricingBehaviourImpl) pricingBehaviour)
+						.setPeriodData(new double[PricingBehaviourImpl.PERIOD_DATA_WIDTH], 0);
+			}
+		}
+	}
+
 	@Override
 	public void onBankCloseBankAccount(final BankAccount bankAccount) {
 		if (bankAccountTransactions == bankAccount) {
@@ -315,6 +366,11 @@ public abstract class AgentImpl implements Agent {
 		this.isDeconstructed = isDeconstructed;
 	}
 
+	@Override
+	public void setGoodTypeOwnership(final GoodTypeOwnership goodTypeOwnership) {
+		this.goodTypeOwnership = goodTypeOwnership;
+	}
+
 	public void setId(final int id) {
 		this.id = id;
 	}
@@ -327,6 +383,20 @@ public abstract class AgentImpl implements Agent {
 		this.referenceCredit = referenceCredit;
 	}
 
+	@Override
+	public void setStateIndex(final int stateIndex) {
+		this.stateIndex = stateIndex;
+	}
+
+	/**
+	 * moves the hot state of the agent into the columns of the state store under
+	 * the state index of the agent, or back into fields, if the state store is
+	 * null.
+	 */
+	public void setStateStore(final AgentStateStore<?> stateStore) {
+		this.stateStore = stateStore;
+	}
+
 	public void setTimeSystemEvents(final Set<TimeSystemEvent> timeSystemEvents) {
 		this.timeSystemEvents = timeSystemEvents;
 	}
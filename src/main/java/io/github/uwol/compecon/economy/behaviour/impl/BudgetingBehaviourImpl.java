@@ -19,23 +19,38 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.behaviour.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.behaviour.BudgetingBehaviour;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.FactoryStateStore;
 import io.github.uwol.compecon.engine.log.Log;
 
 /**
  * This behaviour controls buying decisions.It is injected into an agent (thus
  * compositions instead of inheritance). <br />
  * The key interest rate influences the buying behaviour via a simulated
- * transmission mechanism.
+ * transmission mechanism. <br />
+ * <br />
+ * The data of the behaviour is kept in one array, either owned by the
+ * behaviour or in a page of the {@link FactoryStateStore} of the agent.
  */
-public class BudgetingBehaviourImpl implements BudgetingBehaviour {
+public class BudgetingBehaviourImpl implements BudgetingBehaviour, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// number of doubles per budgeting behaviour in a state store page
+	public static final int DATA_WIDTH = 1;
+
+	protected static final int LAST_MAX_CREDIT_RATE = 0;
 
 	protected final Agent agent;
 
-	protected double lastMaxCreditRate = Double.NaN;
+	protected double[] data = new double[] { Double.NaN };
+
+	protected int dataOffset = 0;
 
 	public BudgetingBehaviourImpl(final Agent agent) {
 		this.agent = agent;
@@ -53,8 +68,8 @@ public class BudgetingBehaviourImpl implements BudgetingBehaviour {
 		 * set / adjust reference credit
 		 */
 
-		if (Double.isNaN(lastMaxCreditRate)) {
-			lastMaxCreditRate = referenceCredit;
+		if (Double.isNaN(data[dataOffset + LAST_MAX_CREDIT_RATE])) {
+			data[dataOffset + LAST_MAX_CREDIT_RATE] = referenceCredit;
 		}
 
 		final double keyInterestRate = ApplicationContext.getInstance().getAgentService().findCentralBank(currency)
@@ -66,8 +81,9 @@ public class BudgetingBehaviourImpl implements BudgetingBehaviour {
 				.getInternalRateOfReturn();
 		final double keyInterestRateTransmissionDamper = ApplicationContext.getInstance()
 				.getConfiguration().budgetingBehaviourConfig.getKeyInterestRateTransmissionDamper();
-		lastMaxCreditRate = lastMaxCreditRate
+		final double lastMaxCreditRate = data[dataOffset + LAST_MAX_CREDIT_RATE]
 				* (1.0 + ((internalRateOfReturn - keyInterestRate) / keyInterestRateTransmissionDamper));
+		data[dataOffset + LAST_MAX_CREDIT_RATE] = lastMaxCreditRate;
 
 		/*
 		 * transmission mechanism
@@ -87,10 +103,20 @@ public class BudgetingBehaviourImpl implements BudgetingBehaviour {
 
 	@Override
 	public double getCreditBasedBudgetCapacity() {
-		return lastMaxCreditRate;
+		return data[dataOffset + LAST_MAX_CREDIT_RATE];
 	}
 
 	private Log getLog() {
 		return ApplicationContext.getInstance().getLog();
 	}
+
+	/**
+	 * moves the data of the behaviour to the given array, e. g. a page of a state
+	 * store.
+	 */
+	public void setData(final double[] data, final int dataOffset) {
+		System.arraycopy(this.data, this.dataOffset, data, dataOffset, DATA_WIDTH);
+		this.data = data;
+		this.dataOffset = dataOffset;
+	}
 }
@@ -19,18 +19,40 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.behaviour.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.agent.impl.AgentImpl;
 import io.github.uwol.compecon.economy.behaviour.PricingBehaviour;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.AgentStateStore;
 import io.github.uwol.compecon.engine.log.Log;
 import io.github.uwol.compecon.math.util.MathUtil;
 
 /**
  * This behaviour controls pricing decisions. It is injected into an agent (thus
- * compositions instead of inheritance).
+ * compositions instead of inheritance). <br />
+ * <br />
+ * The period data is kept in one array with a section per series, either owned
+ * by the behaviour or in a page of the {@link AgentStateStore} of the agent.
  */
-public class PricingBehaviourImpl implements PricingBehaviour {
+public class PricingBehaviourImpl implements PricingBehaviour, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	// periods x, x-1, x-2, x-3, ... of each series
+	protected static final int NUMBER_OF_PERIODS = 10;
+
+	protected static final int OFFERED_AMOUNT = 0;
+
+	// number of doubles per pricing behaviour in a state store page
+	public static final int PERIOD_DATA_WIDTH = 4 * NUMBER_OF_PERIODS;
+
+	protected static final int PRICES = NUMBER_OF_PERIODS;
+
+	protected static final int SOLD_AMOUNT = 2 * NUMBER_OF_PERIODS;
+
+	protected static final int SOLD_VALUE = 3 * NUMBER_OF_PERIODS;
 
 	protected final AgentImpl agent;
 
@@ -40,25 +62,18 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 
 	protected final double initialPriceChangeIncrement;
 
-	double[] offeredAmount_InPeriods = new double[10]; // x, x-1, x-2, x-3,
-														// ...
-
 	protected final Object offeredObject;
 
+	protected double[] periodData;
+
 	protected boolean periodDataInitialized = false;
 
+	protected int periodDataOffset;
+
 	// the decision
 
 	protected double priceChangeIncrement;
 
-	// and the results of this decision
-
-	double[] prices_InPeriods = new double[10]; // x, x-1, x-2, x-3, ...
-
-	double[] soldAmount_InPeriods = new double[10]; // x, x-1, x-2, x-3, ...
-
-	double[] soldValue_InPeriods = new double[10]; // x, x-1, x-2, x-3, ...
-
 	public PricingBehaviourImpl(final AgentImpl agent, final Object offeredObject, final Currency denominatedInCurrency,
 			final double initialPrice) {
 		this(agent, offeredObject, denominatedInCurrency, initialPrice,
@@ -73,15 +88,23 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 		this.denominatedInCurrency = denominatedInCurrency;
 		this.offeredObject = offeredObject;
 		initialPriceChangeIncrement = priceChangeIncrement;
+
+		if (agent.getStateStore() != null) {
+			periodData = agent.getStateStore().getPricingBehaviourPeriodDataPage(agent.getStateIndex());
+			periodDataOffset = agent.getStateStore().getPricingBehaviourPeriodDataOffset(agent.getStateIndex());
+		} else {
+			periodData = new double[PERIOD_DATA_WIDTH];
+			periodDataOffset = 0;
+		}
 	}
 
 	public void assurePeriodDataInitialized() {
 		if (!periodDataInitialized) {
 			if (!Double.isNaN(initialPrice) && !Double.isInfinite(initialPrice)) {
-				prices_InPeriods[0] = initialPrice;
+				periodData[periodDataOffset + PRICES] = initialPrice;
 			} else {
-				prices_InPeriods[0] = ApplicationContext.getInstance().getConfiguration().pricingBehaviourConfig
-						.getDefaultInitialPrice();
+				periodData[periodDataOffset + PRICES] = ApplicationContext.getInstance()
+						.getConfiguration().pricingBehaviourConfig.getDefaultInitialPrice();
 			}
 
 			periodDataInitialized = true;
@@ -111,17 +134,17 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 	}
 
 	protected double calculateNewPrice() {
-		final double oldPrice = prices_InPeriods[1];
+		final double oldPrice = periodData[periodDataOffset + PRICES + 1];
 
-		final String prefix = "offered " + MathUtil.round(offeredAmount_InPeriods[1]) + " units of " + offeredObject
-				+ " for " + Currency.formatMoneySum(prices_InPeriods[1]) + " " + denominatedInCurrency.getIso4217Code()
-				+ " per unit and sold " + MathUtil.round(soldAmount_InPeriods[1]) + " units -> ";
+		final double offeredAmountInLastPeriod = periodData[periodDataOffset + OFFERED_AMOUNT + 1];
+		final double offeredAmountInPenultimatePeriod = periodData[periodDataOffset + OFFERED_AMOUNT + 2];
 
-		final double offeredAmountInLastPeriod = offeredAmount_InPeriods[1];
-		final double offeredAmountInPenultimatePeriod = offeredAmount_InPeriods[2];
+		final double soldAmountInLastPeriod = periodData[periodDataOffset + SOLD_AMOUNT + 1];
+		final double soldAmountInPenultimatePeriod = periodData[periodDataOffset + SOLD_AMOUNT + 2];
 
-		final double soldAmountInLastPeriod = soldAmount_InPeriods[1];
-		final double soldAmountInPenultimatePeriod = soldAmount_InPeriods[2];
+		final String prefix = "offered " + MathUtil.round(offeredAmountInLastPeriod) + " units of " + offeredObject
+				+ " for " + Currency.formatMoneySum(oldPrice) + " " + denominatedInCurrency.getIso4217Code()
+				+ " per unit and sold " + MathUtil.round(soldAmountInLastPeriod) + " units -> ";
 
 		// nothing sold?
 		if (MathUtil.greater(offeredAmountInLastPeriod, 0.0) && MathUtil.lesserEqual(soldAmountInLastPeriod, 0.0)) {
@@ -211,7 +234,7 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 
 	@Override
 	public double getCurrentPrice() {
-		return prices_InPeriods[0];
+		return periodData[periodDataOffset + PRICES];
 	}
 
 	/**
@@ -244,17 +267,17 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 
 	@Override
 	public double getLastOfferedAmount() {
-		return offeredAmount_InPeriods[1];
+		return periodData[periodDataOffset + OFFERED_AMOUNT + 1];
 	}
 
 	@Override
 	public double getLastSoldAmount() {
-		return soldAmount_InPeriods[1];
+		return periodData[periodDataOffset + SOLD_AMOUNT + 1];
 	}
 
 	@Override
 	public double getLastSoldValue() {
-		return soldValue_InPeriods[1];
+		return periodData[periodDataOffset + SOLD_VALUE + 1];
 	}
 
 	private Log getLog() {
@@ -265,44 +288,59 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 	public void nextPeriod() {
 		assurePeriodDataInitialized();
 
-		// shift arrays -> a new period x, old period x becomes period x-1
-		System.arraycopy(prices_InPeriods, 0, prices_InPeriods, 1, prices_InPeriods.length - 1);
-		System.arraycopy(soldAmount_InPeriods, 0, soldAmount_InPeriods, 1, soldAmount_InPeriods.length - 1);
-		System.arraycopy(soldValue_InPeriods, 0, soldValue_InPeriods, 1, soldValue_InPeriods.length - 1);
-		System.arraycopy(offeredAmount_InPeriods, 0, offeredAmount_InPeriods, 1, offeredAmount_InPeriods.length - 1);
+		// shift series -> a new period x, old period x becomes period x-1
+		shiftPeriods(PRICES);
+		shiftPeriods(SOLD_AMOUNT);
+		shiftPeriods(SOLD_VALUE);
+		shiftPeriods(OFFERED_AMOUNT);
 
 		// copy price from last period to current period; important for having a
 		// non-zero price every period
-		prices_InPeriods[0] = prices_InPeriods[1];
-		offeredAmount_InPeriods[0] = 0.0;
-		soldAmount_InPeriods[0] = 0.0;
-		soldValue_InPeriods[0] = 0.0;
+		periodData[periodDataOffset + PRICES] = periodData[periodDataOffset + PRICES + 1];
+		periodData[periodDataOffset + OFFERED_AMOUNT] = 0.0;
+		periodData[periodDataOffset + SOLD_AMOUNT] = 0.0;
+		periodData[periodDataOffset + SOLD_VALUE] = 0.0;
 
-		prices_InPeriods[0] = calculateNewPrice();
+		periodData[periodDataOffset + PRICES] = calculateNewPrice();
 	}
 
 	@Override
 	public void registerOfferedAmount(final double numberOfProducts) {
 		if (!Double.isNaN(numberOfProducts) && !Double.isInfinite(numberOfProducts)) {
-			offeredAmount_InPeriods[0] += numberOfProducts;
+			periodData[periodDataOffset + OFFERED_AMOUNT] += numberOfProducts;
 		}
 	}
 
 	@Override
 	public void registerSelling(final double numberOfProducts, final double totalValue) {
 		if (!Double.isNaN(numberOfProducts) && !Double.isInfinite(numberOfProducts)) {
-			soldAmount_InPeriods[0] += numberOfProducts;
-			soldValue_InPeriods[0] += totalValue;
+			periodData[periodDataOffset + SOLD_AMOUNT] += numberOfProducts;
+			periodData[periodDataOffset + SOLD_VALUE] += totalValue;
 		}
 	}
 
+	/**
+	 * moves the period data to the given array, e. g. into or out of a page of a
+	 * state store.
+	 */
+	public void setPeriodData(final double[] periodData, final int periodDataOffset) {
+		System.arraycopy(this.periodData, this.periodDataOffset, periodData, periodDataOffset, PERIOD_DATA_WIDTH);
+		this.periodData = periodData;
+		this.periodDataOffset = periodDataOffset;
+	}
+
+	protected void shiftPeriods(final int series) {
+		final int start = periodDataOffset + series;
+		System.arraycopy(periodData, start, periodData, start + 1, NUMBER_OF_PERIODS - 1);
+	}
+
 	protected void updatePriceChangeIncrement(final boolean raisingPrice) {
 		if (MathUtil.lesserEqual(priceChangeIncrement, 0.0)) {
 			priceChangeIncrement = initialPriceChangeIncrement;
 		}
 
-		final double priceInLastPeriod = prices_InPeriods[1];
-		final double priceInPenultimatePeriod = prices_InPeriods[2];
+		final double priceInLastPeriod = periodData[periodDataOffset + PRICES + 1];
+		final double priceInPenultimatePeriod = periodData[periodDataOffset + PRICES + 2];
 
 		// price will rise after adaption of price increment
 		if (raisingPrice) {
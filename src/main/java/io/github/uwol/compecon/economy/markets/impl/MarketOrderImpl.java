@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.markets.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.markets.MarketOrder;
 import io.github.uwol.compecon.economy.markets.MarketParticipant;
 import io.github.uwol.compecon.economy.materia.GoodType;
@@ -29,7 +31,9 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 /**
  * http://en.wikipedia.org/wiki/Order_%28exchange%29
  */
-public class MarketOrderImpl implements MarketOrder, Comparable<MarketOrder> {
+public class MarketOrderImpl implements MarketOrder, Comparable<MarketOrder>, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	protected double amount;
 
@@ -30,6 +30,11 @@ import io.github.uwol.compecon.math.utility.UtilityFunction;
  */
 public interface InputOutputModel {
 
+	/**
+	 * production function of factories producing the given good type; a new
+	 * instance is returned on each call, as productivity is set per factory,
+	 * whereas the immutable parameters can be shared between the instances
+	 */
 	public ProductionFunction getProductionFunction(GoodType outputGoodType);
 
 	/**
@@ -37,7 +42,8 @@ public interface InputOutputModel {
 	 * GoodType has to be contained here (at least transitively via the
 	 * input-output-model), so that the corresponding price on the market can come
 	 * to an equilibrium; preference for labour hour has to be high enough, so that
-	 * labour hour prices do not fall endlessly
+	 * labour hour prices do not fall endlessly; the function is immutable and
+	 * can be shared by all households
 	 */
 	public UtilityFunction getUtilityFunctionOfHousehold();
 }
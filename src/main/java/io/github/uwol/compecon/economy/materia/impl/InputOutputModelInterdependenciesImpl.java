@@ -19,66 +19,106 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.materia.impl;
 
+import java.io.Serializable;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.materia.InputOutputModel;
+import io.github.uwol.compecon.math.impl.CESFunctionImpl;
+import io.github.uwol.compecon.math.impl.RootFunctionImpl;
 import io.github.uwol.compecon.math.production.ProductionFunction;
 import io.github.uwol.compecon.math.production.impl.CESProductionFunctionImpl;
 import io.github.uwol.compecon.math.production.impl.RootProductionFunctionImpl;
 import io.github.uwol.compecon.math.utility.UtilityFunction;
 import io.github.uwol.compecon.math.utility.impl.CESUtilityFunctionImpl;
 
-public class InputOutputModelInterdependenciesImpl implements InputOutputModel {
+public class InputOutputModelInterdependenciesImpl implements InputOutputModel, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * immutable functions, which are shared by the production functions of all
+	 * factories of an output good type
+	 */
+	protected final Map<GoodType, CESFunctionImpl<GoodType>> cesFunctions = new EnumMap<GoodType, CESFunctionImpl<GoodType>>(
+			GoodType.class);
+
+	protected final RootFunctionImpl<GoodType> machineFunction = new RootFunctionImpl<GoodType>(GoodType.LABOURHOUR,
+			5.0);
+
+	protected final UtilityFunction utilityFunctionOfHousehold;
+
+	public InputOutputModelInterdependenciesImpl() {
+		final Map<GoodType, Double> parametersIron = new LinkedHashMap<GoodType, Double>();
+		parametersIron.put(GoodType.LABOURHOUR, 0.6);
+		parametersIron.put(GoodType.MACHINE, 0.2);
+		cesFunctions.put(GoodType.IRON, new CESFunctionImpl<GoodType>(50.0, parametersIron, -0.7, 0.65));
+
+		final Map<GoodType, Double> parametersCoal = new LinkedHashMap<GoodType, Double>();
+		parametersCoal.put(GoodType.LABOURHOUR, 0.6);
+		parametersCoal.put(GoodType.MACHINE, 0.2);
+		cesFunctions.put(GoodType.COAL, new CESFunctionImpl<GoodType>(50.0, parametersCoal, -0.7, 0.65));
+
+		final Map<GoodType, Double> parametersCotton = new LinkedHashMap<GoodType, Double>();
+		parametersCotton.put(GoodType.LABOURHOUR, 0.6);
+		parametersCotton.put(GoodType.MACHINE, 0.2);
+		cesFunctions.put(GoodType.COTTON, new CESFunctionImpl<GoodType>(50.0, parametersCotton, -0.7, 0.65));
+
+		final Map<GoodType, Double> parametersWheat = new LinkedHashMap<GoodType, Double>();
+		parametersWheat.put(GoodType.LABOURHOUR, 0.6);
+		parametersWheat.put(GoodType.MACHINE, 0.2);
+		cesFunctions.put(GoodType.WHEAT, new CESFunctionImpl<GoodType>(50.0, parametersWheat, -0.7, 0.65));
+
+		final Map<GoodType, Double> parametersFood = new LinkedHashMap<GoodType, Double>();
+		parametersFood.put(GoodType.WHEAT, 0.6);
+		parametersFood.put(GoodType.LABOURHOUR, 0.1);
+		cesFunctions.put(GoodType.FOOD, new CESFunctionImpl<GoodType>(1.0, parametersFood, -0.8, 0.7));
+
+		final Map<GoodType, Double> parametersKiloWatt = new LinkedHashMap<GoodType, Double>();
+		parametersKiloWatt.put(GoodType.LABOURHOUR, 0.2);
+		parametersKiloWatt.put(GoodType.COAL, 0.4);
+		cesFunctions.put(GoodType.KILOWATT, new CESFunctionImpl<GoodType>(1.0, parametersKiloWatt, -0.8, 0.7));
+
+		final Map<GoodType, Double> parametersClothing = new LinkedHashMap<GoodType, Double>();
+		parametersClothing.put(GoodType.COTTON, 0.5);
+		parametersClothing.put(GoodType.COAL, 0.2);
+		cesFunctions.put(GoodType.CLOTHING, new CESFunctionImpl<GoodType>(1.0, parametersClothing, -0.8, 0.7));
+
+		final Map<GoodType, Double> parametersRealEstate = new LinkedHashMap<GoodType, Double>();
+		parametersRealEstate.put(GoodType.IRON, 0.3);
+		parametersRealEstate.put(GoodType.LABOURHOUR, 0.3);
+		cesFunctions.put(GoodType.REALESTATE, new CESFunctionImpl<GoodType>(1.0, parametersRealEstate, -0.8, 0.7));
+
+		final Map<GoodType, Double> preferences = new LinkedHashMap<GoodType, Double>();
+		preferences.put(GoodType.IRON, 0.2);
+		preferences.put(GoodType.COAL, 0.2);
+		preferences.put(GoodType.COTTON, 0.2);
+		preferences.put(GoodType.WHEAT, 0.2);
+		preferences.put(GoodType.FOOD, 0.2);
+		preferences.put(GoodType.CLOTHING, 0.2);
+		preferences.put(GoodType.REALESTATE, 0.2);
+		preferences.put(GoodType.KILOWATT, 0.2);
+		preferences.put(GoodType.LABOURHOUR, 0.2);
+		utilityFunctionOfHousehold = new CESUtilityFunctionImpl(1.0, preferences, -0.7, 0.5);
+	}
 
 	@Override
 	public ProductionFunction getProductionFunction(final GoodType outputGoodType) {
 		switch (outputGoodType) {
 		case MACHINE:
-			return new RootProductionFunctionImpl(GoodType.LABOURHOUR, 5.0);
+			return new RootProductionFunctionImpl(machineFunction);
 
 		case IRON:
-			final Map<GoodType, Double> parametersIron = new LinkedHashMap<GoodType, Double>();
-			parametersIron.put(GoodType.LABOURHOUR, 0.6);
-			parametersIron.put(GoodType.MACHINE, 0.2);
-			return new CESProductionFunctionImpl(50.0, parametersIron, -0.7, 0.65);
 		case COAL:
-			final Map<GoodType, Double> parametersCoal = new LinkedHashMap<GoodType, Double>();
-			parametersCoal.put(GoodType.LABOURHOUR, 0.6);
-			parametersCoal.put(GoodType.MACHINE, 0.2);
-			return new CESProductionFunctionImpl(50.0, parametersCoal, -0.7, 0.65);
 		case COTTON:
-			final Map<GoodType, Double> parametersCotton = new LinkedHashMap<GoodType, Double>();
-			parametersCotton.put(GoodType.LABOURHOUR, 0.6);
-			parametersCotton.put(GoodType.MACHINE, 0.2);
-			return new CESProductionFunctionImpl(50.0, parametersCotton, -0.7, 0.65);
 		case WHEAT:
-			final Map<GoodType, Double> parametersWheat = new LinkedHashMap<GoodType, Double>();
-			parametersWheat.put(GoodType.LABOURHOUR, 0.6);
-			parametersWheat.put(GoodType.MACHINE, 0.2);
-			return new CESProductionFunctionImpl(50.0, parametersWheat, -0.7, 0.65);
-
 		case FOOD:
-			final Map<GoodType, Double> parametersFood = new LinkedHashMap<GoodType, Double>();
-			parametersFood.put(GoodType.WHEAT, 0.6);
-			parametersFood.put(GoodType.LABOURHOUR, 0.1);
-			return new CESProductionFunctionImpl(1.0, parametersFood, -0.8, 0.7);
 		case KILOWATT:
-			final Map<GoodType, Double> parametersKiloWatt = new LinkedHashMap<GoodType, Double>();
-			parametersKiloWatt.put(GoodType.LABOURHOUR, 0.2);
-			parametersKiloWatt.put(GoodType.COAL, 0.4);
-			return new CESProductionFunctionImpl(1.0, parametersKiloWatt, -0.8, 0.7);
 		case CLOTHING:
-			final Map<GoodType, Double> parametersClothing = new LinkedHashMap<GoodType, Double>();
-			parametersClothing.put(GoodType.COTTON, 0.5);
-			parametersClothing.put(GoodType.COAL, 0.2);
-			return new CESProductionFunctionImpl(1.0, parametersClothing, -0.8, 0.7);
 		case REALESTATE:
-			final Map<GoodType, Double> parametersRealEstate = new LinkedHashMap<GoodType, Double>();
-			parametersRealEstate.put(GoodType.IRON, 0.3);
-			parametersRealEstate.put(GoodType.LABOURHOUR, 0.3);
-			return new CESProductionFunctionImpl(1.0, parametersRealEstate, -0.8, 0.7);
+			return new CESProductionFunctionImpl(cesFunctions.get(outputGoodType));
 
 		default:
 			return null;
@@ -87,16 +127,6 @@ public class InputOutputModelInterdependenciesImpl implements InputOutputModel {
 
 	@Override
 	public UtilityFunction getUtilityFunctionOfHousehold() {
-		final Map<GoodType, Double> preferences = new LinkedHashMap<GoodType, Double>();
-		preferences.put(GoodType.IRON, 0.2);
-		preferences.put(GoodType.COAL, 0.2);
-		preferences.put(GoodType.COTTON, 0.2);
-		preferences.put(GoodType.WHEAT, 0.2);
-		preferences.put(GoodType.FOOD, 0.2);
-		preferences.put(GoodType.CLOTHING, 0.2);
-		preferences.put(GoodType.REALESTATE, 0.2);
-		preferences.put(GoodType.KILOWATT, 0.2);
-		preferences.put(GoodType.LABOURHOUR, 0.2);
-		return new CESUtilityFunctionImpl(1.0, preferences, -0.7, 0.5);
+		return utilityFunctionOfHousehold;
 	}
 }
\ No newline at end of file
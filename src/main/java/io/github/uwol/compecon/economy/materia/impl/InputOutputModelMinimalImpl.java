@@ -19,25 +19,44 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.materia.impl;
 
+import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.materia.InputOutputModel;
+import io.github.uwol.compecon.math.impl.RootFunctionImpl;
 import io.github.uwol.compecon.math.production.ProductionFunction;
 import io.github.uwol.compecon.math.production.impl.RootProductionFunctionImpl;
 import io.github.uwol.compecon.math.utility.UtilityFunction;
 import io.github.uwol.compecon.math.utility.impl.CobbDouglasUtilityFunctionImpl;
 
-public class InputOutputModelMinimalImpl implements InputOutputModel {
+public class InputOutputModelMinimalImpl implements InputOutputModel, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final RootFunctionImpl<GoodType> coalFunction = new RootFunctionImpl<GoodType>(GoodType.LABOURHOUR, 5.0);
+
+	protected final UtilityFunction utilityFunctionOfHousehold;
+
+	protected final RootFunctionImpl<GoodType> wheatFunction = new RootFunctionImpl<GoodType>(GoodType.LABOURHOUR,
+			5.0);
+
+	public InputOutputModelMinimalImpl() {
+		final Map<GoodType, Double> preferences = new LinkedHashMap<GoodType, Double>();
+		preferences.put(GoodType.WHEAT, 0.4);
+		preferences.put(GoodType.COAL, 0.4);
+		preferences.put(GoodType.LABOURHOUR, 0.2);
+		utilityFunctionOfHousehold = new CobbDouglasUtilityFunctionImpl(1.0, preferences);
+	}
 
 	@Override
 	public ProductionFunction getProductionFunction(final GoodType outputGoodType) {
 		switch (outputGoodType) {
 		case COAL:
-			return new RootProductionFunctionImpl(GoodType.LABOURHOUR, 5.0);
+			return new RootProductionFunctionImpl(coalFunction);
 		case WHEAT:
-			return new RootProductionFunctionImpl(GoodType.LABOURHOUR, 5.0);
+			return new RootProductionFunctionImpl(wheatFunction);
 		default:
 			return null;
 		}
@@ -45,10 +64,6 @@ public class InputOutputModelMinimalImpl implements InputOutputModel {
 
 	@Override
 	public UtilityFunction getUtilityFunctionOfHousehold() {
-		final Map<GoodType, Double> preferences = new LinkedHashMap<GoodType, Double>();
-		preferences.put(GoodType.WHEAT, 0.4);
-		preferences.put(GoodType.COAL, 0.4);
-		preferences.put(GoodType.LABOURHOUR, 0.2);
-		return new CobbDouglasUtilityFunctionImpl(1.0, preferences);
+		return utilityFunctionOfHousehold;
 	}
 }
@@ -19,37 +19,57 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.materia.impl;
 
+import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.materia.InputOutputModel;
+import io.github.uwol.compecon.math.impl.RootFunctionImpl;
 import io.github.uwol.compecon.math.production.ProductionFunction;
 import io.github.uwol.compecon.math.production.impl.RootProductionFunctionImpl;
 import io.github.uwol.compecon.math.utility.UtilityFunction;
 import io.github.uwol.compecon.math.utility.impl.CESUtilityFunctionImpl;
 
-public class InputOutputModelNoDependenciesImpl implements InputOutputModel {
+public class InputOutputModelNoDependenciesImpl implements InputOutputModel, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * immutable function, which is shared by the production functions of all
+	 * factories
+	 */
+	protected final RootFunctionImpl<GoodType> labourHourFunction = new RootFunctionImpl<GoodType>(
+			GoodType.LABOURHOUR, 100.0);
+
+	protected final UtilityFunction utilityFunctionOfHousehold;
+
+	public InputOutputModelNoDependenciesImpl() {
+		final Map<GoodType, Double> preferences = new LinkedHashMap<GoodType, Double>();
+		preferences.put(GoodType.IRON, 0.2);
+		preferences.put(GoodType.COAL, 0.2);
+		preferences.put(GoodType.COTTON, 0.2);
+		preferences.put(GoodType.WHEAT, 0.2);
+		preferences.put(GoodType.FOOD, 0.2);
+		preferences.put(GoodType.CLOTHING, 0.2);
+		preferences.put(GoodType.REALESTATE, 0.2);
+		preferences.put(GoodType.KILOWATT, 0.2);
+		preferences.put(GoodType.LABOURHOUR, 0.2);
+		utilityFunctionOfHousehold = new CESUtilityFunctionImpl(1.0, preferences, -0.7, 0.5);
+	}
 
 	@Override
 	public ProductionFunction getProductionFunction(final GoodType outputGoodType) {
 		switch (outputGoodType) {
 		case IRON:
-			return new RootProductionFunctionImpl(GoodType.LABOURHOUR, 100.0);
 		case COAL:
-			return new RootProductionFunctionImpl(GoodType.LABOURHOUR, 100.0);
 		case COTTON:
-			return new RootProductionFunctionImpl(GoodType.LABOURHOUR, 100.0);
 		case WHEAT:
-			return new RootProductionFunctionImpl(GoodType.LABOURHOUR, 100.0);
 		case KILOWATT:
-			return new RootProductionFunctionImpl(GoodType.LABOURHOUR, 100.0);
 		case CLOTHING:
-			return new RootProductionFunctionImpl(GoodType.LABOURHOUR, 100.0);
 		case FOOD:
-			return new RootProductionFunctionImpl(GoodType.LABOURHOUR, 100.0);
 		case REALESTATE:
-			return new RootProductionFunctionImpl(GoodType.LABOURHOUR, 100.0);
+			return new RootProductionFunctionImpl(labourHourFunction);
 
 		default:
 			return null;
@@ -58,16 +78,6 @@ public class InputOutputModelNoDependenciesImpl implements InputOutputModel {
 
 	@Override
 	public UtilityFunction getUtilityFunctionOfHousehold() {
-		final Map<GoodType, Double> preferences = new LinkedHashMap<GoodType, Double>();
-		preferences.put(GoodType.IRON, 0.2);
-		preferences.put(GoodType.COAL, 0.2);
-		preferences.put(GoodType.COTTON, 0.2);
-		preferences.put(GoodType.WHEAT, 0.2);
-		preferences.put(GoodType.FOOD, 0.2);
-		preferences.put(GoodType.CLOTHING, 0.2);
-		preferences.put(GoodType.REALESTATE, 0.2);
-		preferences.put(GoodType.KILOWATT, 0.2);
-		preferences.put(GoodType.LABOURHOUR, 0.2);
-		return new CESUtilityFunctionImpl(1.0, preferences, -0.7, 0.5);
+		return utilityFunctionOfHousehold;
 	}
 }
@@ -19,35 +19,61 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.materia.impl;
 
+import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.materia.InputOutputModel;
+import io.github.uwol.compecon.math.impl.CESFunctionImpl;
+import io.github.uwol.compecon.math.impl.RootFunctionImpl;
 import io.github.uwol.compecon.math.production.ProductionFunction;
 import io.github.uwol.compecon.math.production.impl.CESProductionFunctionImpl;
 import io.github.uwol.compecon.math.production.impl.RootProductionFunctionImpl;
 import io.github.uwol.compecon.math.utility.UtilityFunction;
 import io.github.uwol.compecon.math.utility.impl.CESUtilityFunctionImpl;
 
-public class InputOutputModelTestingImpl implements InputOutputModel {
+public class InputOutputModelTestingImpl implements InputOutputModel, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final CESFunctionImpl<GoodType> coalFunction;
+
+	protected final RootFunctionImpl<GoodType> machineFunction = new RootFunctionImpl<GoodType>(GoodType.LABOURHOUR,
+			5.0);
+
+	protected final UtilityFunction utilityFunctionOfHousehold;
+
+	protected final CESFunctionImpl<GoodType> wheatFunction;
+
+	public InputOutputModelTestingImpl() {
+		final Map<GoodType, Double> parametersWheat = new LinkedHashMap<GoodType, Double>();
+		parametersWheat.put(GoodType.LABOURHOUR, 1.0);
+		parametersWheat.put(GoodType.MACHINE, 0.2);
+		wheatFunction = new CESFunctionImpl<GoodType>(50.0, parametersWheat, -0.7, 0.65);
+
+		final Map<GoodType, Double> parametersCoal = new LinkedHashMap<GoodType, Double>();
+		parametersCoal.put(GoodType.LABOURHOUR, 1.0);
+		parametersCoal.put(GoodType.MACHINE, 0.2);
+		coalFunction = new CESFunctionImpl<GoodType>(50.0, parametersCoal, -0.7, 0.65);
+
+		final Map<GoodType, Double> preferences = new LinkedHashMap<GoodType, Double>();
+		preferences.put(GoodType.WHEAT, 0.3);
+		preferences.put(GoodType.COAL, 0.3);
+		preferences.put(GoodType.LABOURHOUR, 0.3);
+		utilityFunctionOfHousehold = new CESUtilityFunctionImpl(1.0, preferences, -0.7, 0.5);
+	}
 
 	@Override
 	public ProductionFunction getProductionFunction(final GoodType outputGoodType) {
 		switch (outputGoodType) {
 		case MACHINE:
-			return new RootProductionFunctionImpl(GoodType.LABOURHOUR, 5.0);
+			return new RootProductionFunctionImpl(machineFunction);
 
 		case WHEAT:
-			final Map<GoodType, Double> parametersWheat = new LinkedHashMap<GoodType, Double>();
-			parametersWheat.put(GoodType.LABOURHOUR, 1.0);
-			parametersWheat.put(GoodType.MACHINE, 0.2);
-			return new CESProductionFunctionImpl(50.0, parametersWheat, -0.7, 0.65);
+			return new CESProductionFunctionImpl(wheatFunction);
 		case COAL:
-			final Map<GoodType, Double> parametersCoal = new LinkedHashMap<GoodType, Double>();
-			parametersCoal.put(GoodType.LABOURHOUR, 1.0);
-			parametersCoal.put(GoodType.MACHINE, 0.2);
-			return new CESProductionFunctionImpl(50.0, parametersCoal, -0.7, 0.65);
+			return new CESProductionFunctionImpl(coalFunction);
 
 		default:
 			return null;
@@ -56,10 +82,6 @@ public class InputOutputModelTestingImpl implements InputOutputModel {
 
 	@Override
 	public UtilityFunction getUtilityFunctionOfHousehold() {
-		final Map<GoodType, Double> preferences = new LinkedHashMap<GoodType, Double>();
-		preferences.put(GoodType.WHEAT, 0.3);
-		preferences.put(GoodType.COAL, 0.3);
-		preferences.put(GoodType.LABOURHOUR, 0.3);
-		return new CESUtilityFunctionImpl(1.0, preferences, -0.7, 0.5);
+		return utilityFunctionOfHousehold;
 	}
 }
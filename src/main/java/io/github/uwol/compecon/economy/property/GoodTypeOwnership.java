@@ -23,11 +23,28 @@ import java.util.Map;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 
+/**
+ * Amounts of good types owned by a property owner, stored densely by
+ * {@link GoodType#ordinal()}.
+ */
 public interface GoodTypeOwnership {
 
 	public int getId();
 
+	public double getOwnedGoodTypeAmount(final GoodType goodType);
+
+	/**
+	 * @return the live amounts indexed by {@link GoodType#ordinal()}; must not be
+	 *         modified by the caller.
+	 */
+	public double[] getOwnedGoodTypeAmounts();
+
+	/**
+	 * @return a copy of the amounts by good type.
+	 */
 	public Map<GoodType, Double> getOwnedGoodTypes();
 
 	public PropertyOwner getPropertyOwner();
+
+	public void setOwnedGoodTypeAmount(final GoodType goodType, final double amount);
 }
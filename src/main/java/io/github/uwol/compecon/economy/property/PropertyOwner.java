@@ -23,10 +23,18 @@ import io.github.uwol.compecon.economy.LifecycleEntity;
 
 public interface PropertyOwner extends LifecycleEntity {
 
+	/**
+	 * @return the good type ownership of this property owner, which is cached
+	 *         here to avoid DAO lookups on the settlement path, or null.
+	 */
+	public GoodTypeOwnership getGoodTypeOwnership();
+
 	/**
 	 * this method is called after a property transfer from oldOwner to newOwner on
 	 * both property owners.
 	 */
 	public void onPropertyTransferred(final Property property, final PropertyOwner oldOwner,
 			final PropertyOwner newOwner);
+
+	public void setGoodTypeOwnership(final GoodTypeOwnership goodTypeOwnership);
 }
@@ -19,34 +19,46 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.property.impl;
 
-import java.util.HashMap;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.Map;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.GoodTypeOwnership;
 import io.github.uwol.compecon.economy.property.PropertyOwner;
 
-public class GoodTypeOwnershipImpl implements GoodTypeOwnership {
+public class GoodTypeOwnershipImpl implements GoodTypeOwnership, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	protected int id;
 
-	private Map<GoodType, Double> ownedGoodTypes = new HashMap<GoodType, Double>();
+	protected final double[] ownedGoodTypeAmounts = new double[GoodType.values().length];
 
 	protected PropertyOwner propertyOwner;
 
-	public GoodTypeOwnershipImpl() {
-		for (final GoodType goodType : GoodType.values()) {
-			ownedGoodTypes.put(goodType, 0.0);
-		}
-	}
-
 	@Override
 	public int getId() {
 		return id;
 	}
 
+	@Override
+	public double getOwnedGoodTypeAmount(final GoodType goodType) {
+		return ownedGoodTypeAmounts[goodType.ordinal()];
+	}
+
+	@Override
+	public double[] getOwnedGoodTypeAmounts() {
+		return ownedGoodTypeAmounts;
+	}
+
 	@Override
 	public Map<GoodType, Double> getOwnedGoodTypes() {
+		final Map<GoodType, Double> ownedGoodTypes = new EnumMap<GoodType, Double>(GoodType.class);
+		for (final GoodType goodType : GoodType.values()) {
+			ownedGoodTypes.put(goodType, ownedGoodTypeAmounts[goodType.ordinal()]);
+		}
 		return ownedGoodTypes;
 	}
 
@@ -59,8 +71,16 @@ public class GoodTypeOwnershipImpl implements GoodTypeOwnership {
 		this.id = id;
 	}
 
+	@Override
+	public void setOwnedGoodTypeAmount(final GoodType goodType, final double amount) {
+		ownedGoodTypeAmounts[goodType.ordinal()] = amount;
+	}
+
 	public void setOwnedGoodTypes(final Map<GoodType, Double> ownedGoodTypes) {
-		this.ownedGoodTypes = ownedGoodTypes;
+		Arrays.fill(ownedGoodTypeAmounts, 0.0);
+		for (final Map.Entry<GoodType, Double> entry : ownedGoodTypes.entrySet()) {
+			ownedGoodTypeAmounts[entry.getKey().ordinal()] = entry.getValue();
+		}
 	}
 
 	public void setPropertyOwner(final PropertyOwner propertyOwner) {
@@ -69,6 +89,6 @@ public class GoodTypeOwnershipImpl implements GoodTypeOwnership {
 
 	@Override
 	public String toString() {
-		return "id=[" + id + "], propertyOwner=[" + propertyOwner + "], ownedGoodTypes=[" + ownedGoodTypes + "]";
+		return "id=[" + id + "], propertyOwner=[" + propertyOwner + "], ownedGoodTypes=[" + getOwnedGoodTypes() + "]";
 	}
 }
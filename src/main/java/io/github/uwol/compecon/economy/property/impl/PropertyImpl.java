@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.property.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.agent.impl.AgentImpl;
 import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.property.PropertyOwner;
@@ -31,7 +33,9 @@ import io.github.uwol.compecon.engine.dao.PropertyDAO;
  * too. Thus, a property is not deconstructed, when its property owner or its
  * {@link PropertyOwnership} is deconstructed.
  */
-public abstract class PropertyImpl implements Property {
+public abstract class PropertyImpl implements Property, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	protected int id;
 
@@ -24,6 +24,8 @@ import io.github.uwol.compecon.economy.property.PropertyIssued;
 
 public abstract class PropertyIssuedImpl extends PropertyImpl implements PropertyIssued {
 
+	private static final long serialVersionUID = 1L;
+
 	protected Agent issuer;
 
 	protected void assertValidIssuer() {
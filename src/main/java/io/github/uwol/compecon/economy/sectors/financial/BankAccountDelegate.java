@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.sectors.financial;
 
+import java.io.Serializable;
+
 /**
  * interface for delegating to a bank account. Is applied in the context of
  * bonds, shares etc. where the delegate has to identify bank accounts involved
@@ -27,7 +29,7 @@ package io.github.uwol.compecon.economy.sectors.financial;
  * This pattern allows lazy evaluation and loose coupling of bank accounts to
  * bonds, shares etc.
  */
-public interface BankAccountDelegate {
+public interface BankAccountDelegate extends Serializable {
 
 	/**
 	 * the delegated bank account
@@ -0,0 +1,41 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.economy.sectors.financial;
+
+/**
+ * Interest of the bank accounts managed by a bank, calculated in one batch
+ * during the daily interest accrual of the bank.
+ */
+public interface InterestAccrualBatch {
+
+	public BankAccount getBankAccount(final int index);
+
+	/**
+	 * @return interest of the bank account with the given index; positive interest
+	 *         is earned by the customer, negative interest is paid by the customer
+	 */
+	public double getInterest(final int index);
+
+	public double getSumOfDebtInterests();
+
+	public double getSumOfEarnedInterests();
+
+	public int size();
+}
@@ -19,12 +19,16 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.sectors.financial.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.sectors.financial.Bank;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
 import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 
-public class BankAccountImpl implements BankAccount {
+public class BankAccountImpl implements BankAccount, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	protected double balance;
 
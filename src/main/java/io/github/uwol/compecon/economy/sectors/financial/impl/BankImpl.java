@@ -37,6 +37,8 @@ import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 
 public abstract class BankImpl extends JointStockCompanyImpl implements Bank {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * bank account for financing bonds
 	 */
@@ -71,6 +73,11 @@ public abstract class BankImpl extends JointStockCompanyImpl implements Bank {
 		}
 	};
 
+	/**
+	 * buffer for the daily interest accrual of the bank accounts of customers
+	 */
+	protected final InterestAccrualBatchImpl interestAccrualBatch = new InterestAccrualBatchImpl();
+
 	protected void assertBankAccountIsManagedByThisBank(final BankAccount bankAccount) {
 		assert (bankAccount.getManagingBank() == this);
 	}
@@ -214,6 +221,23 @@ public abstract class BankImpl extends JointStockCompanyImpl implements Bank {
 		super.onBankCloseBankAccount(bankAccount);
 	}
 
+	/**
+	 * fills the interest accrual batch with the bank accounts of customers managed
+	 * by this bank
+	 */
+	protected void prepareInterestAccrualBatch() {
+		interestAccrualBatch.clear();
+
+		for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO()
+				.findAllBankAccountsManagedByBank(this)) {
+			if (bankAccount.getOwner() != this) {
+				assert (primaryCurrency.equals(bankAccount.getCurrency()));
+
+				interestAccrualBatch.add(bankAccount);
+			}
+		}
+	}
+
 	@Override
 	public BankAccount openBankAccount(final BankCustomer customer, final Currency currency,
 			final boolean overdraftPossible, final String name, final TermType termType, final MoneyType moneyType) {
@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.sectors.financial.impl;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,7 +49,12 @@ import io.github.uwol.compecon.math.util.MathUtil;
  */
 public class CentralBankImpl extends BankImpl implements CentralBank {
 
+	private static final long serialVersionUID = 1L;
+
 	public class DailyInterestCalculationEvent implements TimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
+
 		@Override
 		public boolean isDeconstructed() {
 			return CentralBankImpl.this.isDeconstructed;
@@ -61,25 +67,32 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 			final double monthlyInterestRate = MathUtil.calculateMonthlyNominalInterestRate(effectiveKeyInterestRate);
 			final double dailyInterestRate = monthlyInterestRate / 30.0;
 
-			for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO()
-					.findAllBankAccountsManagedByBank(CentralBankImpl.this)) {
-				if (bankAccount.getOwner() != CentralBankImpl.this) {
-					assert (CentralBankImpl.this.primaryCurrency.equals(bankAccount.getCurrency()));
-
-					final double dailyInterest = bankAccount.getBalance() * dailyInterestRate;
-
-					// liability account & positive interest rate or asset
-					// account & negative interest rate
-					if (dailyInterest > 0.0) {
-						transferMoneyInternally(CentralBankImpl.this.bankAccountTransactions, bankAccount,
-								dailyInterest);
-					}
-					// asset account & positive interest rate or liability
-					// account & negative interest rate
-					else if (dailyInterest < 0.0) {
-						final double absDailyInterest = -1.0 * dailyInterest;
-						transferMoneyInternally(bankAccount, CentralBankImpl.this.bankAccountTransactions,
-								absDailyInterest);
+			if (ApplicationContext.getInstance().getConfiguration().centralBankConfig.getBatchedInterestAccrual()) {
+				prepareInterestAccrualBatch();
+				interestAccrualBatch.calculate(dailyInterestRate, 1.0);
+				interestAccrualBatch.book(CentralBankImpl.this.bankAccountTransactions);
+				interestAccrualBatch.clear();
+			} else {
+				for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO()
+						.findAllBankAccountsManagedByBank(CentralBankImpl.this)) {
+					if (bankAccount.getOwner() != CentralBankImpl.this) {
+						assert (CentralBankImpl.this.primaryCurrency.equals(bankAccount.getCurrency()));
+
+						final double dailyInterest = bankAccount.getBalance() * dailyInterestRate;
+
+						// liability account & positive interest rate or asset
+						// account & negative interest rate
+						if (dailyInterest > 0.0) {
+							transferMoneyInternally(CentralBankImpl.this.bankAccountTransactions, bankAccount,
+									dailyInterest);
+						}
+						// asset account & positive interest rate or liability
+						// account & negative interest rate
+						else if (dailyInterest < 0.0) {
+							final double absDailyInterest = -1.0 * dailyInterest;
+							transferMoneyInternally(bankAccount, CentralBankImpl.this.bankAccountTransactions,
+									absDailyInterest);
+						}
 					}
 				}
 			}
@@ -97,6 +110,9 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 	}
 
 	public class KeyInterestRateCalculationEvent implements TimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
+
 		protected double calculateEffectiveKeyInterestRate() {
 			final double targetPriceIndexForCurrentPeriod = calculateTargetPriceIndexForPeriod();
 			final double currentPriceIndex = statisticalOffice.getPriceIndex();
@@ -161,6 +177,9 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 	}
 
 	public class MarginalPriceSnapshotEvent implements TimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
+
 		@Override
 		public boolean isDeconstructed() {
 			return CentralBankImpl.this.isDeconstructed;
@@ -177,7 +196,9 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 	 * the purpose of calculating the price index, but generally for offering
 	 * information about markets to agents
 	 */
-	protected class StatisticalOffice {
+	protected class StatisticalOffice implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		protected Map<GoodType, Double> averageMarginalPricesForGoodTypes = new HashMap<GoodType, Double>();
 
@@ -54,8 +54,12 @@ import io.github.uwol.compecon.math.util.MathUtil;
  */
 public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankCustomer {
 
+	private static final long serialVersionUID = 1L;
+
 	public class BondsTradingEvent implements TimeSystemEvent {
 
+		private static final long serialVersionUID = 1L;
+
 		protected double calculateBalanceSumOfPassiveSavingBankAccounts() {
 			// bank accounts of non-banks managed by this bank
 			double balanceSumOfPassiveBankAccounts = 0.0;
@@ -165,6 +169,9 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 	}
 
 	public class CheckMoneyReservesEvent implements TimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
+
 		@Override
 		public boolean isDeconstructed() {
 			return CreditBankImpl.this.isDeconstructed;
@@ -210,6 +217,8 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 
 	public class CurrencyTradeEvent implements TimeSystemEvent {
 
+		private static final long serialVersionUID = 1L;
+
 		protected void buyForeignCurrencyForArbitrage() {
 			final int numberOfForeignCurrencies = bankAccountsCurrencyTrade.keySet().size() - 1;
 
@@ -474,6 +483,9 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 	}
 
 	public class DailyInterestCalculationEvent implements TimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
+
 		@Override
 		public boolean isDeconstructed() {
 			return CreditBankImpl.this.isDeconstructed;
@@ -489,6 +501,11 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 							.findCentralBank(CreditBankImpl.this.primaryCurrency).getEffectiveKeyInterestRate());
 			final double dailyInterestRate = monthlyInterestRate / 30.0;
 
+			if (ApplicationContext.getInstance().getConfiguration().creditBankConfig.getBatchedInterestAccrual()) {
+				onEventBatched(dailyInterestRate);
+				return;
+			}
+
 			for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO()
 					.findAllBankAccountsManagedByBank(CreditBankImpl.this)) {
 				if (bankAccount.getOwner() != CreditBankImpl.this) {
@@ -513,6 +530,22 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 				}
 			}
 		}
+
+		/**
+		 * calculates the interest of all customers in one pass and books it
+		 * internally against a single aggregated booking on the interest bank account
+		 */
+		protected void onEventBatched(final double dailyInterestRate) {
+			prepareInterestAccrualBatch();
+
+			// credit banks add margin on key interest rate
+			interestAccrualBatch.calculate(dailyInterestRate, 1.5);
+
+			getLog().bank_onInterestAccrual(CreditBankImpl.this.bankAccountInterestTransactions,
+					interestAccrualBatch, "interest earned for customer", "debt interest from customer");
+			interestAccrualBatch.book(CreditBankImpl.this.bankAccountInterestTransactions);
+			interestAccrualBatch.clear();
+		}
 	}
 
 	/**
@@ -0,0 +1,158 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.economy.sectors.financial.impl;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.InterestAccrualBatch;
+
+/**
+ * Reusable buffer for the daily interest accrual of the bank accounts managed
+ * by a bank. Balances are gathered into a primitive array, the interest of all
+ * bank accounts is calculated in one pass over this array, and the interest is
+ * booked as per-account deltas against a single aggregated booking on the
+ * interest bank account of the bank.
+ */
+public class InterestAccrualBatchImpl implements InterestAccrualBatch, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	protected double[] balances = new double[16];
+
+	protected BankAccount[] bankAccounts = new BankAccount[16];
+
+	/**
+	 * interest per bank account, see {@link #getInterest(int)}
+	 */
+	protected double[] interests = new double[16];
+
+	protected int size = 0;
+
+	protected double sumOfDebtInterests = 0.0;
+
+	protected double sumOfEarnedInterests = 0.0;
+
+	public void add(final BankAccount bankAccount) {
+		if (size == bankAccounts.length) {
+			bankAccounts = Arrays.copyOf(bankAccounts, size * 2);
+			balances = Arrays.copyOf(balances, size * 2);
+			interests = Arrays.copyOf(interests, size * 2);
+		}
+
+		bankAccounts[size] = bankAccount;
+		balances[size] = bankAccount.getBalance();
+		size++;
+	}
+
+	/**
+	 * books the calculated interests on the bank accounts and the aggregated
+	 * interest on the given interest bank account.
+	 */
+	public void book(final BankAccount interestBankAccount) {
+		for (int i = 0; i < size; i++) {
+			final double interest = interests[i];
+
+			if (interest > 0.0) {
+				bankAccounts[i].deposit(interest);
+			} else if (interest < 0.0) {
+				assert (bankAccounts[i].getBalance() >= -interest || bankAccounts[i].getOverdraftPossible());
+
+				bankAccounts[i].withdraw(-interest);
+			}
+		}
+
+		interestBankAccount.withdraw(sumOfEarnedInterests);
+		interestBankAccount.deposit(sumOfDebtInterests);
+	}
+
+	/**
+	 * calculates the interests of all bank accounts in one pass over the
+	 * balances.
+	 *
+	 * @param debtInterestFactor
+	 *            factor on interest paid by customers, e. g. the margin of credit
+	 *            banks on the key interest rate.
+	 */
+	public void calculate(final double dailyInterestRate, final double debtInterestFactor) {
+		sumOfDebtInterests = 0.0;
+		sumOfEarnedInterests = 0.0;
+
+		for (int i = 0; i < size; i++) {
+			final double dailyInterest = balances[i] * dailyInterestRate;
+
+			// liability account & positive interest rate or asset
+			// account & negative interest rate
+			if (dailyInterest > 0.0) {
+				interests[i] = dailyInterest;
+				sumOfEarnedInterests += dailyInterest;
+			}
+			// asset account & positive interest rate or liability
+			// account & negative interest rate
+			else if (dailyInterest < 0.0) {
+				final double absDailyInterest = -1.0 * dailyInterest * debtInterestFactor;
+				interests[i] = -absDailyInterest;
+				sumOfDebtInterests += absDailyInterest;
+			} else {
+				interests[i] = 0.0;
+			}
+		}
+	}
+
+	/**
+	 * removes all bank accounts, releasing the references to them
+	 */
+	public void clear() {
+		Arrays.fill(bankAccounts, 0, size, null);
+		size = 0;
+		sumOfDebtInterests = 0.0;
+		sumOfEarnedInterests = 0.0;
+	}
+
+	@Override
+	public BankAccount getBankAccount(final int index) {
+		assert (index < size);
+
+		return bankAccounts[index];
+	}
+
+	@Override
+	public double getInterest(final int index) {
+		assert (index < size);
+
+		return interests[index];
+	}
+
+	@Override
+	public double getSumOfDebtInterests() {
+		return sumOfDebtInterests;
+	}
+
+	@Override
+	public double getSumOfEarnedInterests() {
+		return sumOfEarnedInterests;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+}
@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.sectors.household.impl;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -38,6 +39,9 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.security.equity.Share;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.AgentStateStore;
+import io.github.uwol.compecon.engine.dao.HouseholdStateStore;
+import io.github.uwol.compecon.engine.timesystem.NationalEconomyTimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
@@ -52,7 +56,11 @@ import io.github.uwol.compecon.math.utility.UtilityFunction;
  */
 public class HouseholdImpl extends AgentImpl implements Household {
 
-	public class DailyLifeEvent implements TimeSystemEvent {
+	private static final long serialVersionUID = 1L;
+
+	public class DailyLifeEvent implements NationalEconomyTimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
 
 		private double buyGoods(final Map<GoodType, Double> goodsToBuy,
 				final Map<GoodType, PriceFunction> priceFunctions, final double budget) {
@@ -125,7 +133,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			/*
 			 * potentially, call destructor
 			 */
-			if (daysWithoutUtility > DAYS_WITHOUT_UTILITY_UNTIL_DESTRUCTOR) {
+			if (getDaysWithoutUtility() > DAYS_WITHOUT_UTILITY_UNTIL_DESTRUCTOR) {
 				if (!ApplicationContext.getInstance().getTimeSystem().isInitializationPhase()) {
 					deconstruct();
 				}
@@ -139,8 +147,8 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			final int NEW_HOUSEHOLD_FROM_X_DAYS = ApplicationContext.getInstance().getConfiguration().householdConfig
 					.getNewHouseholdFromAgeInDays();
 
-			if (ageInDays >= NEW_HOUSEHOLD_FROM_X_DAYS) {
-				if ((ageInDays - NEW_HOUSEHOLD_FROM_X_DAYS)
+			if (getAgeInDays() >= NEW_HOUSEHOLD_FROM_X_DAYS) {
+				if ((getAgeInDays() - NEW_HOUSEHOLD_FROM_X_DAYS)
 						% ApplicationContext.getInstance().getConfiguration().householdConfig
 								.getNewHouseholdEveryXDays() == 0) {
 					ApplicationContext.getInstance().getHouseholdFactory()
@@ -155,18 +163,18 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			 */
 			if (utility < ApplicationContext.getInstance().getConfiguration().householdConfig
 					.getRequiredUtilityPerDay()) {
-				daysWithoutUtility++;
-				continuousDaysWithUtility = 0;
+				setDaysWithoutUtility(getDaysWithoutUtility() + 1);
+				setContinuousDaysWithUtility(0);
 				if (getLog().isAgentSelectedByClient(HouseholdImpl.this)) {
 					getLog().log(HouseholdImpl.this, DailyLifeEvent.class, "does not have required utility of %s",
 							ApplicationContext.getInstance().getConfiguration().householdConfig
 									.getRequiredUtilityPerDay());
 				}
 			} else {
-				if (daysWithoutUtility > 0) {
-					daysWithoutUtility--;
+				if (getDaysWithoutUtility() > 0) {
+					setDaysWithoutUtility(getDaysWithoutUtility() - 1);
 				}
-				continuousDaysWithUtility++;
+				setContinuousDaysWithUtility(getContinuousDaysWithUtility() + 1);
 			}
 		}
 
@@ -202,6 +210,11 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			return utility;
 		}
 
+		@Override
+		public Currency getCurrency() {
+			return HouseholdImpl.this.primaryCurrency;
+		}
+
 		@Override
 		public boolean isDeconstructed() {
 			return HouseholdImpl.this.isDeconstructed;
@@ -215,7 +228,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 					HouseholdImpl.this.bankAccountTransactions.getCurrency(), GoodType.LABOURHOUR);
 
 			// if not retired
-			if (ageInDays < ApplicationContext.getInstance().getConfiguration().householdConfig
+			if (getAgeInDays() < ApplicationContext.getInstance().getConfiguration().householdConfig
 					.getRetirementAgeInDays()) {
 				/*
 				 * offer labour hours
@@ -246,7 +259,8 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			/*
 			 * potentially call destructor
 			 */
-			if (ageInDays > ApplicationContext.getInstance().getConfiguration().householdConfig.getLifespanInDays()) {
+			if (getAgeInDays() > ApplicationContext.getInstance().getConfiguration().householdConfig
+					.getLifespanInDays()) {
 				deconstruct();
 				return;
 			}
@@ -256,7 +270,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			/*
 			 * simulation mechanics
 			 */
-			ageInDays++;
+			setAgeInDays(getAgeInDays() + 1);
 			labourPower.refresh();
 			pricingBehaviour.nextPeriod();
 
@@ -302,7 +316,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			if (ApplicationContext.getInstance().getConfiguration().householdConfig.getRetirementSaving()) {
 				final Map<Period, Double> intertemporalConsumptionPlan = intertemporalConsumptionFunction
 						.calculateUtilityMaximizingConsumptionPlan(income, bankAccountSavings.getBalance(),
-								keyInterestRate, ageInDays,
+								keyInterestRate, getAgeInDays(),
 								ApplicationContext.getInstance().getConfiguration().householdConfig.getLifespanInDays(),
 								ApplicationContext.getInstance().getConfiguration().householdConfig
 										.getRetirementAgeInDays());
@@ -318,11 +332,11 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			 * logging
 			 */
 			getLog().household_onIncomeWageDividendTransfersConsumptionSaving(primaryCurrency, income,
-					moneySumToConsume, moneySumToSave, pricingBehaviour.getLastSoldValue(), dividendSinceLastPeriod,
-					governmentTransfersSinceLastPeriod);
+					moneySumToConsume, moneySumToSave, pricingBehaviour.getLastSoldValue(),
+					getDividendSinceLastPeriod(), getGovernmentTransfersSinceLastPeriod());
 
-			dividendSinceLastPeriod = 0;
-			governmentTransfersSinceLastPeriod = 0;
+			setDividendSinceLastPeriod(0);
+			setGovernmentTransfersSinceLastPeriod(0);
 
 			if (moneySumToSave > 0.0) {
 				/*
@@ -363,7 +377,9 @@ public class HouseholdImpl extends AgentImpl implements Household {
 		}
 	}
 
-	protected class LabourPower implements Refreshable {
+	protected class LabourPower implements Refreshable, Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		@Override
 		public void exhaust() {
@@ -402,7 +418,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 
 		@Override
 		public void onTransfer(final double amount) {
-			dividendSinceLastPeriod += amount;
+			setDividendSinceLastPeriod(getDividendSinceLastPeriod() + amount);
 		}
 	};
 
@@ -415,7 +431,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 
 		@Override
 		public void onTransfer(final double amount) {
-			governmentTransfersSinceLastPeriod += amount;
+			setGovernmentTransfersSinceLastPeriod(getGovernmentTransfersSinceLastPeriod() + amount);
 		}
 	};
 
@@ -465,6 +481,9 @@ public class HouseholdImpl extends AgentImpl implements Household {
 
 	@Override
 	public int getAgeInDays() {
+		if (stateStore != null) {
+			return ((HouseholdStateStore) stateStore).getAgeInDays(stateIndex);
+		}
 		return ageInDays;
 	}
 
@@ -483,14 +502,34 @@ public class HouseholdImpl extends AgentImpl implements Household {
 
 	@Override
 	public int getContinuousDaysWithUtility() {
+		if (stateStore != null) {
+			return ((HouseholdStateStore) stateStore).getContinuousDaysWithUtility(stateIndex);
+		}
 		return continuousDaysWithUtility;
 	}
 
 	@Override
 	public int getDaysWithoutUtility() {
+		if (stateStore != null) {
+			return ((HouseholdStateStore) stateStore).getDaysWithoutUtility(stateIndex);
+		}
 		return daysWithoutUtility;
 	}
 
+	public double getDividendSinceLastPeriod() {
+		if (stateStore != null) {
+			return ((HouseholdStateStore) stateStore).getDividendSinceLastPeriod(stateIndex);
+		}
+		return dividendSinceLastPeriod;
+	}
+
+	public double getGovernmentTransfersSinceLastPeriod() {
+		if (stateStore != null) {
+			return ((HouseholdStateStore) stateStore).getGovernmentTransfersSinceLastPeriod(stateIndex);
+		}
+		return governmentTransfersSinceLastPeriod;
+	}
+
 	public IntertemporalConsumptionFunction getIntertemporalConsumptionFunction() {
 		return intertemporalConsumptionFunction;
 	}
@@ -587,7 +626,11 @@ public class HouseholdImpl extends AgentImpl implements Household {
 	}
 
 	public void setAgeInDays(final int ageInDays) {
-		this.ageInDays = ageInDays;
+		if (stateStore != null) {
+			((HouseholdStateStore) stateStore).setAgeInDays(stateIndex, ageInDays);
+		} else {
+			this.ageInDays = ageInDays;
+		}
 	}
 
 	public void setBankAccountSavings(final BankAccount bankAccountSavings) {
@@ -595,11 +638,36 @@ public class HouseholdImpl extends AgentImpl implements Household {
 	}
 
 	public void setContinuousDaysWithUtility(final int continuousDaysWithUtility) {
-		this.continuousDaysWithUtility = continuousDaysWithUtility;
+		if (stateStore != null) {
+			((HouseholdStateStore) stateStore).setContinuousDaysWithUtility(stateIndex, continuousDaysWithUtility);
+		} else {
+			this.continuousDaysWithUtility = continuousDaysWithUtility;
+		}
 	}
 
 	public void setDaysWithoutUtility(final int daysWithoutUtility) {
-		this.daysWithoutUtility = daysWithoutUtility;
+		if (stateStore != null) {
+			((HouseholdStateStore) stateStore).setDaysWithoutUtility(stateIndex, daysWithoutUtility);
+		} else {
+			this.daysWithoutUtility = daysWithoutUtility;
+		}
+	}
+
+	public void setDividendSinceLastPeriod(final double dividendSinceLastPeriod) {
+		if (stateStore != null) {
+			((HouseholdStateStore) stateStore).setDividendSinceLastPeriod(stateIndex, dividendSinceLastPeriod);
+		} else {
+			this.dividendSinceLastPeriod = dividendSinceLastPeriod;
+		}
+	}
+
+	public void setGovernmentTransfersSinceLastPeriod(final double governmentTransfersSinceLastPeriod) {
+		if (stateStore != null) {
+			((HouseholdStateStore) stateStore).setGovernmentTransfersSinceLastPeriod(stateIndex,
+					governmentTransfersSinceLastPeriod);
+		} else {
+			this.governmentTransfersSinceLastPeriod = governmentTransfersSinceLastPeriod;
+		}
 	}
 
 	public void setIntertemporalConsumptionFunction(
@@ -611,12 +679,31 @@ public class HouseholdImpl extends AgentImpl implements Household {
 		this.pricingBehaviour = pricingBehaviour;
 	}
 
+	@Override
+	public void setStateStore(final AgentStateStore<?> stateStore) {
+		final int ageInDays = getAgeInDays();
+		final int continuousDaysWithUtility = getContinuousDaysWithUtility();
+		final int daysWithoutUtility = getDaysWithoutUtility();
+		final double dividendSinceLastPeriod = getDividendSinceLastPeriod();
+		final double governmentTransfersSinceLastPeriod = getGovernmentTransfersSinceLastPeriod();
+
+		super.setStateStore(stateStore);
+
+		setAgeInDays(ageInDays);
+		setContinuousDaysWithUtility(continuousDaysWithUtility);
+		setDaysWithoutUtility(daysWithoutUtility);
+		setDividendSinceLastPeriod(dividendSinceLastPeriod);
+		setGovernmentTransfersSinceLastPeriod(governmentTransfersSinceLastPeriod);
+
+		movePricingBehaviourPeriodData(pricingBehaviour);
+	}
+
 	public void setUtilityFunction(final UtilityFunction utilityFunction) {
 		this.utilityFunction = utilityFunction;
 	}
 
 	@Override
 	public String toString() {
-		return super.toString() + ", ageInYears=[" + ageInDays / 365 + "]";
+		return super.toString() + ", ageInYears=[" + getAgeInDays() / 365 + "]";
 	}
 }
@@ -25,12 +25,16 @@ import java.util.Map.Entry;
 
 import io.github.uwol.compecon.economy.behaviour.BudgetingBehaviour;
 import io.github.uwol.compecon.economy.behaviour.PricingBehaviour;
+import io.github.uwol.compecon.economy.behaviour.impl.BudgetingBehaviourImpl;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.industry.Factory;
 import io.github.uwol.compecon.economy.security.equity.impl.JointStockCompanyImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.AgentStateStore;
+import io.github.uwol.compecon.engine.dao.FactoryStateStore;
+import io.github.uwol.compecon.engine.timesystem.NationalEconomyTimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
@@ -44,7 +48,11 @@ import io.github.uwol.compecon.math.util.MathUtil;
  */
 public class FactoryImpl extends JointStockCompanyImpl implements Factory {
 
-	public class ProductionEvent implements TimeSystemEvent {
+	private static final long serialVersionUID = 1L;
+
+	public class ProductionEvent implements NationalEconomyTimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
 
 		protected void buyOptimalProductionFactorsForBudget(final double budget) {
 			if (MathUtil.greater(budget, 0.0)) {
@@ -144,6 +152,11 @@ public class FactoryImpl extends JointStockCompanyImpl implements Factory {
 			}
 		}
 
+		@Override
+		public Currency getCurrency() {
+			return FactoryImpl.this.primaryCurrency;
+		}
+
 		@Override
 		public boolean isDeconstructed() {
 			return FactoryImpl.this.isDeconstructed;
@@ -287,6 +300,27 @@ public class FactoryImpl extends JointStockCompanyImpl implements Factory {
 				.newInstancePricingBehaviour(this, producedGoodType, primaryCurrency, marketPrice);
 		budgetingBehaviour = ApplicationContext.getInstance().getBudgetingBehaviourFactory()
 				.newInstanceBudgetingBehaviour(this);
+
+		moveBudgetingBehaviourData();
+	}
+
+	/**
+	 * moves the data of the budgeting behaviour into the state store of the
+	 * factory, or back into the budgeting behaviour, if the factory has no state
+	 * store.
+	 */
+	protected void moveBudgetingBehaviourData() {
+		if (budgetingBehaviour instanceof BudgetingBehaviourImpl) {
+			if (stateStore != null) {
+				final FactoryStateStore factoryStateStore = (FactoryStateStore) stateStore;
+				((BudgetingBehaviourImpl) budgetingBehaviour).setData(
+						factoryStateStore.getBudgetingBehaviourDataPage(stateIndex),
+						factoryStateStore.getBudgetingBehaviourDataOffset(stateIndex));
+			} else {
+				((BudgetingBehaviourImpl) budgetingBehaviour)
+						.setData(new double[BudgetingBehaviourImpl.DATA_WIDTH], 0);
+			}
+		}
 	}
 
 	@Override
@@ -316,6 +350,14 @@ public class FactoryImpl extends JointStockCompanyImpl implements Factory {
 		this.productionFunction = productionFunction;
 	}
 
+	@Override
+	public void setStateStore(final AgentStateStore<?> stateStore) {
+		super.setStateStore(stateStore);
+
+		moveBudgetingBehaviourData();
+		movePricingBehaviourPeriodData(pricingBehaviour);
+	}
+
 	@Override
 	public String toString() {
 		return super.toString() + ", producedGoodType=[" + producedGoodType + "]";
@@ -46,7 +46,12 @@ import io.github.uwol.compecon.math.util.MathUtil;
 
 public class StateImpl extends AgentImpl implements State {
 
+	private static final long serialVersionUID = 1L;
+
 	public class GovernmentTransferEvent implements TimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
+
 		@Override
 		public boolean isDeconstructed() {
 			return StateImpl.this.isDeconstructed;
@@ -49,8 +49,12 @@ import io.github.uwol.compecon.math.util.MathUtil;
  */
 public class TraderImpl extends JointStockCompanyImpl implements Trader {
 
+	private static final long serialVersionUID = 1L;
+
 	public class ArbitrageTradingEvent implements TimeSystemEvent {
 
+		private static final long serialVersionUID = 1L;
+
 		protected void buyGoodsForArbitrage() {
 			final int numberOfForeignCurrencies = bankAccountsGoodTrade.keySet().size();
 
@@ -35,7 +35,12 @@ import io.github.uwol.compecon.engine.timesystem.impl.HourType;
 
 public abstract class BondImpl extends PropertyIssuedImpl implements Bond {
 
+	private static final long serialVersionUID = 1L;
+
 	public class TransferFaceValueEvent implements TimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
+
 		@Override
 		public boolean isDeconstructed() {
 			return BondImpl.this.isDeconstructed;
@@ -32,7 +32,12 @@ import io.github.uwol.compecon.math.util.MathUtil;
 
 public class FixedRateBondImpl extends BondImpl implements FixedRateBond, Comparable<FixedRateBond> {
 
+	private static final long serialVersionUID = 1L;
+
 	public class TransferCouponEvent implements TimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
+
 		@Override
 		public boolean isDeconstructed() {
 			return FixedRateBondImpl.this.isDeconstructed;
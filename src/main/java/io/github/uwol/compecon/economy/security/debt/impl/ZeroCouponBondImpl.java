@@ -23,6 +23,8 @@ import io.github.uwol.compecon.economy.security.debt.ZeroCouponBond;
 
 public class ZeroCouponBondImpl extends BondImpl implements ZeroCouponBond {
 
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public void initialize() {
 		super.initialize();
@@ -45,7 +45,12 @@ import io.github.uwol.compecon.math.util.MathUtil;
  */
 public abstract class JointStockCompanyImpl extends AgentImpl implements JointStockCompany {
 
+	private static final long serialVersionUID = 1L;
+
 	public class PayDividendEvent implements TimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
+
 		@Override
 		public boolean isDeconstructed() {
 			return JointStockCompanyImpl.this.isDeconstructed;
@@ -25,6 +25,8 @@ import io.github.uwol.compecon.economy.security.equity.Share;
 
 public class ShareImpl extends PropertyIssuedImpl implements Share {
 
+	private static final long serialVersionUID = 1L;
+
 	protected BankAccountDelegate dividendBankAccountDelegate;
 
 	@Override
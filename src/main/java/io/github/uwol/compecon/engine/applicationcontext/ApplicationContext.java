@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.applicationcontext;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.materia.InputOutputModel;
 import io.github.uwol.compecon.engine.dao.BankAccountDAO;
 import io.github.uwol.compecon.engine.dao.CentralBankDAO;
@@ -54,24 +56,69 @@ import io.github.uwol.compecon.engine.service.PropertyService;
 import io.github.uwol.compecon.engine.service.SettlementMarketService;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry;
 import io.github.uwol.compecon.engine.timesystem.TimeSystem;
+import io.github.uwol.compecon.math.utility.impl.OptimalBundleCache;
+
+/**
+ * Holds the components of a simulation. By default, there is one global
+ * instance. To run several simulations concurrently in one JVM, an isolated
+ * instance can be bound to each thread via
+ * {@link #setInstanceForCurrentThread(ApplicationContext)}; it takes precedence
+ * over the global instance in {@link #getInstance()}.
+ */
+public class ApplicationContext implements Serializable {
 
-public class ApplicationContext {
+	private static final long serialVersionUID = 1L;
 
 	protected static ApplicationContext instance;
 
+	protected static final ThreadLocal<ApplicationContext> instanceOfCurrentThread = new ThreadLocal<ApplicationContext>();
+
+	/**
+	 * true, if an instance has ever been bound to a thread; as long as it is
+	 * false, the thread local lookup is skipped
+	 */
+	protected static volatile boolean threadBoundInstances = false;
+
 	// DAOs
 
 	public static ApplicationContext getInstance() {
+		if (threadBoundInstances) {
+			final ApplicationContext threadBoundInstance = instanceOfCurrentThread.get();
+			if (threadBoundInstance != null) {
+				return threadBoundInstance;
+			}
+		}
+
 		if (instance == null) {
 			instance = new ApplicationContext();
 		}
 		return instance;
 	}
 
+	/**
+	 * @return a new instance, which is not yet bound to a thread.
+	 */
+	public static ApplicationContext newInstance() {
+		return new ApplicationContext();
+	}
+
 	public static void setInstance(final ApplicationContext instance) {
 		ApplicationContext.instance = instance;
 	}
 
+	/**
+	 * binds the instance to the current thread, so that all components of a
+	 * simulation running in this thread use it; null unbinds the instance.
+	 */
+	public static void setInstanceForCurrentThread(final ApplicationContext instance) {
+		if (instance == null) {
+			instanceOfCurrentThread.remove();
+		} else {
+			threadBoundInstances = true;
+			instanceOfCurrentThread.set(instance);
+		}
+	}
+
 	protected AgentFactory agentFactory;
 
 	protected AgentService agentService;
@@ -120,6 +167,11 @@ public class ApplicationContext {
 
 	protected ModelRegistry modelRegistry;
 
+	/**
+	 * null, if optimal bundles of utility functions are not cached
+	 */
+	protected OptimalBundleCache optimalBundleCache;
+
 	protected PricingBehaviourFactory pricingBehaviourFactory;
 
 	protected PropertyDAO propertyDAO;
@@ -244,6 +296,10 @@ public class ApplicationContext {
 		return modelRegistry;
 	}
 
+	public OptimalBundleCache getOptimalBundleCache() {
+		return optimalBundleCache;
+	}
+
 	public PricingBehaviourFactory getPricingBehaviourFactory() {
 		return pricingBehaviourFactory;
 	}
@@ -293,9 +349,14 @@ public class ApplicationContext {
 	}
 
 	public void reset() {
-		instance = null;
+		if (threadBoundInstances && instanceOfCurrentThread.get() == this) {
+			// no global garbage collection, as other simulations may be running
+			instanceOfCurrentThread.set(new ApplicationContext());
+		} else {
+			instance = null;
 
-		System.gc();
+			System.gc();
+		}
 	}
 
 	public void setAgentFactory(final AgentFactory agentFactory) {
@@ -394,6 +455,10 @@ public class ApplicationContext {
 		this.modelRegistry = modelRegistry;
 	}
 
+	public void setOptimalBundleCache(final OptimalBundleCache optimalBundleCache) {
+		this.optimalBundleCache = optimalBundleCache;
+	}
+
 	public void setPricingBehaviourFactory(final PricingBehaviourFactory pricingBehaviourFactory) {
 		this.pricingBehaviourFactory = pricingBehaviourFactory;
 	}
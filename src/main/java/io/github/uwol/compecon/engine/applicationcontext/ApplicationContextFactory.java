@@ -19,7 +19,9 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.applicationcontext;
 
+import java.io.File;
 import java.io.IOException;
+import java.sql.SQLException;
 
 import io.github.uwol.compecon.economy.materia.InputOutputModel;
 import io.github.uwol.compecon.economy.materia.impl.InputOutputModelInterdependenciesImpl;
@@ -27,6 +29,8 @@ import io.github.uwol.compecon.economy.materia.impl.InputOutputModelMinimalImpl;
 import io.github.uwol.compecon.economy.materia.impl.InputOutputModelNoDependenciesImpl;
 import io.github.uwol.compecon.economy.materia.impl.InputOutputModelTestingImpl;
 import io.github.uwol.compecon.engine.dao.inmemory.impl.SequenceNumberGeneratorImpl;
+import io.github.uwol.compecon.engine.dao.jdbc.impl.CheckpointEvent;
+import io.github.uwol.compecon.engine.dao.jdbc.impl.JdbcSession;
 import io.github.uwol.compecon.engine.factory.impl.AgentImplFactoryImpl;
 import io.github.uwol.compecon.engine.factory.impl.BankAccountImplFactoryImpl;
 import io.github.uwol.compecon.engine.factory.impl.BudgetingBehaviourFactoryImpl;
@@ -43,13 +47,20 @@ import io.github.uwol.compecon.engine.factory.impl.StateImplFactoryImpl;
 import io.github.uwol.compecon.engine.factory.impl.TraderImplFactoryImpl;
 import io.github.uwol.compecon.engine.log.impl.LogImpl;
 import io.github.uwol.compecon.engine.random.impl.DeterministicNumberGeneratorImpl;
+import io.github.uwol.compecon.engine.runner.impl.HeadlessSimulationRunnerImpl;
 import io.github.uwol.compecon.engine.runner.impl.SimulationRunnerImpl;
 import io.github.uwol.compecon.engine.service.impl.AgentServiceImpl;
 import io.github.uwol.compecon.engine.service.impl.HardCashServiceImpl;
 import io.github.uwol.compecon.engine.service.impl.PropertyServiceImpl;
 import io.github.uwol.compecon.engine.service.impl.SettlementMarketServiceImpl;
+import io.github.uwol.compecon.engine.snapshot.impl.SnapshotReader;
+import io.github.uwol.compecon.engine.snapshot.impl.SnapshotWriter;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry;
+import io.github.uwol.compecon.engine.timesystem.impl.DayType;
+import io.github.uwol.compecon.engine.timesystem.impl.HourType;
+import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
 import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
+import io.github.uwol.compecon.math.utility.impl.OptimalBundleCache;
 
 public class ApplicationContextFactory {
 
@@ -75,8 +86,9 @@ public class ApplicationContextFactory {
 				.setHouseholdDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.HouseholdDAOImpl());
 		ApplicationContext.getInstance()
 				.setFactoryDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.FactoryDAOImpl());
-		ApplicationContext.getInstance()
-				.setMarketOrderDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.MarketOrderDAOImpl());
+
+		configureInMemoryMarketOrderDAO();
+
 		ApplicationContext.getInstance()
 				.setPropertyDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.PropertyDAOImpl());
 		ApplicationContext.getInstance()
@@ -85,6 +97,28 @@ public class ApplicationContextFactory {
 				.setTraderDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.TraderDAOImpl());
 	}
 
+	/**
+	 * Configures the in-memory market order DAO selected in the configuration.
+	 */
+	protected static void configureInMemoryMarketOrderDAO() {
+		switch (ApplicationContext.getInstance().getConfiguration().marketOrderDAOConfig.getMarketOrderDAOSetting()) {
+		case MarketOrderDAOConcurrentOrderBook:
+			ApplicationContext.getInstance().setMarketOrderDAO(
+					new io.github.uwol.compecon.engine.dao.inmemory.impl.ConcurrentMarketOrderBookDAOImpl());
+			break;
+		case MarketOrderDAOOrderBook:
+			ApplicationContext.getInstance().setMarketOrderDAO(
+					new io.github.uwol.compecon.engine.dao.inmemory.impl.MarketOrderBookDAOImpl());
+			break;
+		case MarketOrderDAOSortedSet:
+			ApplicationContext.getInstance()
+					.setMarketOrderDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.MarketOrderDAOImpl());
+			break;
+		default:
+			throw new IllegalStateException("marketOrderDAO not set");
+		}
+	}
+
 	protected static void configureMinimalApplicationContext(final String configurationPropertiesFilename)
 			throws IOException {
 		// reset application context
@@ -151,15 +185,103 @@ public class ApplicationContextFactory {
 
 		ApplicationContext.getInstance().setInputOutputModel(inputOutputModel);
 
+		if (configuration.mathConfig.getOptimalBundleCache()) {
+			ApplicationContext.getInstance().setOptimalBundleCache(new OptimalBundleCache(
+					OptimalBundleCache.DEFAULT_CAPACITY, OptimalBundleCache.DEFAULT_PRICE_PRECISION_BITS));
+		}
+
 		/*
 		 * model registry
 		 */
 		ApplicationContext.getInstance().setModelRegistry(new ModelRegistry(inputOutputModel));
-		ApplicationContext.getInstance().setLog(new LogImpl());
+		ApplicationContext.getInstance().setLog(new LogImpl(ApplicationContext.getInstance().getModelRegistry()));
 
 		/*
 		 * simulation runner
 		 */
-		ApplicationContext.getInstance().setSimulationRunner(new SimulationRunnerImpl());
+		switch (configuration.simulationRunnerConfig.getSimulationRunnerSetting()) {
+		case SimulationRunnerDashboard:
+			ApplicationContext.getInstance().setSimulationRunner(new SimulationRunnerImpl());
+			break;
+		case SimulationRunnerHeadless:
+			ApplicationContext.getInstance().setSimulationRunner(new HeadlessSimulationRunnerImpl());
+			break;
+		default:
+			throw new IllegalStateException("simulationRunner not set");
+		}
 	}
+
+	/**
+	 * Configures the application context with JDBC DAOs, which mirror the entities
+	 * into the database configured in {@link JdbcSession#CONFIGURATION_FILENAME}.
+	 * The in-memory indexes of the DAOs act as a write-behind cache, which is
+	 * flushed by a daily checkpoint. Market orders live at most a day and are kept
+	 * in memory only. The JDBC DAOs cannot be written to snapshots.
+	 *
+	 * @return the JDBC session of the DAOs, which has to be closed after the
+	 *         simulation.
+	 */
+	public static JdbcSession configurePersistentApplicationContext(final String configurationPropertiesFilename)
+			throws IOException {
+
+		configureMinimalApplicationContext(configurationPropertiesFilename);
+
+		final JdbcSession session;
+		try {
+			session = new JdbcSession(JdbcSession.CONFIGURATION_FILENAME);
+		} catch (final SQLException e) {
+			throw new IOException("could not open JDBC session", e);
+		}
+
+		// JDBC DAOs
+
+		ApplicationContext.getInstance()
+				.setBankAccountDAO(new io.github.uwol.compecon.engine.dao.jdbc.impl.BankAccountDAOImpl(session));
+		ApplicationContext.getInstance()
+				.setCentralBankDAO(new io.github.uwol.compecon.engine.dao.jdbc.impl.CentralBankDAOImpl(session));
+		ApplicationContext.getInstance()
+				.setCreditBankDAO(new io.github.uwol.compecon.engine.dao.jdbc.impl.CreditBankDAOImpl(session));
+		ApplicationContext.getInstance().setGoodTypeOwnershipDAO(
+				new io.github.uwol.compecon.engine.dao.jdbc.impl.GoodTypeOwnershipDAOImpl(session));
+		ApplicationContext.getInstance()
+				.setHouseholdDAO(new io.github.uwol.compecon.engine.dao.jdbc.impl.HouseholdDAOImpl(session));
+		ApplicationContext.getInstance()
+				.setFactoryDAO(new io.github.uwol.compecon.engine.dao.jdbc.impl.FactoryDAOImpl(session));
+
+		configureInMemoryMarketOrderDAO();
+
+		ApplicationContext.getInstance()
+				.setPropertyDAO(new io.github.uwol.compecon.engine.dao.jdbc.impl.PropertyDAOImpl(session));
+		ApplicationContext.getInstance()
+				.setStateDAO(new io.github.uwol.compecon.engine.dao.jdbc.impl.StateDAOImpl(session));
+		ApplicationContext.getInstance()
+				.setTraderDAO(new io.github.uwol.compecon.engine.dao.jdbc.impl.TraderDAOImpl(session));
+
+		ApplicationContext.getInstance().getTimeSystem().addEvent(new CheckpointEvent(session), -1, MonthType.EVERY,
+				DayType.EVERY, HourType.HOUR_00);
+
+		return session;
+	}
+
+	/**
+	 * Restores an application context from a snapshot written by
+	 * {@link #writeSnapshot(File)}. The restored application context is not bound
+	 * to any thread and shares no state with other application contexts, so that
+	 * several scenarios can be forked from one snapshot, e. g. via
+	 * {@link ApplicationContext#setInstanceForCurrentThread(ApplicationContext)}.
+	 */
+	public static ApplicationContext readSnapshot(final File file) throws IOException {
+		return (ApplicationContext) new SnapshotReader().read(file);
+	}
+
+	/**
+	 * Writes the current application context to a binary snapshot, i. e. the
+	 * contents of all DAOs, the position of the time system, the state of the
+	 * random number generator and the model registry. The simulation must not run
+	 * while the snapshot is written.
+	 */
+	public static void writeSnapshot(final File file) throws IOException {
+		new SnapshotWriter().write(ApplicationContext.getInstance(), file);
+	}
+
 }
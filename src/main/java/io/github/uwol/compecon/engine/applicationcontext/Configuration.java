@@ -20,6 +20,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.engine.applicationcontext;
 
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -28,12 +29,18 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
 
-public class Configuration {
+public class Configuration implements Serializable {
 
-	public class AgentConfig {
+	private static final long serialVersionUID = 1L;
+
+	public class AgentConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		public HourType balanceSheetPublicationHourType;
 
+		public Boolean columnarStateStore;
+
 		public HourType getBalanceSheetPublicationHourType() {
 			if (balanceSheetPublicationHourType == null) {
 				balanceSheetPublicationHourType = HourType
@@ -41,9 +48,22 @@ public class Configuration {
 			}
 			return balanceSheetPublicationHourType;
 		}
+
+		/**
+		 * hot state of households and factories is kept in primitive columns of the
+		 * state stores of their DAOs instead of fields
+		 */
+		public boolean getColumnarStateStore() {
+			if (columnarStateStore == null) {
+				columnarStateStore = Boolean.parseBoolean(configFile.getProperty("agent.columnarStateStore"));
+			}
+			return columnarStateStore;
+		}
 	}
 
-	public class BudgetingBehaviourConfig {
+	public class BudgetingBehaviourConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		public Double internalRateOfReturn;
 
@@ -66,9 +86,14 @@ public class Configuration {
 		}
 	}
 
-	public class CentralBankConfig {
+	public class CentralBankConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		public class StatisticalOfficeConfig implements Serializable {
+
+			private static final long serialVersionUID = 1L;
 
-		public class StatisticalOfficeConfig {
 			/**
 			 * constraint: sum of weights has to be 1.0
 			 */
@@ -88,6 +113,8 @@ public class Configuration {
 			}
 		}
 
+		public Boolean batchedInterestAccrual;
+
 		public Double defaultEffectiveKeyInterestRate;
 
 		public Double inflationTarget;
@@ -104,6 +131,18 @@ public class Configuration {
 
 		public Double targetPriceIndex;
 
+		/**
+		 * interest of all bank accounts managed by the central bank is calculated in
+		 * one pass and booked against a single aggregated booking
+		 */
+		public boolean getBatchedInterestAccrual() {
+			if (batchedInterestAccrual == null) {
+				batchedInterestAccrual = Boolean
+						.parseBoolean(configFile.getProperty("centralBank.batchedInterestAccrual"));
+			}
+			return batchedInterestAccrual;
+		}
+
 		public double getDefaultEffectiveKeyInterestRate() {
 			if (defaultEffectiveKeyInterestRate == null) {
 				defaultEffectiveKeyInterestRate = Double
@@ -160,7 +199,11 @@ public class Configuration {
 
 	}
 
-	public class CreditBankConfig {
+	public class CreditBankConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		public Boolean batchedInterestAccrual;
 
 		public Double maxCreditForCurrencyTrading;
 
@@ -170,6 +213,18 @@ public class Configuration {
 
 		public Double priceChangeIncrement;
 
+		/**
+		 * interest of all bank accounts managed by a credit bank is calculated in one
+		 * pass and booked against a single aggregated booking
+		 */
+		public boolean getBatchedInterestAccrual() {
+			if (batchedInterestAccrual == null) {
+				batchedInterestAccrual = Boolean
+						.parseBoolean(configFile.getProperty("creditBank.batchedInterestAccrual"));
+			}
+			return batchedInterestAccrual;
+		}
+
 		public double getMaxCreditForCurrencyTrading() {
 			if (maxCreditForCurrencyTrading == null) {
 				maxCreditForCurrencyTrading = Double
@@ -201,7 +256,10 @@ public class Configuration {
 		}
 	}
 
-	public class DashboardConfig {
+	public class DashboardConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
 		public Integer logNumberOfAgentsLogSize;
 
 		public int getLogNumberOfAgentsLogSize() {
@@ -213,7 +271,9 @@ public class Configuration {
 		}
 	}
 
-	public class FactoryConfig {
+	public class FactoryConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		public Double capitalDepreciationRatioPerPeriod;
 
@@ -260,7 +320,9 @@ public class Configuration {
 		}
 	}
 
-	public class HouseholdConfig {
+	public class HouseholdConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		public Integer daysWithoutUtilityUntilDestructor;
 
@@ -358,7 +420,9 @@ public class Configuration {
 		}
 	}
 
-	public class InputOutputModelConfig {
+	public class InputOutputModelConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		public InputOutputModelConfigSetting inputOutputModelSetting;
 
@@ -377,7 +441,9 @@ public class Configuration {
 		InputOutputModelTesting
 	}
 
-	public class JointStockCompanyConfig {
+	public class JointStockCompanyConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		public Integer initialNumberOfShares;
 
@@ -390,12 +456,35 @@ public class Configuration {
 		}
 	}
 
-	public class MathConfig {
+	public class MarketOrderDAOConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		public MarketOrderDAOConfigSetting marketOrderDAOSetting;
+
+		public MarketOrderDAOConfigSetting getMarketOrderDAOSetting() {
+			if (marketOrderDAOSetting == null) {
+				marketOrderDAOSetting = MarketOrderDAOConfigSetting.valueOf(configFile.getProperty("marketOrderDAO"));
+			}
+			assert (marketOrderDAOSetting != null);
+			return marketOrderDAOSetting;
+		}
+	}
+
+	public enum MarketOrderDAOConfigSetting {
+		MarketOrderDAOConcurrentOrderBook, MarketOrderDAOOrderBook, MarketOrderDAOSortedSet
+	}
+
+	public class MathConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		public Double initializationValueForInputFactorsNonZero;
 
 		public Integer numberOfIterations;
 
+		public Boolean optimalBundleCache;
+
 		public double getInitializationValue() {
 			if (initializationValueForInputFactorsNonZero == null) {
 				initializationValueForInputFactorsNonZero = Double
@@ -410,9 +499,22 @@ public class Configuration {
 			}
 			return numberOfIterations;
 		}
+
+		/**
+		 * optimal bundles of homothetic utility functions under fixed prices are
+		 * cached per application context
+		 */
+		public boolean getOptimalBundleCache() {
+			if (optimalBundleCache == null) {
+				optimalBundleCache = Boolean.parseBoolean(configFile.getProperty("math.optimalBundleCache"));
+			}
+			return optimalBundleCache;
+		}
 	}
 
-	public class PricingBehaviourConfig {
+	public class PricingBehaviourConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		public Double defaultInitialPrice;
 
@@ -455,7 +557,29 @@ public class Configuration {
 		}
 	}
 
-	public class StateConfig {
+	public class SimulationRunnerConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		public SimulationRunnerConfigSetting simulationRunnerSetting;
+
+		public SimulationRunnerConfigSetting getSimulationRunnerSetting() {
+			if (simulationRunnerSetting == null) {
+				simulationRunnerSetting = SimulationRunnerConfigSetting
+						.valueOf(configFile.getProperty("simulationRunner"));
+			}
+			assert (simulationRunnerSetting != null);
+			return simulationRunnerSetting;
+		}
+	}
+
+	public enum SimulationRunnerConfigSetting {
+		SimulationRunnerDashboard, SimulationRunnerHeadless
+	}
+
+	public class StateConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		public Double bondMargin;
 
@@ -477,10 +601,14 @@ public class Configuration {
 		}
 	}
 
-	public class TimeSystemConfig {
+	public class TimeSystemConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		public Integer initializationPhaseInDays;
 
+		public Boolean parallelEventExecution;
+
 		public int getInitializationPhaseInDays() {
 			if (initializationPhaseInDays == null) {
 				initializationPhaseInDays = Integer
@@ -488,9 +616,23 @@ public class Configuration {
 			}
 			return initializationPhaseInDays;
 		}
+
+		/**
+		 * events of national economies are executed in one task per currency in
+		 * parallel
+		 */
+		public boolean getParallelEventExecution() {
+			if (parallelEventExecution == null) {
+				parallelEventExecution = Boolean
+						.parseBoolean(configFile.getProperty("timeSystem.parallelEventExecution"));
+			}
+			return parallelEventExecution;
+		}
 	}
 
-	public class TraderConfig {
+	public class TraderConfig implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		public Double arbitrageMargin;
 
@@ -540,10 +682,14 @@ public class Configuration {
 
 	public final JointStockCompanyConfig jointStockCompanyConfig = new JointStockCompanyConfig();
 
+	public final MarketOrderDAOConfig marketOrderDAOConfig = new MarketOrderDAOConfig();
+
 	public final MathConfig mathConfig = new MathConfig();
 
 	public final PricingBehaviourConfig pricingBehaviourConfig = new PricingBehaviourConfig();
 
+	public final SimulationRunnerConfig simulationRunnerConfig = new SimulationRunnerConfig();
+
 	public final StateConfig stateConfig = new StateConfig();
 
 	public final TimeSystemConfig timeSystemConfig = new TimeSystemConfig();
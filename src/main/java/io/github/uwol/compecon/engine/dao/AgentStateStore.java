@@ -0,0 +1,78 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao;
+
+import java.util.List;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+
+/**
+ * Store for hot state of agents, which is kept under a dense state index per
+ * agent instead of in fields of the agent object. Indices of deleted agents are
+ * reused, so that the index range stays dense and agents can be iterated by
+ * index range.
+ */
+public interface AgentStateStore<T extends Agent> {
+
+	/**
+	 * assigns a dense index to the agent and resets its state.
+	 *
+	 * @return the index of the agent.
+	 */
+	public int allocate(final T agent);
+
+	/**
+	 * @return the agent with the given index, or null, if the index is not in use.
+	 */
+	public T get(final int index);
+
+	/**
+	 * @return exclusive upper bound of the indices in use.
+	 */
+	public int getIndexBound();
+
+	/**
+	 * @return offset of the period data of the pricing behaviour of the agent in
+	 *         its page.
+	 */
+	public int getPricingBehaviourPeriodDataOffset(final int index);
+
+	/**
+	 * @return page containing the period data of the pricing behaviour of the
+	 *         agent; the page is never replaced by the store.
+	 */
+	public double[] getPricingBehaviourPeriodDataPage(final int index);
+
+	/**
+	 * @return the agents with indices in the given range, skipping unused
+	 *         indices.
+	 */
+	public List<T> getRange(final int fromIndex, final int toIndex);
+
+	/**
+	 * @return number of agents in the store.
+	 */
+	public int getSize();
+
+	/**
+	 * releases the index of the agent for reuse by subsequently allocated agents
+	 */
+	public void release(final int index);
+}
@@ -30,4 +30,17 @@ public interface FactoryDAO extends GenericDAO<Factory> {
 	public List<Factory> findAllByCurrency(final Currency currency);
 
 	public List<Factory> findAllByCurrencyAndProducedGoodType(final Currency currency, final GoodType producedGoodType);
+
+	/**
+	 * @return factories with a state index in the given range; state indices are only
+	 *         assigned, if the columnar state store is enabled.
+	 */
+	public List<Factory> findAllByStateIndexRange(final int fromIndex, final int toIndex);
+
+	/**
+	 * @return exclusive upper bound of the state indices of factories.
+	 */
+	public int getStateIndexBound();
+
+	public FactoryStateStore getStateStore();
 }
@@ -0,0 +1,40 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao;
+
+import io.github.uwol.compecon.economy.sectors.industry.Factory;
+
+/**
+ * Agent state store with the hot state of factories.
+ */
+public interface FactoryStateStore extends AgentStateStore<Factory> {
+
+	/**
+	 * @return offset of the data of the budgeting behaviour of the factory in its
+	 *         page.
+	 */
+	public int getBudgetingBehaviourDataOffset(final int index);
+
+	/**
+	 * @return page containing the data of the budgeting behaviour of the factory;
+	 *         the page is never replaced by the store.
+	 */
+	public double[] getBudgetingBehaviourDataPage(final int index);
+}
@@ -27,4 +27,17 @@ import io.github.uwol.compecon.economy.sectors.household.Household;
 public interface HouseholdDAO extends GenericDAO<Household> {
 
 	public List<Household> findAllByCurrency(final Currency currency);
+
+	/**
+	 * @return households with a state index in the given range; state indices are only
+	 *         assigned, if the columnar state store is enabled.
+	 */
+	public List<Household> findAllByStateIndexRange(final int fromIndex, final int toIndex);
+
+	/**
+	 * @return exclusive upper bound of the state indices of households.
+	 */
+	public int getStateIndexBound();
+
+	public HouseholdStateStore getStateStore();
 }
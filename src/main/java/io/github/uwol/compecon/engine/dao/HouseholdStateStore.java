@@ -0,0 +1,48 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao;
+
+import io.github.uwol.compecon.economy.sectors.household.Household;
+
+/**
+ * Agent state store with the hot state of households.
+ */
+public interface HouseholdStateStore extends AgentStateStore<Household> {
+
+	public int getAgeInDays(final int index);
+
+	public int getContinuousDaysWithUtility(final int index);
+
+	public int getDaysWithoutUtility(final int index);
+
+	public double getDividendSinceLastPeriod(final int index);
+
+	public double getGovernmentTransfersSinceLastPeriod(final int index);
+
+	public void setAgeInDays(final int index, final int ageInDays);
+
+	public void setContinuousDaysWithUtility(final int index, final int continuousDaysWithUtility);
+
+	public void setDaysWithoutUtility(final int index, final int daysWithoutUtility);
+
+	public void setDividendSinceLastPeriod(final int index, final double dividendSinceLastPeriod);
+
+	public void setGovernmentTransfersSinceLastPeriod(final int index, final double governmentTransfersSinceLastPeriod);
+}
@@ -29,6 +29,14 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 
 public interface MarketOrderDAO extends GenericDAO<MarketOrder> {
 
+	/**
+	 * WARNING: Should only be called from the market order factory, which ensures a
+	 * subsequent Hibernate flush.
+	 *
+	 * @see io.github.uwol.compecon.engine.factory.MarketOrderFactory
+	 */
+	public void decrementAmount(final MarketOrder marketOrder, final double amount);
+
 	/**
 	 * WARNING: Should only be called from the market order factory, which ensures a
 	 * subsequent Hibernate flush.
@@ -83,4 +91,22 @@ public interface MarketOrderDAO extends GenericDAO<MarketOrder> {
 	public Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency, final Currency commodityCurrency);
 
 	public Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency, final GoodType goodType);
+
+	/**
+	 * @return number of reads of market depth, which have been served from an
+	 *         incrementally maintained total.
+	 */
+	public long getNumberOfCacheHits();
+
+	/**
+	 * @return number of reads of market depth, which had to traverse the market
+	 *         orders; 0 for DAOs, which maintain the market depth incrementally.
+	 */
+	public long getNumberOfCacheMisses();
+
+	/**
+	 * @return number of incremental updates of market depth caused by
+	 *         modifications of market orders.
+	 */
+	public long getNumberOfCacheUpdates();
 }
\ No newline at end of file
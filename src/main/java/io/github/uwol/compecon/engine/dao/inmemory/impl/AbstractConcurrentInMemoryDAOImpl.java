@@ -0,0 +1,100 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.inmemory.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.GenericDAO;
+
+/**
+ * In-memory DAO, which does not synchronize on the DAO instance. Entities are
+ * indexed by ids in concurrent maps, ids are drawn from an atomic counter. <br />
+ * <br />
+ * The ids are kept sorted, so that {@link #findAll()} and {@link #findRandom()}
+ * do not depend on hash codes of the entities, and findRandom is reproducible
+ * for a given random number generator.
+ */
+public abstract class AbstractConcurrentInMemoryDAOImpl<T> implements GenericDAO<T>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final ConcurrentMap<T, Integer> idsByInstances = new ConcurrentHashMap<T, Integer>();
+
+	protected final ConcurrentNavigableMap<Integer, T> instancesByIds = new ConcurrentSkipListMap<Integer, T>();
+
+	protected final AtomicInteger lastId = new AtomicInteger(0);
+
+	@Override
+	public void delete(final T entity) {
+		final Integer id = this.idsByInstances.remove(entity);
+		if (id != null) {
+			this.instancesByIds.remove(id);
+		}
+	}
+
+	@Override
+	public T find(final int id) {
+		return this.instancesByIds.get(id);
+	}
+
+	@Override
+	public List<T> findAll() {
+		return new ArrayList<T>(this.instancesByIds.values());
+	}
+
+	@Override
+	public T findRandom() {
+		while (true) {
+			final List<Integer> keys = new ArrayList<Integer>(this.instancesByIds.keySet());
+			final int index = ApplicationContext.getInstance().getRandomNumberGenerator().nextInt(keys.size());
+			final int id = keys.get(index);
+			final T entity = this.instancesByIds.get(id);
+
+			// retry, if the entity has been deleted concurrently
+			if (entity != null) {
+				return entity;
+			}
+		}
+	}
+
+	@Override
+	public void merge(final T entity) {
+		// in-memory entities are never dirty -> no merge necessary
+	}
+
+	@Override
+	public void save(final T entity) {
+		final int id = this.lastId.getAndIncrement();
+
+		if (this.idsByInstances.putIfAbsent(entity, id) != null) {
+			throw new IllegalArgumentException("value already present: " + entity);
+		}
+
+		this.instancesByIds.put(id, entity);
+	}
+}
@@ -26,6 +26,8 @@ import java.util.Map;
 
 public abstract class AbstractDoubleIndexedInMemoryDAOImpl<K, V> extends AbstractIndexedInMemoryDAOImpl<K, V> {
 
+	private static final long serialVersionUID = 1L;
+
 	private final Map<K, List<V>> indexedInstances = new HashMap<K, List<V>>();
 
 	private final Map<V, List<K>> instanceIndexedKeys = new HashMap<V, List<K>>();
@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.dao.inmemory.impl;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,7 +29,9 @@ import com.google.common.collect.HashBiMap;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.dao.GenericDAO;
 
-public abstract class AbstractInMemoryDAOImpl<T> implements GenericDAO<T> {
+public abstract class AbstractInMemoryDAOImpl<T> implements GenericDAO<T>, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	protected BiMap<Integer, T> instancesByIds = HashBiMap.create();
 
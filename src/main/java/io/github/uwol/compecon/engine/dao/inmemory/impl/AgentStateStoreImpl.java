@@ -0,0 +1,250 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.inmemory.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.behaviour.impl.PricingBehaviourImpl;
+import io.github.uwol.compecon.engine.dao.AgentStateStore;
+
+/**
+ * Structure-of-arrays implementation of the agent state store, which keeps the
+ * state of each agent under its index in primitive columns. <br />
+ * <br />
+ * Columns are paged: growing a column appends pages and never moves existing
+ * values, so that pages can be referenced by agents and their behaviours.
+ */
+public class AgentStateStoreImpl<T extends Agent> implements AgentStateStore<T>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * a paged primitive column
+	 */
+	protected abstract static class Column {
+
+		protected abstract void clear(int index);
+
+		protected abstract void ensureCapacity(int index);
+	}
+
+	/**
+	 * paged column of a fixed number of doubles per agent
+	 */
+	public static class DoubleColumn extends Column implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		protected volatile double[][] pages = new double[0][];
+
+		protected final int width;
+
+		public DoubleColumn(final int width) {
+			this.width = width;
+		}
+
+		public void add(final int index, final double value) {
+			pages[index >>> PAGE_SHIFT][(index & PAGE_MASK) * width] += value;
+		}
+
+		@Override
+		protected void clear(final int index) {
+			final int offset = getOffset(index);
+			Arrays.fill(getPage(index), offset, offset + width, 0.0);
+		}
+
+		@Override
+		protected void ensureCapacity(final int index) {
+			final int pageIndex = index >>> PAGE_SHIFT;
+			if (pageIndex >= pages.length) {
+				final double[][] newPages = Arrays.copyOf(pages, pageIndex + 1);
+				for (int i = pages.length; i < newPages.length; i++) {
+					newPages[i] = new double[PAGE_SIZE * width];
+				}
+				pages = newPages;
+			}
+		}
+
+		public double get(final int index) {
+			return pages[index >>> PAGE_SHIFT][(index & PAGE_MASK) * width];
+		}
+
+		/**
+		 * @return offset of the values of the agent in its page.
+		 */
+		public int getOffset(final int index) {
+			return (index & PAGE_MASK) * width;
+		}
+
+		/**
+		 * @return page containing the values of the agent; the page is never
+		 *         replaced by the column.
+		 */
+		public double[] getPage(final int index) {
+			return pages[index >>> PAGE_SHIFT];
+		}
+
+		public int getWidth() {
+			return width;
+		}
+
+		public void set(final int index, final double value) {
+			pages[index >>> PAGE_SHIFT][(index & PAGE_MASK) * width] = value;
+		}
+	}
+
+	/**
+	 * paged column of one int per agent
+	 */
+	public static class IntColumn extends Column implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		protected volatile int[][] pages = new int[0][];
+
+		@Override
+		protected void clear(final int index) {
+			pages[index >>> PAGE_SHIFT][index & PAGE_MASK] = 0;
+		}
+
+		@Override
+		protected void ensureCapacity(final int index) {
+			final int pageIndex = index >>> PAGE_SHIFT;
+			if (pageIndex >= pages.length) {
+				final int[][] newPages = Arrays.copyOf(pages, pageIndex + 1);
+				for (int i = pages.length; i < newPages.length; i++) {
+					newPages[i] = new int[PAGE_SIZE];
+				}
+				pages = newPages;
+			}
+		}
+
+		public int get(final int index) {
+			return pages[index >>> PAGE_SHIFT][index & PAGE_MASK];
+		}
+
+		public void set(final int index, final int value) {
+			pages[index >>> PAGE_SHIFT][index & PAGE_MASK] = value;
+		}
+	}
+
+	protected static final int PAGE_MASK = (1 << 10) - 1;
+
+	protected static final int PAGE_SHIFT = 10;
+
+	protected static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+	protected final List<T> agents = new ArrayList<T>();
+
+	protected final List<Column> columns = new ArrayList<Column>();
+
+	protected int[] freeIndices = new int[16];
+
+	protected int numberOfFreeIndices = 0;
+
+	/**
+	 * period data of the pricing behaviour of each agent, see
+	 * {@link PricingBehaviourImpl#PERIOD_DATA_WIDTH}
+	 */
+	protected final DoubleColumn pricingBehaviourPeriodData = addColumn(
+			new DoubleColumn(PricingBehaviourImpl.PERIOD_DATA_WIDTH));
+
+	protected <C extends Column> C addColumn(final C column) {
+		columns.add(column);
+		return column;
+	}
+
+	@Override
+	public synchronized int allocate(final T agent) {
+		assert (agent != null);
+
+		final int index;
+		if (numberOfFreeIndices > 0) {
+			index = freeIndices[--numberOfFreeIndices];
+			agents.set(index, agent);
+		} else {
+			index = agents.size();
+			agents.add(agent);
+			for (final Column column : columns) {
+				column.ensureCapacity(index);
+			}
+		}
+
+		for (final Column column : columns) {
+			column.clear(index);
+		}
+
+		return index;
+	}
+
+	@Override
+	public synchronized T get(final int index) {
+		return agents.get(index);
+	}
+
+	@Override
+	public synchronized int getIndexBound() {
+		return agents.size();
+	}
+
+	@Override
+	public int getPricingBehaviourPeriodDataOffset(final int index) {
+		return pricingBehaviourPeriodData.getOffset(index);
+	}
+
+	@Override
+	public double[] getPricingBehaviourPeriodDataPage(final int index) {
+		return pricingBehaviourPeriodData.getPage(index);
+	}
+
+	@Override
+	public synchronized List<T> getRange(final int fromIndex, final int toIndex) {
+		final int boundedToIndex = Math.min(toIndex, agents.size());
+		final List<T> agentsInRange = new ArrayList<T>(Math.max(boundedToIndex - fromIndex, 0));
+		for (int i = fromIndex; i < boundedToIndex; i++) {
+			final T agent = agents.get(i);
+			if (agent != null) {
+				agentsInRange.add(agent);
+			}
+		}
+		return agentsInRange;
+	}
+
+	@Override
+	public synchronized int getSize() {
+		return agents.size() - numberOfFreeIndices;
+	}
+
+	@Override
+	public synchronized void release(final int index) {
+		assert (agents.get(index) != null);
+
+		agents.set(index, null);
+
+		if (numberOfFreeIndices == freeIndices.length) {
+			freeIndices = Arrays.copyOf(freeIndices, freeIndices.length * 2);
+		}
+		freeIndices[numberOfFreeIndices++] = index;
+	}
+}
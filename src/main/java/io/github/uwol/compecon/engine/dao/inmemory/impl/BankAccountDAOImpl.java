@@ -34,6 +34,8 @@ import io.github.uwol.compecon.engine.dao.BankAccountDAO;
 public class BankAccountDAOImpl extends AbstractIndexedInMemoryDAOImpl<BankCustomer, BankAccount>
 		implements BankAccountDAO {
 
+	private static final long serialVersionUID = 1L;
+
 	protected Map<Bank, List<BankAccount>> bankAccounts = new HashMap<Bank, List<BankAccount>>();
 
 	/*
@@ -28,6 +28,8 @@ import io.github.uwol.compecon.engine.dao.CentralBankDAO;
 public class CentralBankDAOImpl extends AbstractIndexedInMemoryDAOImpl<Currency, CentralBank>
 		implements CentralBankDAO {
 
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public synchronized CentralBank findByCurrency(final Currency currency) {
 		// should contain only one element
@@ -0,0 +1,345 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.inmemory.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+import io.github.uwol.compecon.economy.markets.MarketParticipant;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.property.Property;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
+
+/**
+ * Market order DAO for concurrent access, which does not synchronize on the DAO
+ * instance. Markets are stored in {@link MarketOrderBook}s like in
+ * {@link MarketOrderBookDAOImpl}, each book is guarded by its own monitor. The
+ * offeror index is striped by the identity hash code of the offerors into
+ * {@link MarketOrderOfferorIndex} instances, each guarded by its own monitor.
+ * <br />
+ * <br />
+ * Operations lock the stripe of the offeror before a book and hold at most one
+ * stripe and one book at a time, so that the lock order is acyclic. Iterators
+ * are snapshots of the book copied under its monitor, so that they are not
+ * invalidated by concurrent modifications. <br />
+ * <br />
+ * Behaviour is identical to {@link MarketOrderDAOImpl}, which serves as the
+ * reference implementation.
+ */
+public class ConcurrentMarketOrderBookDAOImpl extends AbstractConcurrentInMemoryDAOImpl<MarketOrder>
+		implements MarketOrderDAO {
+
+	protected static final int NUMBER_OF_OFFEROR_INDEX_STRIPES = 64;
+
+	private static final long serialVersionUID = 1L;
+
+	protected final MarketOrderBook[][] marketOrderBooksForCurrencies = new MarketOrderBook[Currency
+			.values().length][Currency.values().length];
+
+	protected final MarketOrderBook[][] marketOrderBooksForGoodTypes = new MarketOrderBook[Currency
+			.values().length][GoodType.values().length];
+
+	protected final List<ConcurrentMap<Class<? extends Property>, MarketOrderBook>> marketOrderBooksForPropertyClasses = new ArrayList<ConcurrentMap<Class<? extends Property>, MarketOrderBook>>();
+
+	protected final MarketOrderOfferorIndex[] marketOrderOfferorIndexStripes = new MarketOrderOfferorIndex[NUMBER_OF_OFFEROR_INDEX_STRIPES];
+
+	protected final LongAdder numberOfCacheHits = new LongAdder();
+
+	protected final LongAdder numberOfCacheUpdates = new LongAdder();
+
+	public ConcurrentMarketOrderBookDAOImpl() {
+		for (int i = 0; i < Currency.values().length; i++) {
+			marketOrderBooksForPropertyClasses.add(new ConcurrentHashMap<Class<? extends Property>, MarketOrderBook>());
+
+			for (int j = 0; j < Currency.values().length; j++) {
+				marketOrderBooksForCurrencies[i][j] = new MarketOrderBook();
+			}
+
+			for (int j = 0; j < GoodType.values().length; j++) {
+				marketOrderBooksForGoodTypes[i][j] = new MarketOrderBook();
+			}
+		}
+
+		for (int i = 0; i < NUMBER_OF_OFFEROR_INDEX_STRIPES; i++) {
+			marketOrderOfferorIndexStripes[i] = new MarketOrderOfferorIndex();
+		}
+	}
+
+	@Override
+	public void decrementAmount(final MarketOrder marketOrder, final double amount) {
+		final MarketOrderBook marketOrderBook = getMarketOrderBook(marketOrder);
+
+		if (marketOrderBook != null) {
+			synchronized (marketOrderBook) {
+				marketOrderBook.decrementAmount(marketOrder, amount);
+			}
+			numberOfCacheUpdates.increment();
+		} else {
+			marketOrder.decrementAmount(amount);
+		}
+	}
+
+	@Override
+	public void delete(final MarketOrder marketOrder) {
+		final MarketOrderOfferorIndex marketOrderOfferorIndex = getMarketOrderOfferorIndex(marketOrder.getOfferor());
+
+		synchronized (marketOrderOfferorIndex) {
+			marketOrderOfferorIndex.remove(marketOrder);
+			deleteFromMarketOrderBook(marketOrder);
+		}
+	}
+
+	@Override
+	public void deleteAllSellingOrders(final MarketParticipant offeror) {
+		final MarketOrderOfferorIndex marketOrderOfferorIndex = getMarketOrderOfferorIndex(offeror);
+
+		synchronized (marketOrderOfferorIndex) {
+			final List<Map<Object, Set<MarketOrder>>> marketOrdersForCurrencies = marketOrderOfferorIndex
+					.removeAll(offeror);
+			if (marketOrdersForCurrencies != null) {
+				for (final Map<Object, Set<MarketOrder>> marketOrdersForMarketKeys : marketOrdersForCurrencies) {
+					if (marketOrdersForMarketKeys != null) {
+						for (final Set<MarketOrder> marketOrders : marketOrdersForMarketKeys.values()) {
+							for (final MarketOrder marketOrder : marketOrders) {
+								deleteFromMarketOrderBook(marketOrder);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public void deleteAllSellingOrders(final MarketParticipant offeror, final Currency currency,
+			final Class<? extends Property> propertyClass) {
+		deleteAllSellingOrdersForMarketKey(offeror, currency, propertyClass);
+	}
+
+	@Override
+	public void deleteAllSellingOrders(final MarketParticipant offeror, final Currency currency,
+			final Currency commodityCurrency) {
+		deleteAllSellingOrdersForMarketKey(offeror, currency, commodityCurrency);
+	}
+
+	@Override
+	public void deleteAllSellingOrders(final MarketParticipant offeror, final Currency currency,
+			final GoodType goodType) {
+		deleteAllSellingOrdersForMarketKey(offeror, currency, goodType);
+	}
+
+	protected void deleteAllSellingOrdersForMarketKey(final MarketParticipant offeror, final Currency currency,
+			final Object marketKey) {
+		final MarketOrderOfferorIndex marketOrderOfferorIndex = getMarketOrderOfferorIndex(offeror);
+
+		synchronized (marketOrderOfferorIndex) {
+			final Set<MarketOrder> marketOrders = marketOrderOfferorIndex.removeAll(offeror, currency, marketKey);
+			if (marketOrders != null) {
+				for (final MarketOrder marketOrder : marketOrders) {
+					deleteFromMarketOrderBook(marketOrder);
+				}
+			}
+		}
+	}
+
+	/**
+	 * deletes the market order from its market order book and the id index, but
+	 * not from the offeror index
+	 */
+	protected void deleteFromMarketOrderBook(final MarketOrder marketOrder) {
+		final MarketOrderBook marketOrderBook = getMarketOrderBook(marketOrder);
+
+		if (marketOrderBook != null) {
+			synchronized (marketOrderBook) {
+				marketOrderBook.remove(marketOrder);
+			}
+			numberOfCacheUpdates.increment();
+		}
+
+		super.delete(marketOrder);
+	}
+
+	@Override
+	public double findMarginalPrice(final Currency currency, final Class<? extends Property> propertyClass) {
+		return getMarginalPrice(getMarketOrderBook(currency, MarketOrderDAOUtil.getIndexInterface(propertyClass)));
+	}
+
+	@Override
+	public double findMarginalPrice(final Currency currency, final Currency commodityCurrency) {
+		return getMarginalPrice(getMarketOrderBook(currency, commodityCurrency));
+	}
+
+	@Override
+	public double findMarginalPrice(final Currency currency, final GoodType goodType) {
+		return getMarginalPrice(getMarketOrderBook(currency, goodType));
+	}
+
+	@Override
+	public double getAmountSum(final Currency currency, final Currency commodityCurrency) {
+		return getAmountSum(getMarketOrderBook(currency, commodityCurrency));
+	}
+
+	@Override
+	public double getAmountSum(final Currency currency, final GoodType goodType) {
+		return getAmountSum(getMarketOrderBook(currency, goodType));
+	}
+
+	protected double getAmountSum(final MarketOrderBook marketOrderBook) {
+		numberOfCacheHits.increment();
+
+		synchronized (marketOrderBook) {
+			return marketOrderBook.getAmountSum();
+		}
+	}
+
+	@Override
+	public Iterator<MarketOrder> getIterator(final Currency currency, final Class<? extends Property> propertyClass) {
+		return getSnapshotIterator(getMarketOrderBook(currency, MarketOrderDAOUtil.getIndexInterface(propertyClass)));
+	}
+
+	@Override
+	public Iterator<MarketOrder> getIterator(final Currency currency, final Currency commodityCurrency) {
+		return getSnapshotIterator(getMarketOrderBook(currency, commodityCurrency));
+	}
+
+	@Override
+	public Iterator<MarketOrder> getIterator(final Currency currency, final GoodType goodType) {
+		return getSnapshotIterator(getMarketOrderBook(currency, goodType));
+	}
+
+	@Override
+	public Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency, final Currency commodityCurrency) {
+		return getSnapshotIterator(getMarketOrderBook(currency, commodityCurrency));
+	}
+
+	@Override
+	public Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency, final GoodType goodType) {
+		return getSnapshotIterator(getMarketOrderBook(currency, goodType));
+	}
+
+	protected double getMarginalPrice(final MarketOrderBook marketOrderBook) {
+		synchronized (marketOrderBook) {
+			return marketOrderBook.getMarginalPrice();
+		}
+	}
+
+	protected MarketOrderBook getMarketOrderBook(final Currency currency,
+			final Class<? extends Property> propertyIndexInterface) {
+		final ConcurrentMap<Class<? extends Property>, MarketOrderBook> marketOrderBooksForCurrency = marketOrderBooksForPropertyClasses
+				.get(currency.ordinal());
+
+		MarketOrderBook marketOrderBook = marketOrderBooksForCurrency.get(propertyIndexInterface);
+		if (marketOrderBook == null) {
+			final MarketOrderBook newMarketOrderBook = new MarketOrderBook();
+			marketOrderBook = marketOrderBooksForCurrency.putIfAbsent(propertyIndexInterface, newMarketOrderBook);
+			if (marketOrderBook == null) {
+				marketOrderBook = newMarketOrderBook;
+			}
+		}
+		return marketOrderBook;
+	}
+
+	protected MarketOrderBook getMarketOrderBook(final Currency currency, final Currency commodityCurrency) {
+		return marketOrderBooksForCurrencies[currency.ordinal()][commodityCurrency.ordinal()];
+	}
+
+	protected MarketOrderBook getMarketOrderBook(final Currency currency, final GoodType goodType) {
+		return marketOrderBooksForGoodTypes[currency.ordinal()][goodType.ordinal()];
+	}
+
+	/**
+	 * @return the market order book, which contains the given market order, or
+	 *         null for market orders without commodity.
+	 */
+	protected MarketOrderBook getMarketOrderBook(final MarketOrder marketOrder) {
+		if (marketOrder.getGoodType() != null) {
+			return getMarketOrderBook(marketOrder.getCurrency(), marketOrder.getGoodType());
+		}
+
+		if (marketOrder.getCommodityCurrency() != null) {
+			return getMarketOrderBook(marketOrder.getCurrency(), marketOrder.getCommodityCurrency());
+		}
+
+		if (marketOrder.getProperty() != null) {
+			return getMarketOrderBook(marketOrder.getCurrency(),
+					MarketOrderDAOUtil.getIndexInterface(marketOrder.getProperty().getClass()));
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return the stripe of the offeror index, which is responsible for the
+	 *         offeror; market orders without offeror map to the first stripe.
+	 */
+	protected MarketOrderOfferorIndex getMarketOrderOfferorIndex(final MarketParticipant offeror) {
+		final int hash = System.identityHashCode(offeror);
+		return marketOrderOfferorIndexStripes[(hash ^ (hash >>> 16)) & (NUMBER_OF_OFFEROR_INDEX_STRIPES - 1)];
+	}
+
+	@Override
+	public long getNumberOfCacheHits() {
+		return numberOfCacheHits.sum();
+	}
+
+	@Override
+	public long getNumberOfCacheMisses() {
+		return 0;
+	}
+
+	@Override
+	public long getNumberOfCacheUpdates() {
+		return numberOfCacheUpdates.sum();
+	}
+
+	protected Iterator<MarketOrder> getSnapshotIterator(final MarketOrderBook marketOrderBook) {
+		synchronized (marketOrderBook) {
+			return marketOrderBook.toList().iterator();
+		}
+	}
+
+	@Override
+	public void save(final MarketOrder marketOrder) {
+		final MarketOrderOfferorIndex marketOrderOfferorIndex = getMarketOrderOfferorIndex(marketOrder.getOfferor());
+
+		synchronized (marketOrderOfferorIndex) {
+			final MarketOrderBook marketOrderBook = getMarketOrderBook(marketOrder);
+
+			if (marketOrderBook != null) {
+				synchronized (marketOrderBook) {
+					marketOrderBook.add(marketOrder);
+				}
+				numberOfCacheUpdates.increment();
+			}
+
+			marketOrderOfferorIndex.add(marketOrder);
+
+			super.save(marketOrder);
+		}
+	}
+}
@@ -28,6 +28,8 @@ import io.github.uwol.compecon.engine.dao.CreditBankDAO;
 
 public class CreditBankDAOImpl extends AbstractIndexedInMemoryDAOImpl<Currency, CreditBank> implements CreditBankDAO {
 
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public synchronized List<CreditBank> findAllByCurrency(final Currency currency) {
 		return getInstancesForKey(currency);
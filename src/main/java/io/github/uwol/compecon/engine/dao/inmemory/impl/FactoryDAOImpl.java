@@ -25,10 +25,26 @@ import java.util.List;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.industry.Factory;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.dao.FactoryDAO;
+import io.github.uwol.compecon.engine.dao.FactoryStateStore;
 
 public class FactoryDAOImpl extends AbstractIndexedInMemoryDAOImpl<Currency, Factory> implements FactoryDAO {
 
+	private static final long serialVersionUID = 1L;
+
+	protected final FactoryStateStore stateStore = new FactoryStateStoreImpl();
+
+	@Override
+	public synchronized void delete(final Factory entity) {
+		if (entity.getStateIndex() >= 0) {
+			stateStore.release(entity.getStateIndex());
+			entity.setStateIndex(-1);
+		}
+
+		super.delete(entity);
+	}
+
 	@Override
 	public synchronized List<Factory> findAllByCurrency(final Currency currency) {
 		return getInstancesForKey(currency);
@@ -46,8 +62,27 @@ public class FactoryDAOImpl extends AbstractIndexedInMemoryDAOImpl<Currency, Fac
 		return factoriesProducingGoodType;
 	}
 
+	@Override
+	public synchronized List<Factory> findAllByStateIndexRange(final int fromIndex, final int toIndex) {
+		return stateStore.getRange(fromIndex, toIndex);
+	}
+
+	@Override
+	public synchronized int getStateIndexBound() {
+		return stateStore.getIndexBound();
+	}
+
+	@Override
+	public FactoryStateStore getStateStore() {
+		return stateStore;
+	}
+
 	@Override
 	public synchronized void save(final Factory entity) {
+		if (ApplicationContext.getInstance().getConfiguration().agentConfig.getColumnarStateStore()) {
+			entity.setStateIndex(stateStore.allocate(entity));
+		}
+
 		super.save(entity.getPrimaryCurrency(), entity);
 	}
 }
@@ -0,0 +1,46 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.inmemory.impl;
+
+import io.github.uwol.compecon.economy.behaviour.impl.BudgetingBehaviourImpl;
+import io.github.uwol.compecon.economy.sectors.industry.Factory;
+import io.github.uwol.compecon.engine.dao.FactoryStateStore;
+
+public class FactoryStateStoreImpl extends AgentStateStoreImpl<Factory> implements FactoryStateStore {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * data of the budgeting behaviour of each factory, see
+	 * {@link BudgetingBehaviourImpl#DATA_WIDTH}
+	 */
+	protected final DoubleColumn budgetingBehaviourData = addColumn(
+			new DoubleColumn(BudgetingBehaviourImpl.DATA_WIDTH));
+
+	@Override
+	public int getBudgetingBehaviourDataOffset(final int index) {
+		return budgetingBehaviourData.getOffset(index);
+	}
+
+	@Override
+	public double[] getBudgetingBehaviourDataPage(final int index) {
+		return budgetingBehaviourData.getPage(index);
+	}
+}
@@ -29,6 +29,8 @@ import io.github.uwol.compecon.engine.dao.GoodTypeOwnershipDAO;
 public class GoodTypeOwnershipDAOImpl extends AbstractIndexedInMemoryDAOImpl<PropertyOwner, GoodTypeOwnership>
 		implements GoodTypeOwnershipDAO {
 
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public synchronized List<GoodTypeOwnership> findAllByPropertyOwner(final PropertyOwner propertyOwner) {
 		final List<GoodTypeOwnership> goodTypeOwnerships = getInstancesForKey(propertyOwner);
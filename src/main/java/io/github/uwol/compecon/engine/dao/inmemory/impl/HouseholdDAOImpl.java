@@ -23,17 +23,52 @@ import java.util.List;
 
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.dao.HouseholdDAO;
+import io.github.uwol.compecon.engine.dao.HouseholdStateStore;
 
 public class HouseholdDAOImpl extends AbstractIndexedInMemoryDAOImpl<Currency, Household> implements HouseholdDAO {
 
+	private static final long serialVersionUID = 1L;
+
+	protected final HouseholdStateStore stateStore = new HouseholdStateStoreImpl();
+
+	@Override
+	public synchronized void delete(final Household entity) {
+		if (entity.getStateIndex() >= 0) {
+			stateStore.release(entity.getStateIndex());
+			entity.setStateIndex(-1);
+		}
+
+		super.delete(entity);
+	}
+
 	@Override
 	public synchronized List<Household> findAllByCurrency(final Currency currency) {
 		return getInstancesForKey(currency);
 	}
 
+	@Override
+	public synchronized List<Household> findAllByStateIndexRange(final int fromIndex, final int toIndex) {
+		return stateStore.getRange(fromIndex, toIndex);
+	}
+
+	@Override
+	public synchronized int getStateIndexBound() {
+		return stateStore.getIndexBound();
+	}
+
+	@Override
+	public HouseholdStateStore getStateStore() {
+		return stateStore;
+	}
+
 	@Override
 	public synchronized void save(final Household entity) {
+		if (ApplicationContext.getInstance().getConfiguration().agentConfig.getColumnarStateStore()) {
+			entity.setStateIndex(stateStore.allocate(entity));
+		}
+
 		super.save(entity.getPrimaryCurrency(), entity);
 	}
 }
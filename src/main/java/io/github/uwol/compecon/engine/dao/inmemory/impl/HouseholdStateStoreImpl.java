@@ -0,0 +1,89 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.inmemory.impl;
+
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.dao.HouseholdStateStore;
+
+public class HouseholdStateStoreImpl extends AgentStateStoreImpl<Household> implements HouseholdStateStore {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final IntColumn ageInDays = addColumn(new IntColumn());
+
+	protected final IntColumn continuousDaysWithUtility = addColumn(new IntColumn());
+
+	protected final IntColumn daysWithoutUtility = addColumn(new IntColumn());
+
+	protected final DoubleColumn dividendSinceLastPeriod = addColumn(new DoubleColumn(1));
+
+	protected final DoubleColumn governmentTransfersSinceLastPeriod = addColumn(new DoubleColumn(1));
+
+	@Override
+	public int getAgeInDays(final int index) {
+		return ageInDays.get(index);
+	}
+
+	@Override
+	public int getContinuousDaysWithUtility(final int index) {
+		return continuousDaysWithUtility.get(index);
+	}
+
+	@Override
+	public int getDaysWithoutUtility(final int index) {
+		return daysWithoutUtility.get(index);
+	}
+
+	@Override
+	public double getDividendSinceLastPeriod(final int index) {
+		return dividendSinceLastPeriod.get(index);
+	}
+
+	@Override
+	public double getGovernmentTransfersSinceLastPeriod(final int index) {
+		return governmentTransfersSinceLastPeriod.get(index);
+	}
+
+	@Override
+	public void setAgeInDays(final int index, final int ageInDays) {
+		this.ageInDays.set(index, ageInDays);
+	}
+
+	@Override
+	public void setContinuousDaysWithUtility(final int index, final int continuousDaysWithUtility) {
+		this.continuousDaysWithUtility.set(index, continuousDaysWithUtility);
+	}
+
+	@Override
+	public void setDaysWithoutUtility(final int index, final int daysWithoutUtility) {
+		this.daysWithoutUtility.set(index, daysWithoutUtility);
+	}
+
+	@Override
+	public void setDividendSinceLastPeriod(final int index, final double dividendSinceLastPeriod) {
+		this.dividendSinceLastPeriod.set(index, dividendSinceLastPeriod);
+	}
+
+	@Override
+	public void setGovernmentTransfersSinceLastPeriod(final int index,
+			final double governmentTransfersSinceLastPeriod) {
+		this.governmentTransfersSinceLastPeriod.set(index, governmentTransfersSinceLastPeriod);
+	}
+}
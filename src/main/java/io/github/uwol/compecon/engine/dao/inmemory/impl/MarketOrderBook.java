@@ -0,0 +1,379 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.inmemory.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+
+/**
+ * Limit order book holding the selling orders of one market, i. e. of one
+ * combination of currency and commodity. <br />
+ * <br />
+ * Orders are grouped into price levels. The levels are stored in parallel
+ * primitive arrays sorted ascending by price, the orders of a level are sorted
+ * ascending by id. Thus, iteration order is identical to the natural order of
+ * {@link io.github.uwol.compecon.economy.markets.impl.MarketOrderImpl}. <br />
+ * <br />
+ * The valid levels are located in the index range [head, tail), so that
+ * removing the level with the best price is O(1). Amount per level and total
+ * amount of the book are maintained on each modification, which requires
+ * amount changes of contained orders to be reported via
+ * {@link #decrementAmount(MarketOrder, double)}.
+ */
+public class MarketOrderBook implements Iterable<MarketOrder>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	protected class MarketOrderBookIterator implements Iterator<MarketOrder> {
+
+		protected int expectedModCount = modCount;
+
+		protected int level = head;
+
+		protected int positionInLevel = 0;
+
+		@Override
+		public boolean hasNext() {
+			return level < tail;
+		}
+
+		@Override
+		public MarketOrder next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (level >= tail) {
+				throw new NoSuchElementException();
+			}
+
+			final MarketOrder marketOrder = levelOrders[level][positionInLevel];
+
+			positionInLevel++;
+			if (positionInLevel >= levelSizes[level]) {
+				level++;
+				positionInLevel = 0;
+			}
+
+			return marketOrder;
+		}
+	}
+
+	protected static final int INITIAL_LEVEL_CAPACITY = 16;
+
+	protected static final int INITIAL_ORDER_CAPACITY = 2;
+
+	protected double amountSum = 0.0;
+
+	protected int head = 0;
+
+	protected double[] levelAmounts = new double[INITIAL_LEVEL_CAPACITY];
+
+	protected MarketOrder[][] levelOrders = new MarketOrder[INITIAL_LEVEL_CAPACITY][];
+
+	protected double[] levelPrices = new double[INITIAL_LEVEL_CAPACITY];
+
+	protected int[] levelSizes = new int[INITIAL_LEVEL_CAPACITY];
+
+	protected int modCount = 0;
+
+	protected int size = 0;
+
+	protected int tail = 0;
+
+	public void add(final MarketOrder marketOrder) {
+		final double pricePerUnit = marketOrder.getPricePerUnit();
+
+		int level = findLevel(pricePerUnit);
+		if (level < 0) {
+			level = insertLevel(-(level + 1), pricePerUnit);
+		}
+
+		insertIntoLevel(level, marketOrder);
+
+		levelAmounts[level] += marketOrder.getAmount();
+		amountSum += marketOrder.getAmount();
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * Decrements the amount of the given market order and updates the amount
+	 * aggregates of the book.
+	 */
+	public void decrementAmount(final MarketOrder marketOrder, final double amount) {
+		final int level = findLevel(marketOrder.getPricePerUnit());
+
+		marketOrder.decrementAmount(amount);
+
+		if (level >= 0 && findPositionInLevel(level, marketOrder) >= 0) {
+			levelAmounts[level] -= amount;
+			amountSum -= amount;
+		}
+	}
+
+	/**
+	 * compacts the levels to index 0, or grows the level arrays, if they are
+	 * filled by more than a half
+	 */
+	protected void ensureLevelCapacity() {
+		final int numberOfLevels = tail - head;
+		final int capacity = numberOfLevels * 2 > levelPrices.length ? levelPrices.length * 2 : levelPrices.length;
+
+		final double[] newLevelAmounts = new double[capacity];
+		final MarketOrder[][] newLevelOrders = new MarketOrder[capacity][];
+		final double[] newLevelPrices = new double[capacity];
+		final int[] newLevelSizes = new int[capacity];
+
+		System.arraycopy(levelAmounts, head, newLevelAmounts, 0, numberOfLevels);
+		System.arraycopy(levelOrders, head, newLevelOrders, 0, numberOfLevels);
+		System.arraycopy(levelPrices, head, newLevelPrices, 0, numberOfLevels);
+		System.arraycopy(levelSizes, head, newLevelSizes, 0, numberOfLevels);
+
+		levelAmounts = newLevelAmounts;
+		levelOrders = newLevelOrders;
+		levelPrices = newLevelPrices;
+		levelSizes = newLevelSizes;
+
+		head = 0;
+		tail = numberOfLevels;
+	}
+
+	/**
+	 * @return index of the level with the given price, or (-(insertion point) -
+	 *         1), if there is no such level.
+	 */
+	protected int findLevel(final double pricePerUnit) {
+		int low = head;
+		int high = tail - 1;
+
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			final double middlePrice = levelPrices[middle];
+
+			if (middlePrice < pricePerUnit) {
+				low = middle + 1;
+			} else if (middlePrice > pricePerUnit) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -(low + 1);
+	}
+
+	/**
+	 * @return position of the market order in the level, or (-(insertion point)
+	 *         - 1), if the market order is not contained.
+	 */
+	protected int findPositionInLevel(final int level, final MarketOrder marketOrder) {
+		final MarketOrder[] orders = levelOrders[level];
+		final int id = marketOrder.getId();
+
+		int low = 0;
+		int high = levelSizes[level] - 1;
+
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			final int middleId = orders[middle].getId();
+
+			if (middleId < id) {
+				low = middle + 1;
+			} else if (middleId > id) {
+				high = middle - 1;
+			} else if (orders[middle] == marketOrder) {
+				return middle;
+			} else {
+				return -(middle + 1);
+			}
+		}
+		return -(low + 1);
+	}
+
+	/**
+	 * @return total amount of all market orders in the book.
+	 */
+	public double getAmountSum() {
+		return amountSum;
+	}
+
+	/**
+	 * @return price of the cheapest market order, or NaN, if the book is empty.
+	 */
+	public double getMarginalPrice() {
+		if (head == tail) {
+			return Double.NaN;
+		}
+		return levelPrices[head];
+	}
+
+	public int getNumberOfPriceLevels() {
+		return tail - head;
+	}
+
+	protected void insertIntoLevel(final int level, final MarketOrder marketOrder) {
+		final int position = findPositionInLevel(level, marketOrder);
+		assert (position < 0);
+
+		final int insertionPoint = -(position + 1);
+		final int levelSize = levelSizes[level];
+
+		MarketOrder[] orders = levelOrders[level];
+		if (levelSize == orders.length) {
+			final MarketOrder[] grownOrders = new MarketOrder[orders.length * 2];
+			System.arraycopy(orders, 0, grownOrders, 0, levelSize);
+			orders = grownOrders;
+			levelOrders[level] = orders;
+		}
+
+		System.arraycopy(orders, insertionPoint, orders, insertionPoint + 1, levelSize - insertionPoint);
+		orders[insertionPoint] = marketOrder;
+		levelSizes[level] = levelSize + 1;
+	}
+
+	/**
+	 * opens a new, empty level at the insertion point by shifting the smaller
+	 * part of the level arrays
+	 *
+	 * @return index of the new level
+	 */
+	protected int insertLevel(final int insertionPoint, final double pricePerUnit) {
+		final int level;
+
+		if (head > 0 && insertionPoint - head < tail - insertionPoint) {
+			// shift levels [head, insertionPoint) to the left
+			shiftLevels(head, head - 1, insertionPoint - head);
+			head--;
+			level = insertionPoint - 1;
+		} else {
+			if (tail == levelPrices.length) {
+				final int previousHead = head;
+				ensureLevelCapacity();
+				return insertLevel(insertionPoint - previousHead, pricePerUnit);
+			}
+
+			// shift levels [insertionPoint, tail) to the right
+			shiftLevels(insertionPoint, insertionPoint + 1, tail - insertionPoint);
+			tail++;
+			level = insertionPoint;
+		}
+
+		levelPrices[level] = pricePerUnit;
+		levelAmounts[level] = 0.0;
+		levelSizes[level] = 0;
+		levelOrders[level] = new MarketOrder[INITIAL_ORDER_CAPACITY];
+		return level;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public Iterator<MarketOrder> iterator() {
+		return new MarketOrderBookIterator();
+	}
+
+	public boolean remove(final MarketOrder marketOrder) {
+		final int level = findLevel(marketOrder.getPricePerUnit());
+		if (level < 0) {
+			return false;
+		}
+
+		final int position = findPositionInLevel(level, marketOrder);
+		if (position < 0) {
+			return false;
+		}
+
+		final MarketOrder[] orders = levelOrders[level];
+		final int levelSize = levelSizes[level] - 1;
+		System.arraycopy(orders, position + 1, orders, position, levelSize - position);
+		orders[levelSize] = null;
+		levelSizes[level] = levelSize;
+
+		size--;
+		modCount++;
+
+		if (levelSize == 0) {
+			removeLevel(level);
+		} else {
+			levelAmounts[level] -= marketOrder.getAmount();
+		}
+
+		if (size == 0) {
+			// prevent accumulation of rounding errors
+			amountSum = 0.0;
+			head = 0;
+			tail = 0;
+		} else {
+			amountSum -= marketOrder.getAmount();
+		}
+
+		return true;
+	}
+
+	/**
+	 * removes the level by shifting the smaller part of the level arrays
+	 */
+	protected void removeLevel(final int level) {
+		if (level - head < tail - level - 1) {
+			// shift levels [head, level) to the right
+			shiftLevels(head, head + 1, level - head);
+			levelOrders[head] = null;
+			head++;
+		} else {
+			// shift levels (level, tail) to the left
+			shiftLevels(level + 1, level, tail - level - 1);
+			tail--;
+			levelOrders[tail] = null;
+		}
+	}
+
+	protected void shiftLevels(final int sourcePosition, final int destinationPosition, final int length) {
+		System.arraycopy(levelAmounts, sourcePosition, levelAmounts, destinationPosition, length);
+		System.arraycopy(levelOrders, sourcePosition, levelOrders, destinationPosition, length);
+		System.arraycopy(levelPrices, sourcePosition, levelPrices, destinationPosition, length);
+		System.arraycopy(levelSizes, sourcePosition, levelSizes, destinationPosition, length);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return a copy of the market orders in iteration order.
+	 */
+	public List<MarketOrder> toList() {
+		final List<MarketOrder> marketOrders = new ArrayList<MarketOrder>(size);
+		for (int level = head; level < tail; level++) {
+			final MarketOrder[] orders = levelOrders[level];
+			for (int i = 0; i < levelSizes[level]; i++) {
+				marketOrders.add(orders[i]);
+			}
+		}
+		return marketOrders;
+	}
+}
@@ -0,0 +1,287 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.inmemory.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+import io.github.uwol.compecon.economy.markets.MarketParticipant;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.property.Property;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
+
+/**
+ * Market order DAO storing each market in a {@link MarketOrderBook}, i. e. in
+ * price levels over primitive arrays instead of a {@link java.util.TreeSet}.
+ * Books for currencies and good types are addressed by enum ordinals, orders
+ * of offerors are looked up in a {@link MarketOrderOfferorIndex}. <br />
+ * <br />
+ * Market depth and marginal price are maintained incrementally by the books on
+ * save, delete and decrementAmount, so that they are read in O(1). Reads of the
+ * market depth are counted as cache hits, its incremental updates as cache
+ * updates. As the market depth is never recomputed, there are no cache misses.
+ * <br />
+ * <br />
+ * Behaviour is identical to {@link MarketOrderDAOImpl}, which serves as the
+ * reference implementation.
+ */
+public class MarketOrderBookDAOImpl extends AbstractInMemoryDAOImpl<MarketOrder> implements MarketOrderDAO {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final MarketOrderBook[][] marketOrderBooksForCurrencies = new MarketOrderBook[Currency
+			.values().length][Currency.values().length];
+
+	protected final MarketOrderBook[][] marketOrderBooksForGoodTypes = new MarketOrderBook[Currency
+			.values().length][GoodType.values().length];
+
+	protected final List<Map<Class<? extends Property>, MarketOrderBook>> marketOrderBooksForPropertyClasses = new ArrayList<Map<Class<? extends Property>, MarketOrderBook>>();
+
+	protected final MarketOrderOfferorIndex marketOrderOfferorIndex = new MarketOrderOfferorIndex();
+
+	protected long numberOfCacheHits = 0;
+
+	protected long numberOfCacheUpdates = 0;
+
+	public MarketOrderBookDAOImpl() {
+		for (int i = 0; i < Currency.values().length; i++) {
+			marketOrderBooksForPropertyClasses.add(new HashMap<Class<? extends Property>, MarketOrderBook>());
+
+			for (int j = 0; j < Currency.values().length; j++) {
+				marketOrderBooksForCurrencies[i][j] = new MarketOrderBook();
+			}
+
+			for (int j = 0; j < GoodType.values().length; j++) {
+				marketOrderBooksForGoodTypes[i][j] = new MarketOrderBook();
+			}
+		}
+	}
+
+	@Override
+	public synchronized void decrementAmount(final MarketOrder marketOrder, final double amount) {
+		final MarketOrderBook marketOrderBook = getMarketOrderBook(marketOrder);
+
+		if (marketOrderBook != null) {
+			marketOrderBook.decrementAmount(marketOrder, amount);
+			numberOfCacheUpdates++;
+		} else {
+			marketOrder.decrementAmount(amount);
+		}
+	}
+
+	@Override
+	public synchronized void delete(final MarketOrder marketOrder) {
+		marketOrderOfferorIndex.remove(marketOrder);
+
+		deleteFromMarketOrderBook(marketOrder);
+	}
+
+	@Override
+	public synchronized void deleteAllSellingOrders(final MarketParticipant offeror) {
+		final List<Map<Object, Set<MarketOrder>>> marketOrdersForCurrencies = marketOrderOfferorIndex
+				.removeAll(offeror);
+		if (marketOrdersForCurrencies != null) {
+			for (final Map<Object, Set<MarketOrder>> marketOrdersForMarketKeys : marketOrdersForCurrencies) {
+				if (marketOrdersForMarketKeys != null) {
+					for (final Set<MarketOrder> marketOrders : marketOrdersForMarketKeys.values()) {
+						for (final MarketOrder marketOrder : marketOrders) {
+							deleteFromMarketOrderBook(marketOrder);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public synchronized void deleteAllSellingOrders(final MarketParticipant offeror, final Currency currency,
+			final Class<? extends Property> propertyClass) {
+		deleteAllSellingOrdersForMarketKey(offeror, currency, propertyClass);
+	}
+
+	@Override
+	public synchronized void deleteAllSellingOrders(final MarketParticipant offeror, final Currency currency,
+			final Currency commodityCurrency) {
+		deleteAllSellingOrdersForMarketKey(offeror, currency, commodityCurrency);
+	}
+
+	@Override
+	public synchronized void deleteAllSellingOrders(final MarketParticipant offeror, final Currency currency,
+			final GoodType goodType) {
+		deleteAllSellingOrdersForMarketKey(offeror, currency, goodType);
+	}
+
+	protected void deleteAllSellingOrdersForMarketKey(final MarketParticipant offeror, final Currency currency,
+			final Object marketKey) {
+		final Set<MarketOrder> marketOrders = marketOrderOfferorIndex.removeAll(offeror, currency, marketKey);
+		if (marketOrders != null) {
+			for (final MarketOrder marketOrder : marketOrders) {
+				deleteFromMarketOrderBook(marketOrder);
+			}
+		}
+	}
+
+	/**
+	 * deletes the market order from its market order book and the id index, but
+	 * not from the offeror index
+	 */
+	protected void deleteFromMarketOrderBook(final MarketOrder marketOrder) {
+		final MarketOrderBook marketOrderBook = getMarketOrderBook(marketOrder);
+
+		if (marketOrderBook != null) {
+			marketOrderBook.remove(marketOrder);
+			numberOfCacheUpdates++;
+		}
+
+		super.delete(marketOrder);
+	}
+
+	@Override
+	public synchronized double findMarginalPrice(final Currency currency,
+			final Class<? extends Property> propertyClass) {
+		return getMarketOrderBook(currency, MarketOrderDAOUtil.getIndexInterface(propertyClass)).getMarginalPrice();
+	}
+
+	@Override
+	public synchronized double findMarginalPrice(final Currency currency, final Currency commodityCurrency) {
+		return getMarketOrderBook(currency, commodityCurrency).getMarginalPrice();
+	}
+
+	@Override
+	public synchronized double findMarginalPrice(final Currency currency, final GoodType goodType) {
+		return getMarketOrderBook(currency, goodType).getMarginalPrice();
+	}
+
+	@Override
+	public synchronized double getAmountSum(final Currency currency, final Currency commodityCurrency) {
+		numberOfCacheHits++;
+		return getMarketOrderBook(currency, commodityCurrency).getAmountSum();
+	}
+
+	@Override
+	public synchronized double getAmountSum(final Currency currency, final GoodType goodType) {
+		numberOfCacheHits++;
+		return getMarketOrderBook(currency, goodType).getAmountSum();
+	}
+
+	@Override
+	public synchronized Iterator<MarketOrder> getIterator(final Currency currency,
+			final Class<? extends Property> propertyClass) {
+		return getMarketOrderBook(currency, MarketOrderDAOUtil.getIndexInterface(propertyClass)).iterator();
+	}
+
+	@Override
+	public synchronized Iterator<MarketOrder> getIterator(final Currency currency, final Currency commodityCurrency) {
+		return getMarketOrderBook(currency, commodityCurrency).iterator();
+	}
+
+	@Override
+	public synchronized Iterator<MarketOrder> getIterator(final Currency currency, final GoodType goodType) {
+		return getMarketOrderBook(currency, goodType).iterator();
+	}
+
+	@Override
+	public synchronized Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency,
+			final Currency commodityCurrency) {
+		return getMarketOrderBook(currency, commodityCurrency).toList().iterator();
+	}
+
+	@Override
+	public synchronized Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency, final GoodType goodType) {
+		return getMarketOrderBook(currency, goodType).toList().iterator();
+	}
+
+	protected MarketOrderBook getMarketOrderBook(final Currency currency,
+			final Class<? extends Property> propertyIndexInterface) {
+		final Map<Class<? extends Property>, MarketOrderBook> marketOrderBooksForCurrency = marketOrderBooksForPropertyClasses
+				.get(currency.ordinal());
+
+		MarketOrderBook marketOrderBook = marketOrderBooksForCurrency.get(propertyIndexInterface);
+		if (marketOrderBook == null) {
+			marketOrderBook = new MarketOrderBook();
+			marketOrderBooksForCurrency.put(propertyIndexInterface, marketOrderBook);
+		}
+		return marketOrderBook;
+	}
+
+	protected MarketOrderBook getMarketOrderBook(final Currency currency, final Currency commodityCurrency) {
+		return marketOrderBooksForCurrencies[currency.ordinal()][commodityCurrency.ordinal()];
+	}
+
+	protected MarketOrderBook getMarketOrderBook(final Currency currency, final GoodType goodType) {
+		return marketOrderBooksForGoodTypes[currency.ordinal()][goodType.ordinal()];
+	}
+
+	/**
+	 * @return the market order book, which contains the given market order, or
+	 *         null for market orders without commodity.
+	 */
+	protected MarketOrderBook getMarketOrderBook(final MarketOrder marketOrder) {
+		if (marketOrder.getGoodType() != null) {
+			return getMarketOrderBook(marketOrder.getCurrency(), marketOrder.getGoodType());
+		}
+
+		if (marketOrder.getCommodityCurrency() != null) {
+			return getMarketOrderBook(marketOrder.getCurrency(), marketOrder.getCommodityCurrency());
+		}
+
+		if (marketOrder.getProperty() != null) {
+			return getMarketOrderBook(marketOrder.getCurrency(),
+					MarketOrderDAOUtil.getIndexInterface(marketOrder.getProperty().getClass()));
+		}
+
+		return null;
+	}
+
+	@Override
+	public synchronized long getNumberOfCacheHits() {
+		return numberOfCacheHits;
+	}
+
+	@Override
+	public synchronized long getNumberOfCacheMisses() {
+		return 0;
+	}
+
+	@Override
+	public synchronized long getNumberOfCacheUpdates() {
+		return numberOfCacheUpdates;
+	}
+
+	@Override
+	public synchronized void save(final MarketOrder marketOrder) {
+		final MarketOrderBook marketOrderBook = getMarketOrderBook(marketOrder);
+
+		if (marketOrderBook != null) {
+			marketOrderBook.add(marketOrder);
+			numberOfCacheUpdates++;
+		}
+
+		marketOrderOfferorIndex.add(marketOrder);
+
+		super.save(marketOrder);
+	}
+}
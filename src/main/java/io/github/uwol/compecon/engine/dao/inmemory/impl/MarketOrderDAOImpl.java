@@ -34,15 +34,29 @@ import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
 
+/**
+ * Reference implementation of the market order DAO, which stores each market
+ * in a sorted set. The market orders of an offeror are kept in a list per
+ * offeror and scanned for the market on deletion. Market depth is computed by
+ * traversing the sorted set on each read. <br />
+ * <br />
+ * The alternative implementations are checked for identical behaviour against
+ * this DAO, which also serves as the baseline for benchmarks of the
+ * {@link MarketOrderOfferorIndex} of {@link MarketOrderBookDAOImpl}.
+ */
 public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketParticipant, MarketOrder>
 		implements MarketOrderDAO {
 
+	private static final long serialVersionUID = 1L;
+
 	protected Map<Currency, Map<Currency, SortedSet<MarketOrder>>> marketOrdersForCurrencies = new HashMap<Currency, Map<Currency, SortedSet<MarketOrder>>>();
 
 	protected Map<Currency, Map<GoodType, SortedSet<MarketOrder>>> marketOrdersForGoodTypes = new HashMap<Currency, Map<GoodType, SortedSet<MarketOrder>>>();
 
 	protected Map<Currency, Map<Class<? extends Property>, SortedSet<MarketOrder>>> marketOrdersForPropertyClasses = new HashMap<Currency, Map<Class<? extends Property>, SortedSet<MarketOrder>>>();
 
+	protected long numberOfCacheMisses = 0;
+
 	/*
 	 * helpers
 	 */
@@ -96,6 +110,11 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 	 * get market offers for type
 	 */
 
+	@Override
+	public synchronized void decrementAmount(final MarketOrder marketOrder, final double amount) {
+		marketOrder.decrementAmount(amount);
+	}
+
 	@Override
 	public synchronized void delete(final MarketOrder marketOrder) {
 		if (marketOrder.getGoodType() != null) {
@@ -111,7 +130,7 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 		}
 
 		if (marketOrder.getProperty() != null) {
-			final Class<? extends Property> propertyIndexInterface = getIndexInterface(
+			final Class<? extends Property> propertyIndexInterface = MarketOrderDAOUtil.getIndexInterface(
 					marketOrder.getProperty().getClass());
 			final SortedSet<MarketOrder> marketOrders = this.getMarketOrders(marketOrder.getCurrency(),
 					propertyIndexInterface);
@@ -157,7 +176,7 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 	@Override
 	public synchronized double findMarginalPrice(final Currency currency,
 			final Class<? extends Property> propertyClass) {
-		final Class<? extends Property> propertyIndexInterface = getIndexInterface(propertyClass);
+		final Class<? extends Property> propertyIndexInterface = MarketOrderDAOUtil.getIndexInterface(propertyClass);
 		for (final MarketOrder marketOrder : getMarketOrders(currency, propertyIndexInterface)) {
 			return marketOrder.getPricePerUnit();
 		}
@@ -230,6 +249,7 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 
 	@Override
 	public synchronized double getAmountSum(final Currency currency, final Currency commodityCurrency) {
+		numberOfCacheMisses++;
 		final Iterator<MarketOrder> iterator = this.getIterator(currency, commodityCurrency);
 		double totalAmountSum = 0.0;
 		while (iterator.hasNext()) {
@@ -240,6 +260,7 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 
 	@Override
 	public synchronized double getAmountSum(final Currency currency, final GoodType goodType) {
+		numberOfCacheMisses++;
 		final Iterator<MarketOrder> iterator = this.getIterator(currency, goodType);
 		double totalAmountSum = 0.0;
 		while (iterator.hasNext()) {
@@ -248,33 +269,10 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 		return totalAmountSum;
 	}
 
-	@SuppressWarnings("unchecked")
-	protected Class<? extends Property> getIndexInterface(final Class<? extends Property> propertyClass) {
-		/*
-		 * the property object should be stored in the DAO with the first interface as
-		 * the key; e. g. a property object of class ShareImpl should be stored in the
-		 * list indexed by interface Share
-		 */
-
-		// if the propertyClass is already an interface
-		if (propertyClass.isInterface()) {
-			return propertyClass;
-		} else {
-			// determine primary interface of class
-			final Class<?>[] interfacesOfPropertyClass = propertyClass.getInterfaces();
-
-			// as the property implements at least interface Property,
-			// interfacesOfPropertyClass.length > 0
-			assert (interfacesOfPropertyClass.length > 0);
-
-			return (Class<? extends Property>) interfacesOfPropertyClass[0];
-		}
-	}
-
 	@Override
 	public synchronized Iterator<MarketOrder> getIterator(final Currency currency,
 			final Class<? extends Property> propertyClass) {
-		final Class<? extends Property> propertyIndexInterface = getIndexInterface(propertyClass);
+		final Class<? extends Property> propertyIndexInterface = MarketOrderDAOUtil.getIndexInterface(propertyClass);
 		return this.getMarketOrders(currency, propertyIndexInterface).iterator();
 	}
 
@@ -299,6 +297,24 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 		return new TreeSet<MarketOrder>(this.getMarketOrders(currency, goodType)).iterator();
 	}
 
+	/**
+	 * the sorted sets do not cache market depth and marginal price
+	 */
+	@Override
+	public synchronized long getNumberOfCacheHits() {
+		return 0;
+	}
+
+	@Override
+	public synchronized long getNumberOfCacheMisses() {
+		return numberOfCacheMisses;
+	}
+
+	@Override
+	public synchronized long getNumberOfCacheUpdates() {
+		return 0;
+	}
+
 	private SortedSet<MarketOrder> getMarketOrders(final Currency currency,
 			final Class<? extends Property> propertyIndexInterface) {
 		this.assureInitializedDataStructure(currency, propertyIndexInterface);
@@ -329,7 +345,7 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 		}
 
 		if (marketOrder.getProperty() != null) {
-			final Class<? extends Property> propertyIndexInterface = getIndexInterface(
+			final Class<? extends Property> propertyIndexInterface = MarketOrderDAOUtil.getIndexInterface(
 					marketOrder.getProperty().getClass());
 			this.getMarketOrders(marketOrder.getCurrency(), propertyIndexInterface).add(marketOrder);
 		}
@@ -0,0 +1,47 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.inmemory.impl;
+
+import io.github.uwol.compecon.economy.property.Property;
+
+public class MarketOrderDAOUtil {
+
+	/**
+	 * market orders for properties are indexed by the first interface of the
+	 * property class; e. g. a property object of class ShareImpl is indexed by
+	 * interface Share
+	 */
+	@SuppressWarnings("unchecked")
+	public static Class<? extends Property> getIndexInterface(final Class<? extends Property> propertyClass) {
+		// if the propertyClass is already an interface
+		if (propertyClass.isInterface()) {
+			return propertyClass;
+		} else {
+			// determine primary interface of class
+			final Class<?>[] interfacesOfPropertyClass = propertyClass.getInterfaces();
+
+			// as the property implements at least interface Property,
+			// interfacesOfPropertyClass.length > 0
+			assert (interfacesOfPropertyClass.length > 0);
+
+			return (Class<? extends Property>) interfacesOfPropertyClass[0];
+		}
+	}
+}
@@ -0,0 +1,179 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.inmemory.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+import io.github.uwol.compecon.economy.markets.MarketParticipant;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+
+/**
+ * Composite index of market orders by offeror, currency and market key. The
+ * market key is the commodity of the market order, i. e. a good type, a
+ * commodity currency or the concrete property class. <br />
+ * <br />
+ * Market orders are compared by identity, so that they are removed in O(1).
+ * Order sets, market key maps and offerors are dropped as soon as they become
+ * empty.
+ */
+public class MarketOrderOfferorIndex implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * @return the market key of the market order, which is the good type, the
+	 *         commodity currency or the concrete class of the property.
+	 */
+	public static Object getMarketKey(final MarketOrder marketOrder) {
+		if (marketOrder.getGoodType() != null) {
+			return marketOrder.getGoodType();
+		}
+
+		if (marketOrder.getCommodityCurrency() != null) {
+			return marketOrder.getCommodityCurrency();
+		}
+
+		if (marketOrder.getProperty() != null) {
+			return marketOrder.getProperty().getClass();
+		}
+
+		return null;
+	}
+
+	/**
+	 * order sets of offerors indexed by currency ordinal and market key
+	 */
+	protected final Map<MarketParticipant, List<Map<Object, Set<MarketOrder>>>> marketOrdersForOfferors = new HashMap<MarketParticipant, List<Map<Object, Set<MarketOrder>>>>();
+
+	public void add(final MarketOrder marketOrder) {
+		final Object marketKey = getMarketKey(marketOrder);
+
+		if (marketOrder.getOfferor() != null && marketKey != null) {
+			List<Map<Object, Set<MarketOrder>>> marketOrdersForCurrencies = marketOrdersForOfferors
+					.get(marketOrder.getOfferor());
+			if (marketOrdersForCurrencies == null) {
+				marketOrdersForCurrencies = new ArrayList<Map<Object, Set<MarketOrder>>>(Currency.values().length);
+				for (int i = 0; i < Currency.values().length; i++) {
+					marketOrdersForCurrencies.add(null);
+				}
+				marketOrdersForOfferors.put(marketOrder.getOfferor(), marketOrdersForCurrencies);
+			}
+
+			Map<Object, Set<MarketOrder>> marketOrdersForMarketKeys = marketOrdersForCurrencies
+					.get(marketOrder.getCurrency().ordinal());
+			if (marketOrdersForMarketKeys == null) {
+				marketOrdersForMarketKeys = new HashMap<Object, Set<MarketOrder>>();
+				marketOrdersForCurrencies.set(marketOrder.getCurrency().ordinal(), marketOrdersForMarketKeys);
+			}
+
+			Set<MarketOrder> marketOrders = marketOrdersForMarketKeys.get(marketKey);
+			if (marketOrders == null) {
+				marketOrders = new LinkedHashSet<MarketOrder>();
+				marketOrdersForMarketKeys.put(marketKey, marketOrders);
+			}
+
+			marketOrders.add(marketOrder);
+		}
+	}
+
+	public void remove(final MarketOrder marketOrder) {
+		final List<Map<Object, Set<MarketOrder>>> marketOrdersForCurrencies = marketOrdersForOfferors
+				.get(marketOrder.getOfferor());
+		if (marketOrdersForCurrencies == null) {
+			return;
+		}
+
+		final Map<Object, Set<MarketOrder>> marketOrdersForMarketKeys = marketOrdersForCurrencies
+				.get(marketOrder.getCurrency().ordinal());
+		if (marketOrdersForMarketKeys == null) {
+			return;
+		}
+
+		final Object marketKey = getMarketKey(marketOrder);
+		final Set<MarketOrder> marketOrders = marketOrdersForMarketKeys.get(marketKey);
+		if (marketOrders != null && marketOrders.remove(marketOrder) && marketOrders.isEmpty()) {
+			marketOrdersForMarketKeys.remove(marketKey);
+			removeIfEmpty(marketOrder.getOfferor(), marketOrdersForCurrencies, marketOrder.getCurrency());
+		}
+	}
+
+	/**
+	 * removes all market orders of the offeror from the index
+	 *
+	 * @return the detached order sets of the offeror indexed by currency ordinal,
+	 *         or null.
+	 */
+	public List<Map<Object, Set<MarketOrder>>> removeAll(final MarketParticipant offeror) {
+		return marketOrdersForOfferors.remove(offeror);
+	}
+
+	/**
+	 * removes all market orders of the offeror in the given market from the index
+	 *
+	 * @return the detached order set, or null.
+	 */
+	public Set<MarketOrder> removeAll(final MarketParticipant offeror, final Currency currency,
+			final Object marketKey) {
+		final List<Map<Object, Set<MarketOrder>>> marketOrdersForCurrencies = marketOrdersForOfferors.get(offeror);
+		if (marketOrdersForCurrencies == null) {
+			return null;
+		}
+
+		final Map<Object, Set<MarketOrder>> marketOrdersForMarketKeys = marketOrdersForCurrencies
+				.get(currency.ordinal());
+		if (marketOrdersForMarketKeys == null) {
+			return null;
+		}
+
+		final Set<MarketOrder> marketOrders = marketOrdersForMarketKeys.remove(marketKey);
+		if (marketOrders != null) {
+			removeIfEmpty(offeror, marketOrdersForCurrencies, currency);
+		}
+		return marketOrders;
+	}
+
+	/**
+	 * drops the market key map of the currency and the offeror, if they have
+	 * become empty
+	 */
+	protected void removeIfEmpty(final MarketParticipant offeror,
+			final List<Map<Object, Set<MarketOrder>>> marketOrdersForCurrencies, final Currency currency) {
+		if (!marketOrdersForCurrencies.get(currency.ordinal()).isEmpty()) {
+			return;
+		}
+
+		marketOrdersForCurrencies.set(currency.ordinal(), null);
+
+		for (final Map<Object, Set<MarketOrder>> marketOrdersForMarketKeys : marketOrdersForCurrencies) {
+			if (marketOrdersForMarketKeys != null) {
+				return;
+			}
+		}
+
+		marketOrdersForOfferors.remove(offeror);
+	}
+}
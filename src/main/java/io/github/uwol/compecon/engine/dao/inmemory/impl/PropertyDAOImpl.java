@@ -31,6 +31,8 @@ import io.github.uwol.compecon.engine.dao.PropertyDAO;
 public class PropertyDAOImpl extends AbstractDoubleIndexedInMemoryDAOImpl<PropertyOwner, Property>
 		implements PropertyDAO {
 
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public List<Property> findAllPropertiesIssuedByAgent(final Agent issuer) {
 		final List<Property> propertiesIssuedByAgent = getInstancesForSecondKey(issuer);
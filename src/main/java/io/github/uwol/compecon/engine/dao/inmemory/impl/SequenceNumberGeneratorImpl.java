@@ -19,11 +19,15 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.dao.inmemory.impl;
 
-public class SequenceNumberGeneratorImpl {
+import java.io.Serializable;
+
+public class SequenceNumberGeneratorImpl implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	protected int lastId = 0;
 
-	public int getNextId() {
+	public synchronized int getNextId() {
 		lastId++;
 		return lastId;
 	}
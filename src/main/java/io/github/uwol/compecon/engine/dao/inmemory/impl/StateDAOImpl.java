@@ -25,6 +25,8 @@ import io.github.uwol.compecon.engine.dao.StateDAO;
 
 public class StateDAOImpl extends AbstractInMemoryDAOImpl<State> implements StateDAO {
 
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public synchronized State findByCurrency(final Currency currency) {
 		for (final State state : findAll()) {
@@ -27,6 +27,8 @@ import io.github.uwol.compecon.engine.dao.TraderDAO;
 
 public class TraderDAOImpl extends AbstractIndexedInMemoryDAOImpl<Currency, Trader> implements TraderDAO {
 
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public synchronized List<Trader> findAllByCurrency(final Currency currency) {
 		return getInstancesForKey(currency);
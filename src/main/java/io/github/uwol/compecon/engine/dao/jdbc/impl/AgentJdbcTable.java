@@ -0,0 +1,61 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.jdbc.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+
+/**
+ * Database table of agents with the primary currency of the agent as first
+ * column, followed by the given additional columns.
+ */
+public class AgentJdbcTable<T extends Agent> extends JdbcTable<T> {
+
+	protected static String[] withPrimaryCurrencyColumn(final String[] additionalColumnDefinitions) {
+		final String[] columnDefinitions = new String[additionalColumnDefinitions.length + 1];
+		columnDefinitions[0] = "primary_currency VARCHAR(3)";
+		System.arraycopy(additionalColumnDefinitions, 0, columnDefinitions, 1, additionalColumnDefinitions.length);
+		return columnDefinitions;
+	}
+
+	public AgentJdbcTable(final JdbcSession session, final String name,
+			final String... additionalColumnDefinitions) {
+		super(session, name, withPrimaryCurrencyColumn(additionalColumnDefinitions));
+	}
+
+	@Override
+	protected int getId(final T agent) {
+		return agent.getId();
+	}
+
+	/**
+	 * sets the additional columns, starting at parameter index 2
+	 */
+	protected void setAdditionalValues(final PreparedStatement statement, final T agent) throws SQLException {
+	}
+
+	@Override
+	protected void setValues(final PreparedStatement statement, final T agent) throws SQLException {
+		setCurrency(statement, 1, agent.getPrimaryCurrency());
+		setAdditionalValues(statement, agent);
+	}
+}
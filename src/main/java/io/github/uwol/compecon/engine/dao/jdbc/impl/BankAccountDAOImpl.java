@@ -0,0 +1,78 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.jdbc.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+
+/**
+ * Bank account DAO, which mirrors the bank accounts into the database table
+ * bank_accounts. Balances change without a call of the DAO, so that they are
+ * written by the checkpoint of the session.
+ */
+public class BankAccountDAOImpl extends io.github.uwol.compecon.engine.dao.inmemory.impl.BankAccountDAOImpl {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final JdbcTable<BankAccount> table;
+
+	public BankAccountDAOImpl(final JdbcSession session) {
+		table = new JdbcTable<BankAccount>(session, "bank_accounts", "owner_id INTEGER", "managing_bank_id INTEGER",
+				"currency VARCHAR(3)", "name VARCHAR(255)", "term_type VARCHAR(32)", "money_type VARCHAR(32)",
+				"balance DOUBLE") {
+
+			@Override
+			protected int getId(final BankAccount bankAccount) {
+				return bankAccount.getId();
+			}
+
+			@Override
+			protected void setValues(final PreparedStatement statement, final BankAccount bankAccount)
+					throws SQLException {
+				setAgentId(statement, 1, bankAccount.getOwner());
+				setAgentId(statement, 2, bankAccount.getManagingBank());
+				setCurrency(statement, 3, bankAccount.getCurrency());
+				statement.setString(4, bankAccount.getName());
+				setEnum(statement, 5, bankAccount.getTermType());
+				setEnum(statement, 6, bankAccount.getMoneyType());
+				statement.setDouble(7, bankAccount.getBalance());
+			}
+		};
+	}
+
+	@Override
+	public synchronized void delete(final BankAccount entity) {
+		super.delete(entity);
+		table.delete(entity);
+	}
+
+	@Override
+	public synchronized void merge(final BankAccount entity) {
+		table.update(entity);
+	}
+
+	@Override
+	public synchronized void save(final BankAccount entity) {
+		super.save(entity);
+		table.insert(entity);
+	}
+}
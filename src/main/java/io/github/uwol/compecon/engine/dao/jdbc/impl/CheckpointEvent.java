@@ -0,0 +1,66 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.jdbc.impl;
+
+import io.github.uwol.compecon.economy.property.GoodTypeOwnership;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+
+/**
+ * Daily checkpoint of the persistent DAOs. Balances of bank accounts, amounts
+ * of good type ownerships and ages of households change in memory without a
+ * call of their DAO, so that their state is merged into the database tables,
+ * before all queued rows are flushed.
+ */
+public class CheckpointEvent implements TimeSystemEvent {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final JdbcSession session;
+
+	public CheckpointEvent(final JdbcSession session) {
+		this.session = session;
+	}
+
+	@Override
+	public boolean isDeconstructed() {
+		return false;
+	}
+
+	@Override
+	public void onEvent() {
+		for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO().findAll()) {
+			ApplicationContext.getInstance().getBankAccountDAO().merge(bankAccount);
+		}
+
+		for (final GoodTypeOwnership goodTypeOwnership : ApplicationContext.getInstance().getGoodTypeOwnershipDAO()
+				.findAll()) {
+			ApplicationContext.getInstance().getGoodTypeOwnershipDAO().merge(goodTypeOwnership);
+		}
+
+		for (final Household household : ApplicationContext.getInstance().getHouseholdDAO().findAll()) {
+			ApplicationContext.getInstance().getHouseholdDAO().merge(household);
+		}
+
+		session.flush();
+	}
+}
@@ -0,0 +1,54 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.jdbc.impl;
+
+import io.github.uwol.compecon.economy.sectors.financial.CreditBank;
+
+/**
+ * Credit bank DAO, which mirrors the credit banks into the database table
+ * credit_banks.
+ */
+public class CreditBankDAOImpl extends io.github.uwol.compecon.engine.dao.inmemory.impl.CreditBankDAOImpl {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final JdbcTable<CreditBank> table;
+
+	public CreditBankDAOImpl(final JdbcSession session) {
+		table = new AgentJdbcTable<CreditBank>(session, "credit_banks");
+	}
+
+	@Override
+	public synchronized void delete(final CreditBank entity) {
+		super.delete(entity);
+		table.delete(entity);
+	}
+
+	@Override
+	public synchronized void merge(final CreditBank entity) {
+		table.update(entity);
+	}
+
+	@Override
+	public synchronized void save(final CreditBank entity) {
+		super.save(entity);
+		table.insert(entity);
+	}
+}
@@ -0,0 +1,63 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.jdbc.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import io.github.uwol.compecon.economy.sectors.industry.Factory;
+
+/**
+ * Factory DAO, which mirrors the factories into the database table factories.
+ */
+public class FactoryDAOImpl extends io.github.uwol.compecon.engine.dao.inmemory.impl.FactoryDAOImpl {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final JdbcTable<Factory> table;
+
+	public FactoryDAOImpl(final JdbcSession session) {
+		table = new AgentJdbcTable<Factory>(session, "factories", "produced_good_type VARCHAR(32)") {
+
+			@Override
+			protected void setAdditionalValues(final PreparedStatement statement, final Factory factory)
+					throws SQLException {
+				setEnum(statement, 2, factory.getProducedGoodType());
+			}
+		};
+	}
+
+	@Override
+	public synchronized void delete(final Factory entity) {
+		super.delete(entity);
+		table.delete(entity);
+	}
+
+	@Override
+	public synchronized void merge(final Factory entity) {
+		table.update(entity);
+	}
+
+	@Override
+	public synchronized void save(final Factory entity) {
+		super.save(entity);
+		table.insert(entity);
+	}
+}
@@ -0,0 +1,87 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.jdbc.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.property.GoodTypeOwnership;
+
+/**
+ * Good type ownership DAO, which mirrors the good type ownerships into the
+ * database table good_type_ownerships with one column per good type. Amounts
+ * change without a call of the DAO, so that they are written by the checkpoint
+ * of the session.
+ */
+public class GoodTypeOwnershipDAOImpl
+		extends io.github.uwol.compecon.engine.dao.inmemory.impl.GoodTypeOwnershipDAOImpl {
+
+	private static final long serialVersionUID = 1L;
+
+	protected static String[] getColumnDefinitions() {
+		final String[] columnDefinitions = new String[GoodType.values().length + 1];
+		columnDefinitions[0] = "property_owner_id INTEGER";
+		for (final GoodType goodType : GoodType.values()) {
+			columnDefinitions[goodType.ordinal() + 1] = "amount_" + goodType.name().toLowerCase() + " DOUBLE";
+		}
+		return columnDefinitions;
+	}
+
+	protected final JdbcTable<GoodTypeOwnership> table;
+
+	public GoodTypeOwnershipDAOImpl(final JdbcSession session) {
+		table = new JdbcTable<GoodTypeOwnership>(session, "good_type_ownerships", getColumnDefinitions()) {
+
+			@Override
+			protected int getId(final GoodTypeOwnership goodTypeOwnership) {
+				return goodTypeOwnership.getId();
+			}
+
+			@Override
+			protected void setValues(final PreparedStatement statement, final GoodTypeOwnership goodTypeOwnership)
+					throws SQLException {
+				setAgentId(statement, 1, goodTypeOwnership.getPropertyOwner());
+
+				final double[] ownedGoodTypeAmounts = goodTypeOwnership.getOwnedGoodTypeAmounts();
+				for (final GoodType goodType : GoodType.values()) {
+					statement.setDouble(goodType.ordinal() + 2, ownedGoodTypeAmounts[goodType.ordinal()]);
+				}
+			}
+		};
+	}
+
+	@Override
+	public synchronized void delete(final GoodTypeOwnership entity) {
+		super.delete(entity);
+		table.delete(entity);
+	}
+
+	@Override
+	public synchronized void merge(final GoodTypeOwnership entity) {
+		table.update(entity);
+	}
+
+	@Override
+	public synchronized void save(final GoodTypeOwnership entity) {
+		super.save(entity);
+		table.insert(entity);
+	}
+}
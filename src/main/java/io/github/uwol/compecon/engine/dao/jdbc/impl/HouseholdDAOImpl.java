@@ -0,0 +1,64 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.jdbc.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import io.github.uwol.compecon.economy.sectors.household.Household;
+
+/**
+ * Household DAO, which mirrors the households into the database table
+ * households.
+ */
+public class HouseholdDAOImpl extends io.github.uwol.compecon.engine.dao.inmemory.impl.HouseholdDAOImpl {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final JdbcTable<Household> table;
+
+	public HouseholdDAOImpl(final JdbcSession session) {
+		table = new AgentJdbcTable<Household>(session, "households", "age_in_days INTEGER") {
+
+			@Override
+			protected void setAdditionalValues(final PreparedStatement statement, final Household household)
+					throws SQLException {
+				statement.setInt(2, household.getAgeInDays());
+			}
+		};
+	}
+
+	@Override
+	public synchronized void delete(final Household entity) {
+		super.delete(entity);
+		table.delete(entity);
+	}
+
+	@Override
+	public synchronized void merge(final Household entity) {
+		table.update(entity);
+	}
+
+	@Override
+	public synchronized void save(final Household entity) {
+		super.save(entity);
+		table.insert(entity);
+	}
+}
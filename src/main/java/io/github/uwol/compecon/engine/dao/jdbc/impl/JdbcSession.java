@@ -0,0 +1,178 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.jdbc.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * JDBC connection of the persistent DAOs, configured by the properties of the
+ * session factory in hibernate.cfg.xml:
+ * <ul>
+ * <li>connection.url, connection.driver_class, connection.username and
+ * connection.password</li>
+ * <li>connection.autocommit; without autocommit, each flush is committed</li>
+ * <li>hbm2ddl.auto; create drops existing tables, update keeps them</li>
+ * <li>jdbc.batch_size, the number of queued rows per table, which triggers a
+ * flush of the table</li>
+ * </ul>
+ * Property names may carry the prefix "hibernate.".
+ */
+public class JdbcSession {
+
+	public static final String CONFIGURATION_FILENAME = "hibernate.cfg.xml";
+
+	protected static final int DEFAULT_BATCH_SIZE = 100;
+
+	protected final boolean autoCommit;
+
+	protected final int batchSize;
+
+	protected final Connection connection;
+
+	protected final boolean dropExistingTables;
+
+	protected final List<JdbcTable<?>> tables = new ArrayList<JdbcTable<?>>();
+
+	public JdbcSession(final String configurationFilename) throws IOException, SQLException {
+		this(loadProperties(configurationFilename));
+	}
+
+	public JdbcSession(final Properties properties) throws SQLException {
+		final String driverClass = properties.getProperty("connection.driver_class");
+		if (driverClass != null) {
+			try {
+				Class.forName(driverClass);
+			} catch (final ClassNotFoundException e) {
+				throw new SQLException("JDBC driver " + driverClass + " not found", e);
+			}
+		}
+
+		connection = DriverManager.getConnection(properties.getProperty("connection.url"),
+				properties.getProperty("connection.username"), properties.getProperty("connection.password", ""));
+
+		autoCommit = Boolean.parseBoolean(properties.getProperty("connection.autocommit", "true"));
+		connection.setAutoCommit(autoCommit);
+
+		batchSize = Integer.parseInt(properties.getProperty("jdbc.batch_size", String.valueOf(DEFAULT_BATCH_SIZE)));
+		dropExistingTables = "create".equals(properties.getProperty("hbm2ddl.auto"))
+				|| "create-drop".equals(properties.getProperty("hbm2ddl.auto"));
+	}
+
+	/**
+	 * @return properties of the session factory in the given hibernate
+	 *         configuration file, without the prefix "hibernate.".
+	 */
+	protected static Properties loadProperties(final String configurationFilename) throws IOException {
+		final Properties properties = new Properties();
+
+		try (final InputStream inputStream = JdbcSession.class.getClassLoader()
+				.getResourceAsStream(configurationFilename)) {
+			if (inputStream == null) {
+				throw new IOException("configuration file " + configurationFilename + " not found");
+			}
+
+			final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+			// the hibernate DTD is not required for reading the properties
+			documentBuilderFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+			final DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
+			final Document document = documentBuilder.parse(inputStream);
+
+			final NodeList propertyElements = document.getElementsByTagName("property");
+			for (int i = 0; i < propertyElements.getLength(); i++) {
+				final Element propertyElement = (Element) propertyElements.item(i);
+				final String name = propertyElement.getAttribute("name").replaceFirst("^hibernate\\.", "");
+				properties.setProperty(name, propertyElement.getTextContent().trim());
+			}
+		} catch (final ParserConfigurationException | SAXException e) {
+			throw new IOException("could not read configuration file " + configurationFilename, e);
+		}
+
+		return properties;
+	}
+
+	/**
+	 * registers the table and creates it in the database
+	 */
+	protected synchronized void addTable(final JdbcTable<?> table) {
+		try {
+			table.create(dropExistingTables);
+		} catch (final SQLException e) {
+			throw new RuntimeException("could not create table " + table.getName(), e);
+		}
+		tables.add(table);
+	}
+
+	/**
+	 * flushes all tables and closes the connection
+	 */
+	public synchronized void close() throws SQLException {
+		flush();
+
+		for (final JdbcTable<?> table : tables) {
+			table.close();
+		}
+		connection.close();
+	}
+
+	/**
+	 * writes the queued rows of all tables to the database
+	 */
+	public synchronized void flush() {
+		for (final JdbcTable<?> table : tables) {
+			table.flush();
+		}
+
+		if (!autoCommit) {
+			try {
+				connection.commit();
+			} catch (final SQLException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public Connection getConnection() {
+		return connection;
+	}
+
+	public List<JdbcTable<?>> getTables() {
+		return tables;
+	}
+}
@@ -0,0 +1,290 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.jdbc.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+
+/**
+ * Database table of one entity type with a write-behind queue. Inserts, updates
+ * and deletes are queued per entity id and written in JDBC batches with
+ * prepared statements, which are prepared once and reused. <br />
+ * <br />
+ * Queued inserts reference the entity, so that the state of the entity at the
+ * time of the flush is written. An entity deleted before its insert is written
+ * never reaches the database.
+ */
+public abstract class JdbcTable<T> {
+
+	/**
+	 * column definitions, e. g. "balance DOUBLE", excluding the id column
+	 */
+	protected final String[] columnDefinitions;
+
+	protected PreparedStatement deleteStatement;
+
+	protected PreparedStatement insertStatement;
+
+	protected final String name;
+
+	protected final Set<Integer> pendingDeletes = new LinkedHashSet<Integer>();
+
+	protected final Map<Integer, T> pendingInserts = new LinkedHashMap<Integer, T>();
+
+	protected final Map<Integer, T> pendingUpdates = new LinkedHashMap<Integer, T>();
+
+	protected final JdbcSession session;
+
+	protected PreparedStatement updateStatement;
+
+	public JdbcTable(final JdbcSession session, final String name, final String... columnDefinitions) {
+		this.session = session;
+		this.name = name;
+		this.columnDefinitions = columnDefinitions;
+
+		session.addTable(this);
+	}
+
+	/**
+	 * closes the prepared statements of the table
+	 */
+	protected synchronized void close() throws SQLException {
+		for (final PreparedStatement statement : new PreparedStatement[] { insertStatement, updateStatement,
+				deleteStatement }) {
+			if (statement != null) {
+				statement.close();
+			}
+		}
+
+		insertStatement = null;
+		updateStatement = null;
+		deleteStatement = null;
+	}
+
+	/**
+	 * creates the table in the database.
+	 *
+	 * @param dropExistingTable
+	 *            if true, an existing table is dropped first; otherwise an
+	 *            existing table is kept.
+	 */
+	protected synchronized void create(final boolean dropExistingTable) throws SQLException {
+		final StringBuilder createStatement = new StringBuilder("CREATE TABLE ");
+
+		if (!dropExistingTable) {
+			createStatement.append("IF NOT EXISTS ");
+		}
+
+		createStatement.append(name).append(" (id INTEGER PRIMARY KEY");
+		for (final String columnDefinition : columnDefinitions) {
+			createStatement.append(", ").append(columnDefinition);
+		}
+		createStatement.append(")");
+
+		try (final Statement statement = session.getConnection().createStatement()) {
+			if (dropExistingTable) {
+				statement.execute("DROP TABLE IF EXISTS " + name);
+			}
+			statement.execute(createStatement.toString());
+		}
+	}
+
+	public synchronized void delete(final T entity) {
+		final int id = getId(entity);
+
+		// entity has not been written yet
+		if (pendingInserts.remove(id) != null) {
+			return;
+		}
+
+		pendingUpdates.remove(id);
+		pendingDeletes.add(id);
+		flushIfBatchIsFull();
+	}
+
+	/**
+	 * writes all queued inserts, updates and deletes to the database
+	 */
+	public synchronized void flush() {
+		try {
+			if (!pendingInserts.isEmpty()) {
+				if (insertStatement == null) {
+					insertStatement = session.getConnection().prepareStatement(getInsertSql());
+				}
+				for (final T entity : pendingInserts.values()) {
+					setRow(insertStatement, entity);
+					insertStatement.addBatch();
+				}
+				insertStatement.executeBatch();
+				pendingInserts.clear();
+			}
+
+			if (!pendingUpdates.isEmpty()) {
+				if (updateStatement == null) {
+					updateStatement = session.getConnection().prepareStatement(getUpdateSql());
+				}
+				for (final T entity : pendingUpdates.values()) {
+					setRow(updateStatement, entity);
+					updateStatement.addBatch();
+				}
+				updateStatement.executeBatch();
+				pendingUpdates.clear();
+			}
+
+			if (!pendingDeletes.isEmpty()) {
+				if (deleteStatement == null) {
+					deleteStatement = session.getConnection().prepareStatement("DELETE FROM " + name + " WHERE id = ?");
+				}
+				for (final int id : pendingDeletes) {
+					deleteStatement.setInt(1, id);
+					deleteStatement.addBatch();
+				}
+				deleteStatement.executeBatch();
+				pendingDeletes.clear();
+			}
+		} catch (final SQLException e) {
+			throw new RuntimeException("could not write to table " + name, e);
+		}
+	}
+
+	protected void flushIfBatchIsFull() {
+		if (getNumberOfPendingRows() >= session.getBatchSize()) {
+			flush();
+		}
+	}
+
+	protected String getColumnName(final String columnDefinition) {
+		return columnDefinition.substring(0, columnDefinition.indexOf(' '));
+	}
+
+	/**
+	 * @return id of the entity, which is the primary key of its row.
+	 */
+	protected abstract int getId(final T entity);
+
+	/**
+	 * the id is the last parameter, so that insert and update statements share
+	 * the parameter indices of the columns
+	 */
+	protected String getInsertSql() {
+		final StringBuilder columns = new StringBuilder();
+		final StringBuilder parameters = new StringBuilder();
+		for (final String columnDefinition : columnDefinitions) {
+			columns.append(getColumnName(columnDefinition)).append(", ");
+			parameters.append("?, ");
+		}
+		return "INSERT INTO " + name + " (" + columns + "id) VALUES (" + parameters + "?)";
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public synchronized int getNumberOfPendingRows() {
+		return pendingInserts.size() + pendingUpdates.size() + pendingDeletes.size();
+	}
+
+	protected String getUpdateSql() {
+		final StringBuilder columns = new StringBuilder();
+		for (int i = 0; i < columnDefinitions.length; i++) {
+			if (i > 0) {
+				columns.append(", ");
+			}
+			columns.append(getColumnName(columnDefinitions[i])).append(" = ?");
+		}
+		return "UPDATE " + name + " SET " + columns + " WHERE id = ?";
+	}
+
+	public synchronized void insert(final T entity) {
+		final int id = getId(entity);
+
+		// entity is deleted and inserted again, e. g. on a transfer of a
+		// property, so that the existing row is updated
+		if (pendingDeletes.remove(id)) {
+			pendingUpdates.put(id, entity);
+		} else {
+			pendingInserts.put(id, entity);
+		}
+		flushIfBatchIsFull();
+	}
+
+	protected void setAgentId(final PreparedStatement statement, final int parameterIndex, final Object agent)
+			throws SQLException {
+		if (agent instanceof Agent) {
+			statement.setInt(parameterIndex, ((Agent) agent).getId());
+		} else {
+			statement.setNull(parameterIndex, Types.INTEGER);
+		}
+	}
+
+	protected void setCurrency(final PreparedStatement statement, final int parameterIndex, final Currency currency)
+			throws SQLException {
+		if (currency != null) {
+			statement.setString(parameterIndex, currency.getIso4217Code());
+		} else {
+			statement.setNull(parameterIndex, Types.VARCHAR);
+		}
+	}
+
+	protected void setEnum(final PreparedStatement statement, final int parameterIndex, final Enum<?> value)
+			throws SQLException {
+		if (value != null) {
+			statement.setString(parameterIndex, value.name());
+		} else {
+			statement.setNull(parameterIndex, Types.VARCHAR);
+		}
+	}
+
+	/**
+	 * sets the parameters of the row of the entity, i. e. the columns in the order
+	 * of the column definitions starting at parameter index 1, followed by the id.
+	 */
+	protected void setRow(final PreparedStatement statement, final T entity) throws SQLException {
+		setValues(statement, entity);
+		statement.setInt(columnDefinitions.length + 1, getId(entity));
+	}
+
+	/**
+	 * sets the columns of the entity in the order of the column definitions,
+	 * starting at parameter index 1
+	 */
+	protected abstract void setValues(final PreparedStatement statement, final T entity) throws SQLException;
+
+	public synchronized void update(final T entity) {
+		final int id = getId(entity);
+
+		// the queued insert writes the current state of the entity
+		if (pendingInserts.containsKey(id)) {
+			return;
+		}
+
+		pendingUpdates.put(id, entity);
+		flushIfBatchIsFull();
+	}
+}
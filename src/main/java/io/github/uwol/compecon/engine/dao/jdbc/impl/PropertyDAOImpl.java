@@ -0,0 +1,74 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.jdbc.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import io.github.uwol.compecon.economy.property.Property;
+import io.github.uwol.compecon.economy.property.PropertyIssued;
+
+/**
+ * Property DAO, which mirrors the properties into the database table
+ * properties. A transfer of a property is written as an update of its owner.
+ */
+public class PropertyDAOImpl extends io.github.uwol.compecon.engine.dao.inmemory.impl.PropertyDAOImpl {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final JdbcTable<Property> table;
+
+	public PropertyDAOImpl(final JdbcSession session) {
+		table = new JdbcTable<Property>(session, "properties", "property_type VARCHAR(64)", "owner_id INTEGER",
+				"issuer_id INTEGER") {
+
+			@Override
+			protected int getId(final Property property) {
+				return property.getId();
+			}
+
+			@Override
+			protected void setValues(final PreparedStatement statement, final Property property)
+					throws SQLException {
+				statement.setString(1, property.getClass().getSimpleName());
+				setAgentId(statement, 2, property.getOwner());
+				setAgentId(statement, 3,
+						property instanceof PropertyIssued ? ((PropertyIssued) property).getIssuer() : null);
+			}
+		};
+	}
+
+	@Override
+	public synchronized void delete(final Property entity) {
+		super.delete(entity);
+		table.delete(entity);
+	}
+
+	@Override
+	public synchronized void merge(final Property entity) {
+		table.update(entity);
+	}
+
+	@Override
+	public synchronized void save(final Property entity) {
+		super.save(entity);
+		table.insert(entity);
+	}
+}
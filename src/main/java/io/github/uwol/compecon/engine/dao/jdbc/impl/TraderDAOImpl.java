@@ -0,0 +1,53 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.jdbc.impl;
+
+import io.github.uwol.compecon.economy.sectors.trading.Trader;
+
+/**
+ * Trader DAO, which mirrors the traders into the database table traders.
+ */
+public class TraderDAOImpl extends io.github.uwol.compecon.engine.dao.inmemory.impl.TraderDAOImpl {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final JdbcTable<Trader> table;
+
+	public TraderDAOImpl(final JdbcSession session) {
+		table = new AgentJdbcTable<Trader>(session, "traders");
+	}
+
+	@Override
+	public synchronized void delete(final Trader entity) {
+		super.delete(entity);
+		table.delete(entity);
+	}
+
+	@Override
+	public synchronized void merge(final Trader entity) {
+		table.update(entity);
+	}
+
+	@Override
+	public synchronized void save(final Trader entity) {
+		super.save(entity);
+		table.insert(entity);
+	}
+}
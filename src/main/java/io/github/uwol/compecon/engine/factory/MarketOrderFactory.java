@@ -28,6 +28,8 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 
 public interface MarketOrderFactory {
 
+	public void decrementSellingOrder(final MarketOrder marketOrder, final double amount);
+
 	public void deleteAllSellingOrders(final MarketParticipant offeror);
 
 	public void deleteAllSellingOrders(final MarketParticipant offeror, final Currency denominatedInCurrency,
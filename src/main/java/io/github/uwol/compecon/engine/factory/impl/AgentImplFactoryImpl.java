@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -42,7 +43,9 @@ import io.github.uwol.compecon.economy.sectors.trading.impl.TraderImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.factory.AgentFactory;
 
-public class AgentImplFactoryImpl implements AgentFactory {
+public class AgentImplFactoryImpl implements AgentFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	protected final List<Class<? extends Agent>> agentTypes = new ArrayList<Class<? extends Agent>>();
 
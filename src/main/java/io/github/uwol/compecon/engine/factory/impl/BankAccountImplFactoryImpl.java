@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.sectors.financial.Bank;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
@@ -29,7 +31,9 @@ import io.github.uwol.compecon.economy.sectors.financial.impl.BankAccountImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.factory.BankAccountFactory;
 
-public class BankAccountImplFactoryImpl implements BankAccountFactory {
+public class BankAccountImplFactoryImpl implements BankAccountFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public void deleteAllBankAccounts(final Bank managingBank) {
@@ -19,12 +19,16 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.behaviour.BudgetingBehaviour;
 import io.github.uwol.compecon.economy.behaviour.impl.BudgetingBehaviourImpl;
 import io.github.uwol.compecon.engine.factory.BudgetingBehaviourFactory;
 
-public class BudgetingBehaviourFactoryImpl implements BudgetingBehaviourFactory {
+public class BudgetingBehaviourFactoryImpl implements BudgetingBehaviourFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public BudgetingBehaviour newInstanceBudgetingBehaviour(final Agent agent) {
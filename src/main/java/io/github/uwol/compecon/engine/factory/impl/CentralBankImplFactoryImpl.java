@@ -19,13 +19,17 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.sectors.financial.CentralBank;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.financial.impl.CentralBankImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.factory.CentralBankFactory;
 
-public class CentralBankImplFactoryImpl implements CentralBankFactory {
+public class CentralBankImplFactoryImpl implements CentralBankFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public void deleteCentralBank(final CentralBank agent) {
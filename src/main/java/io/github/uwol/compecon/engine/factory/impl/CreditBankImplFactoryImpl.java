@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -28,7 +29,9 @@ import io.github.uwol.compecon.economy.sectors.financial.impl.CreditBankImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.factory.CreditBankFactory;
 
-public class CreditBankImplFactoryImpl implements CreditBankFactory {
+public class CreditBankImplFactoryImpl implements CreditBankFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public void deleteCreditBank(final CreditBank agent) {
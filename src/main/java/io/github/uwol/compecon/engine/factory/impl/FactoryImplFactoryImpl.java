@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.industry.Factory;
@@ -27,10 +29,18 @@ import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.factory.FactoryFactory;
 import io.github.uwol.compecon.math.production.ProductionFunction;
 
-public class FactoryImplFactoryImpl implements FactoryFactory {
+public class FactoryImplFactoryImpl implements FactoryFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public void deleteFactory(final Factory agent) {
+		// move the state of the factory out of the state store, as it can be
+		// accessed after deletion
+		if (agent instanceof FactoryImpl && ((FactoryImpl) agent).getStateStore() != null) {
+			((FactoryImpl) agent).setStateStore(null);
+		}
+
 		ApplicationContext.getInstance().getFactoryDAO().delete(agent);
 	}
 
@@ -56,6 +66,11 @@ public class FactoryImplFactoryImpl implements FactoryFactory {
 		factory.setProductionFunction(productionFunction);
 
 		ApplicationContext.getInstance().getFactoryDAO().save(factory);
+
+		if (ApplicationContext.getInstance().getConfiguration().agentConfig.getColumnarStateStore()) {
+			factory.setStateStore(ApplicationContext.getInstance().getFactoryDAO().getStateStore());
+		}
+
 		factory.initialize();
 
 		return factory;
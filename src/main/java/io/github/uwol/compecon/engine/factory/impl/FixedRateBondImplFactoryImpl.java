@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccountDelegate;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
@@ -27,7 +29,9 @@ import io.github.uwol.compecon.economy.security.debt.impl.FixedRateBondImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.factory.FixedRateBondFactory;
 
-public class FixedRateBondImplFactoryImpl implements FixedRateBondFactory {
+public class FixedRateBondImplFactoryImpl implements FixedRateBondFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public FixedRateBond newInstanceFixedRateBond(final Agent owner, final Agent issuer, final Currency currency,
@@ -19,17 +19,25 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.property.GoodTypeOwnership;
 import io.github.uwol.compecon.economy.property.PropertyOwner;
 import io.github.uwol.compecon.economy.property.impl.GoodTypeOwnershipImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.factory.GoodTypeOwnershipFactory;
 
-public class GoodTypeOwnershipImplFactoryImpl implements GoodTypeOwnershipFactory {
+public class GoodTypeOwnershipImplFactoryImpl implements GoodTypeOwnershipFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public void deleteGoodTypeOwnership(final GoodTypeOwnership goodTypeOwnership) {
 		ApplicationContext.getInstance().getGoodTypeOwnershipDAO().delete(goodTypeOwnership);
+
+		if (goodTypeOwnership.getPropertyOwner().getGoodTypeOwnership() == goodTypeOwnership) {
+			goodTypeOwnership.getPropertyOwner().setGoodTypeOwnership(null);
+		}
 	}
 
 	@Override
@@ -42,6 +50,7 @@ public class GoodTypeOwnershipImplFactoryImpl implements GoodTypeOwnershipFactor
 
 		goodTypeOwnership.setPropertyOwner(propertyOwner);
 		ApplicationContext.getInstance().getGoodTypeOwnershipDAO().save(goodTypeOwnership);
+		propertyOwner.setGoodTypeOwnership(goodTypeOwnership);
 
 		return goodTypeOwnership;
 	}
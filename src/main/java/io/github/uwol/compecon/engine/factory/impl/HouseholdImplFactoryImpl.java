@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.sectors.household.impl.HouseholdImpl;
@@ -26,10 +28,18 @@ import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.factory.HouseholdFactory;
 import io.github.uwol.compecon.math.intertemporal.impl.ModiglianiIntertemporalConsumptionFunction;
 
-public class HouseholdImplFactoryImpl implements HouseholdFactory {
+public class HouseholdImplFactoryImpl implements HouseholdFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public void deleteHousehold(final Household agent) {
+		// move the state of the household out of the state store, as it can be
+		// accessed after deletion
+		if (agent instanceof HouseholdImpl && ((HouseholdImpl) agent).getStateStore() != null) {
+			((HouseholdImpl) agent).setStateStore(null);
+		}
+
 		ApplicationContext.getInstance().getHouseholdDAO().delete(agent);
 	}
 
@@ -59,6 +69,11 @@ public class HouseholdImplFactoryImpl implements HouseholdFactory {
 		household.setIntertemporalConsumptionFunction(new ModiglianiIntertemporalConsumptionFunction());
 
 		ApplicationContext.getInstance().getHouseholdDAO().save(household);
+
+		if (ApplicationContext.getInstance().getConfiguration().agentConfig.getColumnarStateStore()) {
+			household.setStateStore(ApplicationContext.getInstance().getHouseholdDAO().getStateStore());
+		}
+
 		household.initialize();
 
 		return household;
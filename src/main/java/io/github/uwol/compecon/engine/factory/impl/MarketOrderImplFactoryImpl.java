@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.markets.MarketOrder;
 import io.github.uwol.compecon.economy.markets.MarketParticipant;
 import io.github.uwol.compecon.economy.markets.impl.MarketOrderImpl;
@@ -29,7 +31,14 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.factory.MarketOrderFactory;
 
-public class MarketOrderImplFactoryImpl implements MarketOrderFactory {
+public class MarketOrderImplFactoryImpl implements MarketOrderFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public void decrementSellingOrder(final MarketOrder marketOrder, final double amount) {
+		ApplicationContext.getInstance().getMarketOrderDAO().decrementAmount(marketOrder, amount);
+	}
 
 	@Override
 	public void deleteAllSellingOrders(final MarketParticipant offeror) {
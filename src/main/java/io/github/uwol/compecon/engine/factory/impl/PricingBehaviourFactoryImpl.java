@@ -19,13 +19,17 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.agent.impl.AgentImpl;
 import io.github.uwol.compecon.economy.behaviour.PricingBehaviour;
 import io.github.uwol.compecon.economy.behaviour.impl.PricingBehaviourImpl;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.factory.PricingBehaviourFactory;
 
-public class PricingBehaviourFactoryImpl implements PricingBehaviourFactory {
+public class PricingBehaviourFactoryImpl implements PricingBehaviourFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public PricingBehaviour newInstancePricingBehaviour(final AgentImpl agent, final Object offeredObject,
@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.security.equity.JointStockCompany;
 import io.github.uwol.compecon.economy.security.equity.Share;
@@ -26,7 +28,9 @@ import io.github.uwol.compecon.economy.security.equity.impl.ShareImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.factory.ShareFactory;
 
-public class ShareImplFactoryImpl implements ShareFactory {
+public class ShareImplFactoryImpl implements ShareFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public Share newInstanceShare(final Agent owner, final JointStockCompany issuer) {
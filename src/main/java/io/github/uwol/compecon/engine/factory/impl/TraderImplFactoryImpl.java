@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.io.Serializable;
+
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.trading.Trader;
@@ -26,7 +28,9 @@ import io.github.uwol.compecon.economy.sectors.trading.impl.TraderImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.factory.TraderFactory;
 
-public class TraderImplFactoryImpl implements TraderFactory {
+public class TraderImplFactoryImpl implements TraderFactory, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public void deleteTrader(final Trader agent) {
@@ -19,7 +19,6 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.log;
 
-import java.util.Date;
 import java.util.Map;
 
 import io.github.uwol.compecon.economy.agent.Agent;
@@ -30,9 +29,11 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
 import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.financial.InterestAccrualBatch;
 import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.sectors.industry.Factory;
 import io.github.uwol.compecon.economy.sectors.state.State;
+import io.github.uwol.compecon.engine.timesystem.TimeSystem;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.math.ConvexFunction.ConvexFunctionTerminationCause;
 import io.github.uwol.compecon.math.production.ConvexProductionFunction.ConvexProductionFunctionTerminationCause;
@@ -52,6 +53,14 @@ public interface Log {
 
 	public void agent_onPublishBalanceSheet(final Agent agent, final BalanceSheetDTO balanceSheet);
 
+	/**
+	 * logs the interest accrual of a bank as the transfers between the interest
+	 * bank account of the bank and the bank accounts of the batch
+	 */
+	public void bank_onInterestAccrual(final BankAccount interestBankAccount,
+			final InterestAccrualBatch interestAccrualBatch, final String subjectEarnedInterest,
+			final String subjectDebtInterest);
+
 	public void bank_onTransfer(final BankAccount from, final BankAccount to, final Currency currency,
 			final double value, final String subject);
 
@@ -94,6 +103,11 @@ public interface Log {
 
 	public boolean isAgentSelectedByClient(final MarketParticipant marketParticipant);
 
+	/**
+	 * sets the agent as currently active and logs the message for the agent
+	 * detail model, if the agent is selected by the client; the message is
+	 * formatted with the parameters only when it is displayed.
+	 */
 	public void log(final Agent agent, final Class<? extends TimeSystemEvent> eventClass, final String message,
 			final Object... parameters);
 
@@ -111,9 +125,16 @@ public interface Log {
 	public void market_onTick(final double pricePerUnit, final GoodType goodType, final Currency currency,
 			final double amount);
 
-	public void notifyTimeSystem_nextDay(final Date date);
+	/**
+	 * @param tick number of hours since the start of the simulation; the date is
+	 *             available from {@link TimeSystem#getCurrentDate()}, if needed.
+	 */
+	public void notifyTimeSystem_nextDay(final int tick);
 
-	public void notifyTimeSystem_nextHour(final Date date);
+	/**
+	 * @param tick number of hours since the start of the simulation
+	 */
+	public void notifyTimeSystem_nextHour(final int tick);
 
 	public void pricingBehaviour_onCalculateNewPrice(final Agent agent,
 			final PricingBehaviourNewPriceDecisionCause decisionCause, final double weight);
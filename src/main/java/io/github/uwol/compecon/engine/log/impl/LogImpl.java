@@ -19,7 +19,9 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.log.impl;
 
-import java.util.Date;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -31,36 +33,79 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
 import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.financial.InterestAccrualBatch;
 import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.sectors.industry.Factory;
 import io.github.uwol.compecon.economy.sectors.state.State;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.log.Log;
+import io.github.uwol.compecon.engine.statistics.AgentDetailModel;
+import io.github.uwol.compecon.engine.statistics.AgentDetailModel.MoneySum;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry.IncomeSource;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.HouseholdsModel;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.IndustryModel;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.PricingBehaviourModel;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.UtilityModel;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.math.ConvexFunction.ConvexFunctionTerminationCause;
 import io.github.uwol.compecon.math.production.ConvexProductionFunction.ConvexProductionFunctionTerminationCause;
 import io.github.uwol.compecon.math.util.MathUtil;
 
-public class LogImpl implements Log {
+/**
+ * Log, which forwards the callbacks of agents to the models of the model
+ * registry. The models are resolved once per currency on construction. Log
+ * messages are recorded in the agent detail model only if they concern the
+ * agent selected by the client, which is checked by a single read of a
+ * volatile field, so that logging is free of formatting and locking while no
+ * agent is selected. Recorded messages are formatted by the agent detail model
+ * when they are displayed.
+ */
+public class LogImpl implements Log, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final AgentDetailModel agentDetailModel;
 
-	private Agent agentCurrentlyActive;
+	/**
+	 * agent, whose event is executed by the current thread; per thread, as events
+	 * of national economies may be executed in parallel
+	 */
+	private transient ThreadLocal<Agent> agentCurrentlyActive = new ThreadLocal<Agent>();
 
-	private Agent agentSelectedByClient;
+	/**
+	 * written by the dashboard thread, read by the simulation threads
+	 */
+	private volatile Agent agentSelectedByClient;
+
+	/**
+	 * national economy models indexed by currency ordinal
+	 */
+	private final NationalEconomyModel[] nationalEconomyModels = new NationalEconomyModel[Currency.values().length];
+
+	public LogImpl(final ModelRegistry modelRegistry) {
+		agentDetailModel = modelRegistry.getAgentDetailModel();
+
+		for (final Currency currency : Currency.values()) {
+			nationalEconomyModels[currency.ordinal()] = modelRegistry.getNationalEconomyModel(currency);
+		}
+	}
 
 	// --------
 
 	@Override
 	public void agent_CreditUtilization(final Agent agent, final double creditUtilization,
 			final double creditCapacity) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(agent.getPrimaryCurrency()).creditUtilizationRateModel.add(creditUtilization,
-						creditCapacity);
+		getNationalEconomyModel(agent.getPrimaryCurrency()).creditUtilizationRateModel.add(creditUtilization,
+				creditCapacity);
 	}
 
 	@Override
 	public void agent_onCalculateOutputMaximizingInputsIterative(final double budget, final double budgetSpent,
 			final ConvexFunctionTerminationCause terminationCause) {
+		final Agent agentCurrentlyActive = this.agentCurrentlyActive.get();
+
 		if (agentCurrentlyActive != null) {
 			// TODO temporary assumption
 			assert (agentCurrentlyActive instanceof Household || agentCurrentlyActive instanceof State);
@@ -72,18 +117,17 @@ public class LogImpl implements Log {
 				weightForCause = budget - budgetSpent;
 			}
 
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(
-					agentCurrentlyActive.getPrimaryCurrency()).householdsModel.convexFunctionTerminationCauseModels
-							.get(terminationCause).add(weightForCause);
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(agentCurrentlyActive.getPrimaryCurrency()).householdsModel.budgetModel
-							.add(budget);
+			final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(
+					agentCurrentlyActive.getPrimaryCurrency());
+			nationalEconomyModel.householdsModel.convexFunctionTerminationCauseModels.get(terminationCause)
+					.add(weightForCause);
+			nationalEconomyModel.householdsModel.budgetModel.add(budget);
 		}
 	}
 
 	@Override
 	public void agent_onConstruct(final Agent agent) {
-		ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().agent_onConstruct(agent);
+		agentDetailModel.agent_onConstruct(agent);
 		if (isAgentSelectedByClient(agent)) {
 			log(agent, agent + " constructed");
 		}
@@ -91,13 +135,13 @@ public class LogImpl implements Log {
 
 	@Override
 	public void agent_onDeconstruct(final Agent agent) {
-		ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().agent_onDeconstruct(agent);
+		agentDetailModel.agent_onDeconstruct(agent);
 		if (isAgentSelectedByClient(agent)) {
 			log(agent, agent + " deconstructed");
 		}
 
-		if (agentCurrentlyActive == agent) {
-			agentCurrentlyActive = null;
+		if (agentCurrentlyActive.get() == agent) {
+			agentCurrentlyActive.remove();
 		}
 
 		if (agentSelectedByClient == agent) {
@@ -109,26 +153,21 @@ public class LogImpl implements Log {
 	public void agent_onLifesign(final Agent agent) {
 		final Class<? extends Agent> agentType = agent.getClass();
 
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(agent.getPrimaryCurrency()).numberOfAgentsModels.get(agentType).add(1);
+		getNationalEconomyModel(agent.getPrimaryCurrency()).numberOfAgentsModels.get(agentType).add(1);
 	}
 
 	@Override
 	public void agent_onPublishBalanceSheet(final Agent agent, final BalanceSheetDTO balanceSheet) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(balanceSheet.referenceCurrency).balanceSheetsModel
-						.agent_onPublishBalanceSheet(agent, balanceSheet);
+		final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(balanceSheet.referenceCurrency);
 
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(balanceSheet.referenceCurrency).moneySupplyM0Model.add(balanceSheet.hardCash);
+		nationalEconomyModel.balanceSheetsModel.agent_onPublishBalanceSheet(agent, balanceSheet);
+
+		nationalEconomyModel.moneySupplyM0Model.add(balanceSheet.hardCash);
 		// TODO: what about money in the private banking system? -> M1
 		// definition
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(balanceSheet.referenceCurrency).moneySupplyM1Model
-						.add(balanceSheet.hardCash + balanceSheet.cashGiroShortTerm);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(balanceSheet.referenceCurrency).moneySupplyM2Model
-						.add(balanceSheet.hardCash + balanceSheet.cashGiroShortTerm + balanceSheet.cashGiroLongTerm);
+		nationalEconomyModel.moneySupplyM1Model.add(balanceSheet.hardCash + balanceSheet.cashGiroShortTerm);
+		nationalEconomyModel.moneySupplyM2Model
+				.add(balanceSheet.hardCash + balanceSheet.cashGiroShortTerm + balanceSheet.cashGiroLongTerm);
 	}
 
 	// --------
@@ -151,8 +190,63 @@ public class LogImpl implements Log {
 		}
 
 		if (!ApplicationContext.getInstance().getTimeSystem().isInitializationPhase()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).totalUtilityOutputModel.add(utility);
+			getNationalEconomyModel(currency).totalUtilityOutputModel.add(utility);
+		}
+	}
+
+	@Override
+	public void bank_onInterestAccrual(final BankAccount interestBankAccount,
+			final InterestAccrualBatch interestAccrualBatch, final String subjectEarnedInterest,
+			final String subjectDebtInterest) {
+		final Currency currency = interestBankAccount.getCurrency();
+		final BankCustomer bank = interestBankAccount.getOwner();
+
+		// interests are aggregated per run of bank accounts with owners of the
+		// same agent type
+		Class<? extends BankCustomer> ownerType = null;
+		double earnedInterest = 0.0;
+		double debtInterest = 0.0;
+
+		for (int i = 0; i < interestAccrualBatch.size(); i++) {
+			final BankAccount bankAccount = interestAccrualBatch.getBankAccount(i);
+			final double interest = interestAccrualBatch.getInterest(i);
+
+			if (interest == 0.0 || bankAccount.getOwner() == bank) {
+				continue;
+			}
+
+			if (bankAccount.getOwner().getClass() != ownerType) {
+				bank_onInterestAccrual(bank, ownerType, currency, earnedInterest, debtInterest);
+				ownerType = bankAccount.getOwner().getClass();
+				earnedInterest = 0.0;
+				debtInterest = 0.0;
+			}
+
+			if (interest > 0.0) {
+				earnedInterest += interest;
+				bank_onTransferToSelectedAgent(interestBankAccount, bankAccount, currency, interest,
+						subjectEarnedInterest);
+			} else {
+				debtInterest -= interest;
+				bank_onTransferToSelectedAgent(bankAccount, interestBankAccount, currency, -interest,
+						subjectDebtInterest);
+			}
+		}
+
+		bank_onInterestAccrual(bank, ownerType, currency, earnedInterest, debtInterest);
+	}
+
+	private void bank_onInterestAccrual(final BankCustomer bank, final Class<? extends BankCustomer> ownerType,
+			final Currency currency, final double earnedInterest, final double debtInterest) {
+		if (earnedInterest > 0.0) {
+			getNationalEconomyModel(currency).monetaryTransactionsModel.bank_onTransfer(bank.getClass(), ownerType,
+					currency, earnedInterest);
+			getNationalEconomyModel(currency).moneyCirculationModel.add(earnedInterest);
+		}
+		if (debtInterest > 0.0) {
+			getNationalEconomyModel(currency).monetaryTransactionsModel.bank_onTransfer(ownerType, bank.getClass(),
+					currency, debtInterest);
+			getNationalEconomyModel(currency).moneyCirculationModel.add(debtInterest);
 		}
 	}
 
@@ -162,24 +256,30 @@ public class LogImpl implements Log {
 		// only if this is a transfer between agents; alternatively it could be
 		// a transfer between bank accounts of this agent
 		if (from.getOwner() != to.getOwner()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).monetaryTransactionsModel
-							.bank_onTransfer(from.getOwner().getClass(), to.getOwner().getClass(), currency, value);
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).moneyCirculationModel
-					.add(value);
+			final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(currency);
+			nationalEconomyModel.monetaryTransactionsModel.bank_onTransfer(from.getOwner().getClass(),
+					to.getOwner().getClass(), currency, value);
+			nationalEconomyModel.moneyCirculationModel.add(value);
+		}
+
+		bank_onTransferToSelectedAgent(from, to, currency, value, subject);
+	}
+
+	private void bank_onTransferToSelectedAgent(final BankAccount from, final BankAccount to,
+			final Currency currency, final double value, final String subject) {
+		final Agent agentSelectedByClient = this.agentSelectedByClient;
+
+		if (agentSelectedByClient == null) {
+			return;
 		}
 
-		if (isAgentSelectedByClient(from.getOwner())) {
-			final String message = " --- " + Currency.formatMoneySum(value) + " " + currency.getIso4217Code() + " ---> "
-					+ to + ": " + subject;
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().logBankAccountEvent(
-					ApplicationContext.getInstance().getTimeSystem().getCurrentDate(), from, message);
+		if (agentSelectedByClient == from.getOwner()) {
+			agentDetailModel.logBankAccountEvent(ApplicationContext.getInstance().getTimeSystem().getCurrentTick(),
+					from, " --- %s %s ---> %s: %s", new MoneySum(value), currency.getIso4217Code(), to, subject);
 		}
-		if (isAgentSelectedByClient(to.getOwner())) {
-			final String message = " <--- " + Currency.formatMoneySum(value) + " " + currency.getIso4217Code() + " --- "
-					+ from + ": " + subject;
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().logBankAccountEvent(
-					ApplicationContext.getInstance().getTimeSystem().getCurrentDate(), to, message);
+		if (agentSelectedByClient == to.getOwner()) {
+			agentDetailModel.logBankAccountEvent(ApplicationContext.getInstance().getTimeSystem().getCurrentTick(), to,
+					" <--- %s %s --- %s: %s", new MoneySum(value), currency.getIso4217Code(), from, subject);
 		}
 	}
 
@@ -187,25 +287,24 @@ public class LogImpl implements Log {
 
 	@Override
 	public void centralBank_KeyInterestRate(final Currency currency, final double keyInterestRate) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).keyInterestRateModel
-				.add(keyInterestRate);
+		getNationalEconomyModel(currency).keyInterestRateModel.add(keyInterestRate);
 	}
 
 	@Override
 	public void centralBank_PriceIndex(final Currency currency, final double priceIndex) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).priceIndexModel
-				.add(priceIndex);
+		getNationalEconomyModel(currency).priceIndexModel.add(priceIndex);
 	}
 
 	@Override
 	public void factory_AmountSold(final Currency currency, final GoodType outputGoodType, final double amountSold) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-				.getPricingBehaviourModel(outputGoodType).soldModel.add(amountSold);
+		getNationalEconomyModel(currency).getPricingBehaviourModel(outputGoodType).soldModel.add(amountSold);
 	}
 
 	@Override
 	public void factory_onCalculateProfitMaximizingProductionFactorsIterative(final double budget,
 			final double budgetSpent, final ConvexProductionFunctionTerminationCause terminationCause) {
+		final Agent agentCurrentlyActive = this.agentCurrentlyActive.get();
+
 		if (agentCurrentlyActive != null) {
 			assert (agentCurrentlyActive instanceof Factory);
 
@@ -216,42 +315,35 @@ public class LogImpl implements Log {
 				weightForCause = budget - budgetSpent;
 			}
 
-			final Currency currency = agentCurrentlyActive.getPrimaryCurrency();
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-					.getIndustryModel(((Factory) agentCurrentlyActive)
-							.getProducedGoodType()).convexProductionFunctionTerminationCauseModels.get(terminationCause)
-									.add(weightForCause);
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-					.getIndustryModel(((Factory) agentCurrentlyActive).getProducedGoodType()).budgetModel.add(budget);
+			final IndustryModel industryModel = getNationalEconomyModel(agentCurrentlyActive.getPrimaryCurrency())
+					.getIndustryModel(((Factory) agentCurrentlyActive).getProducedGoodType());
+			industryModel.convexProductionFunctionTerminationCauseModels.get(terminationCause).add(weightForCause);
+			industryModel.budgetModel.add(budget);
 		}
 	}
 
 	@Override
 	public void factory_onCapitalDepreciation(final Factory factory, final GoodType capitalGoodType,
 			final double depreciation) {
-		this.log(factory, "depreciation of " + depreciation + " units on capital good " + capitalGoodType);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(factory.getPrimaryCurrency()).industryModels
-						.get(capitalGoodType).capitalDepreciationModel.add(depreciation);
+		this.log(factory, "depreciation of %s units on capital good %s", depreciation, capitalGoodType);
+		getNationalEconomyModel(factory.getPrimaryCurrency()).industryModels
+				.get(capitalGoodType).capitalDepreciationModel.add(depreciation);
 	}
 
 	@Override
 	public void factory_onOfferGoodType(final Currency currency, final GoodType outputGoodType,
 			final double amountOffered, final double inventory) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-				.getPricingBehaviourModel(outputGoodType).offerModel.add(amountOffered);
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-				.getIndustryModel(outputGoodType).inventoryModel.add(inventory);
+		getNationalEconomyModel(currency).getPricingBehaviourModel(outputGoodType).offerModel.add(amountOffered);
+		getNationalEconomyModel(currency).getIndustryModel(outputGoodType).inventoryModel.add(inventory);
 	}
 
 	@Override
 	public void factory_onProduction(final Factory factory, final Currency currency, final GoodType outputGoodType,
 			final double output, final Map<GoodType, Double> inputs) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-				.getIndustryModel(outputGoodType).outputModel.add(output);
+		final IndustryModel industryModel = getNationalEconomyModel(currency).getIndustryModel(outputGoodType);
+		industryModel.outputModel.add(output);
 		for (final Entry<GoodType, Double> input : inputs.entrySet()) {
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-					.getIndustryModel(outputGoodType).inputModels.get(input.getKey()).add(input.getValue());
+			industryModel.inputModels.get(input.getKey()).add(input.getValue());
 		}
 	}
 
@@ -260,75 +352,59 @@ public class LogImpl implements Log {
 		return agentSelectedByClient;
 	}
 
+	private NationalEconomyModel getNationalEconomyModel(final Currency currency) {
+		return nationalEconomyModels[currency.ordinal()];
+	}
+
 	@Override
 	public void household_AmountSold(final Currency currency, final double labourHoursSold) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-				.getPricingBehaviourModel(GoodType.LABOURHOUR).soldModel.add(labourHoursSold);
+		getNationalEconomyModel(currency).getPricingBehaviourModel(GoodType.LABOURHOUR).soldModel.add(labourHoursSold);
 	}
 
 	@Override
 	public void household_onIncomeWageDividendTransfersConsumptionSaving(final Currency currency, final double income,
 			final double consumptionAmount, final double savingAmount, final double wage, final double dividend,
 			final double governmentTransfers) {
+		final HouseholdsModel householdsModel = getNationalEconomyModel(currency).householdsModel;
 
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.consumptionModel.add(consumptionAmount);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeModel.add(income);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.consumptionRateModel.add(consumptionAmount, income);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.consumptionIncomeRatioModel.add(consumptionAmount,
-						income);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.savingModel.add(savingAmount);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.savingRateModel.add(savingAmount, income);
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).householdsModel.wageModel
-				.add(wage);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.dividendModel.add(dividend);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.governmentTransfersModel.add(governmentTransfers);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeSourceModel.add(IncomeSource.WAGE, wage);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeSourceModel.add(IncomeSource.DIVIDEND,
-						dividend);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeSourceModel.add(IncomeSource.TRANSFERS,
-						governmentTransfers);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeDistributionModel.add(income);
+		householdsModel.consumptionModel.add(consumptionAmount);
+		householdsModel.incomeModel.add(income);
+		householdsModel.consumptionRateModel.add(consumptionAmount, income);
+		householdsModel.consumptionIncomeRatioModel.add(consumptionAmount, income);
+		householdsModel.savingModel.add(savingAmount);
+		householdsModel.savingRateModel.add(savingAmount, income);
+		householdsModel.wageModel.add(wage);
+		householdsModel.dividendModel.add(dividend);
+		householdsModel.governmentTransfersModel.add(governmentTransfers);
+		householdsModel.incomeSourceModel.add(IncomeSource.WAGE, wage);
+		householdsModel.incomeSourceModel.add(IncomeSource.DIVIDEND, dividend);
+		householdsModel.incomeSourceModel.add(IncomeSource.TRANSFERS, governmentTransfers);
+		householdsModel.incomeDistributionModel.add(income);
 	}
 
 	@Override
 	public void household_onOfferResult(final Currency currency, final double labourHoursOffered,
 			final double labourHourCapacity) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-				.getPricingBehaviourModel(GoodType.LABOURHOUR).offerModel.add(labourHoursOffered);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.labourHourCapacityModel.add(labourHourCapacity);
+		getNationalEconomyModel(currency).getPricingBehaviourModel(GoodType.LABOURHOUR).offerModel
+				.add(labourHoursOffered);
+		getNationalEconomyModel(currency).householdsModel.labourHourCapacityModel.add(labourHourCapacity);
 	}
 
 	// --------
 
 	@Override
 	public void household_onRetired(final Household household) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(household.getPrimaryCurrency()).householdsModel.retiredModel.add(1);
+		getNationalEconomyModel(household.getPrimaryCurrency()).householdsModel.retiredModel.add(1);
 	}
 
 	@Override
 	public void household_onUtility(final Household household, final Currency currency,
 			final Map<GoodType, Double> bundleOfGoodsToConsume, final double utility) {
 		agent_onUtility(household, currency, bundleOfGoodsToConsume, utility);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.utilityModel.utilityOutputModel.add(utility);
+		final UtilityModel utilityModel = getNationalEconomyModel(currency).householdsModel.utilityModel;
+		utilityModel.utilityOutputModel.add(utility);
 		for (final Entry<GoodType, Double> entry : bundleOfGoodsToConsume.entrySet()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).householdsModel.utilityModel.utilityInputModels
-							.get(entry.getKey()).add(entry.getValue());
+			utilityModel.utilityInputModels.get(entry.getKey()).add(entry.getValue());
 		}
 	}
 
@@ -348,30 +424,33 @@ public class LogImpl implements Log {
 	}
 
 	@Override
-	public synchronized void log(final Agent agent, final Class<? extends TimeSystemEvent> eventClass,
-			final String message, final Object... parameters) {
+	public void log(final Agent agent, final Class<? extends TimeSystemEvent> eventClass, final String message,
+			final Object... parameters) {
 		setAgentCurrentlyActive(agent);
-		log(eventClass.getSimpleName() + ": " + String.format(message, parameters));
+
+		if (isAgentSelectedByClient(agent)) {
+			agentDetailModel.logAgentEvent(ApplicationContext.getInstance().getTimeSystem().getCurrentTick(),
+					eventClass.getSimpleName() + ": " + message, parameters);
+		}
 	}
 
 	// --------
 
 	@Override
-	public synchronized void log(final Agent agent, final String message, final Object... parameters) {
+	public void log(final Agent agent, final String message, final Object... parameters) {
 		setAgentCurrentlyActive(agent);
 		log(message, parameters);
 	}
 
 	@Override
-	public synchronized void log(final BankCustomer bankCustomer, final String message, final Object... parameters) {
+	public void log(final BankCustomer bankCustomer, final String message, final Object... parameters) {
 		if (bankCustomer instanceof Agent) {
 			log((Agent) bankCustomer, message, parameters);
 		}
 	}
 
 	@Override
-	public synchronized void log(final MarketParticipant marketParticipant, final String message,
-			final Object... parameters) {
+	public void log(final MarketParticipant marketParticipant, final String message, final Object... parameters) {
 		if (marketParticipant instanceof Agent) {
 			log((Agent) marketParticipant, message, parameters);
 		}
@@ -379,18 +458,18 @@ public class LogImpl implements Log {
 
 	@Override
 	public void log(final String message, final Object... parameters) {
-		if (agentCurrentlyActive != null && agentSelectedByClient == agentCurrentlyActive) {
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().logAgentEvent(
-					ApplicationContext.getInstance().getTimeSystem().getCurrentDate(),
-					String.format(message, parameters));
+		final Agent agentSelectedByClient = this.agentSelectedByClient;
+
+		if (agentSelectedByClient != null && agentSelectedByClient == agentCurrentlyActive.get()) {
+			agentDetailModel.logAgentEvent(ApplicationContext.getInstance().getTimeSystem().getCurrentTick(), message,
+					parameters);
 		}
 	}
 
 	@Override
 	public void market_onTick(final double pricePerUnit, final Currency commodityCurrency, final Currency currency,
 			final double amount) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).pricesModel
-				.market_onTick(pricePerUnit, commodityCurrency, amount);
+		getNationalEconomyModel(currency).pricesModel.market_onTick(pricePerUnit, commodityCurrency, amount);
 	}
 
 	// --------
@@ -398,19 +477,18 @@ public class LogImpl implements Log {
 	@Override
 	public void market_onTick(final double pricePerUnit, final GoodType goodType, final Currency currency,
 			final double amount) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).pricesModel
-				.market_onTick(pricePerUnit, goodType, amount);
+		getNationalEconomyModel(currency).pricesModel.market_onTick(pricePerUnit, goodType, amount);
 	}
 
 	@Override
-	public void notifyTimeSystem_nextDay(final Date date) {
+	public void notifyTimeSystem_nextDay(final int tick) {
 		ApplicationContext.getInstance().getModelRegistry().nextPeriod();
 	}
 
 	// --------
 
 	@Override
-	public void notifyTimeSystem_nextHour(final Date date) {
+	public void notifyTimeSystem_nextHour(final int tick) {
 		ApplicationContext.getInstance().getModelRegistry().nextHour();
 	}
 
@@ -427,20 +505,23 @@ public class LogImpl implements Log {
 		}
 
 		if (goodType != null) {
-			final Currency currency = agent.getPrimaryCurrency();
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-					.getPricingBehaviourModel(goodType).pricingBehaviourPriceDecisionCauseModels.get(decisionCause)
-							.add(weight);
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-					.getPricingBehaviourModel(goodType).pricingBehaviourAveragePriceDecisionCauseModel.add(weight);
+			final PricingBehaviourModel pricingBehaviourModel = getNationalEconomyModel(agent.getPrimaryCurrency())
+					.getPricingBehaviourModel(goodType);
+			pricingBehaviourModel.pricingBehaviourPriceDecisionCauseModels.get(decisionCause).add(weight);
+			pricingBehaviourModel.pricingBehaviourAveragePriceDecisionCauseModel.add(weight);
 		}
 	}
 
+	private void readObject(final ObjectInputStream objectInputStream) throws IOException, ClassNotFoundException {
+		objectInputStream.defaultReadObject();
+		agentCurrentlyActive = new ThreadLocal<Agent>();
+	}
+
 	// --------
 
 	@Override
 	public void setAgentCurrentlyActive(final Agent agent) {
-		agentCurrentlyActive = agent;
+		agentCurrentlyActive.set(agent);
 	}
 
 	@Override
@@ -455,12 +536,10 @@ public class LogImpl implements Log {
 	public void state_onUtility(final State state, final Currency currency,
 			final Map<GoodType, Double> bundleOfGoodsToConsume, final double utility) {
 		agent_onUtility(state, currency, bundleOfGoodsToConsume, utility);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).stateModel.utilityModel.utilityOutputModel.add(utility);
+		final UtilityModel utilityModel = getNationalEconomyModel(currency).stateModel.utilityModel;
+		utilityModel.utilityOutputModel.add(utility);
 		for (final Entry<GoodType, Double> entry : bundleOfGoodsToConsume.entrySet()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).stateModel.utilityModel.utilityInputModels.get(entry.getKey())
-							.add(entry.getValue());
+			utilityModel.utilityInputModels.get(entry.getKey()).add(entry.getValue());
 		}
 	}
 }
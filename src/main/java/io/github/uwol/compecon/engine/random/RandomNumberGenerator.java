@@ -28,4 +28,10 @@ public interface RandomNumberGenerator {
 	int nextInt();
 
 	int nextInt(int bound);
+
+	/**
+	 * binds the random to the current thread, so that it is used instead of the
+	 * shared random by all calls from this thread; null unbinds it.
+	 */
+	void setRandomForCurrentThread(Random random);
 }
@@ -19,26 +19,71 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.random.impl;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.Random;
 
 import io.github.uwol.compecon.engine.random.RandomNumberGenerator;
 
-public class DeterministicNumberGeneratorImpl implements RandomNumberGenerator {
+public class DeterministicNumberGeneratorImpl implements RandomNumberGenerator, Serializable {
 
-	protected Random random = new Random(100);
+	private static final long serialVersionUID = 1L;
+
+	protected Random random;
+
+	public DeterministicNumberGeneratorImpl() {
+		this(100);
+	}
+
+	public DeterministicNumberGeneratorImpl(final long seed) {
+		random = new Random(seed);
+	}
+
+	/**
+	 * randoms bound to threads, e. g. to tasks of parallel event execution
+	 */
+	protected transient ThreadLocal<Random> randomOfCurrentThread = new ThreadLocal<Random>();
+
+	/**
+	 * true, if a random has ever been bound to a thread; as long as it is false,
+	 * the thread local lookup is skipped
+	 */
+	protected transient volatile boolean threadBoundRandoms = false;
 
 	@Override
 	public Random getRandom() {
+		if (threadBoundRandoms) {
+			final Random threadBoundRandom = randomOfCurrentThread.get();
+			if (threadBoundRandom != null) {
+				return threadBoundRandom;
+			}
+		}
 		return random;
 	}
 
 	@Override
 	public int nextInt() {
-		return random.nextInt();
+		return getRandom().nextInt();
 	}
 
 	@Override
 	public int nextInt(final int bound) {
-		return random.nextInt(bound);
+		return getRandom().nextInt(bound);
+	}
+
+	private void readObject(final ObjectInputStream objectInputStream) throws IOException, ClassNotFoundException {
+		objectInputStream.defaultReadObject();
+		randomOfCurrentThread = new ThreadLocal<Random>();
+	}
+
+	@Override
+	public void setRandomForCurrentThread(final Random random) {
+		if (random == null) {
+			randomOfCurrentThread.remove();
+		} else {
+			threadBoundRandoms = true;
+			randomOfCurrentThread.set(random);
+		}
 	}
 }
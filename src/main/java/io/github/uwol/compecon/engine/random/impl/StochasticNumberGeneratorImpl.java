@@ -27,18 +27,45 @@ public class StochasticNumberGeneratorImpl implements RandomNumberGenerator {
 
 	protected Random random = new Random();
 
+	/**
+	 * randoms bound to threads, e. g. to tasks of parallel event execution
+	 */
+	protected final ThreadLocal<Random> randomOfCurrentThread = new ThreadLocal<Random>();
+
+	/**
+	 * true, if a random has ever been bound to a thread; as long as it is false,
+	 * the thread local lookup is skipped
+	 */
+	protected volatile boolean threadBoundRandoms = false;
+
 	@Override
 	public Random getRandom() {
+		if (threadBoundRandoms) {
+			final Random threadBoundRandom = randomOfCurrentThread.get();
+			if (threadBoundRandom != null) {
+				return threadBoundRandom;
+			}
+		}
 		return random;
 	}
 
 	@Override
 	public int nextInt() {
-		return random.nextInt();
+		return getRandom().nextInt();
 	}
 
 	@Override
 	public int nextInt(final int bound) {
-		return random.nextInt(bound);
+		return getRandom().nextInt(bound);
+	}
+
+	@Override
+	public void setRandomForCurrentThread(final Random random) {
+		if (random == null) {
+			randomOfCurrentThread.remove();
+		} else {
+			threadBoundRandoms = true;
+			randomOfCurrentThread.set(random);
+		}
 	}
 }
@@ -0,0 +1,138 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.runner.impl;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.runner.SimulationRunner;
+import io.github.uwol.compecon.engine.timesystem.TimeSystem;
+
+/**
+ * Simulation runner for batch runs without dashboard, e. g. parameter sweeps.
+ * Hours are advanced in a tight loop without sleeping and without polling for
+ * dashboard interactions; the end date is converted into a tick count of the
+ * time system once. <br />
+ * <br />
+ * {@link #stop()} may be called from another thread and ends the current run
+ * after the current hour; if it is called before a run, that run ends before
+ * its first hour. A subsequent run starts again. Pausing and stepping require
+ * interaction via the dashboard and are ignored with a message, as is the sleep
+ * time per hour.
+ * Hours and hours per second of the last run are available via
+ * {@link #getNumberOfSimulatedHours()} and {@link #getHoursPerSecond()}.
+ */
+public class HeadlessSimulationRunnerImpl implements SimulationRunner, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	protected static final long MILLISECONDS_PER_HOUR = 60 * 60 * 1000;
+
+	protected volatile double hoursPerSecond = 0.0;
+
+	protected volatile boolean killFlag = false;
+
+	protected volatile int numberOfSimulatedHours = 0;
+
+	/**
+	 * @return the tick of the time system, at which the end date is reached; the
+	 *         simulation proceeds as long as the current tick is not after this
+	 *         tick.
+	 */
+	protected int getEndTick(final Date endDate) {
+		final TimeSystem timeSystem = ApplicationContext.getInstance().getTimeSystem();
+
+		// dates of the time system are in UTC, hence every hour has the same length
+		final long currentMilliseconds = timeSystem.getCurrentDate().getTime();
+		return timeSystem.getCurrentTick()
+				+ (int) Math.floorDiv(endDate.getTime() - currentMilliseconds, MILLISECONDS_PER_HOUR);
+	}
+
+	/**
+	 * @return simulated hours per second of wall clock time of the last run.
+	 */
+	public double getHoursPerSecond() {
+		return hoursPerSecond;
+	}
+
+	/**
+	 * @return number of hours simulated by the last run.
+	 */
+	public int getNumberOfSimulatedHours() {
+		return numberOfSimulatedHours;
+	}
+
+	@Override
+	public void run() {
+		run(Integer.MAX_VALUE);
+	}
+
+	@Override
+	public void run(final Date endDate) {
+		run(endDate == null ? Integer.MAX_VALUE : getEndTick(endDate));
+	}
+
+	/**
+	 * advances the time system until the tick after the end tick is reached or
+	 * the runner is stopped
+	 */
+	protected void run(final int endTick) {
+		final TimeSystem timeSystem = ApplicationContext.getInstance().getTimeSystem();
+		final long nanoTimeBefore = System.nanoTime();
+		int hours = 0;
+
+		while (!killFlag && timeSystem.getCurrentTick() <= endTick) {
+			timeSystem.nextHour();
+			hours++;
+		}
+
+		// reset after the run, so that a stop before the run is not lost
+		killFlag = false;
+
+		final double seconds = (System.nanoTime() - nanoTimeBefore) / 1000000000.0;
+		numberOfSimulatedHours = hours;
+		hoursPerSecond = seconds > 0 ? hours / seconds : 0.0;
+	}
+
+	@Override
+	public void setMillisecondsToSleepPerHourType(final int millisecondsToSleepPerHourType) {
+	}
+
+	@Override
+	public void setPaused(final boolean paused) {
+		System.out.println("pausing is not supported by the headless simulation runner, ignored");
+	}
+
+	@Override
+	public void stepSingleDay() {
+		System.out.println("stepping is not supported by the headless simulation runner, ignored");
+	}
+
+	@Override
+	public void stepSingleHour() {
+		System.out.println("stepping is not supported by the headless simulation runner, ignored");
+	}
+
+	@Override
+	public void stop() {
+		killFlag = true;
+	}
+}
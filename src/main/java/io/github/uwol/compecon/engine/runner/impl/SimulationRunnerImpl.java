@@ -19,13 +19,16 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.runner.impl;
 
+import java.io.Serializable;
 import java.util.Date;
 
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.runner.SimulationRunner;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
 
-public class SimulationRunnerImpl implements SimulationRunner {
+public class SimulationRunnerImpl implements SimulationRunner, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	protected boolean killFlag = false;
 
@@ -81,6 +81,13 @@ public interface PropertyService {
 	 */
 	public Map<GoodType, Double> getGoodTypeBalances(final PropertyOwner propertyOwner);
 
+	/**
+	 * returns the live amounts of all good types owned by the given property
+	 * owner indexed by {@link GoodType#ordinal()} without copying; the array must
+	 * not be modified by the caller.
+	 */
+	public double[] getGoodTypeBalancesByOrdinal(final PropertyOwner propertyOwner);
+
 	/**
 	 * @see #decrementGoodTypeAmount(PropertyOwner, GoodType, double)
 	 */
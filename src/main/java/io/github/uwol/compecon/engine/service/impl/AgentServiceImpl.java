@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.service.impl;
 
+import java.io.Serializable;
 import java.util.List;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
@@ -32,7 +33,9 @@ import io.github.uwol.compecon.economy.sectors.trading.Trader;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.service.AgentService;
 
-public class AgentServiceImpl implements AgentService {
+public class AgentServiceImpl implements AgentService, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public CentralBank findCentralBank(final Currency currency) {
@@ -19,13 +19,16 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.service.impl;
 
+import java.io.Serializable;
 import java.util.HashMap;
 
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.financial.HardCashOwner;
 import io.github.uwol.compecon.engine.service.HardCashService;
 
-public class HardCashServiceImpl implements HardCashService {
+public class HardCashServiceImpl implements HardCashService, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	// TODO Services have to be stateless, move state into DAO / database
 	private final HashMap<HardCashOwner, HashMap<Currency, Double>> balances = new HashMap<HardCashOwner, HashMap<Currency, Double>>();
@@ -37,7 +40,7 @@ public class HardCashServiceImpl implements HardCashService {
 	}
 
 	@Override
-	public double decrement(final HardCashOwner owner, final Currency currency, final double amount) {
+	public synchronized double decrement(final HardCashOwner owner, final Currency currency, final double amount) {
 		assureAgentHasBalances(owner);
 
 		assert (amount >= 0.0);
@@ -55,12 +58,12 @@ public class HardCashServiceImpl implements HardCashService {
 	 * deregister
 	 */
 	@Override
-	public void deregister(final HardCashOwner owner) {
+	public synchronized void deregister(final HardCashOwner owner) {
 		balances.remove(owner); // TODO transfer to other agent?
 	}
 
 	@Override
-	public double getBalance(final HardCashOwner owner, final Currency currency) {
+	public synchronized double getBalance(final HardCashOwner owner, final Currency currency) {
 		assureAgentHasBalances(owner);
 
 		final HashMap<Currency, Double> balancesForIAgent = balances.get(owner);
@@ -73,7 +76,7 @@ public class HardCashServiceImpl implements HardCashService {
 	}
 
 	@Override
-	public double increment(final HardCashOwner owner, final Currency currency, final double amount) {
+	public synchronized double increment(final HardCashOwner owner, final Currency currency, final double amount) {
 		assureAgentHasBalances(owner);
 
 		assert (amount > 0.0);
@@ -0,0 +1,83 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.service.impl;
+
+import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+
+/**
+ * Reusable buffer of market orders selected for a purchase conjoint with the
+ * amounts to take from these orders, in the order of the order book. Replaces a
+ * sorted map on the settlement path, so that settlements do not allocate.
+ */
+public class MarketOrderFulfillmentSet {
+
+	protected double[] amounts = new double[16];
+
+	protected MarketOrder[] marketOrders = new MarketOrder[16];
+
+	protected int size = 0;
+
+	public void add(final MarketOrder marketOrder, final double amount) {
+		if (size == marketOrders.length) {
+			marketOrders = Arrays.copyOf(marketOrders, size * 2);
+			amounts = Arrays.copyOf(amounts, size * 2);
+		}
+
+		marketOrders[size] = marketOrder;
+		amounts[size] = amount;
+		size++;
+	}
+
+	/**
+	 * removes all market orders, releasing the references to them
+	 */
+	public void clear() {
+		Arrays.fill(marketOrders, 0, size, null);
+		size = 0;
+	}
+
+	public double getAmount(final int index) {
+		assert (index < size);
+
+		return amounts[index];
+	}
+
+	public MarketOrder getMarketOrder(final int index) {
+		assert (index < size);
+
+		return marketOrders[index];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public SortedMap<MarketOrder, Double> toSortedMap() {
+		final SortedMap<MarketOrder, Double> sortedMap = new TreeMap<MarketOrder, Double>();
+		for (int i = 0; i < size; i++) {
+			sortedMap.put(marketOrders[i], amounts[i]);
+		}
+		return sortedMap;
+	}
+}
@@ -19,12 +19,15 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.service.impl;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
-import java.util.TreeMap;
 
 import io.github.uwol.compecon.economy.markets.MarketOrder;
 import io.github.uwol.compecon.economy.markets.MarketParticipant;
@@ -39,26 +42,54 @@ import io.github.uwol.compecon.engine.service.MarketService;
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.util.MathUtil;
 
-public abstract class MarketServiceImpl implements MarketService {
+public abstract class MarketServiceImpl implements MarketService, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * fulfillment set per thread for reuse, or null, if it is currently
+	 * acquired; per thread, as the market service is shared by the national
+	 * economies, whose events may be executed in parallel
+	 */
+	protected transient ThreadLocal<MarketOrderFulfillmentSet> fulfillmentSets = new ThreadLocal<MarketOrderFulfillmentSet>();
+
+	/**
+	 * @return the fulfillment set of the current thread, or a new one, if it is
+	 *         already acquired by an enclosing call.
+	 */
+	protected MarketOrderFulfillmentSet acquireFulfillmentSet() {
+		final MarketOrderFulfillmentSet fulfillmentSet = fulfillmentSets.get();
+
+		if (fulfillmentSet == null) {
+			return new MarketOrderFulfillmentSet();
+		}
+
+		fulfillmentSets.set(null);
+		return fulfillmentSet;
+	}
+
+	protected void decrementSellingOffer(final MarketOrder marketOrder, final double amount) {
+		ApplicationContext.getInstance().getMarketOrderFactory().decrementSellingOrder(marketOrder, amount);
+	}
 
 	/*
 	 * fulfillment
 	 */
 
 	/**
-	 * @return A map of {@link MarketOrder}s conjoint with the amount to take from
-	 *         these orders.
+	 * selects the {@link MarketOrder}s conjoint with the amount to take from these
+	 * orders into the given fulfillment set, streaming over the order book
+	 * starting with the lowest price per unit.
 	 */
-	protected SortedMap<MarketOrder, Double> findBestFulfillmentSet(final Currency denominatedInCurrency,
-			final double maxAmount, final double maxTotalPrice, final double maxPricePerUnit, final boolean wholeNumber,
-			final GoodType goodType, final Currency commodityCurrency, final Class<? extends Property> propertyClass) {
+	protected void findBestFulfillmentSet(final Currency denominatedInCurrency, final double maxAmount,
+			final double maxTotalPrice, final double maxPricePerUnit, final boolean wholeNumber,
+			final GoodType goodType, final Currency commodityCurrency, final Class<? extends Property> propertyClass,
+			final MarketOrderFulfillmentSet selectedOffers) {
 
 		assert (MathUtil.greaterEqual(maxAmount, 0.0) || Double.isNaN(maxAmount));
 		assert (MathUtil.greaterEqual(maxTotalPrice, 0.0) || Double.isNaN(maxTotalPrice));
 		assert (MathUtil.greaterEqual(maxPricePerUnit, 0.0) || Double.isNaN(maxPricePerUnit));
-
-		// MarketOrder, Amount
-		final SortedMap<MarketOrder, Double> selectedOffers = new TreeMap<MarketOrder, Double>();
+		assert (selectedOffers.size() == 0);
 
 		boolean restrictMaxAmount = true;
 		if (Double.isInfinite(maxAmount) || Double.isNaN(maxAmount)) {
@@ -154,7 +185,7 @@ public abstract class MarketServiceImpl implements MarketService {
 			if (amountToTake == 0) {
 				break;
 			} else {
-				selectedOffers.put(marketOrder, amountToTake);
+				selectedOffers.add(marketOrder, amountToTake);
 				selectedAmount += amountToTake;
 				spentMoney += totalPrice;
 
@@ -163,7 +194,19 @@ public abstract class MarketServiceImpl implements MarketService {
 						&& (selectedAmount > maxAmount)));
 			}
 		}
-		return selectedOffers;
+	}
+
+	/**
+	 * @return A map of {@link MarketOrder}s conjoint with the amount to take from
+	 *         these orders.
+	 */
+	protected SortedMap<MarketOrder, Double> findBestFulfillmentSet(final Currency denominatedInCurrency,
+			final double maxAmount, final double maxTotalPrice, final double maxPricePerUnit, final boolean wholeNumber,
+			final GoodType goodType, final Currency commodityCurrency, final Class<? extends Property> propertyClass) {
+		final MarketOrderFulfillmentSet selectedOffers = new MarketOrderFulfillmentSet();
+		findBestFulfillmentSet(denominatedInCurrency, maxAmount, maxTotalPrice, maxPricePerUnit, wholeNumber, goodType,
+				commodityCurrency, propertyClass, selectedOffers);
+		return selectedOffers.toSortedMap();
 	}
 
 	@Override
@@ -236,7 +279,9 @@ public abstract class MarketServiceImpl implements MarketService {
 
 	@Override
 	public double getMarginalMarketPrice(final Currency denominatedInCurrency, final Currency commodityCurrency) {
-		return this.getMarginalMarketPrice(denominatedInCurrency, commodityCurrency, 0.0);
+		// at amount 0.0 the marginal price is the price of the cheapest market order
+		return ApplicationContext.getInstance().getMarketOrderDAO().findMarginalPrice(denominatedInCurrency,
+				commodityCurrency);
 	}
 
 	@Override
@@ -247,7 +292,8 @@ public abstract class MarketServiceImpl implements MarketService {
 
 	@Override
 	public double getMarginalMarketPrice(final Currency denominatedInCurrency, final GoodType goodType) {
-		return this.getMarginalMarketPrice(denominatedInCurrency, goodType, 0.0);
+		// at amount 0.0 the marginal price is the price of the cheapest market order
+		return ApplicationContext.getInstance().getMarketOrderDAO().findMarginalPrice(denominatedInCurrency, goodType);
 	}
 
 	@Override
@@ -264,7 +310,7 @@ public abstract class MarketServiceImpl implements MarketService {
 	@Override
 	public Map<GoodType, Double> getMarginalMarketPrices(final Currency denominatedInCurrency,
 			final GoodType[] goodTypes) {
-		final Map<GoodType, Double> prices = new HashMap<GoodType, Double>();
+		final Map<GoodType, Double> prices = new EnumMap<GoodType, Double>(GoodType.class);
 		for (final GoodType goodType : goodTypes) {
 			prices.put(goodType, getMarginalMarketPrice(denominatedInCurrency, goodType));
 		}
@@ -278,7 +324,7 @@ public abstract class MarketServiceImpl implements MarketService {
 	@Override
 	public Map<GoodType, Double> getMarginalMarketPrices(final Currency denominatedInCurrency,
 			final Set<GoodType> goodTypes) {
-		final Map<GoodType, Double> prices = new HashMap<GoodType, Double>();
+		final Map<GoodType, Double> prices = new EnumMap<GoodType, Double>(GoodType.class);
 		for (final GoodType goodType : goodTypes) {
 			prices.put(goodType, getMarginalMarketPrice(denominatedInCurrency, goodType));
 		}
@@ -417,6 +463,19 @@ public abstract class MarketServiceImpl implements MarketService {
 		}
 	}
 
+	/**
+	 * clears the fulfillment set and returns it for reuse by the current thread
+	 */
+	protected void releaseFulfillmentSet(final MarketOrderFulfillmentSet fulfillmentSet) {
+		fulfillmentSet.clear();
+		fulfillmentSets.set(fulfillmentSet);
+	}
+
+	private void readObject(final ObjectInputStream objectInputStream) throws IOException, ClassNotFoundException {
+		objectInputStream.defaultReadObject();
+		fulfillmentSets = new ThreadLocal<MarketOrderFulfillmentSet>();
+	}
+
 	@Override
 	public void removeAllSellingOffers(final MarketParticipant offeror) {
 		ApplicationContext.getInstance().getMarketOrderFactory().deleteAllSellingOrders(offeror);
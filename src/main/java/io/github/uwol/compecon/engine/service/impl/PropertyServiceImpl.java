@@ -19,10 +19,11 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.service.impl;
 
-import java.util.HashMap;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.materia.GoodType;
@@ -37,9 +38,15 @@ import io.github.uwol.compecon.math.util.MathUtil;
 
 /**
  * The property service manages property rights. Each {@link Property} can be
- * assigned to an property owner and can be transfered between owners.
+ * assigned to an property owner and can be transfered between owners. <br />
+ * <br />
+ * Good type amounts are kept in a dense array per property owner, which is
+ * referenced by the property owner, so that reads and writes on the settlement
+ * path are unboxed array operations without DAO lookups.
  */
-public class PropertyServiceImpl implements PropertyService {
+public class PropertyServiceImpl implements PropertyService, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/*
 	 * assures
@@ -48,9 +55,15 @@ public class PropertyServiceImpl implements PropertyService {
 	protected GoodTypeOwnership assureGoodTypeOwnership(final PropertyOwner propertyOwner) {
 		assert (propertyOwner != null);
 
+		if (propertyOwner.getGoodTypeOwnership() != null) {
+			return propertyOwner.getGoodTypeOwnership();
+		}
+
 		final GoodTypeOwnership goodTypeOwnership = ApplicationContext.getInstance().getGoodTypeOwnershipDAO()
 				.findFirstByPropertyOwner(propertyOwner);
-		if (goodTypeOwnership == null) {
+		if (goodTypeOwnership != null) {
+			propertyOwner.setGoodTypeOwnership(goodTypeOwnership);
+		} else {
 			assert (!propertyOwner.isDeconstructed());
 			return ApplicationContext.getInstance().getGoodTypeOwnershipFactory()
 					.newInstanceGoodTypeOwnership(propertyOwner);
@@ -63,14 +76,14 @@ public class PropertyServiceImpl implements PropertyService {
 			final double amount) {
 		assert (amount >= 0.0);
 
-		final GoodTypeOwnership goodTypeOwnership = assureGoodTypeOwnership(propertyOwner);
-		final double oldBalance = goodTypeOwnership.getOwnedGoodTypes().get(goodType);
+		final double[] balances = assureGoodTypeOwnership(propertyOwner).getOwnedGoodTypeAmounts();
+		final double oldBalance = balances[goodType.ordinal()];
 
 		assert (MathUtil.lesserEqual(amount, oldBalance))
 				: "cannot decrement " + amount + " from " + oldBalance + " " + goodType;
 
 		final double newBalance = Math.max(oldBalance - amount, 0);
-		goodTypeOwnership.getOwnedGoodTypes().put(goodType, newBalance);
+		balances[goodType.ordinal()] = newBalance;
 
 		return newBalance;
 	}
@@ -103,12 +116,47 @@ public class PropertyServiceImpl implements PropertyService {
 				propertyClass);
 	}
 
+	/**
+	 * @return a random household other than the old owner, or null; with parallel
+	 *         event execution, the household has the primary currency of the old
+	 *         owner, so that the property stays within the national economy of
+	 *         the executing task.
+	 */
+	protected Household findRandomNewOwnerHousehold(final PropertyOwner oldOwner) {
+		if (ApplicationContext.getInstance().getConfiguration().timeSystemConfig.getParallelEventExecution()
+				&& oldOwner instanceof Agent) {
+			final List<Household> householdsOfCurrency = ApplicationContext.getInstance().getHouseholdDAO()
+					.findAllByCurrency(((Agent) oldOwner).getPrimaryCurrency());
+
+			if (householdsOfCurrency == null) {
+				return null;
+			}
+
+			final List<Household> households = new ArrayList<Household>(householdsOfCurrency);
+			households.remove(oldOwner);
+
+			if (households.isEmpty()) {
+				return null;
+			}
+
+			return households.get(ApplicationContext.getInstance().getRandomNumberGenerator().nextInt(households.size()));
+		}
+
+		Household newOwnerHousehold = null;
+		while ((newOwnerHousehold == null || oldOwner == newOwnerHousehold)
+				&& ApplicationContext.getInstance().getHouseholdDAO().findAll().size() > 1) {
+			newOwnerHousehold = ApplicationContext.getInstance().getHouseholdDAO().findRandom();
+		}
+		return newOwnerHousehold;
+	}
+
 	@Override
 	public Map<GoodType, Double> getCapitalBalances(final PropertyOwner propertyOwner) {
-		final Map<GoodType, Double> capital = new HashMap<GoodType, Double>();
-		for (final Entry<GoodType, Double> entry : getGoodTypeBalances(propertyOwner).entrySet()) {
-			if (entry.getKey().isDurable()) {
-				capital.put(entry.getKey(), entry.getValue());
+		final double[] balances = getGoodTypeBalancesByOrdinal(propertyOwner);
+		final Map<GoodType, Double> capital = new EnumMap<GoodType, Double>(GoodType.class);
+		for (final GoodType goodType : GoodType.values()) {
+			if (goodType.isDurable()) {
+				capital.put(goodType, balances[goodType.ordinal()]);
 			}
 		}
 		return capital;
@@ -116,19 +164,17 @@ public class PropertyServiceImpl implements PropertyService {
 
 	@Override
 	public double getGoodTypeBalance(final PropertyOwner propertyOwner, final GoodType goodType) {
-		assureGoodTypeOwnership(propertyOwner);
-
-		final GoodTypeOwnership goodTypeOwnership = ApplicationContext.getInstance().getGoodTypeOwnershipDAO()
-				.findFirstByPropertyOwner(propertyOwner);
-		return goodTypeOwnership.getOwnedGoodTypes().get(goodType);
+		return assureGoodTypeOwnership(propertyOwner).getOwnedGoodTypeAmounts()[goodType.ordinal()];
 	}
 
 	@Override
 	public Map<GoodType, Double> getGoodTypeBalances(final PropertyOwner propertyOwner) {
-		assureGoodTypeOwnership(propertyOwner);
+		return assureGoodTypeOwnership(propertyOwner).getOwnedGoodTypes();
+	}
 
-		return new HashMap<GoodType, Double>(ApplicationContext.getInstance().getGoodTypeOwnershipDAO()
-				.findFirstByPropertyOwner(propertyOwner).getOwnedGoodTypes());
+	@Override
+	public double[] getGoodTypeBalancesByOrdinal(final PropertyOwner propertyOwner) {
+		return assureGoodTypeOwnership(propertyOwner).getOwnedGoodTypeAmounts();
 	}
 
 	@Override
@@ -136,17 +182,16 @@ public class PropertyServiceImpl implements PropertyService {
 			final double amount) {
 		assert (amount >= 0.0);
 
-		final GoodTypeOwnership goodTypeOwnership = assureGoodTypeOwnership(propertyOwner);
-		final double newBalance = goodTypeOwnership.getOwnedGoodTypes().get(goodType) + amount;
-		goodTypeOwnership.getOwnedGoodTypes().put(goodType, newBalance);
+		final double[] balances = assureGoodTypeOwnership(propertyOwner).getOwnedGoodTypeAmounts();
+		final double newBalance = balances[goodType.ordinal()] + amount;
+		balances[goodType.ordinal()] = newBalance;
 
 		return newBalance;
 	}
 
 	@Override
 	public void resetGoodTypeAmount(final PropertyOwner propertyOwner, final GoodType goodType) {
-		final GoodTypeOwnership goodTypeOwnership = assureGoodTypeOwnership(propertyOwner);
-		goodTypeOwnership.getOwnedGoodTypes().put(goodType, 0.0);
+		assureGoodTypeOwnership(propertyOwner).getOwnedGoodTypeAmounts()[goodType.ordinal()] = 0.0;
 	}
 
 	@Override
@@ -156,11 +201,7 @@ public class PropertyServiceImpl implements PropertyService {
 		}
 
 		// fetch a random new owner
-		Household newOwnerHousehold = null;
-		while ((newOwnerHousehold == null || oldOwner == newOwnerHousehold)
-				&& ApplicationContext.getInstance().getHouseholdDAO().findAll().size() > 1) {
-			newOwnerHousehold = ApplicationContext.getInstance().getHouseholdDAO().findRandom();
-		}
+		final Household newOwnerHousehold = findRandomNewOwnerHousehold(oldOwner);
 
 		assert (newOwnerHousehold != oldOwner);
 		assert (newOwnerHousehold == null || !newOwnerHousehold.isDeconstructed());
@@ -171,9 +212,10 @@ public class PropertyServiceImpl implements PropertyService {
 
 			for (final GoodTypeOwnership goodTypeOwnership : ApplicationContext.getInstance().getGoodTypeOwnershipDAO()
 					.findAllByPropertyOwner(oldOwner)) {
-				for (final Entry<GoodType, Double> entry : goodTypeOwnership.getOwnedGoodTypes().entrySet()) {
-					if (!entry.getKey().equals(GoodType.LABOURHOUR)) {
-						transferGoodTypeAmount(entry.getKey(), oldOwner, newOwnerHousehold, entry.getValue());
+				final double[] balances = goodTypeOwnership.getOwnedGoodTypeAmounts();
+				for (final GoodType goodType : GoodType.values()) {
+					if (!goodType.equals(GoodType.LABOURHOUR)) {
+						transferGoodTypeAmount(goodType, oldOwner, newOwnerHousehold, balances[goodType.ordinal()]);
 					}
 				}
 			}
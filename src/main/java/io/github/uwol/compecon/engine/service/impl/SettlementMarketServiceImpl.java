@@ -19,9 +19,6 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.service.impl;
 
-import java.util.Map.Entry;
-import java.util.SortedMap;
-
 import io.github.uwol.compecon.economy.markets.MarketOrder;
 import io.github.uwol.compecon.economy.markets.MarketParticipant;
 import io.github.uwol.compecon.economy.materia.GoodType;
@@ -39,6 +36,13 @@ import io.github.uwol.compecon.math.util.MathUtil;
  */
 public class SettlementMarketServiceImpl extends MarketServiceImpl implements SettlementMarketService {
 
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * subject of settlement transfers, of which no party is selected in the log
+	 */
+	protected static final String UNSELECTED_SETTLEMENT_SUBJECT = "market settlement";
+
 	@Override
 	public double[] buy(final Class<? extends Property> propertyClass, final double maxAmount,
 			final double maxTotalPrice, final double maxPricePerUnit, final MarketParticipant buyer,
@@ -65,9 +69,9 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 			final BankAccountDelegate buyersBankAccountDelegate,
 			final BankAccountDelegate buyersBankAccountForCommodityCurrencyDelegate) {
 
-		final SortedMap<MarketOrder, Double> marketOffers = this.findBestFulfillmentSet(
-				buyersBankAccountDelegate.getBankAccount().getCurrency(), maxAmount, maxTotalPrice, maxPricePerUnit,
-				wholeNumber, goodType, commodityCurrency, propertyClass);
+		final MarketOrderFulfillmentSet marketOffers = acquireFulfillmentSet();
+		this.findBestFulfillmentSet(buyersBankAccountDelegate.getBankAccount().getCurrency(), maxAmount,
+				maxTotalPrice, maxPricePerUnit, wholeNumber, goodType, commodityCurrency, propertyClass, marketOffers);
 
 		final Bank buyersBank = buyersBankAccountDelegate.getBankAccount().getManagingBank();
 
@@ -75,9 +79,9 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 		double amountSum = 0;
 		final double[] priceAndAmount = new double[2];
 
-		for (final Entry<MarketOrder, Double> entry : marketOffers.entrySet()) {
-			final MarketOrder marketOrder = entry.getKey();
-			final double amount = entry.getValue();
+		for (int i = 0; i < marketOffers.size(); i++) {
+			final MarketOrder marketOrder = marketOffers.getMarketOrder(i);
+			final double amount = marketOffers.getAmount(i);
 
 			// empty market order should not exist, as they are deleted
 			// after execution in this method
@@ -101,8 +105,7 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 			// transfer money
 			buyersBank.transferMoney(buyersBankAccountDelegate.getBankAccount(),
 					marketOrder.getOfferorsBankAcountDelegate().getBankAccount(),
-					amount * marketOrder.getPricePerUnit(),
-					"price for " + MathUtil.round(amount) + " units of " + marketOrder.getCommodity());
+					amount * marketOrder.getPricePerUnit(), getSettlementSubject(marketOrder, amount, false, buyer));
 
 			// transfer ownership
 			switch (marketOrder.getCommodityType()) {
@@ -112,7 +115,7 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 						marketOrder.getOfferor(), buyer, amount);
 
 				// decrement amount in market order
-				marketOrder.decrementAmount(amount);
+				decrementSellingOffer(marketOrder, amount);
 
 				// inform event listener
 				marketOrder.getOfferor().onMarketSettlement(marketOrder.getGoodType(), amount,
@@ -135,11 +138,10 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 				// transfer commodity currency
 				bank.transferMoney(marketOrder.getCommodityCurrencyOfferorsBankAccountDelegate().getBankAccount(),
 						buyersBankAccountForCommodityCurrencyDelegate.getBankAccount(), amount,
-						"transfer of " + Currency.formatMoneySum(amount) + " units of commoditycurrency "
-								+ marketOrder.getCommodity());
+						getSettlementSubject(marketOrder, amount, true, buyer));
 
 				// decrement amount in market order
-				marketOrder.decrementAmount(amount);
+				decrementSellingOffer(marketOrder, amount);
 
 				// inform event listener
 				marketOrder.getOfferor().onMarketSettlement(marketOrder.getCommodityCurrency(), amount,
@@ -177,6 +179,8 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 			amountSum += amount;
 		}
 
+		releaseFulfillmentSet(marketOffers);
+
 		priceAndAmount[0] = moneySpentSum;
 		priceAndAmount[1] = amountSum;
 
@@ -227,4 +231,23 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 
 		return goodType.toString();
 	}
+
+	/**
+	 * @return the subject of a settlement transfer, which is formatted only if a
+	 *         party of the transfer is selected in the log, as only then the log
+	 *         renders it.
+	 */
+	protected String getSettlementSubject(final MarketOrder marketOrder, final double amount,
+			final boolean commodityCurrency, final MarketParticipant buyer) {
+		if (!getLog().isAgentSelectedByClient(buyer)
+				&& !getLog().isAgentSelectedByClient(marketOrder.getOfferor())) {
+			return UNSELECTED_SETTLEMENT_SUBJECT;
+		}
+
+		if (commodityCurrency) {
+			return "transfer of " + Currency.formatMoneySum(amount) + " units of commoditycurrency "
+					+ marketOrder.getCommodity();
+		}
+		return "price for " + MathUtil.round(amount) + " units of " + marketOrder.getCommodity();
+	}
 }
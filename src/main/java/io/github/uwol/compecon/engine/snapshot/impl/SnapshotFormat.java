@@ -0,0 +1,44 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.snapshot.impl;
+
+/**
+ * Binary format of simulation snapshots. A snapshot consists of
+ *
+ * <ol>
+ * <li>a header with magic number and version,</li>
+ * <li>a Java serialization stream of the object graph reachable from the root
+ * object, e. g. of an application context.</li>
+ * </ol>
+ *
+ * Snapshots are written and read through memory-mapped regions of the file.
+ * Fields of objects, which belong to the threads of the simulation run, are
+ * transient and restored lazily.
+ */
+public class SnapshotFormat {
+
+	public static final int HEADER_SIZE = 8;
+
+	public static final int MAGIC = 0x43455353;
+
+	public static final int MAPPED_REGION_SIZE = 8 * 1024 * 1024;
+
+	public static final int VERSION = 1;
+}
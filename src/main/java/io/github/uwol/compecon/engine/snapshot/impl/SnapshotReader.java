@@ -0,0 +1,120 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.snapshot.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a snapshot in {@link SnapshotFormat} through memory-mapped regions of
+ * the file. Each read restores a new object graph, which shares no objects
+ * with the graph that has been written or with other restored graphs.
+ */
+public class SnapshotReader {
+
+	/**
+	 * input stream from consecutive memory-mapped regions of the file
+	 */
+	protected class MappedInputStream extends InputStream {
+
+		/**
+		 * @return false, if the end of the file is reached.
+		 */
+		protected boolean ensureRemaining() throws IOException {
+			if (!buffer.hasRemaining()) {
+				bufferFilePosition += buffer.position();
+				if (bufferFilePosition >= fileChannel.size()) {
+					return false;
+				}
+				buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, bufferFilePosition,
+						Math.min(SnapshotFormat.MAPPED_REGION_SIZE, fileChannel.size() - bufferFilePosition));
+			}
+			return true;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!ensureRemaining()) {
+				return -1;
+			}
+			return buffer.get() & 0xFF;
+		}
+
+		@Override
+		public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			if (!ensureRemaining()) {
+				return -1;
+			}
+			final int chunk = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, chunk);
+			return chunk;
+		}
+	}
+
+	protected MappedByteBuffer buffer;
+
+	/**
+	 * file position of the currently mapped region
+	 */
+	protected long bufferFilePosition;
+
+	protected FileChannel fileChannel;
+
+	/**
+	 * reads the snapshot from the file
+	 *
+	 * @return the restored root object.
+	 */
+	public Object read(final File file) throws IOException {
+		try (final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			if (fileChannel.size() < SnapshotFormat.HEADER_SIZE) {
+				throw new IOException(file + " is not a snapshot");
+			}
+
+			this.fileChannel = fileChannel;
+			this.bufferFilePosition = 0;
+			this.buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0,
+					Math.min(SnapshotFormat.MAPPED_REGION_SIZE, fileChannel.size()));
+
+			if (buffer.getInt() != SnapshotFormat.MAGIC) {
+				throw new IOException(file + " is not a snapshot");
+			}
+			if (buffer.getInt() != SnapshotFormat.VERSION) {
+				throw new IOException("snapshot " + file + " has an unsupported version");
+			}
+
+			final ObjectInputStream objectInputStream = new ObjectInputStream(new MappedInputStream());
+			return objectInputStream.readObject();
+		} catch (final ClassNotFoundException e) {
+			throw new IOException("snapshot " + file + " does not match the classes of this version", e);
+		} finally {
+			this.buffer = null;
+			this.fileChannel = null;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.snapshot.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the object graph reachable from a root object to a snapshot in
+ * {@link SnapshotFormat}. The objects are serialized in one pass through
+ * memory-mapped regions of the file. The graph must not be modified while it is
+ * written. A writer instance is used for one snapshot only.
+ */
+public class SnapshotWriter {
+
+	/**
+	 * output stream into consecutive memory-mapped regions of the file
+	 */
+	protected class MappedOutputStream extends OutputStream {
+
+		protected void ensureRemaining() throws IOException {
+			if (!buffer.hasRemaining()) {
+				bufferFilePosition += buffer.position();
+				buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, bufferFilePosition,
+						SnapshotFormat.MAPPED_REGION_SIZE);
+			}
+		}
+
+		@Override
+		public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+			int written = 0;
+			while (written < length) {
+				ensureRemaining();
+				final int chunk = Math.min(length - written, buffer.remaining());
+				buffer.put(bytes, offset + written, chunk);
+				written += chunk;
+			}
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			ensureRemaining();
+			buffer.put((byte) b);
+		}
+	}
+
+	protected MappedByteBuffer buffer;
+
+	/**
+	 * file position of the currently mapped region
+	 */
+	protected long bufferFilePosition;
+
+	protected FileChannel fileChannel;
+
+	/**
+	 * writes the object graph reachable from the root object to the file, which
+	 * is replaced.
+	 */
+	public void write(final Object root, final File file) throws IOException {
+		try (final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			this.fileChannel = fileChannel;
+			this.bufferFilePosition = 0;
+			this.buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, SnapshotFormat.MAPPED_REGION_SIZE);
+
+			buffer.putInt(SnapshotFormat.MAGIC);
+			buffer.putInt(SnapshotFormat.VERSION);
+
+			final ObjectOutputStream objectOutputStream = new ObjectOutputStream(new MappedOutputStream());
+			objectOutputStream.writeObject(root);
+			objectOutputStream.flush();
+
+			buffer.force();
+			fileChannel.truncate(bufferFilePosition + buffer.position());
+		} finally {
+			this.buffer = null;
+			this.fileChannel = null;
+		}
+	}
+}
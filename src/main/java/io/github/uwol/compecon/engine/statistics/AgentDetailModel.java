@@ -19,12 +19,13 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
+import java.io.Serializable;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -32,19 +33,45 @@ import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.log.Log;
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
 
 public class AgentDetailModel extends NotificationListenerModel {
 
-	public class AgentLog {
+	private static final long serialVersionUID = 1L;
 
-		private final String logTitle;
+	/**
+	 * Log of an agent or bank account as a ring buffer of the most recent log
+	 * records, each consisting of the tick, a message template and its
+	 * arguments. Rows are rendered only when they are requested by the
+	 * dashboard, arguments which may change until then are converted to text when
+	 * they are logged.
+	 */
+	public class AgentLog implements Serializable {
 
-		private final LinkedList<String> rows = new LinkedList<String>();
+		private static final long serialVersionUID = 1L;
 
 		protected final int ROWS_TO_STORE = 200;
 
+		private final Object[][] arguments = new Object[ROWS_TO_STORE][];
+
+		private int head = 0;
+
+		private final String logTitle;
+
+		/**
+		 * rendered rows, null until requested
+		 */
+		private final String[] rows = new String[ROWS_TO_STORE];
+
+		private int size = 0;
+
+		private final String[] templates = new String[ROWS_TO_STORE];
+
+		private final int[] ticks = new int[ROWS_TO_STORE];
+
 		public AgentLog(final String logTitle) {
 			this.logTitle = logTitle;
 		}
@@ -53,16 +80,65 @@ public class AgentDetailModel extends NotificationListenerModel {
 			return logTitle;
 		}
 
-		public LinkedList<String> getRows() {
-			return rows;
+		/**
+		 * @return the i-th oldest row, or null, if there is no such row.
+		 */
+		public synchronized String getRow(final int i) {
+			if (i < 0 || i >= size) {
+				return null;
+			}
+
+			final int index = (head + i) % ROWS_TO_STORE;
+			if (rows[index] == null) {
+				rows[index] = formatTick(ticks[index]) + "     "
+						+ String.format(templates[index], arguments[index]);
+			}
+			return rows[index];
+		}
+
+		public synchronized void log(final int tick, final String template, final Object... arguments) {
+			final int index;
+			if (size < ROWS_TO_STORE) {
+				index = (head + size) % ROWS_TO_STORE;
+				size++;
+			} else {
+				// overwrite the oldest row
+				index = head;
+				head = (head + 1) % ROWS_TO_STORE;
+			}
+
+			ticks[index] = tick;
+			templates[index] = template;
+			this.arguments[index] = toImmutableArguments(arguments);
+			rows[index] = null;
 		}
 
-		public void log(final String row) {
-			rows.add(row);
+		public synchronized int size() {
+			return size;
+		}
 
-			if (rows.size() > ROWS_TO_STORE) {
-				rows.poll();
+		/**
+		 * @return the arguments with all arguments except strings, numbers,
+		 *         enums and money sums converted to their text, so that a row
+		 *         rendered later shows e. g. the balance of a bank account at the
+		 *         time of logging.
+		 */
+		protected Object[] toImmutableArguments(final Object[] arguments) {
+			Object[] immutableArguments = arguments;
+
+			for (int i = 0; i < arguments.length; i++) {
+				final Object argument = arguments[i];
+
+				if (argument != null && !(argument instanceof String) && !(argument instanceof Number)
+						&& !(argument instanceof Enum) && !(argument instanceof MoneySum)) {
+					if (immutableArguments == arguments) {
+						immutableArguments = arguments.clone();
+					}
+					immutableArguments[i] = argument.toString();
+				}
 			}
+
+			return immutableArguments;
 		}
 
 		@Override
@@ -71,24 +147,68 @@ public class AgentDetailModel extends NotificationListenerModel {
 		}
 	}
 
+	/**
+	 * money sum, which is formatted when the log row is rendered
+	 */
+	public static class MoneySum implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final double value;
+
+		public MoneySum(final double value) {
+			this.value = value;
+		}
+
+		@Override
+		public String toString() {
+			return Currency.formatMoneySum(value);
+		}
+	}
+
 	protected AgentLog agentLog = new AgentLog("Agent");
 
 	protected ArrayList<Agent> agents = new ArrayList<Agent>();
 
 	protected Map<BankAccount, AgentLog> bankAccountLogs = new HashMap<BankAccount, AgentLog>();
 
+	protected final Calendar calendar = new GregorianCalendar(TimeSystemImpl.TIME_ZONE);
+
 	protected AgentLog currentLog = agentLog;
 
 	protected DateFormat iso8601DateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 
-	public void agent_onConstruct(final Agent agent) {
+	/**
+	 * whether agents or logs have changed since listeners have been notified
+	 * last
+	 */
+	protected volatile boolean modified = false;
+
+	public AgentDetailModel() {
+		iso8601DateFormat.setTimeZone(TimeSystemImpl.TIME_ZONE);
+	}
+
+	public synchronized void agent_onConstruct(final Agent agent) {
 		agents.add(agent);
-		notifyListeners();
+		modified = true;
 	}
 
-	public void agent_onDeconstruct(final Agent agent) {
+	public synchronized void agent_onDeconstruct(final Agent agent) {
 		agents.remove(agent);
-		notifyListeners();
+		modified = true;
+	}
+
+	/**
+	 * @return the date of the tick formatted like the current date of the time
+	 *         system at that tick.
+	 */
+	protected String formatTick(final int tick) {
+		synchronized (calendar) {
+			calendar.clear();
+			calendar.set(ApplicationContext.getInstance().getTimeSystem().getStartYear(), Calendar.JANUARY,
+					1 + tick / 24, tick % 24, 0);
+			return iso8601DateFormat.format(calendar.getTime());
+		}
 	}
 
 	public List<Agent> getAgents() {
@@ -144,14 +264,30 @@ public class AgentDetailModel extends NotificationListenerModel {
 		return new ArrayList<Property>();
 	}
 
-	public void logAgentEvent(final Date date, final String message) {
-		agentLog.log(iso8601DateFormat.format(date) + "     " + message);
-		notifyListeners();
+	public void logAgentEvent(final int tick, final String template, final Object... arguments) {
+		agentLog.log(tick, template, arguments);
+		modified = true;
 	}
 
-	public void logBankAccountEvent(final Date date, final BankAccount bankAccount, final String message) {
-		bankAccountLogs.get(bankAccount).log(iso8601DateFormat.format(date) + "     " + message);
-		notifyListeners();
+	public void logBankAccountEvent(final int tick, final BankAccount bankAccount, final String template,
+			final Object... arguments) {
+		final AgentLog bankAccountLog = bankAccountLogs.get(bankAccount);
+
+		// bank accounts opened after the selection of the agent are not logged
+		if (bankAccountLog != null) {
+			bankAccountLog.log(tick, template, arguments);
+			modified = true;
+		}
+	}
+
+	/**
+	 * notifies listeners once per hour, if agents or logs have changed
+	 */
+	public void nextHour() {
+		if (modified) {
+			modified = false;
+			notifyListeners();
+		}
 	}
 
 	public void setCurrentAgent(final Integer agentId) {
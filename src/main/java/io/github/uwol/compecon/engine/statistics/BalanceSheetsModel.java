@@ -36,6 +36,8 @@ import io.github.uwol.compecon.economy.sectors.trading.Trader;
 
 public class BalanceSheetsModel extends NotificationListenerModel {
 
+	private static final long serialVersionUID = 1L;
+
 	protected BalanceSheetDTO centralBankBalanceSheet;
 
 	protected final Map<CreditBank, BalanceSheetDTO> creditBankBalanceSheets = new HashMap<CreditBank, BalanceSheetDTO>();
@@ -37,6 +37,8 @@ import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
  */
 public class MarketDepthModel extends NotificationListenerModel {
 
+	private static final long serialVersionUID = 1L;
+
 	public XYDataset getMarketDepthDataset(final Currency currency, final Currency commodityCurrency) {
 		final XYSeries series = new XYSeries(commodityCurrency.getIso4217Code() + " ask");
 
@@ -19,7 +19,13 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.github.uwol.compecon.economy.agent.Agent;
@@ -28,6 +34,7 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.materia.InputOutputModel;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.sink.MetricsSink;
 import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataAccumulatorTimeSeriesModel;
 import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataPercentageTimeSeriesModel;
 import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataQuotientTimeSeriesModel;
@@ -35,18 +42,24 @@ import io.github.uwol.compecon.math.ConvexFunction.ConvexFunctionTerminationCaus
 import io.github.uwol.compecon.math.production.ConvexProductionFunction.ConvexProductionFunctionTerminationCause;
 import io.github.uwol.compecon.math.production.ProductionFunction;
 
-public class ModelRegistry {
+public class ModelRegistry implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	public enum IncomeSource {
 		DIVIDEND, TRANSFERS, WAGE
 	}
 
-	public class NationalEconomyModel {
+	public class NationalEconomyModel implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		/**
 		 * model for collecting statistics about households
 		 */
-		public class HouseholdsModel {
+		public class HouseholdsModel implements Serializable {
+
+			private static final long serialVersionUID = 1L;
 
 			public final PeriodDataAccumulatorTimeSeriesModel budgetModel = new PeriodDataAccumulatorTimeSeriesModel(
 					"Budget");
@@ -128,7 +141,9 @@ public class ModelRegistry {
 		 * model for collecting statistics about production input and output of
 		 * factories
 		 */
-		public class IndustryModel {
+		public class IndustryModel implements Serializable {
+
+			private static final long serialVersionUID = 1L;
 
 			public final PeriodDataAccumulatorTimeSeriesModel budgetModel = new PeriodDataAccumulatorTimeSeriesModel(
 					"Budget");
@@ -196,7 +211,9 @@ public class ModelRegistry {
 			}
 		}
 
-		public class PricingBehaviourModel {
+		public class PricingBehaviourModel implements Serializable {
+
+			private static final long serialVersionUID = 1L;
 
 			public final Currency currency;
 
@@ -247,7 +264,9 @@ public class ModelRegistry {
 		/**
 		 * model for collecting statistics about the state of this national economy
 		 */
-		public class StateModel {
+		public class StateModel implements Serializable {
+
+			private static final long serialVersionUID = 1L;
 
 			public final Currency currency;
 
@@ -268,7 +287,9 @@ public class ModelRegistry {
 		/**
 		 * model for collecting statistics about utility of households and states
 		 */
-		public class UtilityModel {
+		public class UtilityModel implements Serializable {
+
+			private static final long serialVersionUID = 1L;
 
 			public final Currency currency;
 
@@ -410,6 +431,13 @@ public class ModelRegistry {
 					currency.getIso4217Code() + " total utility");
 		}
 
+		/**
+		 * adds values derived from other models to the current period
+		 */
+		public void completePeriod() {
+			moneyVelocityModel.add(moneyCirculationModel.getValue(), moneySupplyM1Model.getValue());
+		}
+
 		public IndustryModel getIndustryModel(final GoodType goodType) {
 			return industryModels.get(goodType);
 		}
@@ -419,8 +447,6 @@ public class ModelRegistry {
 		}
 
 		public void nextPeriod() {
-			moneyVelocityModel.add(moneyCirculationModel.getValue(), moneySupplyM1Model.getValue());
-
 			for (final IndustryModel goodTypeProductionModel : industryModels.values()) {
 				goodTypeProductionModel.nextPeriod();
 			}
@@ -453,6 +479,12 @@ public class ModelRegistry {
 
 	protected final AgentDetailModel agentDetailModel = new AgentDetailModel();
 
+	/**
+	 * sinks write to the files of the simulation run, which registered them, and
+	 * are not part of snapshots
+	 */
+	protected transient List<MetricsSink> metricsSinks = new ArrayList<MetricsSink>();
+
 	protected final Map<Currency, NationalEconomyModel> nationalEconomyModels = new HashMap<Currency, NationalEconomyModel>();
 
 	protected final TimeSystemModel timeSystemModel = new TimeSystemModel();
@@ -466,6 +498,13 @@ public class ModelRegistry {
 		}
 	}
 
+	/**
+	 * adds a sink, which reads the values of the models at the end of each period
+	 */
+	public void addMetricsSink(final MetricsSink metricsSink) {
+		metricsSinks.add(metricsSink);
+	}
+
 	public AgentDetailModel getAgentDetailModel() {
 		return agentDetailModel;
 	}
@@ -479,15 +518,37 @@ public class ModelRegistry {
 	}
 
 	public void nextHour() {
+		agentDetailModel.nextHour();
 		timeSystemModel.nextHour();
 	}
 
 	public void nextPeriod() {
 		agentDetailModel.notifyListeners();
 
+		for (final NationalEconomyModel nationalEconomyModel : nationalEconomyModels.values()) {
+			nationalEconomyModel.completePeriod();
+		}
+
+		// sinks read the values of the period before the models are reset
+		if (!metricsSinks.isEmpty()) {
+			final Date date = ApplicationContext.getInstance().getTimeSystem().getCurrentDate();
+			for (final MetricsSink metricsSink : metricsSinks) {
+				metricsSink.nextPeriod(date);
+			}
+		}
+
 		for (final NationalEconomyModel nationalEconomyModel : nationalEconomyModels.values()) {
 			nationalEconomyModel.nextPeriod();
 		}
 	}
 
+	private void readObject(final ObjectInputStream objectInputStream) throws IOException, ClassNotFoundException {
+		objectInputStream.defaultReadObject();
+		metricsSinks = new ArrayList<MetricsSink>();
+	}
+
+	public void removeMetricsSink(final MetricsSink metricsSink) {
+		metricsSinks.remove(metricsSink);
+	}
+
 }
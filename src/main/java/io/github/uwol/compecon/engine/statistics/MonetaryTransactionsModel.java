@@ -30,6 +30,8 @@ import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulat
 
 public class MonetaryTransactionsModel extends NotificationListenerModel {
 
+	private static final long serialVersionUID = 1L;
+
 	// stores transaction values in a type-safe way
 	protected Map<Class<? extends Agent>, Map<Class<? extends Agent>, PeriodDataAccumulator>> adjacencyMatrix = new HashMap<Class<? extends Agent>, Map<Class<? extends Agent>, PeriodDataAccumulator>>();
 
@@ -19,16 +19,24 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-public abstract class NotificationListenerModel {
+public abstract class NotificationListenerModel implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	public interface ModelListener {
 		public void notifyListener();
 	}
 
-	protected List<ModelListener> listeners = new ArrayList<ModelListener>();
+	/**
+	 * listeners, e. g. panels of the dashboard, are not part of snapshots
+	 */
+	protected transient List<ModelListener> listeners = new ArrayList<ModelListener>();
 
 	protected NotificationListenerModel() {
 	}
@@ -39,6 +47,11 @@ public abstract class NotificationListenerModel {
 		}
 	}
 
+	private void readObject(final ObjectInputStream objectInputStream) throws IOException, ClassNotFoundException {
+		objectInputStream.defaultReadObject();
+		listeners = new ArrayList<ModelListener>();
+	}
+
 	public void registerListener(final ModelListener listener) {
 		listeners.add(listener);
 	}
@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -34,7 +35,11 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 
 public class PeriodDataDistributionModel extends NotificationListenerModel {
 
-	public class SummaryStatisticalData {
+	private static final long serialVersionUID = 1L;
+
+	public class SummaryStatisticalData implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		public double[] originalValues;
 
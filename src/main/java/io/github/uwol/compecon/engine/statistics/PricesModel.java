@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
@@ -27,8 +28,6 @@ import java.util.Map;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
-import io.github.uwol.compecon.engine.timesystem.impl.DayType;
-import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
 
 /**
  * Model storing multiple price models for good types and commodity currencies
@@ -36,20 +35,22 @@ import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
  */
 public class PricesModel extends NotificationListenerModel {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Model storing prices for a good type or commodity currency, denominated in a
 	 * given currency.
 	 */
-	public class PriceModel {
+	public class PriceModel implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		double[] close = new double[NUMBER_OF_DAYS];
 		Date[] date = new Date[NUMBER_OF_DAYS];
 		double[] high = new double[NUMBER_OF_DAYS];
 
 		int i = -1;
-		private DayType lastDate_dayType;
-		private MonthType lastDate_monthType;
-		private int lastDate_year;
+		private int lastDayNumber = -1;
 		double[] low = new double[NUMBER_OF_DAYS];
 		double[] open = new double[NUMBER_OF_DAYS];
 
@@ -59,6 +60,13 @@ public class PricesModel extends NotificationListenerModel {
 			return Arrays.copyOf(close, i);
 		}
 
+		/**
+		 * @return closing price of the current day, or NaN, if there is no data.
+		 */
+		public double getCurrentClose() {
+			return hasData() ? close[i] : Double.NaN;
+		}
+
 		public Date[] getDate() {
 			return Arrays.copyOf(date, i);
 		}
@@ -84,10 +92,10 @@ public class PricesModel extends NotificationListenerModel {
 		}
 
 		public void tick(final double price, final double volume) {
+			final int currentDayNumber = ApplicationContext.getInstance().getTimeSystem().getCurrentTick() / 24;
+
 			// current day?
-			if (lastDate_year == ApplicationContext.getInstance().getTimeSystem().getCurrentYear()
-					&& lastDate_monthType == ApplicationContext.getInstance().getTimeSystem().getCurrentMonthType()
-					&& lastDate_dayType == ApplicationContext.getInstance().getTimeSystem().getCurrentDayType()) {
+			if (lastDayNumber == currentDayNumber) {
 				this.volume[i] += volume;
 
 				if (price > high[i]) {
@@ -116,9 +124,7 @@ public class PricesModel extends NotificationListenerModel {
 				close[i] = price;
 				this.volume[i] = volume;
 
-				lastDate_year = ApplicationContext.getInstance().getTimeSystem().getCurrentYear();
-				lastDate_monthType = ApplicationContext.getInstance().getTimeSystem().getCurrentMonthType();
-				lastDate_dayType = ApplicationContext.getInstance().getTimeSystem().getCurrentDayType();
+				lastDayNumber = currentDayNumber;
 			}
 		}
 	}
@@ -21,6 +21,8 @@ package io.github.uwol.compecon.engine.statistics;
 
 public class TimeSystemModel extends NotificationListenerModel {
 
+	private static final long serialVersionUID = 1L;
+
 	public void nextHour() {
 		notifyListeners();
 	}
@@ -19,7 +19,11 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.accumulator;
 
-public class PeriodDataAccumulator {
+import java.io.Serializable;
+
+public class PeriodDataAccumulator implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	double sumPerPeriod = 0;
 
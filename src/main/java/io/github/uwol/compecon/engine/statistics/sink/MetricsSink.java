@@ -0,0 +1,53 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.sink;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Sink for metrics of a simulation run, which is driven by
+ * {@link io.github.uwol.compecon.engine.statistics.ModelRegistry#nextPeriod()}.
+ * Each column of the sink reads one {@link MetricsSource} per period; rows are
+ * buffered and written in batches.
+ */
+public interface MetricsSink {
+
+	/**
+	 * adds a column; all columns have to be added before the first period.
+	 */
+	public void addColumn(final String name, final MetricsSource source);
+
+	/**
+	 * writes all buffered rows and closes the output.
+	 */
+	public void close() throws IOException;
+
+	/**
+	 * writes all buffered rows.
+	 */
+	public void flush() throws IOException;
+
+	/**
+	 * reads the values of all columns for the period, which ends at the given
+	 * date.
+	 */
+	public void nextPeriod(final Date date);
+}
@@ -0,0 +1,163 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.sink.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import io.github.uwol.compecon.engine.statistics.sink.MetricsSink;
+import io.github.uwol.compecon.engine.statistics.sink.MetricsSource;
+
+/**
+ * Buffers the values of a batch of periods column by column in primitive
+ * arrays. Batches are encoded into a reusable byte buffer, which is written to
+ * a file channel, optionally through a GZIP stream.
+ */
+public abstract class AbstractMetricsSinkImpl implements MetricsSink {
+
+	protected static final int BUFFER_SIZE = 64 * 1024;
+
+	public static final int DEFAULT_PERIODS_PER_BATCH = 365;
+
+	protected final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+	protected final WritableByteChannel channel;
+
+	protected final List<String> columnNames = new ArrayList<String>();
+
+	protected final List<MetricsSource> columnSources = new ArrayList<MetricsSource>();
+
+	/**
+	 * values of the periods in the current batch, indexed by column and period
+	 */
+	protected double[][] columnValues;
+
+	protected int numberOfPeriods = 0;
+
+	/**
+	 * end dates of the periods in the current batch in milliseconds since epoch
+	 */
+	protected long[] periods;
+
+	protected final int periodsPerBatch;
+
+	public AbstractMetricsSinkImpl(final File file, final boolean compressed, final int periodsPerBatch)
+			throws IOException {
+		final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+		if (compressed) {
+			channel = Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(fileChannel), BUFFER_SIZE));
+		} else {
+			channel = fileChannel;
+		}
+
+		this.periodsPerBatch = periodsPerBatch;
+	}
+
+	@Override
+	public void addColumn(final String name, final MetricsSource source) {
+		if (columnValues != null) {
+			throw new IllegalStateException("columns have to be added before the first period");
+		}
+
+		columnNames.add(name);
+		columnSources.add(source);
+	}
+
+	@Override
+	public void close() throws IOException {
+		flush();
+		channel.close();
+	}
+
+	protected void ensureRemaining(final int numberOfBytes) throws IOException {
+		if (buffer.remaining() < numberOfBytes) {
+			writeBuffer();
+		}
+	}
+
+	/**
+	 * allocates the batch and writes the header, once the columns are known
+	 */
+	protected void ensureStarted() throws IOException {
+		if (columnValues == null) {
+			columnValues = new double[columnSources.size()][periodsPerBatch];
+			periods = new long[periodsPerBatch];
+			writeHeader();
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		ensureStarted();
+
+		if (numberOfPeriods > 0) {
+			writeBatch();
+			numberOfPeriods = 0;
+		}
+
+		writeBuffer();
+	}
+
+	@Override
+	public void nextPeriod(final Date date) {
+		try {
+			ensureStarted();
+
+			periods[numberOfPeriods] = date.getTime();
+			for (int i = 0; i < columnSources.size(); i++) {
+				columnValues[i][numberOfPeriods] = columnSources.get(i).getValue();
+			}
+			numberOfPeriods++;
+
+			if (numberOfPeriods == periodsPerBatch) {
+				writeBatch();
+				numberOfPeriods = 0;
+			}
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * encodes the periods of the current batch into the buffer
+	 */
+	protected abstract void writeBatch() throws IOException;
+
+	protected void writeBuffer() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	protected abstract void writeHeader() throws IOException;
+}
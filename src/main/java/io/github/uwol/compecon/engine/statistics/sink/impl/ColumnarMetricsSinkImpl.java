@@ -0,0 +1,91 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.sink.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes metrics in a columnar binary format. The file starts with a header
+ *
+ * <pre>
+ * int magic, int version, int number of columns,
+ * per column: int length, UTF-8 bytes of the column name
+ * </pre>
+ *
+ * followed by batches of periods, each of them stored column by column
+ *
+ * <pre>
+ * int number of periods n,
+ * long[n] end dates of the periods in milliseconds since epoch,
+ * per column: double[n] values
+ * </pre>
+ *
+ * in big-endian byte order.
+ */
+public class ColumnarMetricsSinkImpl extends AbstractMetricsSinkImpl {
+
+	public static final int MAGIC = 0x43454D53;
+
+	public static final int VERSION = 1;
+
+	public ColumnarMetricsSinkImpl(final File file, final boolean compressed) throws IOException {
+		this(file, compressed, DEFAULT_PERIODS_PER_BATCH);
+	}
+
+	public ColumnarMetricsSinkImpl(final File file, final boolean compressed, final int periodsPerBatch)
+			throws IOException {
+		super(file, compressed, periodsPerBatch);
+	}
+
+	@Override
+	protected void writeBatch() throws IOException {
+		ensureRemaining(Integer.BYTES);
+		buffer.putInt(numberOfPeriods);
+
+		for (int i = 0; i < numberOfPeriods; i++) {
+			ensureRemaining(Long.BYTES);
+			buffer.putLong(periods[i]);
+		}
+
+		for (final double[] values : columnValues) {
+			for (int i = 0; i < numberOfPeriods; i++) {
+				ensureRemaining(Double.BYTES);
+				buffer.putDouble(values[i]);
+			}
+		}
+	}
+
+	@Override
+	protected void writeHeader() throws IOException {
+		ensureRemaining(3 * Integer.BYTES);
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(columnNames.size());
+
+		for (final String columnName : columnNames) {
+			final byte[] bytes = columnName.getBytes(StandardCharsets.UTF_8);
+			ensureRemaining(Integer.BYTES + bytes.length);
+			buffer.putInt(bytes.length);
+			buffer.put(bytes);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.sink.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
+
+/**
+ * Writes metrics as CSV with one line per period, which are encoded per batch.
+ */
+public class CsvMetricsSinkImpl extends AbstractMetricsSinkImpl {
+
+	protected static final char DELIMITER = ';';
+
+	protected static final char NEW_LINE_SEPARATOR = '\n';
+
+	protected final Date date = new Date();
+
+	protected final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+
+	public CsvMetricsSinkImpl(final File file, final boolean compressed) throws IOException {
+		this(file, compressed, DEFAULT_PERIODS_PER_BATCH);
+	}
+
+	public CsvMetricsSinkImpl(final File file, final boolean compressed, final int periodsPerBatch)
+			throws IOException {
+		super(file, compressed, periodsPerBatch);
+		dateFormat.setTimeZone(TimeSystemImpl.TIME_ZONE);
+	}
+
+	@Override
+	protected void writeBatch() throws IOException {
+		for (int i = 0; i < numberOfPeriods; i++) {
+			date.setTime(periods[i]);
+			writeString(dateFormat.format(date));
+
+			for (final double[] values : columnValues) {
+				ensureRemaining(1);
+				buffer.put((byte) DELIMITER);
+				writeString(Double.toString(values[i]));
+			}
+
+			ensureRemaining(1);
+			buffer.put((byte) NEW_LINE_SEPARATOR);
+		}
+	}
+
+	@Override
+	protected void writeHeader() throws IOException {
+		writeString("period");
+
+		for (final String columnName : columnNames) {
+			ensureRemaining(1);
+			buffer.put((byte) DELIMITER);
+			writeString(columnName);
+		}
+
+		ensureRemaining(1);
+		buffer.put((byte) NEW_LINE_SEPARATOR);
+	}
+
+	protected void writeString(final String value) throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		ensureRemaining(bytes.length);
+		buffer.put(bytes);
+	}
+}
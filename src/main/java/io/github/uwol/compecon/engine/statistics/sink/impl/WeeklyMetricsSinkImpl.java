@@ -0,0 +1,123 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.sink.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataQuotientAccumulator;
+import io.github.uwol.compecon.engine.statistics.sink.MetricsSink;
+import io.github.uwol.compecon.engine.statistics.sink.MetricsSource;
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
+
+/**
+ * Aggregates the daily periods into weeks ending on Sunday and passes one
+ * period per week with the mean of the daily values to the wrapped sink. Daily
+ * values, which are NaN, e. g. prices of days without a market tick, are
+ * skipped. On close, a trailing partial week is passed with the date of its
+ * last day.
+ */
+public class WeeklyMetricsSinkImpl implements MetricsSink {
+
+	protected final List<PeriodDataQuotientAccumulator> accumulators = new ArrayList<PeriodDataQuotientAccumulator>();
+
+	protected final Calendar calendar = Calendar.getInstance(TimeSystemImpl.TIME_ZONE);
+
+	protected final List<MetricsSource> columnSources = new ArrayList<MetricsSource>();
+
+	/**
+	 * date of the last day aggregated into the current week, or null, if the
+	 * current week is empty
+	 */
+	protected Date lastDateOfWeek;
+
+	protected final MetricsSink metricsSink;
+
+	public WeeklyMetricsSinkImpl(final MetricsSink metricsSink) {
+		this.metricsSink = metricsSink;
+	}
+
+	@Override
+	public void addColumn(final String name, final MetricsSource source) {
+		final PeriodDataQuotientAccumulator accumulator = new PeriodDataQuotientAccumulator();
+
+		metricsSink.addColumn(name, new MetricsSource() {
+			@Override
+			public double getValue() {
+				return accumulator.getAmount();
+			}
+		});
+
+		accumulators.add(accumulator);
+		columnSources.add(source);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (lastDateOfWeek != null) {
+			nextWeek();
+		}
+
+		metricsSink.close();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		metricsSink.flush();
+	}
+
+	protected boolean isEndOfWeek(final Date date) {
+		calendar.setTime(date);
+		return calendar.get(Calendar.DAY_OF_WEEK) == Calendar.SUNDAY;
+	}
+
+	@Override
+	public void nextPeriod(final Date date) {
+		for (int i = 0; i < columnSources.size(); i++) {
+			final double value = columnSources.get(i).getValue();
+
+			if (!Double.isNaN(value)) {
+				accumulators.get(i).add(value, 1);
+			}
+		}
+
+		lastDateOfWeek = date;
+
+		if (isEndOfWeek(date)) {
+			nextWeek();
+		}
+	}
+
+	/**
+	 * passes the current week to the wrapped sink and starts the next one
+	 */
+	protected void nextWeek() {
+		metricsSink.nextPeriod(lastDateOfWeek);
+
+		for (final PeriodDataQuotientAccumulator accumulator : accumulators) {
+			accumulator.reset();
+		}
+
+		lastDateOfWeek = null;
+	}
+}
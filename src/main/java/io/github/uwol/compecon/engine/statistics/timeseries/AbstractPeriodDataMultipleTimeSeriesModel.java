@@ -26,17 +26,38 @@ import org.jfree.data.time.TimeSeries;
 
 public abstract class AbstractPeriodDataMultipleTimeSeriesModel<I> extends AbstractPeriodDataTimeSeriesModel {
 
+	private static final long serialVersionUID = 1L;
+
 	protected final I[] indexTypes;
 
+	protected final Map<I, PeriodDataRingBuffer> ringBuffers = new HashMap<I, PeriodDataRingBuffer>();
+
+	/**
+	 * materialised lazily per index type by {@link #getTimeSeries(Object)}
+	 */
 	protected final Map<I, TimeSeries> timeSeries = new HashMap<I, TimeSeries>();
 
+	protected final String title;
+
 	protected String titleSuffix;
 
 	public AbstractPeriodDataMultipleTimeSeriesModel(final I[] initialIndexTypes, final String title) {
 		this.indexTypes = initialIndexTypes;
+		this.title = title;
 
 		for (final I indexType : this.indexTypes) {
-			this.timeSeries.put(indexType, createTimeSeries(indexType + " " + title));
+			this.ringBuffers.put(indexType, createRingBuffer());
+		}
+	}
+
+	protected synchronized void addOrUpdate(final I indexType, final double value) {
+		final long currentDate = getCurrentDate();
+
+		this.ringBuffers.get(indexType).addOrUpdate(currentDate, value);
+
+		final TimeSeries timeSeries = this.timeSeries.get(indexType);
+		if (timeSeries != null) {
+			timeSeries.addOrUpdate(getDay(currentDate), value);
 		}
 	}
 
@@ -44,7 +65,20 @@ public abstract class AbstractPeriodDataMultipleTimeSeriesModel<I> extends Abstr
 		return this.indexTypes;
 	}
 
-	public TimeSeries getTimeSeries(final I indexType) {
-		return this.timeSeries.get(indexType);
+	public PeriodDataRingBuffer getRingBuffer(final I indexType) {
+		return this.ringBuffers.get(indexType);
+	}
+
+	public synchronized TimeSeries getTimeSeries(final I indexType) {
+		TimeSeries timeSeries = this.timeSeries.get(indexType);
+		if (timeSeries == null) {
+			final PeriodDataRingBuffer ringBuffer = this.ringBuffers.get(indexType);
+			if (ringBuffer == null) {
+				return null;
+			}
+			timeSeries = createTimeSeries(indexType + " " + title, ringBuffer);
+			this.timeSeries.put(indexType, timeSeries);
+		}
+		return timeSeries;
 	}
 }
@@ -23,15 +23,42 @@ import org.jfree.data.time.TimeSeries;
 
 public abstract class AbstractPeriodDataSingleTimeSeriesModel extends AbstractPeriodDataTimeSeriesModel {
 
-	protected final TimeSeries timeSeries;
+	private static final long serialVersionUID = 1L;
+
+	protected final PeriodDataRingBuffer ringBuffer;
+
+	/**
+	 * materialised lazily by {@link #getTimeSeries()}
+	 */
+	protected TimeSeries timeSeries;
+
+	protected final String title;
 
 	protected String titleSuffix;
 
 	public AbstractPeriodDataSingleTimeSeriesModel(final String title) {
-		timeSeries = createTimeSeries(title);
+		this.title = title;
+		ringBuffer = createRingBuffer();
+	}
+
+	protected synchronized void addOrUpdate(final double value) {
+		final long currentDate = getCurrentDate();
+
+		ringBuffer.addOrUpdate(currentDate, value);
+
+		if (timeSeries != null) {
+			timeSeries.addOrUpdate(getDay(currentDate), value);
+		}
+	}
+
+	public PeriodDataRingBuffer getRingBuffer() {
+		return ringBuffer;
 	}
 
-	public TimeSeries getTimeSeries() {
+	public synchronized TimeSeries getTimeSeries() {
+		if (timeSeries == null) {
+			timeSeries = createTimeSeries(title, ringBuffer);
+		}
 		return timeSeries;
 	}
 }
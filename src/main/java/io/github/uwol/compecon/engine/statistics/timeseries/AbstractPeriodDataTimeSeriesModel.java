@@ -19,21 +19,55 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Locale;
+
 import org.jfree.data.time.Day;
 import org.jfree.data.time.TimeSeries;
 
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
+
+/**
+ * Period data is recorded into primitive ring buffers. JFreeChart time series
+ * are materialised from the ring buffers lazily, when they are requested by a
+ * dashboard panel, and are kept up to date from then on; headless simulations
+ * never create them.
+ */
+public abstract class AbstractPeriodDataTimeSeriesModel implements Serializable {
 
-public abstract class AbstractPeriodDataTimeSeriesModel {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * @return the day of the date in the time zone of the time system.
+	 */
+	protected static Day getDay(final long date) {
+		return new Day(new Date(date), TimeSystemImpl.TIME_ZONE, Locale.getDefault());
+	}
 
 	protected final int NUMBER_OF_DAYS = 180;
 
-	protected TimeSeries createTimeSeries(final String title) {
+	protected PeriodDataRingBuffer createRingBuffer() {
+		final PeriodDataRingBuffer ringBuffer = new PeriodDataRingBuffer(NUMBER_OF_DAYS);
+		ringBuffer.addOrUpdate(getCurrentDate(), 0);
+		return ringBuffer;
+	}
+
+	protected TimeSeries createTimeSeries(final String title, final PeriodDataRingBuffer ringBuffer) {
 		final TimeSeries timeSeries = new TimeSeries(title);
 		timeSeries.setMaximumItemAge(NUMBER_OF_DAYS);
-		timeSeries.add(new Day(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()), 0);
+
+		for (int i = 0; i < ringBuffer.size(); i++) {
+			timeSeries.add(getDay(ringBuffer.getDate(i)), ringBuffer.getValue(i), false);
+		}
+
 		return timeSeries;
 	}
 
+	protected long getCurrentDate() {
+		return ApplicationContext.getInstance().getTimeSystem().getCurrentDate().getTime();
+	}
+
 	public abstract void nextPeriod();
 }
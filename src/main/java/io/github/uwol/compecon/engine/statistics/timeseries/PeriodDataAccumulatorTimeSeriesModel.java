@@ -19,12 +19,13 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
-import org.jfree.data.time.Day;
-
-import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
+import io.github.uwol.compecon.engine.statistics.sink.MetricsSource;
+
+public class PeriodDataAccumulatorTimeSeriesModel extends AbstractPeriodDataSingleTimeSeriesModel
+		implements MetricsSource {
 
-public class PeriodDataAccumulatorTimeSeriesModel extends AbstractPeriodDataSingleTimeSeriesModel {
+	private static final long serialVersionUID = 1L;
 
 	protected final PeriodDataAccumulator periodDataAccumulator = new PeriodDataAccumulator();
 
@@ -36,14 +37,14 @@ public class PeriodDataAccumulatorTimeSeriesModel extends AbstractPeriodDataSing
 		periodDataAccumulator.add(amount);
 	}
 
+	@Override
 	public double getValue() {
 		return periodDataAccumulator.getAmount();
 	}
 
 	@Override
 	public void nextPeriod() {
-		timeSeries.addOrUpdate(new Day(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()),
-				periodDataAccumulator.getAmount());
+		addOrUpdate(periodDataAccumulator.getAmount());
 		periodDataAccumulator.reset();
 	}
 }
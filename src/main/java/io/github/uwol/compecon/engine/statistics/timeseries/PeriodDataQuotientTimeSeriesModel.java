@@ -19,12 +19,13 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
-import org.jfree.data.time.Day;
-
-import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
+import io.github.uwol.compecon.engine.statistics.sink.MetricsSource;
+
+public class PeriodDataQuotientTimeSeriesModel extends AbstractPeriodDataSingleTimeSeriesModel
+		implements MetricsSource {
 
-public class PeriodDataQuotientTimeSeriesModel extends AbstractPeriodDataSingleTimeSeriesModel {
+	private static final long serialVersionUID = 1L;
 
 	protected final PeriodDataAccumulator periodDataDividendModel = new PeriodDataAccumulator();
 
@@ -39,6 +40,7 @@ public class PeriodDataQuotientTimeSeriesModel extends AbstractPeriodDataSingleT
 		periodDataDivisorModel.add(divisorAmount);
 	}
 
+	@Override
 	public double getValue() {
 		// Double.NaN or Double.Infinite leads to blank JFreeChart diagrams
 		if (periodDataDivisorModel.getAmount() == 0.0) {
@@ -50,7 +52,7 @@ public class PeriodDataQuotientTimeSeriesModel extends AbstractPeriodDataSingleT
 
 	@Override
 	public void nextPeriod() {
-		timeSeries.addOrUpdate(new Day(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()), getValue());
+		addOrUpdate(getValue());
 
 		periodDataDividendModel.reset();
 		periodDataDivisorModel.reset();
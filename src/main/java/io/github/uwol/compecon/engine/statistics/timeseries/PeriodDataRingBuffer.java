@@ -0,0 +1,118 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.timeseries;
+
+import java.io.Serializable;
+import java.util.TimeZone;
+
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
+
+/**
+ * Fixed-capacity ring buffer of daily values over primitive arrays. A value
+ * for a day, which already is the latest day in the buffer, replaces the
+ * latest value; days older than the maximum item age relative to the latest
+ * day are discarded, which matches the ageing of a JFreeChart time series with
+ * the same maximum item age.
+ */
+public class PeriodDataRingBuffer implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	protected static final long MILLIS_PER_DAY = 24L * 60L * 60L * 1000L;
+
+	/**
+	 * time zone of the simulated dates and of the {@link org.jfree.data.time.Day}
+	 * periods
+	 */
+	protected static final TimeZone TIME_ZONE = TimeSystemImpl.TIME_ZONE;
+
+	protected static long getDay(final long date) {
+		return Math.floorDiv(date + TIME_ZONE.getOffset(date), MILLIS_PER_DAY);
+	}
+
+	protected final long[] dates;
+
+	protected final long[] days;
+
+	protected int head = 0;
+
+	protected final int maximumItemAge;
+
+	protected int size = 0;
+
+	protected final double[] values;
+
+	public PeriodDataRingBuffer(final int maximumItemAge) {
+		this.maximumItemAge = maximumItemAge;
+		dates = new long[maximumItemAge + 1];
+		days = new long[maximumItemAge + 1];
+		values = new double[maximumItemAge + 1];
+	}
+
+	public void addOrUpdate(final long date, final double value) {
+		final long day = getDay(date);
+
+		if (size > 0 && days[index(size - 1)] == day) {
+			values[index(size - 1)] = value;
+			return;
+		}
+
+		// discard aged days, so that the new day fits into the buffer
+		while (size > 0 && (days[head] < day - maximumItemAge || size == dates.length)) {
+			head = (head + 1) % dates.length;
+			size--;
+		}
+
+		final int index = index(size);
+		dates[index] = date;
+		days[index] = day;
+		values[index] = value;
+		size++;
+	}
+
+	/**
+	 * @return date in milliseconds of the i-th oldest value.
+	 */
+	public long getDate(final int i) {
+		return dates[index(i)];
+	}
+
+	/**
+	 * @return the most recent value, or 0.0, if the buffer is empty.
+	 */
+	public double getLatestValue() {
+		return size == 0 ? 0.0 : values[index(size - 1)];
+	}
+
+	/**
+	 * @return the i-th oldest value.
+	 */
+	public double getValue(final int i) {
+		return values[index(i)];
+	}
+
+	protected int index(final int i) {
+		return (head + i) % dates.length;
+	}
+
+	public int size() {
+		return size;
+	}
+}
@@ -44,6 +44,10 @@ public interface TimeSystem {
 
 	public void addExternalEvent(final TimeSystemEvent timeSystemEvent);
 
+	/**
+	 * @return the current date as point in time in UTC, as the simulated time has
+	 *         no daylight saving time.
+	 */
 	public Date getCurrentDate();
 
 	public int getCurrentDayNumberInMonth();
@@ -56,6 +60,11 @@ public interface TimeSystem {
 
 	public MonthType getCurrentMonthType();
 
+	/**
+	 * @return number of hours since the start of the simulation.
+	 */
+	public int getCurrentTick();
+
 	public int getCurrentYear();
 
 	public int getStartYear();
@@ -19,11 +19,13 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.timesystem;
 
+import java.io.Serializable;
+
 /**
  * an event that is added to the time system as a listener and is triggered at
  * certain points in time
  */
-public interface TimeSystemEvent {
+public interface TimeSystemEvent extends Serializable {
 
 	public boolean isDeconstructed();
 
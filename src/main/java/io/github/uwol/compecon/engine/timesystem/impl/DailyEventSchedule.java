@@ -0,0 +1,136 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.timesystem.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+
+/**
+ * Flat schedule of events, which are registered for every day of every year,
+ * i. e. for year -1, {@link MonthType#EVERY} and {@link DayType#EVERY}. These
+ * are nearly all events of agents. <br />
+ * <br />
+ * Registrations are kept in insertion ordered sets per hour of day. The events
+ * of an hour are compiled into an array, which is reused until the
+ * registrations of that hour change; thus, resolving the events of an hour does
+ * not allocate. The order of events equals the order of
+ * {@link DayImpl#getEvents(HourType)}, i. e. events of the exact hour first,
+ * then events of every hour.
+ */
+public class DailyEventSchedule implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	protected static final TimeSystemEvent[] NO_EVENTS = new TimeSystemEvent[0];
+
+	protected static final int NUMBER_OF_HOURS = 24;
+
+	/**
+	 * @return true, if the event is registered for every day of every year, so
+	 *         that it belongs to this schedule.
+	 */
+	public static boolean isDailyEvent(final int year, final MonthType monthType, final DayType dayType) {
+		return year == -1 && MonthType.EVERY.equals(monthType) && DayType.EVERY.equals(dayType);
+	}
+
+	protected final TimeSystemEvent[][] compiledEventsForHours = new TimeSystemEvent[NUMBER_OF_HOURS][];
+
+	protected final Set<TimeSystemEvent> eventsForEveryHour = new LinkedHashSet<TimeSystemEvent>();
+
+	protected final List<Set<TimeSystemEvent>> eventsForHours = new ArrayList<Set<TimeSystemEvent>>();
+
+	public DailyEventSchedule() {
+		for (int i = 0; i < NUMBER_OF_HOURS; i++) {
+			eventsForHours.add(new LinkedHashSet<TimeSystemEvent>());
+		}
+	}
+
+	public void addEvent(final TimeSystemEvent event, final HourType hourType) {
+		if (HourType.EVERY.equals(hourType)) {
+			if (eventsForEveryHour.add(event)) {
+				invalidateAll();
+			}
+		} else {
+			if (eventsForHours.get(hourType.getHourNumber()).add(event)) {
+				compiledEventsForHours[hourType.getHourNumber()] = null;
+			}
+		}
+	}
+
+	protected TimeSystemEvent[] compile(final int hourNumber) {
+		final Set<TimeSystemEvent> eventsForHour = eventsForHours.get(hourNumber);
+
+		if (eventsForHour.isEmpty() && eventsForEveryHour.isEmpty()) {
+			return NO_EVENTS;
+		}
+
+		final List<TimeSystemEvent> events = new ArrayList<TimeSystemEvent>(
+				eventsForHour.size() + eventsForEveryHour.size());
+		events.addAll(eventsForHour);
+
+		for (final TimeSystemEvent event : eventsForEveryHour) {
+			if (!eventsForHour.contains(event)) {
+				events.add(event);
+			}
+		}
+
+		return events.toArray(new TimeSystemEvent[events.size()]);
+	}
+
+	/**
+	 * @return the events of the given hour; the array is shared and must not be
+	 *         modified by the caller.
+	 */
+	public TimeSystemEvent[] getEvents(final HourType hourType) {
+		assert (!HourType.EVERY.equals(hourType));
+
+		final int hourNumber = hourType.getHourNumber();
+
+		TimeSystemEvent[] compiledEvents = compiledEventsForHours[hourNumber];
+		if (compiledEvents == null) {
+			compiledEvents = compile(hourNumber);
+			compiledEventsForHours[hourNumber] = compiledEvents;
+		}
+		return compiledEvents;
+	}
+
+	protected void invalidateAll() {
+		for (int i = 0; i < NUMBER_OF_HOURS; i++) {
+			compiledEventsForHours[i] = null;
+		}
+	}
+
+	public void removeEvents(final Set<TimeSystemEvent> events) {
+		if (eventsForEveryHour.removeAll(events)) {
+			invalidateAll();
+		}
+
+		for (int i = 0; i < NUMBER_OF_HOURS; i++) {
+			if (eventsForHours.get(i).removeAll(events)) {
+				compiledEventsForHours[i] = null;
+			}
+		}
+	}
+}
@@ -19,14 +19,17 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.timesystem.impl;
 
+import java.io.Serializable;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import io.github.uwol.compecon.engine.timesystem.Day;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 
-public class DayImpl implements Day {
+public class DayImpl implements Day, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private final DayType dayType;
 
@@ -54,7 +57,7 @@ public class DayImpl implements Day {
 		final HourImpl hourExact = hours.get(hourType);
 		final HourImpl hourEvery = hours.get(HourType.EVERY);
 
-		final Set<TimeSystemEvent> events = new HashSet<TimeSystemEvent>();
+		final Set<TimeSystemEvent> events = new LinkedHashSet<TimeSystemEvent>();
 
 		if (hourExact != null) {
 			events.addAll(hourExact.getEvents());
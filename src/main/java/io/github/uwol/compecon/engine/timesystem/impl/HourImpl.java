@@ -19,15 +19,18 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.timesystem.impl;
 
-import java.util.HashSet;
+import java.io.Serializable;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import io.github.uwol.compecon.engine.timesystem.Hour;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 
-public class HourImpl implements Hour {
+public class HourImpl implements Hour, Serializable {
 
-	private final Set<TimeSystemEvent> events = new HashSet<TimeSystemEvent>();
+	private static final long serialVersionUID = 1L;
+
+	private final Set<TimeSystemEvent> events = new LinkedHashSet<TimeSystemEvent>();
 
 	private final HourType hourType;
 
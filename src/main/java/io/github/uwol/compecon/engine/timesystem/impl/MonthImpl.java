@@ -19,14 +19,17 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.timesystem.impl;
 
+import java.io.Serializable;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import io.github.uwol.compecon.engine.timesystem.Month;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 
-public class MonthImpl implements Month {
+public class MonthImpl implements Month, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private final HashMap<DayType, DayImpl> days = new HashMap<DayType, DayImpl>();
 
@@ -49,7 +52,7 @@ public class MonthImpl implements Month {
 		final DayImpl dayExact = days.get(dayType);
 		final DayImpl dayEvery = days.get(DayType.EVERY);
 
-		final Set<TimeSystemEvent> events = new HashSet<TimeSystemEvent>();
+		final Set<TimeSystemEvent> events = new LinkedHashSet<TimeSystemEvent>();
 
 		if (dayExact != null) {
 			events.addAll(dayExact.getEvents(hourType));
@@ -19,7 +19,9 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.timesystem.impl;
 
-import java.text.SimpleDateFormat;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -29,33 +31,169 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.timesystem.NationalEconomyTimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.TimeSystem;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 
 /**
  * Agents register their actions as events in the time system (observer
- * pattern).
+ * pattern). <br />
+ * <br />
+ * Events for every day of every year are kept in a {@link DailyEventSchedule},
+ * which resolves the events of an hour without allocation; the tree of
+ * {@link YearImpl}s holds only the remaining, dated registrations. <br />
+ * <br />
+ * The current date is kept as a tick counter of hours since start with
+ * precomputed year, month, day and hour components, which are advanced
+ * arithmetically, so that date reads in hot code are field loads; a
+ * {@link Date} is constructed only for display. The simulated time has no
+ * daylight saving time, hence dates are points in time in {@link #TIME_ZONE}.
+ * <br />
+ * <br />
+ * With parallel event execution, the {@link NationalEconomyTimeSystemEvent}s
+ * of each currency are executed in one fork/join task per currency; see
+ * {@link #triggerEventsInParallel(List, Random)}.
  */
-public class TimeSystemImpl implements TimeSystem {
+public class TimeSystemImpl implements TimeSystem, Serializable {
 
-	private final SimpleDateFormat dayFormat = new SimpleDateFormat("dd.MM.yyyy HH:mm");
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * executes the events of the national economy of a currency in the order
+	 * given, with its own random and with registrations and removals of events
+	 * buffered until all tasks have been joined
+	 */
+	protected class NationalEconomyEventsTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		protected final ApplicationContext applicationContext;
+
+		protected final List<TimeSystemEvent> events = new ArrayList<TimeSystemEvent>();
+
+		protected final Random random;
+
+		protected final List<Runnable> scheduleChanges = new ArrayList<Runnable>();
+
+		public NationalEconomyEventsTask(final ApplicationContext applicationContext, final Random random) {
+			this.applicationContext = applicationContext;
+			this.random = random;
+		}
+
+		/**
+		 * applies the buffered registrations and removals of events to the schedule
+		 */
+		public void applyScheduleChanges() {
+			for (final Runnable scheduleChange : scheduleChanges) {
+				scheduleChange.run();
+			}
+			scheduleChanges.clear();
+		}
+
+		@Override
+		protected void compute() {
+			/*
+			 * the task may be executed by a worker thread, which is not bound to the
+			 * application context of this time system, or by the invoking thread
+			 */
+			final boolean bindApplicationContext = ApplicationContext.getInstance() != applicationContext;
+
+			if (bindApplicationContext) {
+				ApplicationContext.setInstanceForCurrentThread(applicationContext);
+			}
+			applicationContext.getRandomNumberGenerator().setRandomForCurrentThread(random);
+			scheduleChangesOfCurrentThread.set(scheduleChanges);
+
+			try {
+				for (int i = 0; i < events.size(); i++) {
+					triggerEvent(events.get(i));
+				}
+			} finally {
+				scheduleChangesOfCurrentThread.remove();
+				applicationContext.getRandomNumberGenerator().setRandomForCurrentThread(null);
+				if (bindApplicationContext) {
+					ApplicationContext.setInstanceForCurrentThread(null);
+				}
+			}
+		}
+	}
+
+	protected static final int[] DAYS_OF_MONTHS = { 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
+
+	/**
+	 * time zone of the dates of the time system
+	 */
+	public static final TimeZone TIME_ZONE = TimeZone.getTimeZone("UTC");
+
+	protected static int getNumberOfDaysInMonth(final int year, final int monthNumber) {
+		if (monthNumber == MonthType.FEBRUARY.getMonthNumber() && isLeapYear(year)) {
+			return 29;
+		}
+		return DAYS_OF_MONTHS[monthNumber];
+	}
+
+	protected static boolean isLeapYear(final int year) {
+		return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+	}
+
+	private int currentDayNumberInMonth;
+
+	private DayType currentDayType;
+
+	private int currentHourNumberInDay;
+
+	private HourType currentHourType;
+
+	private int currentMonthNumber;
+
+	private MonthType currentMonthType;
+
+	/**
+	 * number of hours since the start of the simulation
+	 */
+	private int currentTick = 0;
+
+	private int currentYear;
+
+	private final DailyEventSchedule dailyEventSchedule = new DailyEventSchedule();
 
 	private int dayNumber = 0;
 
+	/**
+	 * reused buffer for the events of the current hour
+	 */
+	private final List<TimeSystemEvent> eventsOfCurrentHour = new ArrayList<TimeSystemEvent>();
+
 	private final List<TimeSystemEvent> externalEvents = new ArrayList<TimeSystemEvent>();
 
-	private GregorianCalendar gregorianCalendar = new GregorianCalendar();
+	/**
+	 * calendar for constructing dates for display; guarded by itself
+	 */
+	private final GregorianCalendar gregorianCalendar = new GregorianCalendar(TIME_ZONE);
 
 	private final int startYear;
 
+	/**
+	 * registrations and removals of events, which are buffered while the current
+	 * thread executes a {@link NationalEconomyEventsTask}
+	 */
+	private transient ThreadLocal<List<Runnable>> scheduleChangesOfCurrentThread = new ThreadLocal<List<Runnable>>();
+
 	private final Map<Integer, YearImpl> years = new HashMap<Integer, YearImpl>();
 
 	public TimeSystemImpl(final int year) {
-		gregorianCalendar = new GregorianCalendar(year, MonthType.JANUARY.getMonthNumber(),
-				DayType.DAY_01.getDayNumber());
 		startYear = year;
+		currentYear = year;
+		currentMonthNumber = MonthType.JANUARY.getMonthNumber();
+		currentDayNumberInMonth = DayType.DAY_01.getDayNumber();
+		currentHourNumberInDay = HourType.HOUR_00.getHourNumber();
+		updateDateTypes();
 	}
 
 	/**
@@ -64,6 +202,23 @@ public class TimeSystemImpl implements TimeSystem {
 	@Override
 	public void addEvent(final TimeSystemEvent event, final int year, final MonthType monthType, final DayType dayType,
 			final HourType hourType) {
+		final List<Runnable> scheduleChanges = scheduleChangesOfCurrentThread.get();
+
+		if (scheduleChanges != null) {
+			scheduleChanges.add(new Runnable() {
+				@Override
+				public void run() {
+					addEvent(event, year, monthType, dayType, hourType);
+				}
+			});
+			return;
+		}
+
+		if (DailyEventSchedule.isDailyEvent(year, monthType, dayType)) {
+			dailyEventSchedule.addEvent(event, hourType);
+			return;
+		}
+
 		if (!years.containsKey(year)) {
 			years.put(year, new YearImpl());
 		}
@@ -79,13 +234,9 @@ public class TimeSystemImpl implements TimeSystem {
 			final DayType dayType, final HourType exceptHourType) {
 		assert (exceptHourType != null);
 
-		if (!years.containsKey(year)) {
-			years.put(year, new YearImpl());
-		}
-
 		for (final HourType hourType : HourType.values()) {
 			if (!HourType.EVERY.equals(hourType) && !exceptHourType.equals(hourType)) {
-				years.get(year).addEvent(event, monthType, dayType, hourType);
+				addEvent(event, year, monthType, dayType, hourType);
 			}
 		}
 	}
@@ -115,24 +266,53 @@ public class TimeSystemImpl implements TimeSystem {
 		externalEvents.add(timeSystemEvent);
 	}
 
+	/**
+	 * advances the date components by one hour
+	 */
+	protected void advanceHour() {
+		currentTick++;
+		currentHourNumberInDay++;
+
+		if (currentHourNumberInDay == 24) {
+			currentHourNumberInDay = 0;
+			currentDayNumberInMonth++;
+
+			if (currentDayNumberInMonth > getNumberOfDaysInMonth(currentYear, currentMonthNumber)) {
+				currentDayNumberInMonth = 1;
+				currentMonthNumber++;
+
+				if (currentMonthNumber == 12) {
+					currentMonthNumber = 0;
+					currentYear++;
+				}
+			}
+		}
+
+		updateDateTypes();
+	}
+
 	@Override
 	public Date getCurrentDate() {
-		return gregorianCalendar.getTime();
+		synchronized (gregorianCalendar) {
+			gregorianCalendar.clear();
+			gregorianCalendar.set(currentYear, currentMonthNumber, currentDayNumberInMonth, currentHourNumberInDay, 0);
+			return gregorianCalendar.getTime();
+		}
 	}
 
 	@Override
 	public int getCurrentDayNumberInMonth() {
-		return gregorianCalendar.get(GregorianCalendar.DAY_OF_MONTH);
+		return currentDayNumberInMonth;
 	}
 
 	@Override
 	public DayType getCurrentDayType() {
-		return DayType.getDayType(gregorianCalendar.get(GregorianCalendar.DAY_OF_MONTH));
+		return currentDayType;
 	}
 
 	@Override
 	public HourType getCurrentHourType() {
-		return HourType.getHourType(gregorianCalendar.get(GregorianCalendar.HOUR_OF_DAY));
+		return currentHourType;
 	}
 
 	/*
@@ -141,17 +321,22 @@ public class TimeSystemImpl implements TimeSystem {
 
 	@Override
 	public int getCurrentMonthNumberInYear() {
-		return gregorianCalendar.get(GregorianCalendar.MONTH) + 1;
+		return currentMonthNumber + 1;
 	}
 
 	@Override
 	public MonthType getCurrentMonthType() {
-		return MonthType.getMonthType(gregorianCalendar.get(GregorianCalendar.MONTH));
+		return currentMonthType;
+	}
+
+	@Override
+	public int getCurrentTick() {
+		return currentTick;
 	}
 
 	@Override
 	public int getCurrentYear() {
-		return gregorianCalendar.get(GregorianCalendar.YEAR);
+		return currentYear;
 	}
 
 	@Override
@@ -167,11 +352,11 @@ public class TimeSystemImpl implements TimeSystem {
 
 	@Override
 	public void nextHour() {
-		gregorianCalendar.add(GregorianCalendar.HOUR_OF_DAY, 1);
-		ApplicationContext.getInstance().getLog().notifyTimeSystem_nextHour(getCurrentDate());
+		advanceHour();
+		ApplicationContext.getInstance().getLog().notifyTimeSystem_nextHour(currentTick);
 
-		if (HourType.getHourType(gregorianCalendar.get(GregorianCalendar.HOUR_OF_DAY)) == HourType.HOUR_00) {
-			ApplicationContext.getInstance().getLog().notifyTimeSystem_nextDay(getCurrentDate());
+		if (currentHourType == HourType.HOUR_00) {
+			ApplicationContext.getInstance().getLog().notifyTimeSystem_nextDay(currentTick);
 			dayNumber++;
 		}
 
@@ -182,8 +367,27 @@ public class TimeSystemImpl implements TimeSystem {
 	 * methods for events induced by the dashboard
 	 */
 
+	private void readObject(final ObjectInputStream objectInputStream) throws IOException, ClassNotFoundException {
+		objectInputStream.defaultReadObject();
+		scheduleChangesOfCurrentThread = new ThreadLocal<List<Runnable>>();
+	}
+
 	@Override
 	public void removeEvents(final Set<TimeSystemEvent> events) {
+		final List<Runnable> scheduleChanges = scheduleChangesOfCurrentThread.get();
+
+		if (scheduleChanges != null) {
+			scheduleChanges.add(new Runnable() {
+				@Override
+				public void run() {
+					removeEvents(events);
+				}
+			});
+			return;
+		}
+
+		dailyEventSchedule.removeEvents(events);
+
 		for (final YearImpl year : years.values()) {
 			year.removeEvents(events);
 		}
@@ -213,27 +417,54 @@ public class TimeSystemImpl implements TimeSystem {
 
 	@Override
 	public String toString() {
-		return dayFormat.format(gregorianCalendar.getTime());
+		return String.format("%02d.%02d.%04d %02d:00", currentDayNumberInMonth, currentMonthNumber + 1, currentYear,
+				currentHourNumberInDay);
+	}
+
+	/**
+	 * it may happen, that an event deconstructs an agent, and that agent has
+	 * registered other events for the same point in time -> they are contained in
+	 * the events-list -> check for deconstruction
+	 */
+	protected void triggerEvent(final TimeSystemEvent event) {
+		try {
+			if (!event.isDeconstructed()) {
+				event.onEvent();
+			}
+		} catch (final Exception e) {
+			e.printStackTrace();
+		}
 	}
 
 	private synchronized void triggerEvents() {
 		// determine current date
-		final YearImpl yearExact = years.get(getCurrentYear());
-		final YearImpl yearEvery = years.get(-1);
-
 		final MonthType currentMonthType = getCurrentMonthType();
 		final DayType currentDayType = getCurrentDayType();
 		final HourType currentHourType = getCurrentHourType();
 
 		// select events for this date
-		final List<TimeSystemEvent> events = new ArrayList<TimeSystemEvent>();
+		final List<TimeSystemEvent> events = eventsOfCurrentHour;
+		events.clear();
+
+		final YearImpl yearExact = years.get(getCurrentYear());
+		final YearImpl yearEvery = years.get(-1);
 
 		if (yearExact != null) {
 			events.addAll(yearExact.getEvents(currentMonthType, currentDayType, currentHourType));
 		}
 
+		Set<TimeSystemEvent> datedEventsEvery = null;
 		if (yearEvery != null) {
-			events.addAll(yearEvery.getEvents(currentMonthType, currentDayType, currentHourType));
+			datedEventsEvery = yearEvery.getEvents(currentMonthType, currentDayType, currentHourType);
+			events.addAll(datedEventsEvery);
+		}
+
+		// daily events are ordered after dated events of every year, as in
+		// the tree
+		for (final TimeSystemEvent event : dailyEventSchedule.getEvents(currentHourType)) {
+			if (datedEventsEvery == null || !datedEventsEvery.contains(event)) {
+				events.add(event);
+			}
 		}
 
 		/*
@@ -243,21 +474,16 @@ public class TimeSystemImpl implements TimeSystem {
 		final Random random = ApplicationContext.getInstance().getRandomNumberGenerator().getRandom();
 		Collections.shuffle(events, random);
 
-		for (final TimeSystemEvent event : events) {
-			try {
-				/*
-				 * it may happen, that an event deconstructs an agent, and that agent has
-				 * registered other events for the same point in time -> they are contained in
-				 * the events-list -> check for deconstruction
-				 */
-				if (!event.isDeconstructed()) {
-					event.onEvent();
-				}
-			} catch (final Exception e) {
-				e.printStackTrace();
+		if (ApplicationContext.getInstance().getConfiguration().timeSystemConfig.getParallelEventExecution()) {
+			triggerEventsInParallel(events, random);
+		} else {
+			for (int i = 0; i < events.size(); i++) {
+				triggerEvent(events.get(i));
 			}
 		}
 
+		events.clear();
+
 		if (HourType.HOUR_00.equals(currentHourType)) {
 			// potential external events from GUI
 			for (final TimeSystemEvent event : externalEvents) {
@@ -270,4 +496,54 @@ public class TimeSystemImpl implements TimeSystem {
 			externalEvents.clear();
 		}
 	}
+
+	protected void updateDateTypes() {
+		currentMonthType = MonthType.getMonthType(currentMonthNumber);
+		currentDayType = DayType.getDayType(currentDayNumberInMonth);
+		currentHourType = HourType.getHourType(currentHourNumberInDay);
+	}
+
+	/**
+	 * triggers the events, which may affect several national economies, e. g.
+	 * events of banks, traders and states, sequentially first. Then, the events of
+	 * each national economy are triggered in one task per currency in parallel.
+	 * <br />
+	 * <br />
+	 * Results are reproducible for a seed, as each task draws from its own
+	 * random, which is seeded from the given random in the order of currencies,
+	 * and as the events registered or removed by the tasks are applied after all
+	 * tasks have been joined, again in the order of currencies.
+	 */
+	protected void triggerEventsInParallel(final List<TimeSystemEvent> events, final Random random) {
+		final ApplicationContext applicationContext = ApplicationContext.getInstance();
+		final List<NationalEconomyEventsTask> tasks = new ArrayList<NationalEconomyEventsTask>();
+
+		for (int i = 0; i < Currency.values().length; i++) {
+			tasks.add(new NationalEconomyEventsTask(applicationContext, new Random(random.nextLong())));
+		}
+
+		for (int i = 0; i < events.size(); i++) {
+			final TimeSystemEvent event = events.get(i);
+
+			if (event instanceof NationalEconomyTimeSystemEvent) {
+				tasks.get(((NationalEconomyTimeSystemEvent) event).getCurrency().ordinal()).events.add(event);
+			} else {
+				triggerEvent(event);
+			}
+		}
+
+		ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				invokeAll(tasks);
+			}
+		});
+
+		for (final NationalEconomyEventsTask task : tasks) {
+			task.applyScheduleChanges();
+		}
+	}
 }
\ No newline at end of file
@@ -19,14 +19,18 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.timesystem.impl;
 
+import java.io.Serializable;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.Year;
 
-public class YearImpl implements Year {
+public class YearImpl implements Year, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
 	private final HashMap<MonthType, MonthImpl> months = new HashMap<MonthType, MonthImpl>();
 
 	@Override
@@ -44,7 +48,7 @@ public class YearImpl implements Year {
 		final MonthImpl monthExact = months.get(monthType);
 		final MonthImpl monthEvery = months.get(MonthType.EVERY);
 
-		final Set<TimeSystemEvent> events = new HashSet<TimeSystemEvent>();
+		final Set<TimeSystemEvent> events = new LinkedHashSet<TimeSystemEvent>();
 
 		if (monthExact != null) {
 			events.addAll(monthExact.getEvents(dayType, hourType));
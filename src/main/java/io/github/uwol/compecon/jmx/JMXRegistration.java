@@ -52,6 +52,7 @@ public class JMXRegistration {
 	public static void init() {
 		mBeans.clear();
 		try {
+			mBeans.put(new ObjectName("compecon.jmx:type=MarketOrderDAOModel"), new JmxMarketOrderDAOModel());
 			mBeans.put(new ObjectName("compecon.jmx:type=NumberOfAgentsModel"), new JmxNumberOfAgentsModel());
 			mBeans.put(new ObjectName("compecon.jmx:type=TimeSystemModel"), new JmxTimeSystemModel());
 
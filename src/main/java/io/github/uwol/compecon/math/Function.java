@@ -29,6 +29,9 @@ public interface Function<T> {
 	public Map<T, Double> calculateOutputMaximizingInputs(final Map<T, PriceFunction> priceFunctionsOfInputTypes,
 			final double budget);
 
+	public Map<T, Double> calculateOutputMaximizingInputsByBranchAndBound(
+			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget, final double tolerance);
+
 	public Map<T, Double> calculateOutputMaximizingInputsByRangeScan(
 			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget);
 
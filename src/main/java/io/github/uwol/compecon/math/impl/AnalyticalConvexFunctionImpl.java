@@ -28,6 +28,8 @@ import io.github.uwol.compecon.math.price.PriceFunction.PriceFunctionConfig;
 
 public abstract class AnalyticalConvexFunctionImpl<T> extends ConvexFunctionImpl<T> {
 
+	private static final long serialVersionUID = 1L;
+
 	protected AnalyticalConvexFunctionImpl(final boolean needsAllInputFactorsNonZeroForPartialDerivate) {
 		super(needsAllInputFactorsNonZeroForPartialDerivate);
 	}
@@ -19,8 +19,10 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.impl;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -32,11 +34,22 @@ import io.github.uwol.compecon.math.util.MathUtil;
 
 public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 
+	private static final long serialVersionUID = 1L;
+
+	private static final int MAX_ITERATIONS_PRICE_STEP_FUNCTIONS = 200;
+
+	private static final double RELATIVE_EPSILON_PRICE_STEP_FUNCTIONS = 0.0000000001;
+
 	protected final Map<T, Double> coefficients;
 
 	protected final double homogenityFactor;
 
-	protected double mainCoefficient;
+	/**
+	 * coefficients indexed by {@link #getIndexedInputTypes()}
+	 */
+	protected final double[] indexedCoefficients;
+
+	protected final double mainCoefficient;
 
 	protected final double substitutionFactor;
 
@@ -47,22 +60,48 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 		// mainCoefficient has to be > 0
 		assert (MathUtil.greater(mainCoefficient, 0.0));
 
-		// interior exponent has to be in interval ]-1, 0[ for a convex
-		// maximization problem
-		assert (substitutionFactor > -1.0 && substitutionFactor < 0.0);
+		// interior exponent has to be in interval ]-1, 0[ for substitutes or > 0
+		// for complements for a convex maximization problem
+		assert (substitutionFactor > -1.0 && substitutionFactor != 0.0);
 
 		// homogenityFactor has to be > 0
 		assert (MathUtil.greater(homogenityFactor, 0.0));
 
 		final double exteriorExponent = -homogenityFactor / substitutionFactor;
 
-		// exterior exponent has to be in interval ]0, 1[ for a convex function
-		assert (exteriorExponent > 0.0 && exteriorExponent < 1.0);
+		// for substitutes the exterior exponent has to be in interval ]0, 1[, for
+		// complements the returns to scale must not increase for a convex function
+		assert (substitutionFactor > 0.0 ? homogenityFactor <= 1.0
+				: exteriorExponent > 0.0 && exteriorExponent < 1.0);
 
 		this.mainCoefficient = mainCoefficient;
-		this.coefficients = coefficients;
+		this.coefficients = Collections.unmodifiableMap(new LinkedHashMap<T, Double>(coefficients));
 		this.substitutionFactor = substitutionFactor;
 		this.homogenityFactor = homogenityFactor;
+
+		final List<T> indexedInputTypes = getIndexedInputTypes();
+		indexedCoefficients = new double[indexedInputTypes.size()];
+
+		for (int i = 0; i < indexedCoefficients.length; i++) {
+			indexedCoefficients[i] = this.coefficients.get(indexedInputTypes.get(i));
+		}
+	}
+
+	/**
+	 * copies the function with another main coefficient; the validated
+	 * coefficients are shared with the original function.
+	 */
+	protected CESFunctionImpl(final CESFunctionImpl<T> function, final double mainCoefficient) {
+		super(false);
+
+		// mainCoefficient has to be > 0
+		assert (MathUtil.greater(mainCoefficient, 0.0));
+
+		this.mainCoefficient = mainCoefficient;
+		this.coefficients = function.coefficients;
+		this.substitutionFactor = function.substitutionFactor;
+		this.homogenityFactor = function.homogenityFactor;
+		this.indexedCoefficients = function.indexedCoefficients;
 	}
 
 	@Override
@@ -82,6 +121,13 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 		// dispatch
 		if (fixedPrices.size() == priceFunctionsOfInputs.size()) {
 			return this.calculateOutputMaximizingInputsAnalyticalWithFixedPrices(fixedPrices, budget);
+		}
+
+		final Map<T, Double> bundleOfInputs = this
+				.calculateOutputMaximizingInputsWithPriceStepFunctions(priceFunctionsOfInputs, budget);
+
+		if (bundleOfInputs != null) {
+			return bundleOfInputs;
 		} else {
 			return super.calculateOutputMaximizingInputs(priceFunctionsOfInputs, budget);
 		}
@@ -162,6 +208,237 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 		return bundleOfInputs;
 	}
 
+	/**
+	 * This method solves the lagrange conditions of an optimization problem under
+	 * budget constraints and price step functions, whose segments are given by
+	 * {@link PriceFunction#getAnalyticalPriceFunctionParameters(double)}. <br />
+	 * <br />
+	 * c_i * (x_i)^(-r-1) = t * p_i(x_i) <br />
+	 * <br />
+	 * holds for all input types, where p_i(x_i) is the marginal price of input
+	 * type i and t is common to all input types. With w = t^(-1/(r+1)) the
+	 * optimal amount of input type i in segment k is <br />
+	 * <br />
+	 * x_i = (c_i / p_ik)^(1/(r+1)) * w <br />
+	 * <br />
+	 * if it lies in [left_ik, right_ik], left_ik, if the amount of segment k - 1
+	 * exceeds its right boundary and the amount of segment k does not reach its
+	 * left boundary (kink of the price step function), or the right boundary of
+	 * the last segment, if the market is sold out. The costs of the bundle are
+	 * continuous and non-decreasing in w and linear in w for a fixed constellation
+	 * of segments, so that w is determined by Newton steps, which are exact
+	 * within a constellation, inside of a bisection bracket. Each step takes
+	 * O(segments * inputs). <br />
+	 * <br />
+	 * Input types without offers are set to 0. The costs of the bundle exceed the
+	 * budget at most by the relative tolerance of the iteration.
+	 *
+	 * @return null, if the marginal prices of the price step functions are not
+	 *         non-decreasing, i. e. the problem is not convex.
+	 */
+	public Map<T, Double> calculateOutputMaximizingInputsWithPriceStepFunctions(
+			final Map<T, PriceFunction> priceFunctionsOfInputs, final double budget) {
+		final List<T> inputTypes = getIndexedInputTypes();
+		final int numberOfInputTypes = inputTypes.size();
+		final double[] bundleOfInputs = new double[numberOfInputTypes];
+
+		if (MathUtil.lesserEqual(budget, 0.0)) {
+			return toBundleOfInputs(bundleOfInputs);
+		}
+
+		/*
+		 * segments of price step functions
+		 */
+		final PriceFunctionConfig[][] priceFunctionConfigs = new PriceFunctionConfig[numberOfInputTypes][];
+
+		// (c_i / p_ik)^(1/(r+1))
+		final double[][] amountsPerW = new double[numberOfInputTypes][];
+
+		final double exponent = 1.0 / (this.substitutionFactor + 1.0);
+		double maxCosts = 0.0;
+
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			final PriceFunctionConfig[] configs = priceFunctionsOfInputs.get(inputTypes.get(i))
+					.getAnalyticalPriceFunctionParameters(budget);
+
+			if (configs.length == 0 || Double.isNaN(configs[0].coefficientXPower0)) {
+				// no offers for this input type -> amount 0
+				priceFunctionConfigs[i] = new PriceFunctionConfig[0];
+				amountsPerW[i] = new double[0];
+				continue;
+			}
+
+			priceFunctionConfigs[i] = configs;
+			amountsPerW[i] = new double[configs.length];
+
+			for (int k = 0; k < configs.length; k++) {
+				if (k > 0 && configs[k].coefficientXPower0 < configs[k - 1].coefficientXPower0) {
+					return null;
+				}
+				amountsPerW[i][k] = Math.pow(indexedCoefficients[i] / configs[k].coefficientXPower0, exponent);
+			}
+
+			final PriceFunctionConfig lastConfig = configs[configs.length - 1];
+			maxCosts += lastConfig.coefficientXPower0 * lastConfig.intervalRightBoundary
+					+ lastConfig.coefficientXPowerMinus1;
+		}
+
+		// special case: markets are sold out within the budget
+		if (maxCosts <= budget) {
+			for (int i = 0; i < numberOfInputTypes; i++) {
+				final PriceFunctionConfig[] configs = priceFunctionConfigs[i];
+				if (configs.length > 0) {
+					bundleOfInputs[i] = configs[configs.length - 1].intervalRightBoundary;
+				}
+			}
+			return toBundleOfInputs(bundleOfInputs);
+		}
+
+		/*
+		 * bracket w; costs are 0 for w = 0
+		 */
+		double lowerW = 0.0;
+		double upperW = 0.0;
+		double initialSlope = 0.0;
+
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			if (priceFunctionConfigs[i].length > 0) {
+				initialSlope += priceFunctionConfigs[i][0].coefficientXPower0 * amountsPerW[i][0];
+			}
+		}
+
+		if (initialSlope <= 0.0) {
+			return toBundleOfInputs(bundleOfInputs);
+		}
+
+		// solution under the prices of the first segments
+		double w = budget / initialSlope;
+
+		while (this.calculateCostsForW(w, priceFunctionConfigs, amountsPerW, bundleOfInputs, null) < budget) {
+			lowerW = w;
+			w *= 2.0;
+		}
+
+		upperW = w;
+
+		/*
+		 * bracketed newton iteration
+		 */
+		final double[] slope = new double[1];
+		w = lowerW > 0.0 ? lowerW : upperW;
+
+		for (int iteration = 0; iteration < MAX_ITERATIONS_PRICE_STEP_FUNCTIONS; iteration++) {
+			final double costs = this.calculateCostsForW(w, priceFunctionConfigs, amountsPerW, bundleOfInputs, slope);
+			final double deviation = costs - budget;
+
+			if (Math.abs(deviation) <= budget * RELATIVE_EPSILON_PRICE_STEP_FUNCTIONS) {
+				break;
+			}
+
+			if (deviation < 0.0) {
+				lowerW = w;
+			} else {
+				upperW = w;
+			}
+
+			double nextW = Double.NaN;
+
+			if (slope[0] > 0.0) {
+				nextW = w - deviation / slope[0];
+			}
+
+			// newton step leaves the bracket -> bisection
+			if (!(nextW > lowerW && nextW < upperW)) {
+				nextW = (lowerW + upperW) / 2.0;
+			}
+
+			if (nextW == w) {
+				break;
+			}
+
+			w = nextW;
+		}
+
+		/*
+		 * the bundle of inputs must not exceed the budget by more than the tolerance;
+		 * otherwise w is stepped back along the slope of its constellation, which is
+		 * exact, if the constellation does not change, and not below lowerW, whose
+		 * costs are within the budget
+		 */
+		final double budgetWithTolerance = budget * (1.0 + RELATIVE_EPSILON_PRICE_STEP_FUNCTIONS);
+		final double costs = this.calculateCostsForW(w, priceFunctionConfigs, amountsPerW, bundleOfInputs, slope);
+
+		if (costs > budgetWithTolerance) {
+			final double steppedBackW = slope[0] > 0.0 ? Math.max(w - (costs - budget) / slope[0], lowerW) : lowerW;
+
+			if (this.calculateCostsForW(steppedBackW, priceFunctionConfigs, amountsPerW, bundleOfInputs,
+					null) > budgetWithTolerance) {
+				this.calculateCostsForW(lowerW, priceFunctionConfigs, amountsPerW, bundleOfInputs, null);
+			}
+		}
+
+		return toBundleOfInputs(bundleOfInputs);
+	}
+
+	/**
+	 * sets the optimal amounts of input types for the given w and returns the
+	 * costs of the bundle of inputs.
+	 *
+	 * @param slope if not null, receives the derivative of the costs by w.
+	 */
+	private double calculateCostsForW(final double w, final PriceFunctionConfig[][] priceFunctionConfigs,
+			final double[][] amountsPerW, final double[] bundleOfInputs, final double[] slope) {
+		double costs = 0.0;
+		double slopeOfCosts = 0.0;
+
+		for (int i = 0; i < bundleOfInputs.length; i++) {
+			final PriceFunctionConfig[] configs = priceFunctionConfigs[i];
+
+			if (configs.length == 0) {
+				bundleOfInputs[i] = 0.0;
+				continue;
+			}
+
+			int k = 0;
+			double amount;
+			boolean interior = true;
+
+			while (true) {
+				final PriceFunctionConfig config = configs[k];
+				amount = amountsPerW[i][k] * w;
+
+				if (amount <= config.intervalLeftBoundary) {
+					// kink of the price step function
+					amount = config.intervalLeftBoundary;
+					interior = false;
+					break;
+				} else if (amount <= config.intervalRightBoundary) {
+					break;
+				} else if (k == configs.length - 1) {
+					// market sold out
+					amount = config.intervalRightBoundary;
+					interior = false;
+					break;
+				}
+
+				k++;
+			}
+
+			bundleOfInputs[i] = amount;
+			costs += configs[k].coefficientXPower0 * amount + configs[k].coefficientXPowerMinus1;
+
+			if (interior) {
+				slopeOfCosts += configs[k].coefficientXPower0 * amountsPerW[i][k];
+			}
+		}
+
+		if (slope != null) {
+			slope[0] = slopeOfCosts;
+		}
+
+		return costs;
+	}
+
 	/**
 	 * This method implements the analytical solution for the lagrange function of
 	 * an optimization problem under budget constraints and a step price function.
@@ -287,6 +564,17 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 		return this.mainCoefficient * Math.pow(sum, (-1.0 * this.homogenityFactor) / this.substitutionFactor);
 	}
 
+	@Override
+	public double f(final double[] bundleOfInputs) {
+		double sum = 0.0;
+
+		for (int i = 0; i < indexedCoefficients.length; i++) {
+			sum += indexedCoefficients[i] * Math.pow(bundleOfInputs[i], -this.substitutionFactor);
+		}
+
+		return this.mainCoefficient * Math.pow(sum, (-1.0 * this.homogenityFactor) / this.substitutionFactor);
+	}
+
 	@Override
 	public Set<T> getInputTypes() {
 		return this.coefficients.keySet();
@@ -338,7 +626,46 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 		return exteriorDerivative * interiorDerivative;
 	}
 
-	public void setMainCoefficient(final double mainCoefficient) {
-		this.mainCoefficient = mainCoefficient;
+	@Override
+	public double partialDerivative(final double[] forBundleOfInputs, final int withRespectToInputIndex) {
+		/*
+		 * exterior derivative
+		 */
+		double sum = 0.0;
+
+		for (int i = 0; i < indexedCoefficients.length; i++) {
+			sum += indexedCoefficients[i] * Math.pow(forBundleOfInputs[i], -1.0 * this.substitutionFactor);
+		}
+
+		final double exponent = (-1.0 * this.homogenityFactor / this.substitutionFactor) - 1.0;
+		final double exteriorDerivative = (-1.0 * this.homogenityFactor / this.substitutionFactor)
+				* this.mainCoefficient * Math.pow(sum, exponent);
+
+		/*
+		 * interior derivative
+		 */
+		final double coefficient = indexedCoefficients[withRespectToInputIndex];
+		final double differentialInput = forBundleOfInputs[withRespectToInputIndex];
+		final double interiorDerivative = -1.0 * this.substitutionFactor * coefficient
+				* Math.pow(differentialInput, (-1.0 * this.substitutionFactor) - 1.0);
+
+		// Java returns Double.NaN for 0 * Double.INFINITE -> return 0
+		if (exteriorDerivative == 0.0 && Double.isInfinite(interiorDerivative)) {
+			return 0.0;
+		}
+
+		if (interiorDerivative == 0.0 && Double.isInfinite(exteriorDerivative)) {
+			return 0.0;
+		}
+
+		return exteriorDerivative * interiorDerivative;
+	}
+
+	/**
+	 * @return a function that differs from this function only in the main
+	 *         coefficient; this function is not modified.
+	 */
+	public CESFunctionImpl<T> withMainCoefficient(final double mainCoefficient) {
+		return new CESFunctionImpl<T>(this, mainCoefficient);
 	}
 }
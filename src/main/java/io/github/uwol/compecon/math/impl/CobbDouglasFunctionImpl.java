@@ -19,8 +19,10 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.impl;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -32,10 +34,17 @@ import io.github.uwol.compecon.math.util.MathUtil;
 
 public class CobbDouglasFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 
-	protected double coefficient;
+	private static final long serialVersionUID = 1L;
+
+	protected final double coefficient;
 
 	protected final Map<T, Double> exponents;
 
+	/**
+	 * exponents indexed by {@link #getIndexedInputTypes()}
+	 */
+	protected final double[] indexedExponents;
+
 	public CobbDouglasFunctionImpl(final double coefficient, final Map<T, Double> exponents) {
 		super(true);
 
@@ -52,8 +61,30 @@ public class CobbDouglasFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T>
 		// sum of exponents must equal 1
 		assert (MathUtil.equal(sumOfExponents, 1.0));
 
-		this.exponents = exponents;
+		this.exponents = Collections.unmodifiableMap(new LinkedHashMap<T, Double>(exponents));
 		this.coefficient = coefficient;
+
+		final List<T> indexedInputTypes = getIndexedInputTypes();
+		indexedExponents = new double[indexedInputTypes.size()];
+
+		for (int i = 0; i < indexedExponents.length; i++) {
+			indexedExponents[i] = this.exponents.get(indexedInputTypes.get(i));
+		}
+	}
+
+	/**
+	 * copies the function with another coefficient; the validated exponents
+	 * are shared with the original function.
+	 */
+	protected CobbDouglasFunctionImpl(final CobbDouglasFunctionImpl<T> function, final double coefficient) {
+		super(true);
+
+		// coefficient has to be > 0
+		assert (MathUtil.greater(coefficient, 0.0));
+
+		this.exponents = function.exponents;
+		this.coefficient = coefficient;
+		this.indexedExponents = function.indexedExponents;
 	}
 
 	@Override
@@ -319,6 +350,17 @@ public class CobbDouglasFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T>
 		return output;
 	}
 
+	@Override
+	public double f(final double[] bundleOfInputs) {
+		double output = this.coefficient;
+
+		for (int i = 0; i < indexedExponents.length; i++) {
+			output = output * Math.pow(bundleOfInputs[i], indexedExponents[i]);
+		}
+
+		return output;
+	}
+
 	public double getCoefficient() {
 		return this.coefficient;
 	}
@@ -367,8 +409,41 @@ public class CobbDouglasFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T>
 		return constant * differentialFactor;
 	}
 
-	public void setCoefficient(final double coefficient) {
-		this.coefficient = coefficient;
+	@Override
+	public double partialDerivative(final double[] forBundleOfInputs, final int withRespectToInputIndex) {
+		/*
+		 * constant
+		 */
+		double constant = this.coefficient;
+
+		for (int i = 0; i < indexedExponents.length; i++) {
+			if (i != withRespectToInputIndex) {
+				constant = constant * Math.pow(forBundleOfInputs[i], indexedExponents[i]);
+			}
+		}
+
+		/*
+		 * differential factor
+		 */
+		final double differentialInput = forBundleOfInputs[withRespectToInputIndex];
+		final double differentialExponent = indexedExponents[withRespectToInputIndex] - 1.0;
+		final double differentialCoefficient = indexedExponents[withRespectToInputIndex];
+		final double differentialFactor = differentialCoefficient * Math.pow(differentialInput, differentialExponent);
+
+		// Java returns Double.NaN for 0 * Double.INFINITE -> return 0
+		if (constant == 0.0 && Double.isInfinite(differentialFactor)) {
+			return 0.0;
+		}
+
+		return constant * differentialFactor;
+	}
+
+	/**
+	 * @return a function that differs from this function only in the
+	 *         coefficient; this function is not modified.
+	 */
+	public CobbDouglasFunctionImpl<T> withCoefficient(final double coefficient) {
+		return new CobbDouglasFunctionImpl<T>(this, coefficient);
 	}
 
 }
@@ -19,8 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.impl;
 
-import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
@@ -31,6 +30,8 @@ import io.github.uwol.compecon.math.util.MathUtil;
 
 public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements ConvexFunction<T> {
 
+	private static final long serialVersionUID = 1L;
+
 	protected ConvexFunctionImpl(final boolean needsAllInputFactorsNonZeroForPartialDerivate) {
 		super(needsAllInputFactorsNonZeroForPartialDerivate);
 	}
@@ -57,6 +58,11 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 				ApplicationContext.getInstance().getConfiguration().mathConfig.getInitializationValue());
 	}
 
+	/**
+	 * iterative calculation of the output maximizing bundle of inputs over
+	 * primitive arrays indexed by {@link #getIndexedInputTypes()}, which avoids
+	 * boxing and hash lookups in the partial derivatives.
+	 */
 	protected Map<T, Double> calculateOutputMaximizingInputsIterative(
 			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget, final int numberOfIterations,
 			final double initializationValue) {
@@ -65,25 +71,23 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 
 		// ------ preparation -----------------------------------------
 
-		// initialize inventory
-		final Map<T, Double> inventoryNullSafe = new HashMap<T, Double>();
+		final List<T> inputTypes = getIndexedInputTypes();
+		final int numberOfInputTypes = inputTypes.size();
 
-		for (final T inputType : getInputTypes()) {
-			inventoryNullSafe.put(inputType, 0.0);
+		final PriceFunction[] priceFunctions = new PriceFunction[numberOfInputTypes];
+
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			priceFunctions[i] = priceFunctionsOfInputTypes.get(inputTypes.get(i));
 		}
 
-		// check, whether inputs have NaN prices
+		// check, whether inputs have NaN prices; the inventory is empty
 		boolean inputsAreUnavailable = false;
 
-		for (final T inputType : getInputTypes()) {
-			final double inventoryAmount = inventoryNullSafe.get(inputType);
-			// if the input type is not available in the inventory
-			if (inventoryAmount <= 0.0) {
-				// if the good type is not available on markets
-				if (Double.isNaN(priceFunctionsOfInputTypes.get(inputType).getPrice(0.0))) {
-					inputsAreUnavailable = true;
-					break;
-				}
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			// if the good type is not available on markets
+			if (Double.isNaN(priceFunctions[i].getPrice(0.0))) {
+				inputsAreUnavailable = true;
+				break;
 			}
 		}
 
@@ -100,13 +104,7 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 			getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, 0.0,
 					ConvexFunctionTerminationCause.INPUT_FACTOR_UNAVAILABLE);
 
-			final Map<T, Double> bundleOfInputs = new LinkedHashMap<T, Double>();
-
-			for (final T inputType : getInputTypes()) {
-				bundleOfInputs.put(inputType, 0.0);
-			}
-
-			return bundleOfInputs;
+			return toBundleOfInputs(new double[numberOfInputTypes]);
 		}
 
 		// special case: check for budget
@@ -115,19 +113,12 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 			getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, 0.0,
 					ConvexFunctionTerminationCause.BUDGET_PLANNED);
 
-			final Map<T, Double> bundleOfInputs = new LinkedHashMap<T, Double>();
-
-			for (final T inputType : getInputTypes()) {
-				bundleOfInputs.put(inputType, 0.0);
-			}
-
-			return bundleOfInputs;
+			return toBundleOfInputs(new double[numberOfInputTypes]);
 		}
 
 		/*
 		 * initialization
 		 */
-		final Map<T, Double> bundleOfInputs = new HashMap<T, Double>(inventoryNullSafe);
 
 		// determine initialization value
 		final double initializationValueForInputs;
@@ -139,9 +130,10 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 		}
 
 		// set initialization value
-		for (final T inputType : getInputTypes()) {
-			bundleOfInputs.put(inputType,
-					MathUtil.nullSafeValue(bundleOfInputs.get(inputType)) + initializationValueForInputs);
+		final double[] bundleOfInputs = new double[numberOfInputTypes];
+
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			bundleOfInputs[i] = 0.0 + initializationValueForInputs;
 		}
 
 		// ------ calculation -----------------------------------------
@@ -152,7 +144,7 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 		double budgetSpent = 0.0;
 
 		// maximize output
-		final int NUMBER_OF_ITERATIONS = bundleOfInputs.size() * numberOfIterations;
+		final int NUMBER_OF_ITERATIONS = numberOfInputTypes * numberOfIterations;
 		final double budgetPerIteration = budget / NUMBER_OF_ITERATIONS;
 
 		while (true) {
@@ -164,20 +156,18 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 				break;
 			}
 
-			final T optimalInputType = findHighestPartialDerivatePerPrice(bundleOfInputs, priceFunctionsOfInputTypes,
-					inventoryNullSafe);
+			final int optimalInputIndex = findHighestPartialDerivatePerPrice(bundleOfInputs, priceFunctions);
 
 			// no optimal input type could be found, i. e. markets are sold out
-			if (optimalInputType == null) {
+			if (optimalInputIndex < 0) {
 				getLog().log("no optimal input found -> terminating");
 				getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, budgetSpent,
 						ConvexFunctionTerminationCause.NO_INPUT_AVAILABLE);
 				break;
 			} else {
-				final double oldAmountOfOptimalInputType = bundleOfInputs.get(optimalInputType);
-				final double priceRelevantAmountOfOptimalInputType = Math
-						.max(bundleOfInputs.get(optimalInputType) - inventoryNullSafe.get(optimalInputType), 0.0);
-				final double marginalPriceOfOptimalInputType = priceFunctionsOfInputTypes.get(optimalInputType)
+				final double oldAmountOfOptimalInputType = bundleOfInputs[optimalInputIndex];
+				final double priceRelevantAmountOfOptimalInputType = Math.max(oldAmountOfOptimalInputType, 0.0);
+				final double marginalPriceOfOptimalInputType = priceFunctions[optimalInputIndex]
 						.getMarginalPrice(priceRelevantAmountOfOptimalInputType);
 
 				// additional amounts have to grow slowly, so that the solution
@@ -185,7 +175,7 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 				final double additionalAmountOfInputType = Math.min(
 						budgetPerIteration / marginalPriceOfOptimalInputType,
 						Math.max(priceRelevantAmountOfOptimalInputType, initializationValue));
-				bundleOfInputs.put(optimalInputType, oldAmountOfOptimalInputType + additionalAmountOfInputType);
+				bundleOfInputs[optimalInputIndex] = oldAmountOfOptimalInputType + additionalAmountOfInputType;
 
 				// constraints
 
@@ -196,11 +186,11 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 		// ------ cleanup -----------------------------------------
 
 		// reset initialization values
-		for (final T inputType : getInputTypes()) {
-			bundleOfInputs.put(inputType, bundleOfInputs.get(inputType) - initializationValueForInputs);
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			bundleOfInputs[i] = bundleOfInputs[i] - initializationValueForInputs;
 		}
 
-		return bundleOfInputs;
+		return toBundleOfInputs(bundleOfInputs);
 	}
 
 	private Log getLog() {
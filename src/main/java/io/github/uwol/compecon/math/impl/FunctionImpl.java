@@ -19,14 +19,63 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.impl;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 import io.github.uwol.compecon.math.Function;
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.util.MathUtil;
 
-public abstract class FunctionImpl<T> implements Function<T> {
+public abstract class FunctionImpl<T> implements Function<T>, Serializable {
+
+	/**
+	 * box [lowerBundleOfInputs, upperBundleOfInputs] of the branch and bound
+	 * search; the amount of the residual input type is not part of the box, but
+	 * set to the amount affordable at the lower corner.
+	 */
+	private static class BranchAndBoundBox {
+
+		final double[] feasibleBundleOfInputs;
+
+		final double feasibleOutput;
+
+		final double[] lowerBundleOfInputs;
+
+		final double[] upperBundleOfInputs;
+
+		final double upperBoundOfOutput;
+
+		BranchAndBoundBox(final double[] lowerBundleOfInputs, final double[] upperBundleOfInputs,
+				final double[] feasibleBundleOfInputs, final double feasibleOutput,
+				final double upperBoundOfOutput) {
+			this.lowerBundleOfInputs = lowerBundleOfInputs;
+			this.upperBundleOfInputs = upperBundleOfInputs;
+			this.feasibleBundleOfInputs = feasibleBundleOfInputs;
+			this.feasibleOutput = feasibleOutput;
+			this.upperBoundOfOutput = upperBoundOfOutput;
+		}
+	}
+
+	/**
+	 * resolution of the branch and bound search in amounts of input types, which
+	 * equals the step size of the range scan
+	 */
+	public static final double DEFAULT_BRANCH_AND_BOUND_TOLERANCE = 0.01;
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * input types in the order of {@link #getInputTypes()}, which map input types
+	 * to dense indices of the primitive kernels; created lazily for functions,
+	 * which do not index their input types on construction
+	 */
+	private volatile List<T> indexedInputTypes;
 
 	protected final boolean needsAllInputFactorsNonZeroForPartialDerivate;
 
@@ -37,7 +86,133 @@ public abstract class FunctionImpl<T> implements Function<T> {
 	@Override
 	public Map<T, Double> calculateOutputMaximizingInputs(final Map<T, PriceFunction> priceFunctionsOfInputs,
 			final double budget) {
-		return this.calculateOutputMaximizingInputsByRangeScan(priceFunctionsOfInputs, budget);
+		return this.calculateOutputMaximizingInputsByBranchAndBound(priceFunctionsOfInputs, budget,
+				DEFAULT_BRANCH_AND_BOUND_TOLERANCE);
+	}
+
+	/**
+	 * finds the optimal bundle of inputs under the budget restriction by a best
+	 * first branch and bound search on the domain of the function. The function
+	 * has to be non-decreasing in each input type, so that the optimal bundle of
+	 * inputs spends the budget: the amount of a residual input type is set to the
+	 * amount affordable with the budget left, and boxes of amounts of the other
+	 * input types are searched. The output of a box is bounded by its upper
+	 * corner combined with the residual amount affordable at its lower corner.
+	 * Boxes, whose lower corner exceeds the budget or whose upper bound does not
+	 * exceed the best output found so far, are discarded; the remaining boxes are
+	 * bisected along their widest input type until their width falls below the
+	 * tolerance.
+	 *
+	 * @param tolerance resolution of the search in amounts of input types.
+	 */
+	@Override
+	public Map<T, Double> calculateOutputMaximizingInputsByBranchAndBound(
+			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget, final double tolerance) {
+		assert (tolerance > 0.0);
+
+		final List<T> inputTypes = getIndexedInputTypes();
+		final int numberOfInputTypes = inputTypes.size();
+
+		final PriceFunction[] priceFunctions = new PriceFunction[numberOfInputTypes];
+		final double[] lowerBundleOfInputs = new double[numberOfInputTypes];
+		final double[] upperBundleOfInputs = new double[numberOfInputTypes];
+
+		// the residual input type has the widest range
+		int residualInputIndex = -1;
+
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			priceFunctions[i] = priceFunctionsOfInputTypes.get(inputTypes.get(i));
+
+			// the amount of this input type is limited by the budget
+			final double initialPrice = priceFunctions[i].getPrice(0.0);
+
+			if (Double.isNaN(initialPrice) || initialPrice <= 0.0 || budget <= 0.0) {
+				upperBundleOfInputs[i] = 0.0;
+			} else {
+				upperBundleOfInputs[i] = budget / initialPrice;
+			}
+
+			if (upperBundleOfInputs[i] > 0.0
+					&& (residualInputIndex < 0 || upperBundleOfInputs[i] > upperBundleOfInputs[residualInputIndex])) {
+				residualInputIndex = i;
+			}
+		}
+
+		// special case: no input type is available
+		if (residualInputIndex < 0) {
+			return toBundleOfInputs(lowerBundleOfInputs);
+		}
+
+		final BranchAndBoundBox rootBox = createBranchAndBoundBox(lowerBundleOfInputs, upperBundleOfInputs,
+				priceFunctions, budget, residualInputIndex, tolerance);
+
+		double[] bestBundleOfInputs = rootBox.feasibleBundleOfInputs;
+		double bestOutput = rootBox.feasibleOutput;
+
+		final PriorityQueue<BranchAndBoundBox> boxes = new PriorityQueue<BranchAndBoundBox>(11,
+				new Comparator<BranchAndBoundBox>() {
+					@Override
+					public int compare(final BranchAndBoundBox box1, final BranchAndBoundBox box2) {
+						return Double.compare(box2.upperBoundOfOutput, box1.upperBoundOfOutput);
+					}
+				});
+		boxes.add(rootBox);
+
+		while (!boxes.isEmpty()) {
+			final BranchAndBoundBox box = boxes.poll();
+
+			// boxes are polled by descending upper bound -> no better bundle left
+			if (!(box.upperBoundOfOutput > bestOutput)) {
+				break;
+			}
+
+			// bisect along the widest input type
+			int widestInputIndex = -1;
+			double width = 0.0;
+
+			for (int i = 0; i < numberOfInputTypes; i++) {
+				if (i != residualInputIndex && box.upperBundleOfInputs[i] - box.lowerBundleOfInputs[i] > width) {
+					widestInputIndex = i;
+					width = box.upperBundleOfInputs[i] - box.lowerBundleOfInputs[i];
+				}
+			}
+
+			if (width <= tolerance) {
+				continue;
+			}
+
+			final double middle = box.lowerBundleOfInputs[widestInputIndex] + width / 2.0;
+
+			final double[] lowerUpperBundleOfInputs = box.upperBundleOfInputs.clone();
+			lowerUpperBundleOfInputs[widestInputIndex] = middle;
+
+			final double[] upperLowerBundleOfInputs = box.lowerBundleOfInputs.clone();
+			upperLowerBundleOfInputs[widestInputIndex] = middle;
+
+			final BranchAndBoundBox[] childBoxes = new BranchAndBoundBox[] {
+					createBranchAndBoundBox(box.lowerBundleOfInputs, lowerUpperBundleOfInputs, priceFunctions, budget,
+							residualInputIndex, tolerance),
+					createBranchAndBoundBox(upperLowerBundleOfInputs, box.upperBundleOfInputs, priceFunctions, budget,
+							residualInputIndex, tolerance) };
+
+			for (final BranchAndBoundBox childBox : childBoxes) {
+				// if the lower corner of the box exceeds the budget
+				if (childBox == null) {
+					continue;
+				}
+
+				if (childBox.feasibleOutput > bestOutput) {
+					bestOutput = childBox.feasibleOutput;
+					bestBundleOfInputs = childBox.feasibleBundleOfInputs;
+				}
+
+				if (childBox.upperBoundOfOutput > bestOutput) {
+					boxes.add(childBox);
+				}
+			}
+		}
+
+		return toBundleOfInputs(bestBundleOfInputs);
 	}
 
 	/**
@@ -132,6 +307,68 @@ public abstract class FunctionImpl<T> implements Function<T> {
 		}
 	}
 
+	/**
+	 * @return costs of the amount of the input type; Double.NaN, if the amount is
+	 *         not available.
+	 */
+	private double calculateCosts(final double amount, final PriceFunction priceFunction) {
+		if (amount > 0.0) {
+			return priceFunction.getPrice(amount) * amount;
+		}
+		return 0.0;
+	}
+
+	/**
+	 * @return null, if the lower corner of the box exceeds the budget.
+	 */
+	private BranchAndBoundBox createBranchAndBoundBox(final double[] lowerBundleOfInputs,
+			final double[] upperBundleOfInputs, final PriceFunction[] priceFunctions, final double budget,
+			final int residualInputIndex, final double tolerance) {
+		double budgetLeft = budget;
+
+		for (int i = 0; i < lowerBundleOfInputs.length; i++) {
+			if (i != residualInputIndex) {
+				budgetLeft -= calculateCosts(lowerBundleOfInputs[i], priceFunctions[i]);
+			}
+		}
+
+		// NaN, if an amount is not available
+		if (!(budgetLeft >= 0.0)) {
+			return null;
+		}
+
+		/*
+		 * affordable amount of the residual input type; the costs are
+		 * non-decreasing in the amount -> bisection
+		 */
+		final PriceFunction residualPriceFunction = priceFunctions[residualInputIndex];
+		double affordableAmount = 0.0;
+		double unaffordableAmount = upperBundleOfInputs[residualInputIndex];
+
+		if (calculateCosts(unaffordableAmount, residualPriceFunction) <= budgetLeft) {
+			affordableAmount = unaffordableAmount;
+		} else {
+			while (unaffordableAmount - affordableAmount > tolerance * tolerance) {
+				final double amount = (affordableAmount + unaffordableAmount) / 2.0;
+
+				if (calculateCosts(amount, residualPriceFunction) <= budgetLeft) {
+					affordableAmount = amount;
+				} else {
+					unaffordableAmount = amount;
+				}
+			}
+		}
+
+		final double[] feasibleBundleOfInputs = lowerBundleOfInputs.clone();
+		feasibleBundleOfInputs[residualInputIndex] = affordableAmount;
+
+		final double[] upperBoundBundleOfInputs = upperBundleOfInputs.clone();
+		upperBoundBundleOfInputs[residualInputIndex] = affordableAmount;
+
+		return new BranchAndBoundBox(lowerBundleOfInputs, upperBundleOfInputs, feasibleBundleOfInputs,
+				f(feasibleBundleOfInputs), f(upperBoundBundleOfInputs));
+	}
+
 	@Override
 	public T findHighestPartialDerivatePerPrice(final Map<T, Double> bundleOfInputs,
 			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final Map<T, Double> inventory) {
@@ -157,6 +394,37 @@ public abstract class FunctionImpl<T> implements Function<T> {
 		return optimalInputType;
 	}
 
+	/**
+	 * primitive kernel of
+	 * {@link #findHighestPartialDerivatePerPrice(Map, Map, Map)} for an empty
+	 * inventory; arrays are indexed by {@link #getIndexedInputTypes()}.
+	 *
+	 * @return index of the input type, or -1, if markets are sold out.
+	 */
+	protected int findHighestPartialDerivatePerPrice(final double[] bundleOfInputs,
+			final PriceFunction[] priceFunctionsOfInputTypes) {
+		int optimalInputIndex = -1;
+		double highestPartialDerivatePerPrice = 0.0;
+
+		for (int i = 0; i < bundleOfInputs.length; i++) {
+			final double partialDerivative = partialDerivative(bundleOfInputs, i);
+			final double amountToBuy = Math.max(bundleOfInputs[i], 0.0);
+			final double marginalPrice = priceFunctionsOfInputTypes[i].getMarginalPrice(amountToBuy);
+			if (!Double.isNaN(marginalPrice)) {
+				final double partialDerivativePerPrice = partialDerivative / marginalPrice;
+
+				assert (!Double.isNaN(partialDerivativePerPrice));
+
+				if (partialDerivativePerPrice > highestPartialDerivatePerPrice) {
+					optimalInputIndex = i;
+					highestPartialDerivatePerPrice = partialDerivativePerPrice;
+				}
+			}
+		}
+
+		return optimalInputIndex;
+	}
+
 	@Override
 	public T findLargestPartialDerivate(final Map<T, Double> bundleOfInputs) {
 		@SuppressWarnings("unchecked")
@@ -174,6 +442,27 @@ public abstract class FunctionImpl<T> implements Function<T> {
 		return optimalInputType;
 	}
 
+	/**
+	 * primitive kernel of {@link #f(Map)}; falls back to the map based
+	 * implementation, if not overridden.
+	 */
+	public double f(final double[] bundleOfInputs) {
+		return f(toBundleOfInputs(bundleOfInputs));
+	}
+
+	/**
+	 * @return the input types in the order, in which they are indexed by the
+	 *         primitive kernels.
+	 */
+	public List<T> getIndexedInputTypes() {
+		List<T> indexedInputTypes = this.indexedInputTypes;
+		if (indexedInputTypes == null) {
+			indexedInputTypes = new ArrayList<T>(getInputTypes());
+			this.indexedInputTypes = indexedInputTypes;
+		}
+		return indexedInputTypes;
+	}
+
 	@Override
 	public boolean getNeedsAllInputFactorsNonZeroForPartialDerivate() {
 		return this.needsAllInputFactorsNonZeroForPartialDerivate;
@@ -189,6 +478,15 @@ public abstract class FunctionImpl<T> implements Function<T> {
 		return null;
 	}
 
+	/**
+	 * primitive kernel of {@link #partialDerivative(Map, Object)}; falls back to
+	 * the map based implementation, if not overridden.
+	 */
+	public double partialDerivative(final double[] forBundleOfInputs, final int withRespectToInputIndex) {
+		return partialDerivative(toBundleOfInputs(forBundleOfInputs),
+				getIndexedInputTypes().get(withRespectToInputIndex));
+	}
+
 	@Override
 	public Map<T, Double> partialDerivatives(final Map<T, Double> forBundleOfInputs) {
 		final Map<T, Double> partialDerivatives = new HashMap<T, Double>();
@@ -199,4 +497,15 @@ public abstract class FunctionImpl<T> implements Function<T> {
 
 		return partialDerivatives;
 	}
+
+	protected Map<T, Double> toBundleOfInputs(final double[] bundleOfInputs) {
+		final List<T> indexedInputTypes = getIndexedInputTypes();
+		final Map<T, Double> bundleOfInputsMap = new LinkedHashMap<T, Double>();
+
+		for (int i = 0; i < bundleOfInputs.length; i++) {
+			bundleOfInputsMap.put(indexedInputTypes.get(i), bundleOfInputs[i]);
+		}
+
+		return bundleOfInputsMap;
+	}
 }
@@ -27,9 +27,11 @@ import io.github.uwol.compecon.math.Function;
 
 public class RootFunctionImpl<T> extends ConvexFunctionImpl<T> implements Function<T> {
 
-	protected double coefficient;
+	private static final long serialVersionUID = 1L;
 
-	protected T inputType;
+	protected final double coefficient;
+
+	protected final T inputType;
 
 	public RootFunctionImpl(final T inputType, final double coefficient) {
 		super(false);
@@ -43,6 +45,11 @@ public class RootFunctionImpl<T> extends ConvexFunctionImpl<T> implements Functi
 		return this.coefficient * Math.pow(bundleOfInputs.get(this.inputType), 0.5);
 	}
 
+	@Override
+	public double f(final double[] bundleOfInputs) {
+		return this.coefficient * Math.pow(bundleOfInputs[0], 0.5);
+	}
+
 	public double getCoefficient() {
 		return this.coefficient;
 	}
@@ -62,7 +69,19 @@ public class RootFunctionImpl<T> extends ConvexFunctionImpl<T> implements Functi
 		return 0.0;
 	}
 
-	public void setCoefficient(final double coefficient) {
-		this.coefficient = coefficient;
+	@Override
+	public double partialDerivative(final double[] forBundleOfInputs, final int withRespectToInputIndex) {
+		if (withRespectToInputIndex == 0) {
+			return this.coefficient * 0.5 * Math.pow(forBundleOfInputs[0], -0.5);
+		}
+		return 0.0;
+	}
+
+	/**
+	 * @return a function that differs from this function only in the
+	 *         coefficient; this function is not modified.
+	 */
+	public RootFunctionImpl<T> withCoefficient(final double coefficient) {
+		return new RootFunctionImpl<T>(this.inputType, coefficient);
 	}
 }
@@ -19,13 +19,16 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.intertemporal.impl;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
 import io.github.uwol.compecon.math.intertemporal.IntertemporalConsumptionFunction;
 import io.github.uwol.compecon.math.intertemporal.impl.IrvingFisherIntertemporalConsumptionFunction.Period;
 
-public class ModiglianiIntertemporalConsumptionFunction implements IntertemporalConsumptionFunction {
+public class ModiglianiIntertemporalConsumptionFunction implements IntertemporalConsumptionFunction, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public Map<Period, Double> calculateUtilityMaximizingConsumptionPlan(final double averageIncomePerPeriod,
@@ -26,9 +26,20 @@ import io.github.uwol.compecon.math.impl.CESFunctionImpl;
 
 public class CESProductionFunctionImpl extends ConvexProductionFunctionImpl {
 
+	private static final long serialVersionUID = 1L;
+
 	public CESProductionFunctionImpl(final double factorProductivity, final Map<GoodType, Double> coefficients,
 			final double substitutionFactor, final double homogenityFactor) {
-		super(new CESFunctionImpl<GoodType>(factorProductivity, coefficients, substitutionFactor, homogenityFactor));
+		this(new CESFunctionImpl<GoodType>(factorProductivity, coefficients, substitutionFactor, homogenityFactor));
+	}
+
+	/**
+	 * @param delegate
+	 *            immutable function, which may be shared with other production
+	 *            functions
+	 */
+	public CESProductionFunctionImpl(final CESFunctionImpl<GoodType> delegate) {
+		super(delegate);
 	}
 
 	@Override
@@ -38,6 +49,6 @@ public class CESProductionFunctionImpl extends ConvexProductionFunctionImpl {
 
 	@Override
 	public void setProductivity(final double productivity) {
-		((CESFunctionImpl<GoodType>) delegate).setMainCoefficient(productivity);
+		delegate = ((CESFunctionImpl<GoodType>) delegate).withMainCoefficient(productivity);
 	}
 }
@@ -26,8 +26,19 @@ import io.github.uwol.compecon.math.impl.CobbDouglasFunctionImpl;
 
 public class CobbDouglasProductionFunctionImpl extends ConvexProductionFunctionImpl {
 
+	private static final long serialVersionUID = 1L;
+
 	public CobbDouglasProductionFunctionImpl(final double factorProductivity, final Map<GoodType, Double> exponents) {
-		super(new CobbDouglasFunctionImpl<GoodType>(factorProductivity, exponents));
+		this(new CobbDouglasFunctionImpl<GoodType>(factorProductivity, exponents));
+	}
+
+	/**
+	 * @param delegate
+	 *            immutable function, which may be shared with other production
+	 *            functions
+	 */
+	public CobbDouglasProductionFunctionImpl(final CobbDouglasFunctionImpl<GoodType> delegate) {
+		super(delegate);
 	}
 
 	@Override
@@ -37,6 +48,6 @@ public class CobbDouglasProductionFunctionImpl extends ConvexProductionFunctionI
 
 	@Override
 	public void setProductivity(final double productivity) {
-		((CobbDouglasFunctionImpl<GoodType>) delegate).setCoefficient(productivity);
+		delegate = ((CobbDouglasFunctionImpl<GoodType>) delegate).withCoefficient(productivity);
 	}
 }
@@ -34,6 +34,8 @@ import io.github.uwol.compecon.math.util.MathUtil;
 
 public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImpl implements ConvexProductionFunction {
 
+	private static final long serialVersionUID = 1L;
+
 	protected ConvexProductionFunctionImpl(final Function<GoodType> delegate) {
 		super(delegate);
 	}
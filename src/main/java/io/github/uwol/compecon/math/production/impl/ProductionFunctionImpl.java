@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.production.impl;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Set;
 
@@ -27,7 +28,9 @@ import io.github.uwol.compecon.math.Function;
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.production.ProductionFunction;
 
-public abstract class ProductionFunctionImpl implements ProductionFunction {
+public abstract class ProductionFunctionImpl implements ProductionFunction, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	protected Function<GoodType> delegate;
 
@@ -24,8 +24,19 @@ import io.github.uwol.compecon.math.impl.RootFunctionImpl;
 
 public class RootProductionFunctionImpl extends ConvexProductionFunctionImpl {
 
+	private static final long serialVersionUID = 1L;
+
 	public RootProductionFunctionImpl(final GoodType inputGoodType, final double coefficient) {
-		super(new RootFunctionImpl<GoodType>(inputGoodType, coefficient));
+		this(new RootFunctionImpl<GoodType>(inputGoodType, coefficient));
+	}
+
+	/**
+	 * @param delegate
+	 *            immutable function, which may be shared with other production
+	 *            functions
+	 */
+	public RootProductionFunctionImpl(final RootFunctionImpl<GoodType> delegate) {
+		super(delegate);
 	}
 
 	@Override
@@ -35,6 +46,6 @@ public class RootProductionFunctionImpl extends ConvexProductionFunctionImpl {
 
 	@Override
 	public void setProductivity(final double productivity) {
-		((RootFunctionImpl<GoodType>) delegate).setCoefficient(productivity);
+		delegate = ((RootFunctionImpl<GoodType>) delegate).withCoefficient(productivity);
 	}
 }
@@ -26,8 +26,15 @@ import io.github.uwol.compecon.math.impl.CESFunctionImpl;
 
 public class CESUtilityFunctionImpl extends ConvexUtilityFunctionImpl {
 
+	private static final long serialVersionUID = 1L;
+
 	public CESUtilityFunctionImpl(final double mainUtilityLevel, final Map<GoodType, Double> coefficients,
 			final double substitutionFactor, final double homogenityFactor) {
 		super(new CESFunctionImpl<GoodType>(mainUtilityLevel, coefficients, substitutionFactor, homogenityFactor));
 	}
+
+	@Override
+	protected boolean isHomothetic() {
+		return true;
+	}
 }
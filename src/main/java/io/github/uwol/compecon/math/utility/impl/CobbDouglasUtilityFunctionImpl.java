@@ -26,7 +26,14 @@ import io.github.uwol.compecon.math.impl.CobbDouglasFunctionImpl;
 
 public class CobbDouglasUtilityFunctionImpl extends ConvexUtilityFunctionImpl {
 
+	private static final long serialVersionUID = 1L;
+
 	public CobbDouglasUtilityFunctionImpl(final double coefficient, final Map<GoodType, Double> exponents) {
 		super(new CobbDouglasFunctionImpl<GoodType>(coefficient, exponents));
 	}
+
+	@Override
+	protected boolean isHomothetic() {
+		return true;
+	}
 }
@@ -28,6 +28,8 @@ import io.github.uwol.compecon.math.impl.ConvexFunctionImpl;
  */
 public abstract class ConvexUtilityFunctionImpl extends UtilityFunctionImpl {
 
+	private static final long serialVersionUID = 1L;
+
 	protected ConvexUtilityFunctionImpl(final ConvexFunctionImpl<GoodType> delegate) {
 		super(delegate);
 	}
@@ -0,0 +1,246 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.math.utility.impl;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
+import io.github.uwol.compecon.math.Function;
+import io.github.uwol.compecon.math.price.PriceFunction;
+
+/**
+ * Bounded LRU cache of optimal bundles of inputs under fixed prices, keyed by
+ * function identity and quantised prices. The cache is only valid for
+ * homothetic functions, e. g. Cobb-Douglas and CES functions, whose optimal
+ * bundle of inputs under fixed prices is linear in the budget: bundles are
+ * stored per unit of budget and scaled by the budget of the request. <br />
+ * <br />
+ * Prices are quantised to a relative precision of 2^-pricePrecisionBits by
+ * truncating their mantissa, so that a hit may return the bundle calculated for
+ * prices differing by this precision. <br />
+ * <br />
+ * Each application context holds its own cache, if enabled by
+ * math.optimalBundleCache, so that concurrent simulations neither share
+ * entries nor hit rates. Cached bundles are not written to snapshots, as keys
+ * depend on identity hash codes.
+ */
+public class OptimalBundleCache implements Serializable {
+
+	protected static class Key {
+
+		protected final Object function;
+
+		protected final int hashCode;
+
+		protected final long[] quantisedPrices;
+
+		protected Key(final Object function, final long[] quantisedPrices) {
+			this.function = function;
+			this.quantisedPrices = quantisedPrices;
+			hashCode = 31 * System.identityHashCode(function) + Arrays.hashCode(quantisedPrices);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return function == other.function && Arrays.equals(quantisedPrices, other.quantisedPrices);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	public static final int DEFAULT_PRICE_PRECISION_BITS = 24;
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * optimal bundles of inputs per unit of budget in the order of
+	 * {@link Function#getInputTypes()}
+	 */
+	protected transient LinkedHashMap<Key, double[]> bundlesOfInputsPerBudget;
+
+	protected final int capacity;
+
+	protected long numberOfHits = 0;
+
+	protected long numberOfMisses = 0;
+
+	protected final int priceShift;
+
+	public OptimalBundleCache(final int capacity, final int pricePrecisionBits) {
+		assert (capacity > 0);
+		assert (pricePrecisionBits > 0 && pricePrecisionBits <= 52);
+
+		this.capacity = capacity;
+		priceShift = 52 - pricePrecisionBits;
+
+		bundlesOfInputsPerBudget = createBundlesOfInputsPerBudget();
+	}
+
+	public synchronized void clear() {
+		bundlesOfInputsPerBudget.clear();
+		numberOfHits = 0;
+		numberOfMisses = 0;
+	}
+
+	/**
+	 * @return the cached optimal bundle of inputs scaled to the budget; null, if
+	 *         the prices are not fixed or no bundle is cached.
+	 */
+	public <T> Map<T, Double> get(final Function<T> function, final Map<T, PriceFunction> priceFunctionsOfInputTypes,
+			final double budget) {
+		final Key key = createKey(function, priceFunctionsOfInputTypes, budget);
+
+		if (key == null) {
+			return null;
+		}
+
+		final double[] bundleOfInputsPerBudget;
+
+		synchronized (this) {
+			bundleOfInputsPerBudget = bundlesOfInputsPerBudget.get(key);
+
+			if (bundleOfInputsPerBudget == null) {
+				numberOfMisses++;
+				return null;
+			}
+
+			numberOfHits++;
+		}
+
+		final Map<T, Double> bundleOfInputs = new LinkedHashMap<T, Double>();
+		int i = 0;
+
+		for (final T inputType : function.getInputTypes()) {
+			bundleOfInputs.put(inputType, bundleOfInputsPerBudget[i++] * budget);
+		}
+
+		return bundleOfInputs;
+	}
+
+	/**
+	 * @return hits / (hits + misses); Double.NaN, if the cache has not been
+	 *         queried.
+	 */
+	public synchronized double getHitRate() {
+		final long numberOfRequests = numberOfHits + numberOfMisses;
+		return numberOfRequests == 0 ? Double.NaN : (double) numberOfHits / numberOfRequests;
+	}
+
+	public synchronized long getNumberOfHits() {
+		return numberOfHits;
+	}
+
+	public synchronized long getNumberOfMisses() {
+		return numberOfMisses;
+	}
+
+	public synchronized int size() {
+		return bundlesOfInputsPerBudget.size();
+	}
+
+	/**
+	 * caches the optimal bundle of inputs, which has been calculated for the
+	 * budget; ignored, if the prices are not fixed.
+	 */
+	public <T> void put(final Function<T> function, final Map<T, PriceFunction> priceFunctionsOfInputTypes,
+			final double budget, final Map<T, Double> bundleOfInputs) {
+		final Key key = createKey(function, priceFunctionsOfInputTypes, budget);
+
+		if (key == null) {
+			return;
+		}
+
+		final Set<T> inputTypes = function.getInputTypes();
+		final double[] bundleOfInputsPerBudget = new double[inputTypes.size()];
+		int i = 0;
+
+		for (final T inputType : inputTypes) {
+			final Double amount = bundleOfInputs.get(inputType);
+
+			if (amount == null) {
+				return;
+			}
+
+			bundleOfInputsPerBudget[i++] = amount / budget;
+		}
+
+		synchronized (this) {
+			bundlesOfInputsPerBudget.put(key, bundleOfInputsPerBudget);
+		}
+	}
+
+	protected LinkedHashMap<Key, double[]> createBundlesOfInputsPerBudget() {
+		return new LinkedHashMap<Key, double[]>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Key, double[]> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * @return null, if the optimal bundle of inputs cannot be cached.
+	 */
+	protected <T> Key createKey(final Function<T> function, final Map<T, PriceFunction> priceFunctionsOfInputTypes,
+			final double budget) {
+		if (!(budget > 0.0) || Double.isInfinite(budget)) {
+			return null;
+		}
+
+		final Set<T> inputTypes = function.getInputTypes();
+		final long[] quantisedPrices = new long[inputTypes.size()];
+		int i = 0;
+
+		for (final T inputType : inputTypes) {
+			final PriceFunction priceFunction = priceFunctionsOfInputTypes.get(inputType);
+
+			if (!(priceFunction instanceof FixedPriceFunctionImpl)) {
+				return null;
+			}
+
+			quantisedPrices[i++] = Double.doubleToLongBits(priceFunction.getPrice(0.0)) >> priceShift;
+		}
+
+		return new Key(function, quantisedPrices);
+	}
+
+	private void readObject(final ObjectInputStream objectInputStream) throws IOException, ClassNotFoundException {
+		objectInputStream.defaultReadObject();
+		bundlesOfInputsPerBudget = createBundlesOfInputsPerBudget();
+	}
+}
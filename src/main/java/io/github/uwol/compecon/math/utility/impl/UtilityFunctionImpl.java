@@ -19,15 +19,19 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.utility.impl;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Set;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.math.Function;
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.utility.UtilityFunction;
 
-public abstract class UtilityFunctionImpl implements UtilityFunction {
+public abstract class UtilityFunctionImpl implements UtilityFunction, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	protected Function<GoodType> delegate;
 
@@ -46,10 +50,31 @@ public abstract class UtilityFunctionImpl implements UtilityFunction {
 		return delegate.f(bundleOfInputGoods);
 	}
 
+	/**
+	 * optimal bundles of inputs of homothetic utility functions under fixed
+	 * prices are served from the {@link OptimalBundleCache} of the application
+	 * context, if enabled.
+	 */
 	@Override
 	public Map<GoodType, Double> calculateUtilityMaximizingInputs(
 			final Map<GoodType, PriceFunction> priceFunctionsOfInputGoods, final double budget) {
-		return delegate.calculateOutputMaximizingInputs(priceFunctionsOfInputGoods, budget);
+		final OptimalBundleCache optimalBundleCache = ApplicationContext.getInstance().getOptimalBundleCache();
+
+		if (optimalBundleCache == null || !isHomothetic()) {
+			return delegate.calculateOutputMaximizingInputs(priceFunctionsOfInputGoods, budget);
+		}
+
+		final Map<GoodType, Double> cachedBundleOfInputs = optimalBundleCache.get(delegate,
+				priceFunctionsOfInputGoods, budget);
+
+		if (cachedBundleOfInputs != null) {
+			return cachedBundleOfInputs;
+		}
+
+		final Map<GoodType, Double> bundleOfInputs = delegate
+				.calculateOutputMaximizingInputs(priceFunctionsOfInputGoods, budget);
+		optimalBundleCache.put(delegate, priceFunctionsOfInputGoods, budget, bundleOfInputs);
+		return bundleOfInputs;
 	}
 
 	@Override
@@ -57,6 +82,14 @@ public abstract class UtilityFunctionImpl implements UtilityFunction {
 		return delegate.getInputTypes();
 	}
 
+	/**
+	 * @return true, if the optimal bundle of inputs under fixed prices is linear in
+	 *         the budget.
+	 */
+	protected boolean isHomothetic() {
+		return false;
+	}
+
 	protected GoodType selectInputWithHighestMarginalUtilityPerPrice(final Map<GoodType, Double> bundleOfInputGoods,
 			final Map<GoodType, PriceFunction> priceFunctionsOfInputGoods) {
 		return delegate.findHighestPartialDerivatePerPrice(bundleOfInputGoods, priceFunctionsOfInputGoods, null);
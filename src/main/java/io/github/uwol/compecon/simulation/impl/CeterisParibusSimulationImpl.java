@@ -19,103 +19,88 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.simulation.impl;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
-import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
-import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
-import io.github.uwol.compecon.jmx.JMXRegistration;
+import io.github.uwol.compecon.engine.applicationcontext.Configuration;
+import io.github.uwol.compecon.simulation.sweep.ParameterSweep;
+import io.github.uwol.compecon.simulation.sweep.SweepDesign;
+import io.github.uwol.compecon.simulation.sweep.SweepParameter;
+import io.github.uwol.compecon.simulation.sweep.SweepRun;
 
 /**
- * This is a main method for sequently starting multiple simulations without a
+ * This is a main method for starting multiple simulations without a
  * dashboard. The goal is to determine system parameters ceteris paribus, which
- * maximize a metric, e. g. household utility.
+ * maximize a metric, e. g. household utility. The simulations are executed in
+ * parallel by a {@link ParameterSweep}; an interrupted sweep is resumed from
+ * its results file.
  */
 public class CeterisParibusSimulationImpl {
 
-	public static void main(final String[] args) throws IOException {
+	public static void main(final String[] args) throws IOException, InterruptedException, ExecutionException {
+		final String configurationPropertiesFilename = System.getProperty("configuration.properties",
+				"interdependencies.configuration.properties");
+		final File resultsFile = new File(System.getProperty("results", "ceterisparibus.csv"));
 
-		double highestTotalUtility = 0.0;
-		double maxI = -1;
+		final ParameterSweep parameterSweep = new ParameterSweep(configurationPropertiesFilename, resultsFile) {
+			@Override
+			protected void overwriteConfiguration(final Configuration configuration) {
+				CeterisParibusSimulationImpl.overwriteConfiguration(configuration);
+			}
+		};
+
+		// i from 0.01 to 0.49 in steps of 0.03 with three repetitions each
+		parameterSweep.addParameter(
+				new SweepParameter("pricingBehaviourConfig.defaultPriceChangeIncrementExplicit", 0.01, 0.49));
+		parameterSweep.setDesign(SweepDesign.Grid);
+		parameterSweep.setNumberOfSamples(17);
+		parameterSweep.setNumberOfRepetitions(3);
+		parameterSweep.setNumberOfDays(212);
+
+		final List<SweepRun> runs = parameterSweep.run();
 
 		/*
-		 * iterate
+		 * evaluate
 		 */
-		for (double i = 0.01; i < 0.5; i += 0.03) {
-			for (int repetition = 0; repetition < 3; repetition++) {
-				System.out.println("starting simulation run for i: " + i);
+		final int totalUtilityIndex = parameterSweep.getMetricNames()
+				.indexOf("totalUtility." + Currency.EURO.getIso4217Code());
+
+		double highestTotalUtility = 0.0;
+		double maxI = -1;
 
-				final double totalUtility = runSimulationIteration(i);
+		for (final SweepRun run : runs) {
+			final double i = run.getParameterValues()[0];
+			final double totalUtility = run.getMetrics()[totalUtilityIndex];
 
-				System.out.println("simulation run finished for i: " + i + " with totalUtility: " + totalUtility);
+			System.out.println("simulation run finished for i: " + i + " with totalUtility: " + totalUtility);
 
-				if (totalUtility > highestTotalUtility) {
-					System.out.println("total utility improved");
-					highestTotalUtility = totalUtility;
-					maxI = i;
-				}
+			if (totalUtility > highestTotalUtility) {
+				System.out.println("total utility improved");
+				highestTotalUtility = totalUtility;
+				maxI = i;
 			}
 		}
 
 		System.out.println("max simulation run had total utility: " + highestTotalUtility + " with i: " + maxI);
 	}
 
-	protected static void overwriteConfiguration(final double i) {
-		System.out.println("overwriting configuration");
-
+	protected static void overwriteConfiguration(final Configuration configuration) {
 		/*
 		 * overwrite default configuration.
 		 */
-		ApplicationContext.getInstance().getConfiguration().householdConfig.number.put(Currency.USDOLLAR, 0);
-		ApplicationContext.getInstance().getConfiguration().householdConfig.number.put(Currency.YEN, 0);
+		configuration.householdConfig.number.put(Currency.USDOLLAR, 0);
+		configuration.householdConfig.number.put(Currency.YEN, 0);
 
 		for (final GoodType goodType : GoodType.values()) {
-			ApplicationContext.getInstance().getConfiguration().factoryConfig.number.get(Currency.USDOLLAR)
-					.put(goodType, 0);
-			ApplicationContext.getInstance().getConfiguration().factoryConfig.number.get(Currency.YEN).put(goodType, 0);
+			configuration.factoryConfig.number.get(Currency.USDOLLAR).put(goodType, 0);
+			configuration.factoryConfig.number.get(Currency.YEN).put(goodType, 0);
 		}
 
-		ApplicationContext.getInstance().getConfiguration().traderConfig.number.put(Currency.USDOLLAR, 0);
-		ApplicationContext.getInstance().getConfiguration().traderConfig.number.put(Currency.YEN, 0);
-
-		/*
-		 * set values for iteration
-		 */
-		ApplicationContext.getInstance()
-				.getConfiguration().pricingBehaviourConfig.defaultPriceChangeIncrementExplicit = i;
-	}
-
-	protected static double runSimulationIteration(final double i) throws IOException {
-		/*
-		 * setup
-		 */
-		final String configurationPropertiesFilename = System.getProperty("configuration.properties",
-				"interdependencies.configuration.properties");
-
-		ApplicationContextFactory.configureInMemoryApplicationContext(configurationPropertiesFilename);
-
-		overwriteConfiguration(i);
-
-		JMXRegistration.init();
-
-		/*
-		 * run simulation
-		 */
-		ApplicationContext.getInstance().getAgentFactory().constructAgentsFromConfiguration();
-		ApplicationContext.getInstance().getSimulationRunner().run(new GregorianCalendar(2000, 7, 1).getTime());
-		ApplicationContext.getInstance().getAgentFactory().deconstructAgents();
-
-		final double totalUtility = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO).totalUtilityOutputModel.getValue();
-
-		/*
-		 * reset application context
-		 */
-		JMXRegistration.close();
-		ApplicationContext.getInstance().reset();
-
-		return totalUtility;
+		configuration.traderConfig.number.put(Currency.USDOLLAR, 0);
+		configuration.traderConfig.number.put(Currency.YEN, 0);
 	}
 }
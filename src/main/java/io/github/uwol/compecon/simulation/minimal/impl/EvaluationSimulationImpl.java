@@ -16,30 +16,39 @@ GNU General Public License for more details.
 You should have received a copy of the GNU General Public License
 along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
  */
-
 package io.github.uwol.compecon.simulation.minimal.impl;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.GregorianCalendar;
+import java.util.List;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
-import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.IndustryModel;
-import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.PricingBehaviourModel;
-import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.UtilityModel;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
 import io.github.uwol.compecon.engine.statistics.PricesModel;
-import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataAccumulatorTimeSeriesModel;
+import io.github.uwol.compecon.engine.statistics.PricesModel.PriceModel;
+import io.github.uwol.compecon.engine.statistics.sink.MetricsSink;
+import io.github.uwol.compecon.engine.statistics.sink.MetricsSource;
+import io.github.uwol.compecon.engine.statistics.sink.impl.CsvMetricsSinkImpl;
+import io.github.uwol.compecon.engine.statistics.sink.impl.WeeklyMetricsSinkImpl;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.M1CsvWriterImpl;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.OutputCsvWriterImpl;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.PriceCsvWriterImpl;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.SoldCsvWriterImpl;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.UtilityCsvWriterImpl;
-
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
+
+/**
+ * runs the minimal scenarios and writes one CSV file per metric and scenario
+ * iteration, e. g. csv/&lt;scenario&gt;_&lt;iteration&gt;_m1.csv or
+ * csv/&lt;scenario&gt;_&lt;iteration&gt;_&lt;good type&gt;_prices.csv. Each
+ * file has the header line period;&lt;metric&gt; and one line per week with
+ * the weekly mean of the metric. The period column contains the date of the
+ * last day of the week, i. e. a Sunday or the last simulated day of a trailing
+ * partial week.
+ */
 public class EvaluationSimulationImpl {
 
 	public static void main(final String[] args) throws IOException {
@@ -47,62 +56,58 @@ public class EvaluationSimulationImpl {
 		runSimulationIteration(2, 1);
 	}
 
-	protected static M1CsvWriterImpl registerM1FileWriter(final int scenario, final int iteration) {
-		final PeriodDataAccumulatorTimeSeriesModel m1Model = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO).moneySupplyM1Model;
-		final String csvFileName = String.format("csv/%s_%s_m1.csv", scenario, iteration);
-		final M1CsvWriterImpl m1FileWriter = new M1CsvWriterImpl(csvFileName, m1Model);
+	protected static NationalEconomyModel getNationalEconomyModel() {
+		return ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(Currency.EURO);
+	}
 
-		m1Model.getTimeSeries().addChangeListener(m1FileWriter);
+	protected static MetricsSink registerCsvMetricsSink(final String csvFileName, final String columnName,
+			final MetricsSource metricsSource) throws IOException {
+		final MetricsSink metricsSink = new WeeklyMetricsSinkImpl(new CsvMetricsSinkImpl(new File(csvFileName), false));
+		metricsSink.addColumn(columnName, metricsSource);
 
-		return m1FileWriter;
-	}
+		ApplicationContext.getInstance().getModelRegistry().addMetricsSink(metricsSink);
 
-	protected static OutputCsvWriterImpl registerOutputFileWriter(final int scenario, final int iteration,
-			final GoodType goodType) {
-		final IndustryModel industryModel = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO).industryModels.get(goodType);
-		final String csvFileName = String.format("csv/%s_%s_%s_output.csv", scenario, iteration, goodType);
-		final OutputCsvWriterImpl outputFileWriter = new OutputCsvWriterImpl(csvFileName, industryModel, goodType);
+		return metricsSink;
+	}
 
-		industryModel.outputModel.getTimeSeries().addChangeListener(outputFileWriter);
+	protected static MetricsSink registerM1MetricsSink(final int scenario, final int iteration) throws IOException {
+		final String csvFileName = String.format("csv/%s_%s_m1.csv", scenario, iteration);
+		return registerCsvMetricsSink(csvFileName, "M1", getNationalEconomyModel().moneySupplyM1Model);
+	}
 
-		return outputFileWriter;
+	protected static MetricsSink registerOutputMetricsSink(final int scenario, final int iteration,
+			final GoodType goodType) throws IOException {
+		final String csvFileName = String.format("csv/%s_%s_%s_output.csv", scenario, iteration, goodType);
+		return registerCsvMetricsSink(csvFileName, "output",
+				getNationalEconomyModel().industryModels.get(goodType).outputModel);
 	}
 
-	protected static PriceCsvWriterImpl registerPriceFileWriter(final int scenario, final int iteration,
-			final GoodType goodType) {
-		final PricesModel pricesModel = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO).pricesModel;
+	protected static MetricsSink registerPriceMetricsSink(final int scenario, final int iteration,
+			final GoodType goodType) throws IOException {
+		final PricesModel pricesModel = getNationalEconomyModel().pricesModel;
 		final String csvFileName = String.format("csv/%s_%s_%s_prices.csv", scenario, iteration, goodType);
-		final PriceCsvWriterImpl priceFileWriter = new PriceCsvWriterImpl(csvFileName, pricesModel, goodType);
 
-		pricesModel.registerListener(priceFileWriter);
-
-		return priceFileWriter;
+		return registerCsvMetricsSink(csvFileName, "price", new MetricsSource() {
+			@Override
+			public double getValue() {
+				final PriceModel priceModel = pricesModel.getPriceModelsForGoodTypes().get(goodType);
+				return priceModel == null ? Double.NaN : priceModel.getCurrentClose();
+			}
+		});
 	}
 
-	protected static SoldCsvWriterImpl registerSoldFileWriter(final int scenario, final int iteration,
-			final GoodType goodType) {
-		final PricingBehaviourModel pricingBehaviourModel = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO).getPricingBehaviourModel(goodType);
+	protected static MetricsSink registerSoldMetricsSink(final int scenario, final int iteration,
+			final GoodType goodType) throws IOException {
 		final String csvFileName = String.format("csv/%s_%s_%s_sold.csv", scenario, iteration, goodType);
-		final SoldCsvWriterImpl soldFileWriter = new SoldCsvWriterImpl(csvFileName, pricingBehaviourModel, goodType);
-
-		pricingBehaviourModel.soldModel.getTimeSeries().addChangeListener(soldFileWriter);
-
-		return soldFileWriter;
+		return registerCsvMetricsSink(csvFileName, "sold",
+				getNationalEconomyModel().getPricingBehaviourModel(goodType).soldModel);
 	}
 
-	protected static UtilityCsvWriterImpl registerUtilityFileWriter(final int scenario, final int iteration) {
-		final UtilityModel utilityModel = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO).householdsModel.utilityModel;
+	protected static MetricsSink registerUtilityMetricsSink(final int scenario, final int iteration)
+			throws IOException {
 		final String csvFileName = String.format("csv/%s_%s_utility.csv", scenario, iteration);
-		final UtilityCsvWriterImpl utilityFileWriter = new UtilityCsvWriterImpl(csvFileName, utilityModel);
-
-		utilityModel.utilityOutputModel.getTimeSeries().addChangeListener(utilityFileWriter);
-
-		return utilityFileWriter;
+		return registerCsvMetricsSink(csvFileName, "utility",
+				getNationalEconomyModel().householdsModel.utilityModel.utilityOutputModel);
 	}
 
 	protected static void runSimulationIteration(final int scenario, final int iteration) throws IOException {
@@ -117,23 +122,24 @@ public class EvaluationSimulationImpl {
 		ApplicationContextFactory.configureInMemoryApplicationContext(configurationPropertiesFilename);
 
 		/*
-		 * register model listeners
+		 * register metrics sinks
 		 */
-		final PriceCsvWriterImpl coalPriceWriter = registerPriceFileWriter(scenario, iteration, GoodType.COAL);
-		final PriceCsvWriterImpl wheatPriceWriter = registerPriceFileWriter(scenario, iteration, GoodType.WHEAT);
-		final PriceCsvWriterImpl labourHourPriceWriter = registerPriceFileWriter(scenario, iteration,
-				GoodType.LABOURHOUR);
+		final List<MetricsSink> metricsSinks = new ArrayList<MetricsSink>();
 
-		final OutputCsvWriterImpl coalOutputWriter = registerOutputFileWriter(scenario, iteration, GoodType.COAL);
-		final OutputCsvWriterImpl wheatOutputWriter = registerOutputFileWriter(scenario, iteration, GoodType.WHEAT);
+		metricsSinks.add(registerPriceMetricsSink(scenario, iteration, GoodType.COAL));
+		metricsSinks.add(registerPriceMetricsSink(scenario, iteration, GoodType.WHEAT));
+		metricsSinks.add(registerPriceMetricsSink(scenario, iteration, GoodType.LABOURHOUR));
 
-		final SoldCsvWriterImpl coalSoldWriter = registerSoldFileWriter(scenario, iteration, GoodType.COAL);
-		final SoldCsvWriterImpl wheatSoldWriter = registerSoldFileWriter(scenario, iteration, GoodType.WHEAT);
-		final SoldCsvWriterImpl labourHourSoldWriter = registerSoldFileWriter(scenario, iteration, GoodType.LABOURHOUR);
+		metricsSinks.add(registerOutputMetricsSink(scenario, iteration, GoodType.COAL));
+		metricsSinks.add(registerOutputMetricsSink(scenario, iteration, GoodType.WHEAT));
 
-		final UtilityCsvWriterImpl utilityWriter = registerUtilityFileWriter(scenario, iteration);
+		metricsSinks.add(registerSoldMetricsSink(scenario, iteration, GoodType.COAL));
+		metricsSinks.add(registerSoldMetricsSink(scenario, iteration, GoodType.WHEAT));
+		metricsSinks.add(registerSoldMetricsSink(scenario, iteration, GoodType.LABOURHOUR));
 
-		final M1CsvWriterImpl m1Writer = registerM1FileWriter(scenario, iteration);
+		metricsSinks.add(registerUtilityMetricsSink(scenario, iteration));
+
+		metricsSinks.add(registerM1MetricsSink(scenario, iteration));
 
 		/*
 		 * register exogenous shock
@@ -147,25 +153,19 @@ public class EvaluationSimulationImpl {
 		 * run simulation
 		 */
 		ApplicationContext.getInstance().getAgentFactory().constructAgentsFromConfiguration();
-		ApplicationContext.getInstance().getSimulationRunner().run(new GregorianCalendar(2003, 12, 31).getTime());
+		final GregorianCalendar endDate = new GregorianCalendar(TimeSystemImpl.TIME_ZONE);
+		endDate.clear();
+		endDate.set(2003, 12, 31);
+		ApplicationContext.getInstance().getSimulationRunner().run(endDate.getTime());
 		ApplicationContext.getInstance().getAgentFactory().deconstructAgents();
 
 		/*
-		 * close writers
+		 * close metrics sinks
 		 */
-		coalPriceWriter.close();
-		wheatPriceWriter.close();
-		labourHourPriceWriter.close();
-
-		coalSoldWriter.close();
-		wheatSoldWriter.close();
-		labourHourSoldWriter.close();
-
-		coalOutputWriter.close();
-		wheatOutputWriter.close();
-
-		m1Writer.close();
-		utilityWriter.close();
+		for (final MetricsSink metricsSink : metricsSinks) {
+			ApplicationContext.getInstance().getModelRegistry().removeMetricsSink(metricsSink);
+			metricsSink.close();
+		}
 
 		/*
 		 * reset application context
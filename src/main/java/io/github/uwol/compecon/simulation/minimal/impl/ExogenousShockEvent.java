@@ -29,6 +29,8 @@ import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 
 public class ExogenousShockEvent implements TimeSystemEvent {
 
+	private static final long serialVersionUID = 1L;
+
 	protected void contraction() {
 		final List<Factory> factories = ApplicationContext.getInstance().getAgentService().findFactories(Currency.EURO,
 				GoodType.WHEAT);
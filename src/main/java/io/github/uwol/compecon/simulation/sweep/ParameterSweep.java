@@ -0,0 +1,428 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.sweep;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.applicationcontext.Configuration;
+import io.github.uwol.compecon.engine.random.impl.DeterministicNumberGeneratorImpl;
+import io.github.uwol.compecon.engine.runner.impl.HeadlessSimulationRunnerImpl;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
+
+/**
+ * Runs simulations for the points of a {@link SweepDesign} over
+ * {@link Configuration} fields. Runs are executed concurrently, each in an
+ * application context bound to its worker thread and with the headless
+ * simulation runner. <br />
+ * <br />
+ * Each completed run is appended as a line to a CSV results file with run
+ * number, point number, repetition, parameter values and metrics. The file
+ * starts with a comment line, which describes the sweep by its configuration,
+ * design, parameters and seed. If the results file already exists, the sweep
+ * is resumed: completed runs are read from the file and only the missing runs
+ * are executed. Points are deterministic for the seed, so that a resumed sweep
+ * has the same runs. A results file of a sweep with a different description or
+ * different parameter values of runs is refused. <br />
+ * <br />
+ * Repetition r of every point uses the random seed seed + r, i. e. points are
+ * compared under common random numbers.
+ */
+public class ParameterSweep {
+
+	protected static final String COMMENT = "#";
+
+	protected static final String SEPARATOR = ",";
+
+	/**
+	 * starts a sweep described by a properties file, e. g.<br />
+	 * <br />
+	 * sweep.configuration = interdependencies.configuration.properties<br />
+	 * sweep.results = sweep.csv<br />
+	 * sweep.design = LatinHypercube<br />
+	 * sweep.samples = 20<br />
+	 * sweep.repetitions = 3<br />
+	 * sweep.days = 365<br />
+	 * sweep.seed = 0<br />
+	 * sweep.threads = 0<br />
+	 * sweep.parameter.pricingBehaviourConfig.defaultPriceChangeIncrementExplicit =
+	 * 0.01 0.5
+	 */
+	public static void main(final String[] args)
+			throws IOException, InterruptedException, ExecutionException {
+		final Properties properties = new Properties();
+		final InputStream inputStream = new FileInputStream(args[0]);
+		try {
+			properties.load(inputStream);
+		} finally {
+			inputStream.close();
+		}
+
+		final ParameterSweep parameterSweep = new ParameterSweep(properties.getProperty("sweep.configuration"),
+				new File(properties.getProperty("sweep.results")));
+		parameterSweep.setDesign(SweepDesign.valueOf(properties.getProperty("sweep.design", "Grid")));
+		parameterSweep.setNumberOfSamples(Integer.parseInt(properties.getProperty("sweep.samples", "10")));
+		parameterSweep.setNumberOfRepetitions(Integer.parseInt(properties.getProperty("sweep.repetitions", "1")));
+		parameterSweep.setNumberOfDays(Integer.parseInt(properties.getProperty("sweep.days", "365")));
+		parameterSweep.setSeed(Long.parseLong(properties.getProperty("sweep.seed", "0")));
+		parameterSweep.setNumberOfThreads(Integer.parseInt(properties.getProperty("sweep.threads", "0")));
+
+		for (final String key : new TreeSet<String>(properties.stringPropertyNames())) {
+			if (key.startsWith("sweep.parameter.")) {
+				final String[] bounds = properties.getProperty(key).trim().split("\\s+");
+				parameterSweep.addParameter(new SweepParameter(key.substring("sweep.parameter.".length()),
+						Double.parseDouble(bounds[0]), Double.parseDouble(bounds[1])));
+			}
+		}
+
+		parameterSweep.run();
+	}
+
+	protected final String configurationPropertiesFilename;
+
+	protected SweepDesign design = SweepDesign.Grid;
+
+	protected int numberOfDays = 365;
+
+	protected int numberOfRepetitions = 1;
+
+	protected int numberOfSamples = 10;
+
+	/**
+	 * 0 denotes the number of available processors
+	 */
+	protected int numberOfThreads = 0;
+
+	protected final List<SweepParameter> parameters = new ArrayList<SweepParameter>();
+
+	protected final File resultsFile;
+
+	protected long seed = 0;
+
+	public ParameterSweep(final String configurationPropertiesFilename, final File resultsFile) {
+		this.configurationPropertiesFilename = configurationPropertiesFilename;
+		this.resultsFile = resultsFile;
+	}
+
+	public void addParameter(final SweepParameter parameter) {
+		parameters.add(parameter);
+	}
+
+	/**
+	 * @return all runs of the sweep, ordered by point and repetition.
+	 */
+	protected List<SweepRun> createRuns() {
+		final List<double[]> points = design.createPoints(parameters.size(), numberOfSamples, new Random(seed));
+		final List<SweepRun> runs = new ArrayList<SweepRun>();
+
+		for (int pointNumber = 0; pointNumber < points.size(); pointNumber++) {
+			final double[] parameterValues = new double[parameters.size()];
+			for (int j = 0; j < parameters.size(); j++) {
+				parameterValues[j] = parameters.get(j).getValue(points.get(pointNumber)[j]);
+			}
+
+			for (int repetition = 0; repetition < numberOfRepetitions; repetition++) {
+				runs.add(new SweepRun(runs.size(), pointNumber, repetition, parameterValues));
+			}
+		}
+		return runs;
+	}
+
+	/**
+	 * @return comment line, which describes the sweep by all settings that
+	 *         determine its runs.
+	 */
+	protected String getDescription() {
+		final StringBuilder description = new StringBuilder(COMMENT);
+		description.append(" configuration=").append(configurationPropertiesFilename);
+		description.append(" design=").append(design);
+		description.append(" samples=").append(numberOfSamples);
+		description.append(" repetitions=").append(numberOfRepetitions);
+		description.append(" days=").append(numberOfDays);
+		description.append(" seed=").append(seed);
+		for (final SweepParameter parameter : parameters) {
+			description.append(" parameter.").append(parameter.getPath()).append("=").append(parameter.getMinValue())
+					.append(":").append(parameter.getMaxValue());
+		}
+		return description.toString();
+	}
+
+	protected String getHeader() {
+		final StringBuilder header = new StringBuilder("run" + SEPARATOR + "point" + SEPARATOR + "repetition");
+		for (final SweepParameter parameter : parameters) {
+			header.append(SEPARATOR).append(parameter.getPath());
+		}
+		for (final String metricName : getMetricNames()) {
+			header.append(SEPARATOR).append(metricName);
+		}
+		return header.toString();
+	}
+
+	/**
+	 * @return names of the metrics returned by {@link #measure()}.
+	 */
+	public List<String> getMetricNames() {
+		final List<String> metricNames = new ArrayList<String>();
+		for (final Currency currency : Currency.values()) {
+			metricNames.add("totalUtility." + currency.getIso4217Code());
+			metricNames.add("priceIndex." + currency.getIso4217Code());
+			metricNames.add("keyInterestRate." + currency.getIso4217Code());
+		}
+		return metricNames;
+	}
+
+	/**
+	 * @return metrics of the simulation in the application context of the current
+	 *         thread at the end of a run.
+	 */
+	protected double[] measure() {
+		final List<Double> metrics = new ArrayList<Double>();
+		for (final Currency currency : Currency.values()) {
+			final NationalEconomyModel nationalEconomyModel = ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency);
+			metrics.add(nationalEconomyModel.totalUtilityOutputModel.getValue());
+			metrics.add(nationalEconomyModel.priceIndexModel.getValue());
+			metrics.add(nationalEconomyModel.keyInterestRateModel.getValue());
+		}
+
+		final double[] result = new double[metrics.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = metrics.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * hook for fixed modifications of the configuration, which are applied to
+	 * all runs before the parameter values
+	 */
+	protected void overwriteConfiguration(final Configuration configuration) {
+	}
+
+	/**
+	 * reads completed runs from an existing results file
+	 *
+	 * @return true, if the results file ends with an incomplete line.
+	 */
+	protected boolean readResults(final List<SweepRun> runs) throws IOException {
+		final String content = new String(Files.readAllBytes(resultsFile.toPath()), StandardCharsets.UTF_8);
+		final String[] lines = content.split("\n");
+
+		if (lines.length < 2 || !lines[0].equals(getDescription()) || !lines[1].equals(getHeader())) {
+			throw new IllegalStateException("results file " + resultsFile + " belongs to a different sweep");
+		}
+
+		final int numberOfColumns = 3 + parameters.size() + getMetricNames().size();
+
+		for (int i = 2; i < lines.length; i++) {
+			final String[] columns = lines[i].split(SEPARATOR);
+
+			// lines of interrupted writes are incomplete
+			if (columns.length == numberOfColumns) {
+				final int runNumber = Integer.parseInt(columns[0]);
+				if (runNumber < 0 || runNumber >= runs.size()) {
+					throw new IllegalStateException(
+							"results file " + resultsFile + " contains run " + runNumber + " unknown to the sweep");
+				}
+
+				final double[] parameterValues = runs.get(runNumber).getParameterValues();
+				for (int j = 0; j < parameterValues.length; j++) {
+					if (Double.parseDouble(columns[3 + j]) != parameterValues[j]) {
+						throw new IllegalStateException("results file " + resultsFile
+								+ " contains different parameter values for run " + runNumber);
+					}
+				}
+
+				final double[] metrics = new double[getMetricNames().size()];
+				for (int j = 0; j < metrics.length; j++) {
+					metrics[j] = Double.parseDouble(columns[3 + parameters.size() + j]);
+				}
+				runs.get(runNumber).setMetrics(metrics);
+			}
+		}
+
+		return !content.endsWith("\n");
+	}
+
+	/**
+	 * executes all runs, which are not contained in the results file
+	 *
+	 * @return all runs of the sweep with their metrics.
+	 */
+	public List<SweepRun> run() throws IOException, InterruptedException, ExecutionException {
+		final List<SweepRun> runs = createRuns();
+
+		final boolean resume = resultsFile.exists() && resultsFile.length() > 0;
+		final boolean incompleteLastLine = resume ? readResults(runs) : false;
+
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(resultsFile, true),
+				StandardCharsets.UTF_8);
+
+		try {
+			if (!resume) {
+				writer.write(getDescription() + "\n");
+				writer.write(getHeader() + "\n");
+			} else if (incompleteLastLine) {
+				writer.write("\n");
+			}
+			writer.flush();
+
+			final int threads = numberOfThreads > 0 ? numberOfThreads : Runtime.getRuntime().availableProcessors();
+			final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+			try {
+				final List<Future<?>> futures = new ArrayList<Future<?>>();
+				for (final SweepRun run : runs) {
+					if (!run.isCompleted()) {
+						futures.add(executorService.submit(new Callable<Void>() {
+							@Override
+							public Void call() throws IOException {
+								run.setMetrics(simulate(run));
+								writeResult(writer, run);
+								return null;
+							}
+						}));
+					}
+				}
+
+				System.out.println("sweep with " + runs.size() + " runs, " + futures.size() + " to be executed");
+
+				for (final Future<?> future : futures) {
+					future.get();
+				}
+			} finally {
+				executorService.shutdownNow();
+			}
+		} finally {
+			writer.close();
+		}
+
+		return runs;
+	}
+
+	public void setDesign(final SweepDesign design) {
+		this.design = design;
+	}
+
+	public void setNumberOfDays(final int numberOfDays) {
+		this.numberOfDays = numberOfDays;
+	}
+
+	public void setNumberOfRepetitions(final int numberOfRepetitions) {
+		this.numberOfRepetitions = numberOfRepetitions;
+	}
+
+	public void setNumberOfSamples(final int numberOfSamples) {
+		this.numberOfSamples = numberOfSamples;
+	}
+
+	public void setNumberOfThreads(final int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	public void setSeed(final long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * executes the run in an application context bound to the current thread
+	 *
+	 * @return metrics at the end of the run.
+	 */
+	protected double[] simulate(final SweepRun run) throws IOException {
+		ApplicationContext.setInstanceForCurrentThread(ApplicationContext.newInstance());
+
+		try {
+			ApplicationContextFactory.configureInMemoryApplicationContext(configurationPropertiesFilename);
+
+			final Configuration configuration = ApplicationContext.getInstance().getConfiguration();
+			overwriteConfiguration(configuration);
+			for (int j = 0; j < parameters.size(); j++) {
+				parameters.get(j).apply(configuration, run.getParameterValues()[j]);
+			}
+
+			ApplicationContext.getInstance()
+					.setRandomNumberGenerator(new DeterministicNumberGeneratorImpl(seed + run.getRepetition()));
+
+			final HeadlessSimulationRunnerImpl simulationRunner = new HeadlessSimulationRunnerImpl();
+			ApplicationContext.getInstance().setSimulationRunner(simulationRunner);
+
+			// the end date is the last hour of the last day
+			final GregorianCalendar endDate = new GregorianCalendar(TimeSystemImpl.TIME_ZONE);
+			endDate.setTime(ApplicationContext.getInstance().getTimeSystem().getCurrentDate());
+			endDate.add(GregorianCalendar.DAY_OF_YEAR, numberOfDays);
+			endDate.add(GregorianCalendar.HOUR_OF_DAY, -1);
+
+			ApplicationContext.getInstance().getAgentFactory().constructAgentsFromConfiguration();
+			simulationRunner.run(endDate.getTime());
+
+			final double[] metrics = measure();
+
+			ApplicationContext.getInstance().getAgentFactory().deconstructAgents();
+
+			return metrics;
+		} finally {
+			ApplicationContext.setInstanceForCurrentThread(null);
+		}
+	}
+
+	/**
+	 * appends the completed run to the results file
+	 */
+	protected void writeResult(final Writer writer, final SweepRun run) throws IOException {
+		final StringBuilder line = new StringBuilder();
+		line.append(run.getRunNumber()).append(SEPARATOR).append(run.getPointNumber()).append(SEPARATOR)
+				.append(run.getRepetition());
+		for (final double parameterValue : run.getParameterValues()) {
+			line.append(SEPARATOR).append(parameterValue);
+		}
+		for (final double metric : run.getMetrics()) {
+			line.append(SEPARATOR).append(metric);
+		}
+		line.append("\n");
+
+		synchronized (writer) {
+			writer.write(line.toString());
+			writer.flush();
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.sweep;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Design of a parameter sweep, which determines the points in the unit cube
+ * with one dimension per parameter.
+ */
+public enum SweepDesign {
+
+	/**
+	 * full factorial grid with the given number of samples per parameter, i. e.
+	 * numberOfSamples ^ numberOfParameters points including the bounds
+	 */
+	Grid {
+		@Override
+		public List<double[]> createPoints(final int numberOfParameters, final int numberOfSamples,
+				final Random random) {
+			int numberOfPoints = 1;
+			for (int j = 0; j < numberOfParameters; j++) {
+				numberOfPoints *= numberOfSamples;
+			}
+
+			final List<double[]> points = new ArrayList<double[]>();
+			for (int i = 0; i < numberOfPoints; i++) {
+				final double[] point = new double[numberOfParameters];
+				// the last parameter varies fastest
+				int remainder = i;
+				for (int j = numberOfParameters - 1; j >= 0; j--) {
+					final int sample = remainder % numberOfSamples;
+					remainder /= numberOfSamples;
+					point[j] = numberOfSamples == 1 ? 0.5 : sample / (double) (numberOfSamples - 1);
+				}
+				points.add(point);
+			}
+			return points;
+		}
+	},
+
+	/**
+	 * latin hypercube with the given number of points; the projection on each
+	 * parameter contains exactly one point in each of numberOfSamples strata
+	 */
+	LatinHypercube {
+		@Override
+		public List<double[]> createPoints(final int numberOfParameters, final int numberOfSamples,
+				final Random random) {
+			final List<double[]> points = new ArrayList<double[]>();
+			for (int i = 0; i < numberOfSamples; i++) {
+				points.add(new double[numberOfParameters]);
+			}
+
+			for (int j = 0; j < numberOfParameters; j++) {
+				// random permutation of strata
+				final int[] strata = new int[numberOfSamples];
+				for (int i = 0; i < numberOfSamples; i++) {
+					strata[i] = i;
+				}
+				for (int i = numberOfSamples - 1; i > 0; i--) {
+					final int k = random.nextInt(i + 1);
+					final int stratum = strata[i];
+					strata[i] = strata[k];
+					strata[k] = stratum;
+				}
+
+				for (int i = 0; i < numberOfSamples; i++) {
+					points.get(i)[j] = (strata[i] + random.nextDouble()) / numberOfSamples;
+				}
+			}
+			return points;
+		}
+	},
+
+	/**
+	 * independent uniformly distributed points
+	 */
+	Random {
+		@Override
+		public List<double[]> createPoints(final int numberOfParameters, final int numberOfSamples,
+				final Random random) {
+			final List<double[]> points = new ArrayList<double[]>();
+			for (int i = 0; i < numberOfSamples; i++) {
+				final double[] point = new double[numberOfParameters];
+				for (int j = 0; j < numberOfParameters; j++) {
+					point[j] = random.nextDouble();
+				}
+				points.add(point);
+			}
+			return points;
+		}
+	};
+
+	/**
+	 * @return points in the unit cube; deterministic for the state of the random
+	 *         number generator.
+	 */
+	public abstract List<double[]> createPoints(final int numberOfParameters, final int numberOfSamples,
+			final Random random);
+}
@@ -0,0 +1,97 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.sweep;
+
+import java.lang.reflect.Field;
+
+import io.github.uwol.compecon.engine.applicationcontext.Configuration;
+
+/**
+ * Parameter of a sweep, which is a public field of a {@link Configuration}
+ * addressed by its path, e. g.
+ * "pricingBehaviourConfig.defaultPriceChangeIncrementExplicit". Values are
+ * drawn from the interval [minValue, maxValue]; Integer fields are rounded,
+ * Boolean fields are true for values of at least 0.5.
+ */
+public class SweepParameter {
+
+	protected final double maxValue;
+
+	protected final double minValue;
+
+	protected final String path;
+
+	public SweepParameter(final String path, final double minValue, final double maxValue) {
+		assert (minValue <= maxValue);
+
+		this.path = path;
+		this.minValue = minValue;
+		this.maxValue = maxValue;
+	}
+
+	/**
+	 * sets the field of the configuration to the given value
+	 */
+	public void apply(final Configuration configuration, final double value) {
+		final String[] fieldNames = path.split("\\.");
+
+		try {
+			Object object = configuration;
+			for (int i = 0; i < fieldNames.length - 1; i++) {
+				object = object.getClass().getField(fieldNames[i]).get(object);
+			}
+
+			final Field field = object.getClass().getField(fieldNames[fieldNames.length - 1]);
+
+			if (Double.class.equals(field.getType()) || double.class.equals(field.getType())) {
+				field.set(object, value);
+			} else if (Integer.class.equals(field.getType()) || int.class.equals(field.getType())) {
+				field.set(object, (int) Math.round(value));
+			} else if (Boolean.class.equals(field.getType()) || boolean.class.equals(field.getType())) {
+				field.set(object, value >= 0.5);
+			} else {
+				throw new IllegalArgumentException("configuration field " + path + " is not numeric");
+			}
+		} catch (final NoSuchFieldException e) {
+			throw new IllegalArgumentException("configuration field " + path + " does not exist", e);
+		} catch (final IllegalAccessException e) {
+			throw new IllegalArgumentException("configuration field " + path + " is not accessible", e);
+		}
+	}
+
+	public double getMaxValue() {
+		return maxValue;
+	}
+
+	public double getMinValue() {
+		return minValue;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return the value of the parameter for a coordinate in [0, 1].
+	 */
+	public double getValue(final double unitCoordinate) {
+		return minValue + unitCoordinate * (maxValue - minValue);
+	}
+}
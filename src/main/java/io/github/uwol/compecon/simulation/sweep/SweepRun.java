@@ -0,0 +1,77 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.sweep;
+
+/**
+ * Simulation run of a parameter sweep, i. e. a repetition of a point of the
+ * sweep design.
+ */
+public class SweepRun {
+
+	protected double[] metrics;
+
+	protected final double[] parameterValues;
+
+	protected final int pointNumber;
+
+	protected final int repetition;
+
+	protected final int runNumber;
+
+	public SweepRun(final int runNumber, final int pointNumber, final int repetition,
+			final double[] parameterValues) {
+		this.runNumber = runNumber;
+		this.pointNumber = pointNumber;
+		this.repetition = repetition;
+		this.parameterValues = parameterValues;
+	}
+
+	/**
+	 * @return the metrics measured at the end of the run, or null, if the run has
+	 *         not been completed.
+	 */
+	public double[] getMetrics() {
+		return metrics;
+	}
+
+	public double[] getParameterValues() {
+		return parameterValues;
+	}
+
+	public int getPointNumber() {
+		return pointNumber;
+	}
+
+	public int getRepetition() {
+		return repetition;
+	}
+
+	public int getRunNumber() {
+		return runNumber;
+	}
+
+	public boolean isCompleted() {
+		return metrics != null;
+	}
+
+	public void setMetrics(final double[] metrics) {
+		this.metrics = metrics;
+	}
+}
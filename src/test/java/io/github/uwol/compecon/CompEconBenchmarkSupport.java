@@ -0,0 +1,143 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Support for micro benchmarks, which are started via their main method and
+ * are not part of the test suite. Each benchmark round is executed repeatedly
+ * after a warm-up phase; duration and allocated bytes are reported per
+ * operation.
+ */
+public abstract class CompEconBenchmarkSupport {
+
+	/**
+	 * benchmark round executed by each of several threads
+	 */
+	public interface ConcurrentRound {
+
+		public void run(int threadIndex);
+	}
+
+	protected final int measurementRounds = 20;
+
+	protected final int warmupRounds = 10;
+
+	/**
+	 * @return bytes allocated by the current thread, or -1, if not supported by the
+	 *         JVM.
+	 */
+	protected long getAllocatedBytes() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+					.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	/**
+	 * @return average duration per operation in nanoseconds.
+	 */
+	protected double measure(final String name, final int operationsPerRound, final Runnable round) {
+		for (int i = 0; i < warmupRounds; i++) {
+			round.run();
+		}
+
+		final long allocatedBytesBefore = getAllocatedBytes();
+		final long nanoTimeBefore = System.nanoTime();
+
+		for (int i = 0; i < measurementRounds; i++) {
+			round.run();
+		}
+
+		final long nanoTime = System.nanoTime() - nanoTimeBefore;
+		final long allocatedBytes = getAllocatedBytes() - allocatedBytesBefore;
+
+		final double operations = (double) measurementRounds * operationsPerRound;
+		final double nanosPerOperation = nanoTime / operations;
+
+		System.out.println(String.format("%-50s %12.1f ns/op %12.1f B/op", name, nanosPerOperation,
+				allocatedBytesBefore < 0 ? Double.NaN : allocatedBytes / operations));
+
+		return nanosPerOperation;
+	}
+
+	/**
+	 * executes the round concurrently in the given number of threads, each
+	 * thread performing the measurement rounds after its warm-up rounds.
+	 *
+	 * @return throughput over all threads in operations per second.
+	 */
+	protected double measureThroughput(final String name, final int numberOfThreads,
+			final int operationsPerThreadRound, final ConcurrentRound round) throws InterruptedException {
+		final CountDownLatch warmedUp = new CountDownLatch(numberOfThreads);
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch finished = new CountDownLatch(numberOfThreads);
+		final List<Thread> threads = new ArrayList<Thread>();
+
+		for (int t = 0; t < numberOfThreads; t++) {
+			final int threadIndex = t;
+			final Thread thread = new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < warmupRounds; i++) {
+						round.run(threadIndex);
+					}
+					warmedUp.countDown();
+
+					try {
+						start.await();
+					} catch (final InterruptedException e) {
+						throw new RuntimeException(e);
+					}
+
+					for (int i = 0; i < measurementRounds; i++) {
+						round.run(threadIndex);
+					}
+					finished.countDown();
+				}
+			};
+			thread.start();
+			threads.add(thread);
+		}
+
+		warmedUp.await();
+		final long nanoTimeBefore = System.nanoTime();
+		start.countDown();
+		finished.await();
+		final long nanoTime = System.nanoTime() - nanoTimeBefore;
+
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+
+		final double operations = (double) measurementRounds * operationsPerThreadRound * numberOfThreads;
+		final double operationsPerSecond = operations / nanoTime * 1000000000.0;
+
+		System.out.println(String.format("%-50s %3d threads %12.0f ops/s", name, numberOfThreads,
+				operationsPerSecond));
+
+		return operationsPerSecond;
+	}
+}
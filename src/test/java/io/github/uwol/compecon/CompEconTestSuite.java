@@ -23,31 +23,45 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import io.github.uwol.compecon.economy.agent.AgentStateStoreTest;
 import io.github.uwol.compecon.economy.sectors.financial.CreditBankTest;
 import io.github.uwol.compecon.economy.sectors.household.HouseholdImplTest;
 import io.github.uwol.compecon.economy.sectors.industry.FactoryImplTest;
 import io.github.uwol.compecon.engine.applicationcontext.InterdependenciesConfigurationTest;
 import io.github.uwol.compecon.engine.applicationcontext.NoDependenciesConfigurationTest;
 import io.github.uwol.compecon.engine.applicationcontext.TestingConfigurationTest;
+import io.github.uwol.compecon.engine.applicationcontext.ThreadBoundApplicationContextTest;
 import io.github.uwol.compecon.engine.dao.BankAccountDAOTest;
 import io.github.uwol.compecon.engine.dao.HouseholdDAOTest;
+import io.github.uwol.compecon.engine.dao.JdbcDAOTest;
+import io.github.uwol.compecon.engine.dao.MarketOrderDAOTest;
 import io.github.uwol.compecon.engine.dao.PropertyDAOTest;
+import io.github.uwol.compecon.engine.runner.HeadlessSimulationRunnerImplTest;
 import io.github.uwol.compecon.engine.service.AgentServiceTest;
 import io.github.uwol.compecon.engine.service.MarketServiceTest;
 import io.github.uwol.compecon.engine.service.PropertyServiceTest;
+import io.github.uwol.compecon.engine.snapshot.SnapshotTest;
+import io.github.uwol.compecon.engine.statistics.AgentDetailModelTest;
+import io.github.uwol.compecon.engine.statistics.sink.MetricsSinkTest;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataTimeSeriesModelTest;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemImplTest;
 import io.github.uwol.compecon.math.CESFunctionTest;
 import io.github.uwol.compecon.math.CobbDouglasFunctionTest;
 import io.github.uwol.compecon.math.intertemporal.ModiglianiIntertemporalConsumptionFunctionTest;
 import io.github.uwol.compecon.math.production.CobbDouglasProductionFunctionTest;
 import io.github.uwol.compecon.math.util.MathUtilTest;
 import io.github.uwol.compecon.math.utility.CobbDouglasUtilityFunctionTest;
+import io.github.uwol.compecon.simulation.sweep.ParameterSweepTest;
 
 @RunWith(Suite.class)
 @SuiteClasses({ MathUtilTest.class, InterdependenciesConfigurationTest.class, NoDependenciesConfigurationTest.class,
-		TestingConfigurationTest.class, BankAccountDAOTest.class, HouseholdDAOTest.class, PropertyDAOTest.class,
-		AgentServiceTest.class, MarketServiceTest.class, PropertyServiceTest.class, CreditBankTest.class,
-		HouseholdImplTest.class, FactoryImplTest.class, ModiglianiIntertemporalConsumptionFunctionTest.class,
-		CobbDouglasFunctionTest.class, CobbDouglasUtilityFunctionTest.class, CobbDouglasProductionFunctionTest.class,
-		CESFunctionTest.class })
+		TestingConfigurationTest.class, ThreadBoundApplicationContextTest.class, BankAccountDAOTest.class,
+		HouseholdDAOTest.class, JdbcDAOTest.class, MarketOrderDAOTest.class, PropertyDAOTest.class, AgentServiceTest.class,
+		MarketServiceTest.class, PropertyServiceTest.class, TimeSystemImplTest.class, SnapshotTest.class,
+		AgentDetailModelTest.class, MetricsSinkTest.class, PeriodDataTimeSeriesModelTest.class,
+		HeadlessSimulationRunnerImplTest.class, CreditBankTest.class, HouseholdImplTest.class, FactoryImplTest.class,
+		AgentStateStoreTest.class, ModiglianiIntertemporalConsumptionFunctionTest.class, CobbDouglasFunctionTest.class,
+		CobbDouglasUtilityFunctionTest.class, CobbDouglasProductionFunctionTest.class, CESFunctionTest.class,
+		ParameterSweepTest.class })
 public class CompEconTestSuite {
 }
@@ -30,6 +30,8 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.math.ConvexFunctionReference;
+import io.github.uwol.compecon.math.impl.ConvexFunctionImpl;
 import io.github.uwol.compecon.math.impl.FunctionImpl;
 import io.github.uwol.compecon.math.price.PriceFunction;
 
@@ -39,6 +41,28 @@ public abstract class CompEconTestSupport {
 
 	protected final String testConfigurationPropertiesFilename = "testing.configuration.properties";
 
+	/**
+	 * check that the primitive iterative kernel returns exactly the bundle of
+	 * inputs of the map based reference implementation.
+	 */
+	protected void assertIterativeKernelEqualsReference(final ConvexFunctionImpl<GoodType> function,
+			final Map<GoodType, PriceFunction> priceFunctions, final double budget, final int numberOfIterations) {
+		final double initializationValue = ApplicationContext.getInstance().getConfiguration().mathConfig
+				.getInitializationValue();
+
+		final Map<GoodType, Double> bundleOfInputs = function.calculateOutputMaximizingInputsIterative(priceFunctions,
+				budget, numberOfIterations);
+		final Map<GoodType, Double> referenceBundleOfInputs = ConvexFunctionReference
+				.calculateOutputMaximizingInputsIterativeWithMaps(function, priceFunctions, budget, numberOfIterations,
+						initializationValue);
+
+		assertEquals(referenceBundleOfInputs.keySet(), bundleOfInputs.keySet());
+
+		for (final Entry<GoodType, Double> inputEntry : referenceBundleOfInputs.entrySet()) {
+			assertEquals(inputEntry.getValue(), bundleOfInputs.get(inputEntry.getKey()), 0.0);
+		}
+	}
+
 	protected void assertOutputIsOptimalUnderBudget(final FunctionImpl<GoodType> function,
 			final double budgetRestriction, final Map<GoodType, PriceFunction> priceFunctions,
 			final Map<GoodType, Double> referenceBundleOfInputs) {
@@ -0,0 +1,163 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.economy.agent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.economy.sectors.household.impl.HouseholdImpl;
+import io.github.uwol.compecon.economy.sectors.industry.Factory;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.FactoryStateStore;
+import io.github.uwol.compecon.engine.dao.HouseholdStateStore;
+import io.github.uwol.compecon.engine.dao.inmemory.impl.HouseholdStateStoreImpl;
+
+public class AgentStateStoreTest extends CompEconTestSupport {
+
+	protected final int numberOfDays = 10;
+
+	/**
+	 * @return marginal market prices, bank account balances and household state
+	 *         after the simulation of the given number of days.
+	 */
+	protected List<Double> simulate(final boolean columnarStateStore) throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		ApplicationContext.getInstance().getConfiguration().agentConfig.columnarStateStore = columnarStateStore;
+		super.setUpTestAgents();
+
+		for (int hour = 0; hour < numberOfDays * 24; hour++) {
+			ApplicationContext.getInstance().getTimeSystem().nextHour();
+		}
+
+		final List<Double> result = new ArrayList<Double>();
+		for (final Currency currency : Currency.values()) {
+			for (final GoodType goodType : GoodType.values()) {
+				result.add(ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(currency,
+						goodType));
+			}
+		}
+
+		for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO().findAll()) {
+			result.add(bankAccount.getBalance());
+		}
+
+		for (final Household household : ApplicationContext.getInstance().getHouseholdDAO().findAll()) {
+			result.add((double) household.getAgeInDays());
+			result.add((double) household.getDaysWithoutUtility());
+			result.add((double) household.getContinuousDaysWithUtility());
+			result.add(((HouseholdImpl) household).getPricingBehaviour().getCurrentPrice());
+		}
+
+		super.tearDown();
+		return result;
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		ApplicationContext.getInstance().reset();
+	}
+
+	@Test
+	public void testAllocateAndReleaseIndices() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+
+		final HouseholdStateStore stateStore = new HouseholdStateStoreImpl();
+		final List<Household> households = new ArrayList<Household>();
+
+		// more households than fit into one page
+		for (int i = 0; i < 1500; i++) {
+			final Household household = new HouseholdImpl();
+			assertEquals(i, stateStore.allocate(household));
+			stateStore.setAgeInDays(i, i);
+			households.add(household);
+		}
+
+		assertEquals(1500, stateStore.getIndexBound());
+		assertEquals(1499, stateStore.getAgeInDays(1499));
+
+		// released indices are reused with cleared state
+		stateStore.release(3);
+		assertNull(stateStore.get(3));
+		assertEquals(1499, stateStore.getSize());
+		assertEquals(9, stateStore.getRange(0, 10).size());
+
+		final Household household = new HouseholdImpl();
+		assertEquals(3, stateStore.allocate(household));
+		assertSame(household, stateStore.get(3));
+		assertEquals(0, stateStore.getAgeInDays(3));
+		assertEquals(1500, stateStore.getIndexBound());
+		assertEquals(500, stateStore.getRange(1000, 2000).size());
+	}
+
+	/**
+	 * simulations with hot state in columns of the state store have to yield the
+	 * same results as simulations with hot state in fields
+	 */
+	@Test
+	public void testColumnarStateStoreEquivalentToFields() throws IOException {
+		final List<Double> expectedResult = simulate(false);
+		final List<Double> result = simulate(true);
+
+		assertEquals(expectedResult, result);
+	}
+
+	/**
+	 * the credit capacity of the budgeting behaviour of factories has to be kept
+	 * in the state store
+	 */
+	@Test
+	public void testFactoryBudgetingBehaviourDataInStateStore() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		ApplicationContext.getInstance().getConfiguration().agentConfig.columnarStateStore = true;
+		super.setUpTestAgents();
+
+		for (int hour = 0; hour < numberOfDays * 24; hour++) {
+			ApplicationContext.getInstance().getTimeSystem().nextHour();
+		}
+
+		final FactoryStateStore stateStore = ApplicationContext.getInstance().getFactoryDAO().getStateStore();
+		final List<Factory> factories = ApplicationContext.getInstance().getFactoryDAO().findAll();
+		assertFalse(factories.isEmpty());
+
+		for (final Factory factory : factories) {
+			final double[] page = stateStore.getBudgetingBehaviourDataPage(factory.getStateIndex());
+			final int offset = stateStore.getBudgetingBehaviourDataOffset(factory.getStateIndex());
+			assertFalse(Double.isNaN(page[offset]));
+			assertFalse(page[offset] == 0.0);
+		}
+
+		super.tearDown();
+	}
+}
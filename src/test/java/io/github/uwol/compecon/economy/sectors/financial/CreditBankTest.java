@@ -23,8 +23,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -33,6 +35,9 @@ import org.junit.Test;
 import io.github.uwol.compecon.CompEconTestSupport;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
+import io.github.uwol.compecon.economy.sectors.financial.impl.BankAccountImpl;
+import io.github.uwol.compecon.economy.sectors.financial.impl.CentralBankImpl;
+import io.github.uwol.compecon.economy.sectors.financial.impl.CreditBankImpl;
 import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.sectors.household.impl.HouseholdImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
@@ -45,12 +50,81 @@ public class CreditBankTest extends CompEconTestSupport {
 		super.setUpTestAgents();
 	}
 
+	/**
+	 * executes the daily interest calculation events of the central bank and all
+	 * credit banks
+	 *
+	 * @return balances of the given bank accounts after the interest accrual.
+	 */
+	protected double[] accrueInterest(final Currency currency, final List<BankAccount> bankAccounts) {
+		for (final CreditBank creditBank : ApplicationContext.getInstance().getAgentService()
+				.findCreditBanks(currency)) {
+			((CreditBankImpl) creditBank).new DailyInterestCalculationEvent().onEvent();
+		}
+
+		final CentralBankImpl centralBank = (CentralBankImpl) ApplicationContext.getInstance().getAgentService()
+				.findCentralBank(currency);
+		centralBank.new DailyInterestCalculationEvent().onEvent();
+
+		return getBalances(bankAccounts);
+	}
+
+	protected double[] getBalances(final List<BankAccount> bankAccounts) {
+		final double[] balances = new double[bankAccounts.size()];
+		for (int i = 0; i < bankAccounts.size(); i++) {
+			balances[i] = bankAccounts.get(i).getBalance();
+		}
+		return balances;
+	}
+
 	@Override
 	@After
 	public void tearDown() {
 		super.tearDown();
 	}
 
+	/**
+	 * batched interest accrual has to yield the same balances as the interest
+	 * accrual by transfers per bank account
+	 */
+	@Test
+	public void testBatchedInterestAccrualEquivalentToTransfers() {
+		final Currency currency = Currency.EURO;
+
+		((CentralBankImpl) ApplicationContext.getInstance().getAgentService().findCentralBank(currency))
+				.setEffectiveKeyInterestRate(0.05);
+
+		// customers with positive and negative balances at several credit banks
+		final List<Household> households = ApplicationContext.getInstance().getAgentService()
+				.findHouseholds(currency);
+		for (int i = 0; i < households.size() - 1; i++) {
+			final BankAccount from = households.get(i).getBankAccountTransactionsDelegate().getBankAccount();
+			final BankAccount to = households.get(i + 1).getBankAccountTransactionsDelegate().getBankAccount();
+			from.getManagingBank().transferMoney(from, to, 10.0 + 7.0 * i, "Transaction" + i);
+		}
+
+		final List<BankAccount> bankAccounts = ApplicationContext.getInstance().getBankAccountDAO().findAll();
+		final double[] balancesBefore = getBalances(bankAccounts);
+
+		final double[] expectedBalances = accrueInterest(currency, bankAccounts);
+
+		for (int i = 0; i < bankAccounts.size(); i++) {
+			((BankAccountImpl) bankAccounts.get(i)).setBalance(balancesBefore[i]);
+		}
+
+		ApplicationContext.getInstance().getConfiguration().centralBankConfig.batchedInterestAccrual = true;
+		ApplicationContext.getInstance().getConfiguration().creditBankConfig.batchedInterestAccrual = true;
+
+		final double[] balances = accrueInterest(currency, bankAccounts);
+
+		boolean interestAccrued = false;
+		for (int i = 0; i < bankAccounts.size(); i++) {
+			assertEquals(expectedBalances[i], balances[i], epsilon);
+			interestAccrued |= balances[i] != balancesBefore[i];
+		}
+		assertTrue(interestAccrued);
+	}
+
 	@Test
 	public void testCreditBankDeconstruction() {
 		final Currency currency = Currency.EURO;
@@ -0,0 +1,120 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.applicationcontext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+
+public class ThreadBoundApplicationContextTest extends CompEconTestSupport {
+
+	protected final int numberOfDays = 10;
+
+	/**
+	 * @return marginal market prices and bank account balances after the
+	 *         simulation of the given number of days in the application context
+	 *         of the current thread.
+	 */
+	protected List<Double> simulate() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+
+		for (int hour = 0; hour < numberOfDays * 24; hour++) {
+			ApplicationContext.getInstance().getTimeSystem().nextHour();
+		}
+
+		final List<Double> result = new ArrayList<Double>();
+		for (final Currency currency : Currency.values()) {
+			for (final GoodType goodType : GoodType.values()) {
+				result.add(ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(currency,
+						goodType));
+			}
+		}
+
+		for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO().findAll()) {
+			result.add(bankAccount.getBalance());
+		}
+
+		super.tearDown();
+		return result;
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		ApplicationContext.getInstance().reset();
+	}
+
+	/**
+	 * simulations in concurrent threads have to yield the same results as a
+	 * simulation in the global application context, which remains untouched
+	 */
+	@Test
+	public void testConcurrentSimulationsAreIsolated() throws IOException, InterruptedException {
+		final List<Double> expectedResult = simulate();
+
+		final ApplicationContext globalApplicationContext = ApplicationContext.getInstance();
+		final int numberOfThreads = 3;
+		final List<List<Double>> results = new ArrayList<List<Double>>();
+		final List<Thread> threads = new ArrayList<Thread>();
+
+		for (int i = 0; i < numberOfThreads; i++) {
+			results.add(null);
+
+			final int threadIndex = i;
+			final Thread thread = new Thread() {
+				@Override
+				public void run() {
+					ApplicationContext.setInstanceForCurrentThread(ApplicationContext.newInstance());
+					try {
+						results.set(threadIndex, simulate());
+					} catch (final IOException e) {
+						throw new RuntimeException(e);
+					} finally {
+						ApplicationContext.setInstanceForCurrentThread(null);
+					}
+				}
+			};
+			thread.start();
+			threads.add(thread);
+		}
+
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+
+		assertSame(globalApplicationContext, ApplicationContext.getInstance());
+
+		for (final List<Double> result : results) {
+			assertEquals(expectedResult, result);
+		}
+	}
+}
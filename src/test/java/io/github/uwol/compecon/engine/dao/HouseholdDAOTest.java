@@ -22,6 +22,7 @@ package io.github.uwol.compecon.engine.dao;
 import static org.junit.Assert.assertEquals;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.junit.After;
 import org.junit.Before;
@@ -64,4 +65,46 @@ public class HouseholdDAOTest extends CompEconTestSupport {
 
 		assertEquals(2, ApplicationContext.getInstance().getHouseholdDAO().findAllByCurrency(Currency.EURO).size());
 	}
+
+	@Test
+	public void testFindAllByStateIndexRange() {
+		ApplicationContext.getInstance().getConfiguration().agentConfig.columnarStateStore = true;
+
+		final Household household1 = ApplicationContext.getInstance().getHouseholdFactory()
+				.newInstanceHousehold(Currency.EURO, 0);
+		final Household household2 = ApplicationContext.getInstance().getHouseholdFactory()
+				.newInstanceHousehold(Currency.EURO, 0);
+		final Household household3 = ApplicationContext.getInstance().getHouseholdFactory()
+				.newInstanceHousehold(Currency.USDOLLAR, 0);
+
+		assertEquals(3, ApplicationContext.getInstance().getHouseholdDAO().getStateIndexBound());
+		assertEquals(Arrays.asList(household1, household2, household3),
+				ApplicationContext.getInstance().getHouseholdDAO().findAllByStateIndexRange(0, 3));
+		assertEquals(Arrays.asList(household2),
+				ApplicationContext.getInstance().getHouseholdDAO().findAllByStateIndexRange(1, 2));
+
+		// the index of a deleted household is reused
+		final int stateIndex = household2.getStateIndex();
+		household2.deconstruct();
+
+		assertEquals(Arrays.asList(household1, household3),
+				ApplicationContext.getInstance().getHouseholdDAO().findAllByStateIndexRange(0, 3));
+
+		final Household household4 = ApplicationContext.getInstance().getHouseholdFactory()
+				.newInstanceHousehold(Currency.EURO, 0);
+
+		assertEquals(stateIndex, household4.getStateIndex());
+		assertEquals(3, ApplicationContext.getInstance().getHouseholdDAO().getStateIndexBound());
+	}
+
+	@Test
+	public void testNoStateIndexWithoutColumnarStateStore() {
+		ApplicationContext.getInstance().getConfiguration().agentConfig.columnarStateStore = false;
+
+		final Household household = ApplicationContext.getInstance().getHouseholdFactory()
+				.newInstanceHousehold(Currency.EURO, 0);
+
+		assertEquals(-1, household.getStateIndex());
+		assertEquals(0, ApplicationContext.getInstance().getHouseholdDAO().getStateIndexBound());
+	}
 }
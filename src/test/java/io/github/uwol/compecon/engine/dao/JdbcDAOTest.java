@@ -0,0 +1,120 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.dao.jdbc.impl.CheckpointEvent;
+import io.github.uwol.compecon.engine.dao.jdbc.impl.JdbcSession;
+
+public class JdbcDAOTest extends CompEconTestSupport {
+
+	protected JdbcSession session;
+
+	protected double query(final String sql) throws SQLException {
+		try (final Statement statement = session.getConnection().createStatement();
+				final ResultSet resultSet = statement.executeQuery(sql)) {
+			resultSet.next();
+			return resultSet.getDouble(1);
+		}
+	}
+
+	@Before
+	public void setup() throws IOException {
+		session = ApplicationContextFactory.configurePersistentApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+
+		try {
+			session.close();
+		} catch (final SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Test
+	public void testCheckpointWritesBalances() throws SQLException {
+		for (int hour = 0; hour < 24; hour++) {
+			ApplicationContext.getInstance().getTimeSystem().nextHour();
+		}
+
+		new CheckpointEvent(session).onEvent();
+
+		double sumOfBalances = 0.0;
+		for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO().findAll()) {
+			sumOfBalances += bankAccount.getBalance();
+		}
+
+		assertEquals(ApplicationContext.getInstance().getBankAccountDAO().findAll().size(),
+				(int) query("SELECT COUNT(*) FROM bank_accounts"));
+		assertEquals(sumOfBalances, query("SELECT SUM(balance) FROM bank_accounts"), epsilon);
+		assertEquals(ApplicationContext.getInstance().getHouseholdDAO().findAll().size(),
+				(int) query("SELECT COUNT(*) FROM households"));
+	}
+
+	@Test
+	public void testDeleteBeforeFlush() throws SQLException {
+		session.flush();
+
+		final Household household = ApplicationContext.getInstance().getHouseholdFactory()
+				.newInstanceHousehold(Currency.EURO, 0);
+		household.deconstruct();
+
+		session.flush();
+
+		assertEquals(0, (int) query("SELECT COUNT(*) FROM households WHERE id = " + household.getId()));
+		assertEquals(ApplicationContext.getInstance().getHouseholdDAO().findAll().size(),
+				(int) query("SELECT COUNT(*) FROM households"));
+	}
+
+	@Test
+	public void testFlushWritesAgents() throws SQLException {
+		session.flush();
+
+		assertEquals(ApplicationContext.getInstance().getCreditBankDAO().findAll().size(),
+				(int) query("SELECT COUNT(*) FROM credit_banks"));
+		assertEquals(ApplicationContext.getInstance().getFactoryDAO().findAll().size(),
+				(int) query("SELECT COUNT(*) FROM factories"));
+		assertEquals(ApplicationContext.getInstance().getHouseholdDAO().findAll().size(),
+				(int) query("SELECT COUNT(*) FROM households"));
+		assertEquals(ApplicationContext.getInstance().getPropertyDAO().findAll().size(),
+				(int) query("SELECT COUNT(*) FROM properties"));
+	}
+}
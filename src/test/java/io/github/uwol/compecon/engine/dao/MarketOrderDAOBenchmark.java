@@ -0,0 +1,111 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.uwol.compecon.CompEconBenchmarkSupport;
+import io.github.uwol.compecon.economy.markets.MarketParticipant;
+import io.github.uwol.compecon.economy.markets.impl.MarketOrderImpl;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.dao.inmemory.impl.MarketOrderBookDAOImpl;
+import io.github.uwol.compecon.engine.dao.inmemory.impl.MarketOrderDAOImpl;
+
+/**
+ * Compares the market order DAO implementations on the daily re-offering
+ * pattern of agents, i. e. removal of all selling orders of an offeror in a
+ * market followed by a new selling order. The reference implementation
+ * {@link MarketOrderDAOImpl} scans the market orders of the offeror, which is
+ * the baseline for the offeror index of {@link MarketOrderBookDAOImpl}.
+ */
+public class MarketOrderDAOBenchmark extends CompEconBenchmarkSupport {
+
+	public static void main(final String[] args) throws IOException {
+		new MarketOrderDAOBenchmark().run();
+	}
+
+	protected int nextId = 0;
+
+	protected final int numberOfOfferors = 5000;
+
+	protected void benchmark(final String name, final MarketOrderDAO marketOrderDAO,
+			final List<MarketParticipant> offerors) {
+		// each offeror offers on all good type markets
+		for (final MarketParticipant offeror : offerors) {
+			for (final GoodType goodType : GoodType.values()) {
+				marketOrderDAO.save(newMarketOrder(offeror, goodType));
+			}
+		}
+
+		measure(name + ": re-offer in market", offerors.size() * GoodType.values().length, new Runnable() {
+			@Override
+			public void run() {
+				for (final MarketParticipant offeror : offerors) {
+					for (final GoodType goodType : GoodType.values()) {
+						marketOrderDAO.deleteAllSellingOrders(offeror, Currency.EURO, goodType);
+						marketOrderDAO.save(newMarketOrder(offeror, goodType));
+					}
+				}
+			}
+		});
+
+		measure(name + ": re-offer in all markets", offerors.size(), new Runnable() {
+			@Override
+			public void run() {
+				for (final MarketParticipant offeror : offerors) {
+					marketOrderDAO.deleteAllSellingOrders(offeror);
+					for (final GoodType goodType : GoodType.values()) {
+						marketOrderDAO.save(newMarketOrder(offeror, goodType));
+					}
+				}
+			}
+		});
+	}
+
+	protected MarketOrderImpl newMarketOrder(final MarketParticipant offeror, final GoodType goodType) {
+		final MarketOrderImpl marketOrder = new MarketOrderImpl();
+		marketOrder.setId(nextId++);
+		marketOrder.setOfferor(offeror);
+		marketOrder.setCurrency(Currency.EURO);
+		marketOrder.setGoodType(goodType);
+		marketOrder.setAmount(10.0);
+		marketOrder.setPricePerUnit(1.0 + (nextId % 100) / 10.0);
+		return marketOrder;
+	}
+
+	protected void run() throws IOException {
+		ApplicationContextFactory.configureInMemoryApplicationContext("testing.configuration.properties");
+
+		final List<MarketParticipant> offerors = new ArrayList<MarketParticipant>();
+		for (int i = 0; i < numberOfOfferors; i++) {
+			offerors.add(ApplicationContext.getInstance().getHouseholdFactory().newInstanceHousehold(Currency.EURO, 0));
+		}
+
+		benchmark("MarketOrderDAOImpl", new MarketOrderDAOImpl(), offerors);
+		benchmark("MarketOrderBookDAOImpl", new MarketOrderBookDAOImpl(), offerors);
+
+		ApplicationContext.getInstance().reset();
+	}
+}
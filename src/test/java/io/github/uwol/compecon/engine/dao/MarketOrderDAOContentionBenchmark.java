@@ -0,0 +1,107 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.uwol.compecon.CompEconBenchmarkSupport;
+import io.github.uwol.compecon.economy.markets.MarketParticipant;
+import io.github.uwol.compecon.economy.markets.impl.MarketOrderImpl;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.dao.inmemory.impl.ConcurrentMarketOrderBookDAOImpl;
+import io.github.uwol.compecon.engine.dao.inmemory.impl.MarketOrderBookDAOImpl;
+
+/**
+ * Measures throughput of the market order DAO implementations, when several
+ * threads re-offer and read market depth concurrently. Each thread re-offers
+ * for its own offerors on all good type markets, so that threads contend for
+ * the market order books, but not for the offerors.
+ */
+public class MarketOrderDAOContentionBenchmark extends CompEconBenchmarkSupport {
+
+	public static void main(final String[] args) throws IOException, InterruptedException {
+		new MarketOrderDAOContentionBenchmark().run();
+	}
+
+	protected final int[] numbersOfThreads = new int[] { 1, 2, 4, 8 };
+
+	protected final int numberOfOfferorsPerThread = 500;
+
+	protected void benchmark(final String name, final MarketOrderDAO marketOrderDAO,
+			final List<MarketParticipant> offerors) throws InterruptedException {
+		for (final int numberOfThreads : numbersOfThreads) {
+			final List<List<MarketParticipant>> offerorsOfThreads = new ArrayList<List<MarketParticipant>>();
+			for (int t = 0; t < numberOfThreads; t++) {
+				offerorsOfThreads.add(offerors.subList(t * numberOfOfferorsPerThread,
+						(t + 1) * numberOfOfferorsPerThread));
+			}
+
+			measureThroughput(name + ": re-offer in market", numberOfThreads,
+					numberOfOfferorsPerThread * GoodType.values().length, new ConcurrentRound() {
+						@Override
+						public void run(final int threadIndex) {
+							int id = threadIndex * 1000000;
+							for (final MarketParticipant offeror : offerorsOfThreads.get(threadIndex)) {
+								for (final GoodType goodType : GoodType.values()) {
+									marketOrderDAO.deleteAllSellingOrders(offeror, Currency.EURO, goodType);
+									marketOrderDAO.save(newMarketOrder(id++, offeror, goodType));
+									marketOrderDAO.getAmountSum(Currency.EURO, goodType);
+								}
+							}
+						}
+					});
+		}
+	}
+
+	protected MarketOrderImpl newMarketOrder(final int id, final MarketParticipant offeror,
+			final GoodType goodType) {
+		final MarketOrderImpl marketOrder = new MarketOrderImpl();
+		marketOrder.setId(id);
+		marketOrder.setOfferor(offeror);
+		marketOrder.setCurrency(Currency.EURO);
+		marketOrder.setGoodType(goodType);
+		marketOrder.setAmount(10.0);
+		marketOrder.setPricePerUnit(1.0 + (id % 100) / 10.0);
+		return marketOrder;
+	}
+
+	protected void run() throws IOException, InterruptedException {
+		ApplicationContextFactory.configureInMemoryApplicationContext("testing.configuration.properties");
+
+		final int maxNumberOfThreads = numbersOfThreads[numbersOfThreads.length - 1];
+
+		final List<MarketParticipant> offerors = new ArrayList<MarketParticipant>();
+		for (int i = 0; i < maxNumberOfThreads * numberOfOfferorsPerThread; i++) {
+			offerors.add(ApplicationContext.getInstance().getHouseholdFactory().newInstanceHousehold(Currency.EURO, 0));
+		}
+
+		System.out.println("available processors: " + Runtime.getRuntime().availableProcessors());
+
+		benchmark("MarketOrderBookDAOImpl", new MarketOrderBookDAOImpl(), offerors);
+		benchmark("ConcurrentMarketOrderBookDAOImpl", new ConcurrentMarketOrderBookDAOImpl(), offerors);
+
+		ApplicationContext.getInstance().reset();
+	}
+}
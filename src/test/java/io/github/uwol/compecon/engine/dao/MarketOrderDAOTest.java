@@ -0,0 +1,404 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+import io.github.uwol.compecon.economy.markets.MarketParticipant;
+import io.github.uwol.compecon.economy.markets.impl.MarketOrderImpl;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.inmemory.impl.ConcurrentMarketOrderBookDAOImpl;
+import io.github.uwol.compecon.engine.dao.inmemory.impl.MarketOrderBookDAOImpl;
+import io.github.uwol.compecon.engine.dao.inmemory.impl.MarketOrderDAOImpl;
+import io.github.uwol.compecon.engine.dao.inmemory.impl.MarketOrderOfferorIndex;
+
+/**
+ * Checks equivalence of the market order DAO implementations against the
+ * reference implementation {@link MarketOrderDAOImpl}, and consistency of the
+ * concurrent implementation under contention.
+ */
+public class MarketOrderDAOTest extends CompEconTestSupport {
+
+	protected void assertEquivalent(final MarketOrderDAO referenceDAO, final MarketOrderDAO dao) {
+		for (final Currency currency : Currency.values()) {
+			for (final GoodType goodType : GoodType.values()) {
+				assertEquals(referenceDAO.findMarginalPrice(currency, goodType),
+						dao.findMarginalPrice(currency, goodType), 0.0);
+				assertEquals(referenceDAO.getAmountSum(currency, goodType), dao.getAmountSum(currency, goodType),
+						epsilon);
+				assertEquivalent(referenceDAO.getIterator(currency, goodType), dao.getIterator(currency, goodType));
+				assertEquivalent(referenceDAO.getIteratorThreadsafe(currency, goodType),
+						dao.getIteratorThreadsafe(currency, goodType));
+			}
+
+			for (final Currency commodityCurrency : Currency.values()) {
+				assertEquals(referenceDAO.findMarginalPrice(currency, commodityCurrency),
+						dao.findMarginalPrice(currency, commodityCurrency), 0.0);
+				assertEquals(referenceDAO.getAmountSum(currency, commodityCurrency),
+						dao.getAmountSum(currency, commodityCurrency), epsilon);
+				assertEquivalent(referenceDAO.getIterator(currency, commodityCurrency),
+						dao.getIterator(currency, commodityCurrency));
+			}
+		}
+
+		assertEquals(referenceDAO.findAll().size(), dao.findAll().size());
+	}
+
+	protected void assertEquivalent(final Iterator<MarketOrder> referenceIterator,
+			final Iterator<MarketOrder> iterator) {
+		while (referenceIterator.hasNext()) {
+			final MarketOrder referenceMarketOrder = referenceIterator.next();
+			final MarketOrder marketOrder = iterator.next();
+
+			assertEquals(referenceMarketOrder.getId(), marketOrder.getId());
+			assertEquals(referenceMarketOrder.getPricePerUnit(), marketOrder.getPricePerUnit(), 0.0);
+			assertEquals(referenceMarketOrder.getAmount(), marketOrder.getAmount(), 0.0);
+		}
+		assertFalse(iterator.hasNext());
+	}
+
+	/**
+	 * applies identical random operations to the DAO and the reference DAO and
+	 * checks equivalence of both in between
+	 */
+	protected void assertEquivalentUnderRandomOperations(final MarketOrderDAO dao) {
+		final MarketOrderDAO referenceDAO = new MarketOrderDAOImpl();
+
+		final List<MarketParticipant> offerors = new ArrayList<MarketParticipant>(
+				ApplicationContext.getInstance().getHouseholdDAO().findAll());
+		offerors.addAll(ApplicationContext.getInstance().getFactoryDAO().findAll());
+
+		// market orders in identical order for both DAOs
+		final List<MarketOrder> referenceMarketOrders = new ArrayList<MarketOrder>();
+		final List<MarketOrder> marketOrders = new ArrayList<MarketOrder>();
+
+		final Random random = new Random(0);
+		int id = 0;
+
+		for (int i = 0; i < 5000; i++) {
+			final int action = random.nextInt(10);
+
+			if (action < 5 || referenceMarketOrders.isEmpty()) {
+				// place order; coarse prices lead to shared price levels
+				final MarketParticipant offeror = offerors.get(random.nextInt(offerors.size()));
+				final Currency currency = Currency.values()[random.nextInt(Currency.values().length)];
+				final double amount = 1 + random.nextInt(20);
+				final double pricePerUnit = (1 + random.nextInt(40)) / 4.0;
+
+				final GoodType goodType;
+				final Currency commodityCurrency;
+				if (random.nextInt(4) == 0) {
+					goodType = null;
+					commodityCurrency = Currency.values()[random.nextInt(Currency.values().length)];
+				} else {
+					goodType = GoodType.values()[random.nextInt(GoodType.values().length)];
+					commodityCurrency = null;
+				}
+
+				final MarketOrder referenceMarketOrder = newMarketOrder(id, offeror, currency, goodType,
+						commodityCurrency, amount, pricePerUnit);
+				final MarketOrder marketOrder = newMarketOrder(id, offeror, currency, goodType, commodityCurrency,
+						amount, pricePerUnit);
+				id++;
+
+				referenceDAO.save(referenceMarketOrder);
+				dao.save(marketOrder);
+				referenceMarketOrders.add(referenceMarketOrder);
+				marketOrders.add(marketOrder);
+			} else if (action < 7) {
+				// partial settlement
+				final int index = random.nextInt(referenceMarketOrders.size());
+				final double amount = referenceMarketOrders.get(index).getAmount() * random.nextDouble();
+
+				referenceDAO.decrementAmount(referenceMarketOrders.get(index), amount);
+				dao.decrementAmount(marketOrders.get(index), amount);
+			} else if (action < 9) {
+				// complete settlement
+				final int index = random.nextInt(referenceMarketOrders.size());
+
+				referenceDAO.delete(referenceMarketOrders.remove(index));
+				dao.delete(marketOrders.remove(index));
+			} else {
+				// offeror withdraws offers
+				final MarketParticipant offeror = offerors.get(random.nextInt(offerors.size()));
+				final Currency currency = Currency.values()[random.nextInt(Currency.values().length)];
+				final GoodType goodType = GoodType.values()[random.nextInt(GoodType.values().length)];
+				final Currency commodityCurrency = Currency.values()[random.nextInt(Currency.values().length)];
+
+				final int market = random.nextInt(3);
+				if (market == 0) {
+					referenceDAO.deleteAllSellingOrders(offeror, currency, goodType);
+					dao.deleteAllSellingOrders(offeror, currency, goodType);
+				} else if (market == 1) {
+					referenceDAO.deleteAllSellingOrders(offeror, currency, commodityCurrency);
+					dao.deleteAllSellingOrders(offeror, currency, commodityCurrency);
+				} else {
+					referenceDAO.deleteAllSellingOrders(offeror);
+					dao.deleteAllSellingOrders(offeror);
+				}
+
+				referenceMarketOrders.retainAll(referenceDAO.findAll());
+				marketOrders.retainAll(dao.findAll());
+			}
+
+			assertEquals(referenceMarketOrders.size(), marketOrders.size());
+
+			if (i % 100 == 0) {
+				assertEquivalent(referenceDAO, dao);
+			}
+		}
+
+		assertEquivalent(referenceDAO, dao);
+	}
+
+	protected MarketOrderImpl newMarketOrder(final int id, final MarketParticipant offeror, final Currency currency,
+			final GoodType goodType, final Currency commodityCurrency, final double amount,
+			final double pricePerUnit) {
+		final MarketOrderImpl marketOrder = new MarketOrderImpl();
+		marketOrder.setId(id);
+		marketOrder.setOfferor(offeror);
+		marketOrder.setCurrency(currency);
+		marketOrder.setGoodType(goodType);
+		marketOrder.setCommodityCurrency(commodityCurrency);
+		marketOrder.setAmount(amount);
+		marketOrder.setPricePerUnit(pricePerUnit);
+		return marketOrder;
+	}
+
+	/**
+	 * places, settles and withdraws market orders of the given offerors
+	 */
+	protected void performRandomOperations(final MarketOrderDAO dao, final List<MarketParticipant> offerors,
+			final long seed, final int firstId, final int numberOfOperations) {
+		final List<MarketOrder> marketOrders = new ArrayList<MarketOrder>();
+		final Random random = new Random(seed);
+		int id = firstId;
+
+		for (int i = 0; i < numberOfOperations; i++) {
+			final int action = random.nextInt(10);
+
+			if (action < 5 || marketOrders.isEmpty()) {
+				final MarketParticipant offeror = offerors.get(random.nextInt(offerors.size()));
+				final Currency currency = Currency.values()[random.nextInt(Currency.values().length)];
+				final GoodType goodType = GoodType.values()[random.nextInt(GoodType.values().length)];
+				final MarketOrder marketOrder = newMarketOrder(id++, offeror, currency, goodType, null,
+						1 + random.nextInt(20), (1 + random.nextInt(40)) / 4.0);
+
+				dao.save(marketOrder);
+				marketOrders.add(marketOrder);
+			} else if (action < 7) {
+				final MarketOrder marketOrder = marketOrders.get(random.nextInt(marketOrders.size()));
+				dao.decrementAmount(marketOrder, marketOrder.getAmount() * random.nextDouble());
+			} else if (action < 9) {
+				dao.delete(marketOrders.remove(random.nextInt(marketOrders.size())));
+			} else {
+				final MarketParticipant offeror = offerors.get(random.nextInt(offerors.size()));
+				final Currency currency = Currency.values()[random.nextInt(Currency.values().length)];
+				final GoodType goodType = GoodType.values()[random.nextInt(GoodType.values().length)];
+
+				dao.deleteAllSellingOrders(offeror, currency, goodType);
+
+				final Iterator<MarketOrder> iterator = marketOrders.iterator();
+				while (iterator.hasNext()) {
+					final MarketOrder marketOrder = iterator.next();
+					if (marketOrder.getOfferor() == offeror && marketOrder.getCurrency() == currency
+							&& marketOrder.getGoodType() == goodType) {
+						iterator.remove();
+					}
+				}
+			}
+		}
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testMarketOrderBookDAOCacheCounters() {
+		final MarketOrderBookDAOImpl dao = new MarketOrderBookDAOImpl();
+		final MarketParticipant offeror = ApplicationContext.getInstance().getHouseholdDAO().findAll().get(0);
+
+		final MarketOrder marketOrder1 = newMarketOrder(0, offeror, Currency.EURO, GoodType.WHEAT, null, 10, 2.0);
+		final MarketOrder marketOrder2 = newMarketOrder(1, offeror, Currency.EURO, GoodType.WHEAT, null, 5, 1.0);
+
+		dao.save(marketOrder1);
+		dao.save(marketOrder2);
+		assertEquals(2, dao.getNumberOfCacheUpdates());
+		assertEquals(0, dao.getNumberOfCacheHits());
+
+		// reads of the marginal price are not counted
+		assertEquals(1.0, dao.findMarginalPrice(Currency.EURO, GoodType.WHEAT), 0.0);
+		assertEquals(15.0, dao.getAmountSum(Currency.EURO, GoodType.WHEAT), epsilon);
+		assertEquals(1, dao.getNumberOfCacheHits());
+
+		dao.decrementAmount(marketOrder2, 3);
+		assertEquals(12.0, dao.getAmountSum(Currency.EURO, GoodType.WHEAT), epsilon);
+
+		dao.delete(marketOrder2);
+		assertEquals(2.0, dao.findMarginalPrice(Currency.EURO, GoodType.WHEAT), 0.0);
+		assertEquals(10.0, dao.getAmountSum(Currency.EURO, GoodType.WHEAT), epsilon);
+
+		// the market depth is maintained incrementally and never recomputed
+		assertEquals(4, dao.getNumberOfCacheUpdates());
+		assertEquals(3, dao.getNumberOfCacheHits());
+		assertEquals(0, dao.getNumberOfCacheMisses());
+	}
+
+	@Test
+	public void testConcurrentMarketOrderBookDAOEquivalence() {
+		assertEquivalentUnderRandomOperations(new ConcurrentMarketOrderBookDAOImpl());
+	}
+
+	@Test
+	public void testConcurrentMarketOrderBookDAOUnderContention() throws InterruptedException {
+		final MarketOrderDAO referenceDAO = new MarketOrderDAOImpl();
+		final MarketOrderDAO dao = new ConcurrentMarketOrderBookDAOImpl();
+
+		final List<MarketParticipant> offerors = new ArrayList<MarketParticipant>(
+				ApplicationContext.getInstance().getHouseholdDAO().findAll());
+		offerors.addAll(ApplicationContext.getInstance().getFactoryDAO().findAll());
+
+		// each thread operates on its own offerors in shared markets, so that the
+		// final state does not depend on the interleaving of the threads
+		final int numberOfThreads = 4;
+		final List<List<MarketParticipant>> offerorsOfThreads = new ArrayList<List<MarketParticipant>>();
+		for (int t = 0; t < numberOfThreads; t++) {
+			offerorsOfThreads.add(new ArrayList<MarketParticipant>());
+		}
+		for (int i = 0; i < offerors.size(); i++) {
+			offerorsOfThreads.get(i % numberOfThreads).add(offerors.get(i));
+		}
+
+		final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+		final List<Thread> threads = new ArrayList<Thread>();
+
+		for (int t = 0; t < numberOfThreads; t++) {
+			final int threadIndex = t;
+			final Thread thread = new Thread() {
+				@Override
+				public void run() {
+					try {
+						performRandomOperations(dao, offerorsOfThreads.get(threadIndex), threadIndex,
+								threadIndex * 1000000, 20000);
+					} catch (final Throwable e) {
+						failures.add(e);
+					}
+				}
+			};
+			threads.add(thread);
+			thread.start();
+		}
+
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+
+		assertTrue(failures.toString(), failures.isEmpty());
+
+		for (int t = 0; t < numberOfThreads; t++) {
+			performRandomOperations(referenceDAO, offerorsOfThreads.get(t), t, t * 1000000, 20000);
+		}
+
+		assertEquivalent(referenceDAO, dao);
+
+		// withdrawal of all offers empties the markets
+		for (final MarketParticipant offeror : offerors) {
+			dao.deleteAllSellingOrders(offeror);
+		}
+
+		assertEquals(0, dao.findAll().size());
+		for (final Currency currency : Currency.values()) {
+			for (final GoodType goodType : GoodType.values()) {
+				assertEquals(0.0, dao.getAmountSum(currency, goodType), 0.0);
+				assertFalse(dao.getIterator(currency, goodType).hasNext());
+			}
+		}
+	}
+
+	@Test
+	public void testMarketOrderBookDAOEquivalence() {
+		assertEquivalentUnderRandomOperations(new MarketOrderBookDAOImpl());
+	}
+
+	@Test
+	public void testMarketOrderDAOCacheCounters() {
+		final MarketOrderDAO dao = new MarketOrderDAOImpl();
+		final MarketParticipant offeror = ApplicationContext.getInstance().getHouseholdDAO().findAll().get(0);
+
+		dao.save(newMarketOrder(0, offeror, Currency.EURO, GoodType.WHEAT, null, 10, 2.0));
+
+		assertEquals(2.0, dao.findMarginalPrice(Currency.EURO, GoodType.WHEAT), 0.0);
+		assertEquals(10.0, dao.getAmountSum(Currency.EURO, GoodType.WHEAT), epsilon);
+
+		// the sorted sets traverse the market orders on each read of the depth
+		assertEquals(0, dao.getNumberOfCacheHits());
+		assertEquals(1, dao.getNumberOfCacheMisses());
+		assertEquals(0, dao.getNumberOfCacheUpdates());
+	}
+
+	@Test
+	public void testMarketOrderOfferorIndexDropsEmptyMarkets() {
+		final MarketOrderOfferorIndex index = new MarketOrderOfferorIndex();
+		final MarketParticipant offeror = ApplicationContext.getInstance().getHouseholdDAO().findAll().get(0);
+
+		final MarketOrder marketOrder1 = newMarketOrder(0, offeror, Currency.EURO, GoodType.WHEAT, null, 10, 2.0);
+		final MarketOrder marketOrder2 = newMarketOrder(1, offeror, Currency.EURO, GoodType.WHEAT, null, 5, 1.0);
+		final MarketOrder marketOrder3 = newMarketOrder(2, offeror, Currency.EURO, GoodType.COAL, null, 5, 1.0);
+
+		index.add(marketOrder1);
+		index.add(marketOrder2);
+		index.add(marketOrder3);
+
+		index.remove(marketOrder1);
+		assertEquals(1, index.removeAll(offeror, Currency.EURO, GoodType.WHEAT).size());
+		assertNull(index.removeAll(offeror, Currency.EURO, GoodType.WHEAT));
+
+		// the offeror is dropped with its last market order
+		index.remove(marketOrder3);
+		assertNull(index.removeAll(offeror));
+	}
+}
@@ -0,0 +1,116 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.log;
+
+import java.io.IOException;
+
+import io.github.uwol.compecon.CompEconBenchmarkSupport;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.financial.impl.BankAccountImpl;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.economy.sectors.household.impl.HouseholdImpl.DailyLifeEvent;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.statistics.AgentDetailModel;
+
+/**
+ * Measures the overhead of the log per transfer and per log message, without
+ * an agent selected by the client, with an uninvolved agent selected and with
+ * the sending agent selected.
+ */
+public class LogBenchmark extends CompEconBenchmarkSupport {
+
+	public static void main(final String[] args) throws IOException, InterruptedException {
+		new LogBenchmark().run();
+	}
+
+	protected final int numberOfOperations = 100000;
+
+	protected void benchmark(final String name, final BankAccountImpl from, final BankAccountImpl to) {
+		final Log log = ApplicationContext.getInstance().getLog();
+		final Household household = (Household) from.getOwner();
+
+		measure(name + ": transfer", numberOfOperations, new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < numberOfOperations; i++) {
+					log.bank_onTransfer(from, to, Currency.EURO, 1.0, "benchmark");
+				}
+			}
+		});
+
+		measure(name + ": log message", numberOfOperations, new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < numberOfOperations; i++) {
+					log.log(household, DailyLifeEvent.class, "saving %s %s", 1.0, Currency.EURO);
+				}
+			}
+		});
+	}
+
+	protected BankAccountImpl newBankAccount(final Household owner) {
+		final BankAccountImpl bankAccount = new BankAccountImpl();
+		bankAccount.setCurrency(Currency.EURO);
+		bankAccount.setOwner(owner);
+		ApplicationContext.getInstance().getBankAccountDAO().save(bankAccount);
+		return bankAccount;
+	}
+
+	protected void run() throws IOException, InterruptedException {
+		ApplicationContextFactory.configureInMemoryApplicationContext("testing.configuration.properties");
+
+		final Household sender = ApplicationContext.getInstance().getHouseholdFactory()
+				.newInstanceHousehold(Currency.EURO, 0);
+		final Household receiver = ApplicationContext.getInstance().getHouseholdFactory()
+				.newInstanceHousehold(Currency.EURO, 0);
+		final Household uninvolved = ApplicationContext.getInstance().getHouseholdFactory()
+				.newInstanceHousehold(Currency.EURO, 0);
+
+		final BankAccountImpl from = newBankAccount(sender);
+		final BankAccountImpl to = newBankAccount(receiver);
+
+		final Log log = ApplicationContext.getInstance().getLog();
+
+		benchmark("no agent selected", from, to);
+
+		measureThroughput("no agent selected: concurrent log message", 4, numberOfOperations,
+				new ConcurrentRound() {
+					@Override
+					public void run(final int threadIndex) {
+						for (int i = 0; i < numberOfOperations; i++) {
+							log.log(sender, DailyLifeEvent.class, "saving %s %s", 1.0, Currency.EURO);
+						}
+					}
+				});
+
+		final AgentDetailModel agentDetailModel = ApplicationContext.getInstance().getModelRegistry()
+				.getAgentDetailModel();
+
+		agentDetailModel.setCurrentAgent(agentDetailModel.getAgents().indexOf(uninvolved));
+		benchmark("uninvolved agent selected", from, to);
+
+		agentDetailModel.setCurrentAgent(agentDetailModel.getAgents().indexOf(sender));
+		benchmark("sender selected", from, to);
+
+		log.setAgentSelectedByClient(null);
+		ApplicationContext.getInstance().reset();
+	}
+}
@@ -0,0 +1,132 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.runner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.runner.impl.HeadlessSimulationRunnerImpl;
+import io.github.uwol.compecon.engine.runner.impl.SimulationRunnerImpl;
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
+
+public class HeadlessSimulationRunnerImplTest extends CompEconTestSupport {
+
+	protected Date getEndDate() {
+		final GregorianCalendar endDate = new GregorianCalendar(TimeSystemImpl.TIME_ZONE);
+		endDate.clear();
+		endDate.set(ApplicationContext.getInstance().getTimeSystem().getStartYear(), GregorianCalendar.JANUARY, 3, 5,
+				30);
+		return endDate.getTime();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		ApplicationContext.getInstance().reset();
+	}
+
+	/**
+	 * pausing and stepping are invoked by the dashboard and must not affect a run
+	 */
+	@Test
+	public void testPauseAndStepAreIgnored() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		final HeadlessSimulationRunnerImpl simulationRunner = new HeadlessSimulationRunnerImpl();
+
+		simulationRunner.setPaused(true);
+		simulationRunner.stepSingleHour();
+		simulationRunner.stepSingleDay();
+		simulationRunner.run(getEndDate());
+
+		assertEquals(2 * 24 + 6, ApplicationContext.getInstance().getTimeSystem().getCurrentTick());
+		super.tearDown();
+	}
+
+	/**
+	 * a stop before a run has to end that run, a subsequent run has to proceed
+	 * until its end date
+	 */
+	@Test
+	public void testRunAfterStop() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		final HeadlessSimulationRunnerImpl simulationRunner = new HeadlessSimulationRunnerImpl();
+
+		simulationRunner.stop();
+		simulationRunner.run(getEndDate());
+
+		assertEquals(0, simulationRunner.getNumberOfSimulatedHours());
+		assertEquals(0, ApplicationContext.getInstance().getTimeSystem().getCurrentTick());
+
+		simulationRunner.run(getEndDate());
+
+		assertEquals(2 * 24 + 6, ApplicationContext.getInstance().getTimeSystem().getCurrentTick());
+		super.tearDown();
+	}
+
+	/**
+	 * the headless runner has to stop at the same hour as the dashboard runner
+	 */
+	@Test
+	public void testRunUntilEndDate() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		new SimulationRunnerImpl().run(getEndDate());
+		final int expectedTick = ApplicationContext.getInstance().getTimeSystem().getCurrentTick();
+		super.tearDown();
+
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		final HeadlessSimulationRunnerImpl simulationRunner = new HeadlessSimulationRunnerImpl();
+		simulationRunner.run(getEndDate());
+
+		assertEquals(2 * 24 + 6, expectedTick);
+		assertEquals(expectedTick, ApplicationContext.getInstance().getTimeSystem().getCurrentTick());
+		assertEquals(expectedTick, simulationRunner.getNumberOfSimulatedHours());
+		super.tearDown();
+	}
+
+	@Test
+	public void testStopFromOtherThread() throws IOException, InterruptedException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		final HeadlessSimulationRunnerImpl simulationRunner = new HeadlessSimulationRunnerImpl();
+
+		final Thread thread = new Thread() {
+			@Override
+			public void run() {
+				simulationRunner.run();
+			}
+		};
+		thread.start();
+
+		Thread.sleep(100);
+		simulationRunner.stop();
+		thread.join(10000);
+
+		assertFalse(thread.isAlive());
+		super.tearDown();
+	}
+}
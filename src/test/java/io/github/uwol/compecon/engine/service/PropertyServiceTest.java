@@ -129,6 +129,41 @@ public class PropertyServiceTest extends CompEconTestSupport {
 				.get(GoodType.MACHINE), epsilon);
 	}
 
+	@Test
+	public void testGoodTypeBalancesByOrdinal() {
+		final Currency currency = Currency.EURO;
+
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+		final Household household2_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(1);
+
+		final double[] balances1 = ApplicationContext.getInstance().getPropertyService()
+				.getGoodTypeBalancesByOrdinal(household1_EUR);
+		final double[] balances2 = ApplicationContext.getInstance().getPropertyService()
+				.getGoodTypeBalancesByOrdinal(household2_EUR);
+
+		assertEquals(GoodType.values().length, balances1.length);
+
+		// the array is live and reflects increments and transfers without copying
+		ApplicationContext.getInstance().getPropertyService().incrementGoodTypeAmount(household1_EUR, GoodType.IRON,
+				1.1);
+		ApplicationContext.getInstance().getPropertyService().transferGoodTypeAmount(GoodType.IRON, household1_EUR,
+				household2_EUR, 1.0);
+
+		assertEquals(0.1, balances1[GoodType.IRON.ordinal()], epsilon);
+		assertEquals(1.0, balances2[GoodType.IRON.ordinal()], epsilon);
+		assertTrue(balances1 == ApplicationContext.getInstance().getPropertyService()
+				.getGoodTypeBalancesByOrdinal(household1_EUR));
+
+		// the map view is a copy
+		assertEquals(0.1, ApplicationContext.getInstance().getPropertyService().getGoodTypeBalances(household1_EUR)
+				.get(GoodType.IRON), epsilon);
+		ApplicationContext.getInstance().getPropertyService().getGoodTypeBalances(household1_EUR).put(GoodType.IRON,
+				5.0);
+		assertEquals(0.1, balances1[GoodType.IRON.ordinal()], epsilon);
+	}
+
 	@Test
 	public void testIncrementAndDecrementGoodType() {
 		final Currency currency = Currency.EURO;
@@ -0,0 +1,98 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.service;
+
+import java.io.IOException;
+
+import io.github.uwol.compecon.CompEconBenchmarkSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.economy.sectors.industry.Factory;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+
+/**
+ * Measures duration and allocation of settlements of the settlement market
+ * service, i. e. of buying goods from selling offers in the order book.
+ */
+public class SettlementMarketServiceBenchmark extends CompEconBenchmarkSupport {
+
+	public static void main(final String[] args) throws IOException {
+		new SettlementMarketServiceBenchmark().run();
+	}
+
+	protected final int numberOfBuysPerRound = 1000;
+
+	protected final int numberOfOffersPerBuy = 10;
+
+	protected void run() throws IOException {
+		ApplicationContextFactory.configureInMemoryApplicationContext("testing.configuration.properties");
+
+		final Currency currency = Currency.EURO;
+		ApplicationContext.getInstance().getAgentService().findCentralBank(currency);
+		ApplicationContext.getInstance().getCreditBankFactory().newInstanceCreditBank(currency);
+
+		final Factory factory = ApplicationContext.getInstance().getFactoryFactory()
+				.newInstanceFactory(GoodType.WHEAT, currency);
+		final Household household = ApplicationContext.getInstance().getHouseholdFactory()
+				.newInstanceHousehold(currency, 0);
+
+		ApplicationContext.getInstance().getPropertyService().incrementGoodTypeAmount(factory, GoodType.WHEAT,
+				Double.MAX_VALUE / 2.0);
+
+		// offers that are not exhausted, so that each buy is settled with one order
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(GoodType.WHEAT, factory,
+				factory.getBankAccountTransactionsDelegate(), 1000000000.0, 1.0);
+
+		measure("buy settled with one order", numberOfBuysPerRound, new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < numberOfBuysPerRound; i++) {
+					ApplicationContext.getInstance().getMarketService().buy(GoodType.WHEAT, 1.0, Double.NaN, 2.0,
+							household, household.getBankAccountTransactionsDelegate());
+				}
+			}
+		});
+
+		ApplicationContext.getInstance().getMarketService().removeAllSellingOffers(factory);
+
+		// offers of single units, so that each buy is settled with several orders
+		measure("buy settled with " + numberOfOffersPerBuy + " orders (incl. offering)", numberOfBuysPerRound,
+				new Runnable() {
+					@Override
+					public void run() {
+						for (int i = 0; i < numberOfBuysPerRound; i++) {
+							for (int j = 0; j < numberOfOffersPerBuy; j++) {
+								ApplicationContext.getInstance().getMarketService().placeSellingOffer(
+										GoodType.WHEAT, factory, factory.getBankAccountTransactionsDelegate(), 1.0,
+										1.0 + j / 100.0);
+							}
+							ApplicationContext.getInstance().getMarketService().buy(GoodType.WHEAT,
+									numberOfOffersPerBuy, Double.NaN, 2.0, household,
+									household.getBankAccountTransactionsDelegate());
+						}
+					}
+				});
+
+		ApplicationContext.getInstance().getAgentFactory().deconstructAgents();
+		ApplicationContext.getInstance().reset();
+	}
+}
@@ -0,0 +1,178 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+import io.github.uwol.compecon.economy.markets.impl.MarketOrderImpl;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.dao.inmemory.impl.MarketOrderBookDAOImpl;
+import io.github.uwol.compecon.engine.snapshot.impl.SnapshotReader;
+import io.github.uwol.compecon.engine.snapshot.impl.SnapshotWriter;
+
+public class SnapshotTest extends CompEconTestSupport {
+
+	protected File file;
+
+	protected Map<Integer, Double> getBalances() {
+		final Map<Integer, Double> balances = new HashMap<Integer, Double>();
+		for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO().findAll()) {
+			balances.put(bankAccount.getId(), bankAccount.getBalance());
+		}
+		return balances;
+	}
+
+	protected List<Double> getMarginalMarketPrices() {
+		final List<Double> marginalMarketPrices = new ArrayList<Double>();
+		for (final Currency currency : Currency.values()) {
+			for (final GoodType goodType : GoodType.values()) {
+				marginalMarketPrices.add(
+						ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(currency, goodType));
+			}
+		}
+		return marginalMarketPrices;
+	}
+
+	protected void nextDays(final int numberOfDays) {
+		for (int hour = 0; hour < numberOfDays * 24; hour++) {
+			ApplicationContext.getInstance().getTimeSystem().nextHour();
+		}
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+
+		file = File.createTempFile("compecon", ".snapshot");
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		ApplicationContext.setInstanceForCurrentThread(null);
+		super.tearDown();
+
+		file.delete();
+	}
+
+	/**
+	 * the offeror index of the market order DAO is keyed by identity hash codes,
+	 * which change on restore
+	 */
+	@Test
+	public void testMarketOrderDAOOfferorIndexIsRestored() throws IOException {
+		final MarketOrderBookDAOImpl marketOrderDAO = new MarketOrderBookDAOImpl();
+
+		for (final Household household : ApplicationContext.getInstance().getHouseholdDAO().findAll()) {
+			final MarketOrderImpl marketOrder = new MarketOrderImpl();
+			marketOrder.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
+			marketOrder.setOfferor(household);
+			marketOrder.setCurrency(Currency.EURO);
+			marketOrder.setGoodType(GoodType.WHEAT);
+			marketOrder.setAmount(10.0);
+			marketOrder.setPricePerUnit(1.0);
+			marketOrderDAO.save(marketOrder);
+		}
+
+		new SnapshotWriter().write(marketOrderDAO, file);
+		final MarketOrderBookDAOImpl restoredMarketOrderDAO = (MarketOrderBookDAOImpl) new SnapshotReader().read(file);
+
+		assertNotSame(marketOrderDAO, restoredMarketOrderDAO);
+		assertEquals(marketOrderDAO.getAmountSum(Currency.EURO, GoodType.WHEAT),
+				restoredMarketOrderDAO.getAmountSum(Currency.EURO, GoodType.WHEAT), epsilon);
+
+		// market orders of restored offerors have to be found in the offeror index
+		final List<MarketOrder> restoredMarketOrders = restoredMarketOrderDAO.findAll();
+		for (final MarketOrder restoredMarketOrder : restoredMarketOrders) {
+			restoredMarketOrderDAO.deleteAllSellingOrders(restoredMarketOrder.getOfferor(), Currency.EURO,
+					GoodType.WHEAT);
+		}
+
+		assertEquals(0, restoredMarketOrderDAO.findAll().size());
+		assertEquals(0.0, restoredMarketOrderDAO.getAmountSum(Currency.EURO, GoodType.WHEAT), epsilon);
+	}
+
+	/**
+	 * a restored application context has to be in the state of the snapshot and
+	 * independent of the original application context
+	 */
+	@Test
+	public void testRestoredApplicationContextContinuesSimulation() throws IOException {
+		nextDays(5);
+
+		ApplicationContextFactory.writeSnapshot(file);
+
+		final Map<Integer, Double> balances = getBalances();
+		final List<Double> marginalMarketPrices = getMarginalMarketPrices();
+		final Date currentDate = ApplicationContext.getInstance().getTimeSystem().getCurrentDate();
+		final int numberOfHouseholds = ApplicationContext.getInstance().getHouseholdDAO().findAll().size();
+		final double moneySupplyM0 = ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(Currency.EURO).moneySupplyM0Model.getValue();
+		final int numberOfTimeSeriesItems = ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(Currency.EURO).moneySupplyM0Model.getTimeSeries().getItemCount();
+
+		final ApplicationContext restoredApplicationContext = ApplicationContextFactory.readSnapshot(file);
+		assertNotSame(ApplicationContext.getInstance(), restoredApplicationContext);
+
+		ApplicationContext.setInstanceForCurrentThread(restoredApplicationContext);
+
+		assertEquals(balances, getBalances());
+		assertEquals(marginalMarketPrices, getMarginalMarketPrices());
+		assertEquals(currentDate, ApplicationContext.getInstance().getTimeSystem().getCurrentDate());
+		assertEquals(numberOfHouseholds, ApplicationContext.getInstance().getHouseholdDAO().findAll().size());
+		assertEquals(moneySupplyM0, ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(Currency.EURO).moneySupplyM0Model.getValue(), 0.0);
+		assertEquals(numberOfTimeSeriesItems, ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(Currency.EURO).moneySupplyM0Model.getTimeSeries().getItemCount());
+
+		final int restoredRandomNumber = ApplicationContext.getInstance().getRandomNumberGenerator().nextInt(1000000);
+
+		// the fork continues independently of the original simulation
+		nextDays(2);
+
+		ApplicationContext.setInstanceForCurrentThread(null);
+
+		assertEquals(restoredRandomNumber,
+				ApplicationContext.getInstance().getRandomNumberGenerator().nextInt(1000000));
+		assertEquals(currentDate, ApplicationContext.getInstance().getTimeSystem().getCurrentDate());
+		assertEquals(balances, getBalances());
+	}
+}
@@ -0,0 +1,153 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.economy.sectors.industry.Factory;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.AgentDetailModel.AgentLog;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
+
+public class AgentDetailModelTest extends CompEconTestSupport {
+
+	protected AgentDetailModel agentDetailModel;
+
+	protected Household household;
+
+	@Before
+	public void setUp() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+
+		agentDetailModel = ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel();
+		household = ApplicationContext.getInstance().getHouseholdDAO().findAllByCurrency(Currency.EURO).get(0);
+		agentDetailModel.setCurrentAgent(agentDetailModel.getAgents().indexOf(household));
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		ApplicationContext.getInstance().getLog().setAgentSelectedByClient(null);
+
+		super.tearDown();
+	}
+
+	@Test
+	public void testAgentLogKeepsMostRecentRows() {
+		final AgentLog agentLog = agentDetailModel.getCurrentLog();
+		final int rowsToLog = agentLog.ROWS_TO_STORE + 50;
+
+		ApplicationContext.getInstance().getTimeSystem().nextHour();
+		final DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+		dateFormat.setTimeZone(TimeSystemImpl.TIME_ZONE);
+		final String currentDate = dateFormat.format(ApplicationContext.getInstance().getTimeSystem().getCurrentDate());
+
+		for (int i = 0; i < rowsToLog; i++) {
+			ApplicationContext.getInstance().getLog().log(household, "message %s", i);
+		}
+
+		assertEquals(agentLog.ROWS_TO_STORE, agentLog.size());
+		assertTrue(agentLog.getRow(agentLog.ROWS_TO_STORE - 1).endsWith("message " + (rowsToLog - 1)));
+
+		// the oldest rows have been overwritten
+		final String oldestRow = agentLog.getRow(0);
+		assertTrue(oldestRow.endsWith("message " + (rowsToLog - agentLog.ROWS_TO_STORE)));
+		assertTrue(oldestRow.startsWith(currentDate));
+
+		assertNull(agentLog.getRow(agentLog.ROWS_TO_STORE));
+	}
+
+	/**
+	 * a row has to show the bank account of a transfer as it was at the time of
+	 * logging, even if the balance changes before the row is rendered
+	 */
+	@Test
+	public void testAgentLogRendersArgumentsAsLogged() {
+		final Household otherHousehold = ApplicationContext.getInstance().getHouseholdDAO()
+				.findAllByCurrency(Currency.EURO).get(1);
+		final Factory factory = ApplicationContext.getInstance().getFactoryDAO().findAllByCurrency(Currency.EURO)
+				.get(0);
+		final BankAccount bankAccount = household.getBankAccountTransactionsDelegate().getBankAccount();
+		final BankAccount otherBankAccount = otherHousehold.getBankAccountTransactionsDelegate().getBankAccount();
+		final BankAccount thirdBankAccount = factory.getBankAccountTransactionsDelegate().getBankAccount();
+
+		// select the household again, as its bank account has been opened lazily
+		agentDetailModel.setCurrentAgent(agentDetailModel.getAgents().indexOf(household));
+
+		// the transfer is logged before the balances are changed
+		final String otherBankAccountAsLogged = otherBankAccount.toString();
+		otherBankAccount.getManagingBank().transferMoney(otherBankAccount, bankAccount, 10.0, "transfer");
+
+		// change the balance of the other bank account without logging
+		otherBankAccount.getManagingBank().transferMoney(otherBankAccount, thirdBankAccount, 5.0, "transfer");
+		assertNotEquals(otherBankAccountAsLogged, otherBankAccount.toString());
+
+		AgentLog bankAccountLog = null;
+		for (final AgentLog log : agentDetailModel.getLogsOfCurrentAgent()) {
+			if (log.getLogTitle().contains("[" + bankAccount.getId() + ",")) {
+				bankAccountLog = log;
+			}
+		}
+
+		assertEquals(1, bankAccountLog.size());
+		assertTrue(bankAccountLog.getRow(0).endsWith(otherBankAccountAsLogged + ": transfer"));
+	}
+
+	@Test
+	public void testListenersAreNotifiedOncePerHour() {
+		final int[] numberOfNotifications = { 0 };
+		agentDetailModel.registerListener(new ModelListener() {
+			@Override
+			public void notifyListener() {
+				numberOfNotifications[0]++;
+			}
+		});
+
+		for (int i = 0; i < 10; i++) {
+			ApplicationContext.getInstance().getLog().log(household, "message %s", i);
+		}
+
+		assertEquals(0, numberOfNotifications[0]);
+
+		agentDetailModel.nextHour();
+		assertEquals(1, numberOfNotifications[0]);
+
+		// no further notification without modifications
+		agentDetailModel.nextHour();
+		assertEquals(1, numberOfNotifications[0]);
+	}
+}
@@ -0,0 +1,275 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.sink;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+import org.jfree.data.time.Day;
+import org.jfree.data.time.RegularTimePeriod;
+import org.jfree.data.time.TimeSeries;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
+import io.github.uwol.compecon.engine.statistics.sink.impl.ColumnarMetricsSinkImpl;
+import io.github.uwol.compecon.engine.statistics.sink.impl.CsvMetricsSinkImpl;
+import io.github.uwol.compecon.engine.statistics.sink.impl.WeeklyMetricsSinkImpl;
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
+
+public class MetricsSinkTest extends CompEconTestSupport {
+
+	protected File file;
+
+	protected final int numberOfDays = 10;
+
+	protected void addColumns(final MetricsSink metricsSink) {
+		final NationalEconomyModel nationalEconomyModel = ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(Currency.EURO);
+
+		metricsSink.addColumn("M0", nationalEconomyModel.moneySupplyM0Model);
+		metricsSink.addColumn("money velocity", nationalEconomyModel.moneyVelocityModel);
+	}
+
+	protected Day getDay(final long date) {
+		return new Day(new Date(date), TimeSystemImpl.TIME_ZONE, Locale.getDefault());
+	}
+
+	protected List<TimeSeries> getTimeSeries() {
+		final NationalEconomyModel nationalEconomyModel = ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(Currency.EURO);
+
+		final List<TimeSeries> timeSeries = new ArrayList<TimeSeries>();
+		timeSeries.add(nationalEconomyModel.moneySupplyM0Model.getTimeSeries());
+		timeSeries.add(nationalEconomyModel.moneyVelocityModel.getTimeSeries());
+		return timeSeries;
+	}
+
+	protected void nextDays(final int numberOfDays) {
+		for (int hour = 0; hour < numberOfDays * 24; hour++) {
+			ApplicationContext.getInstance().getTimeSystem().nextHour();
+		}
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+
+		file = File.createTempFile("compecon", ".metrics");
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+
+		file.delete();
+	}
+
+	/**
+	 * the columnar output has to contain the values of the time series
+	 */
+	@Test
+	public void testColumnarMetricsSink() throws IOException {
+		// small batches, so that the output consists of several batches
+		final MetricsSink metricsSink = new ColumnarMetricsSinkImpl(file, true, 3);
+		addColumns(metricsSink);
+		ApplicationContext.getInstance().getModelRegistry().addMetricsSink(metricsSink);
+
+		nextDays(numberOfDays);
+		metricsSink.close();
+
+		final List<TimeSeries> timeSeries = getTimeSeries();
+		int numberOfPeriods = 0;
+
+		try (final DataInputStream inputStream = new DataInputStream(
+				new GZIPInputStream(new FileInputStream(file)))) {
+			assertEquals(ColumnarMetricsSinkImpl.MAGIC, inputStream.readInt());
+			assertEquals(ColumnarMetricsSinkImpl.VERSION, inputStream.readInt());
+			assertEquals(timeSeries.size(), inputStream.readInt());
+
+			for (int i = 0; i < timeSeries.size(); i++) {
+				inputStream.skipBytes(inputStream.readInt());
+			}
+
+			while (inputStream.available() > 0) {
+				final int numberOfPeriodsInBatch = inputStream.readInt();
+				final long[] periods = new long[numberOfPeriodsInBatch];
+				for (int j = 0; j < numberOfPeriodsInBatch; j++) {
+					periods[j] = inputStream.readLong();
+				}
+
+				for (int i = 0; i < timeSeries.size(); i++) {
+					for (int j = 0; j < numberOfPeriodsInBatch; j++) {
+						assertEquals(timeSeries.get(i).getValue(getDay(periods[j])).doubleValue(),
+								inputStream.readDouble(), 0.0);
+					}
+				}
+
+				numberOfPeriods += numberOfPeriodsInBatch;
+			}
+		}
+
+		assertEquals(numberOfDays, numberOfPeriods);
+	}
+
+	/**
+	 * money velocity of a period has to be the quotient of money circulation
+	 * and M1 of the same period, as before it was added in completePeriod
+	 */
+	@Test
+	public void testMoneyVelocityOfCompletedPeriod() {
+		nextDays(numberOfDays);
+
+		final NationalEconomyModel nationalEconomyModel = ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(Currency.EURO);
+		final TimeSeries moneyCirculationTimeSeries = nationalEconomyModel.moneyCirculationModel.getTimeSeries();
+		final TimeSeries moneySupplyM1TimeSeries = nationalEconomyModel.moneySupplyM1Model.getTimeSeries();
+		final TimeSeries moneyVelocityTimeSeries = nationalEconomyModel.moneyVelocityModel.getTimeSeries();
+
+		assertTrue(moneyVelocityTimeSeries.getItemCount() >= numberOfDays);
+
+		for (int i = 0; i < moneyVelocityTimeSeries.getItemCount(); i++) {
+			final RegularTimePeriod period = moneyVelocityTimeSeries.getTimePeriod(i);
+			final double moneyCirculation = moneyCirculationTimeSeries.getValue(period).doubleValue();
+			final double moneySupplyM1 = moneySupplyM1TimeSeries.getValue(period).doubleValue();
+			final double expectedMoneyVelocity = moneySupplyM1 == 0.0 ? 0.0 : moneyCirculation / moneySupplyM1;
+
+			assertEquals(expectedMoneyVelocity, moneyVelocityTimeSeries.getValue(i).doubleValue(), 0.0);
+		}
+	}
+
+	@Test
+	public void testCsvMetricsSink() throws IOException {
+		final MetricsSink metricsSink = new CsvMetricsSinkImpl(file, false);
+		addColumns(metricsSink);
+		ApplicationContext.getInstance().getModelRegistry().addMetricsSink(metricsSink);
+
+		nextDays(numberOfDays);
+		metricsSink.close();
+
+		final List<TimeSeries> timeSeries = getTimeSeries();
+
+		try (final BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+			assertEquals("period;M0;money velocity", reader.readLine());
+
+			int numberOfPeriods = 0;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				final String[] values = line.split(";");
+				final Day day = Day.parseDay(values[0]);
+
+				for (int i = 0; i < timeSeries.size(); i++) {
+					assertEquals(timeSeries.get(i).getValue(day).doubleValue(), Double.parseDouble(values[i + 1]),
+							0.0);
+				}
+				numberOfPeriods++;
+			}
+
+			assertEquals(numberOfDays, numberOfPeriods);
+		}
+	}
+
+	/**
+	 * each row of the weekly output has to end on a Sunday, except for the
+	 * trailing partial week written on close, and contain the means of the daily
+	 * values since the previous row
+	 */
+	@Test
+	public void testWeeklyMetricsSink() throws IOException {
+		final int numberOfWeeks = 3;
+		final MetricsSink metricsSink = new WeeklyMetricsSinkImpl(new CsvMetricsSinkImpl(file, false));
+		addColumns(metricsSink);
+		ApplicationContext.getInstance().getModelRegistry().addMetricsSink(metricsSink);
+
+		// periods completed before the sink has been added are not aggregated
+		final List<TimeSeries> timeSeries = getTimeSeries();
+		int item = timeSeries.get(0).getItemCount();
+
+		nextDays(numberOfWeeks * 7);
+		metricsSink.close();
+
+		final Calendar calendar = Calendar.getInstance(TimeSystemImpl.TIME_ZONE);
+
+		try (final BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+			assertEquals("period;M0;money velocity", reader.readLine());
+
+			final List<String> lines = new ArrayList<String>();
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line);
+			}
+
+			int numberOfSundays = 0;
+			for (int l = 0; l < lines.size(); l++) {
+				final String[] values = lines.get(l).split(";");
+				final Day day = Day.parseDay(values[0]);
+
+				calendar.setTime(day.getStart());
+				if (calendar.get(Calendar.DAY_OF_WEEK) == Calendar.SUNDAY) {
+					numberOfSundays++;
+				} else {
+					assertEquals(lines.size() - 1, l);
+				}
+
+				final double[] sums = new double[timeSeries.size()];
+				int numberOfDays = 0;
+				Day currentDay;
+				do {
+					currentDay = (Day) timeSeries.get(0).getTimePeriod(item);
+					for (int i = 0; i < timeSeries.size(); i++) {
+						sums[i] += timeSeries.get(i).getValue(currentDay).doubleValue();
+					}
+					numberOfDays++;
+					item++;
+				} while (!currentDay.equals(day));
+
+				for (int i = 0; i < timeSeries.size(); i++) {
+					assertEquals(sums[i] / numberOfDays, Double.parseDouble(values[i + 1]), epsilon);
+				}
+			}
+
+			assertEquals(numberOfWeeks, numberOfSundays);
+			// the trailing partial week is not dropped
+			assertEquals(timeSeries.get(0).getItemCount(), item);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.timeseries;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+
+import org.jfree.data.time.TimeSeries;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+
+public class PeriodDataTimeSeriesModelTest extends CompEconTestSupport {
+
+	protected void assertEqualsRingBuffer(final PeriodDataRingBuffer ringBuffer, final TimeSeries timeSeries) {
+		assertEquals(timeSeries.getItemCount(), ringBuffer.size());
+
+		for (int i = 0; i < ringBuffer.size(); i++) {
+			assertEquals(timeSeries.getTimePeriod(i), AbstractPeriodDataTimeSeriesModel.getDay(ringBuffer.getDate(i)));
+			assertEquals(timeSeries.getValue(i).doubleValue(), ringBuffer.getValue(i), epsilon);
+		}
+	}
+
+	protected void nextDay() {
+		for (int hour = 0; hour < 24; hour++) {
+			ApplicationContext.getInstance().getTimeSystem().nextHour();
+		}
+	}
+
+	@Before
+	public void setUp() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testRingBufferAgesLikeTimeSeries() {
+		final int maximumItemAge = 5;
+		final PeriodDataRingBuffer ringBuffer = new PeriodDataRingBuffer(maximumItemAge);
+		final TimeSeries timeSeries = new TimeSeries("test");
+		timeSeries.setMaximumItemAge(maximumItemAge);
+
+		for (int i = 0; i < 20; i++) {
+			final long date = ApplicationContext.getInstance().getTimeSystem().getCurrentDate().getTime();
+
+			// two values per day, of which the second one replaces the first one
+			for (int j = 0; j < 2; j++) {
+				ringBuffer.addOrUpdate(date, i + j);
+				timeSeries.addOrUpdate(AbstractPeriodDataTimeSeriesModel.getDay(date), i + j);
+			}
+
+			assertEqualsRingBuffer(ringBuffer, timeSeries);
+			assertEquals(i + 1.0, ringBuffer.getLatestValue(), epsilon);
+
+			nextDay();
+		}
+
+		assertEquals(maximumItemAge + 1, ringBuffer.size());
+	}
+
+	@Test
+	public void testTimeSeriesIsMaterialisedLazily() {
+		final PeriodDataAccumulatorTimeSeriesModel model = new PeriodDataAccumulatorTimeSeriesModel("test");
+
+		for (int i = 0; i < 3; i++) {
+			nextDay();
+			model.add(i);
+			model.nextPeriod();
+		}
+
+		assertNull(model.timeSeries);
+
+		// the materialised time series replays the recorded periods
+		final TimeSeries timeSeries = model.getTimeSeries();
+		assertEquals(4, timeSeries.getItemCount());
+		assertEqualsRingBuffer(model.getRingBuffer(), timeSeries);
+
+		// and is kept up to date afterwards
+		nextDay();
+		model.add(5.0);
+		model.nextPeriod();
+
+		assertEquals(5, timeSeries.getItemCount());
+		assertEquals(5.0, timeSeries.getValue(4).doubleValue(), epsilon);
+		assertEqualsRingBuffer(model.getRingBuffer(), timeSeries);
+	}
+}
@@ -0,0 +1,70 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.timesystem;
+
+import java.io.IOException;
+
+import io.github.uwol.compecon.CompEconBenchmarkSupport;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+
+/**
+ * Measures simulated hours per second on the interdependencies configuration
+ * with sequential and with parallel event execution. Parallel event execution
+ * runs one task per currency, hence the speedup is bounded by the number of
+ * currencies and requires as many cores.
+ */
+public class ParallelEventExecutionBenchmark extends CompEconBenchmarkSupport {
+
+	public static void main(final String[] args) throws IOException, InterruptedException {
+		new ParallelEventExecutionBenchmark().run();
+	}
+
+	protected final int numberOfHoursPerRound = 24;
+
+	protected void benchmark(final String name, final boolean parallelEventExecution) throws IOException {
+		ApplicationContextFactory.configureInMemoryApplicationContext("interdependencies.configuration.properties");
+		ApplicationContext.getInstance().getConfiguration().timeSystemConfig.parallelEventExecution = parallelEventExecution;
+		ApplicationContext.getInstance().getAgentFactory().constructAgentsFromConfiguration();
+
+		final TimeSystem timeSystem = ApplicationContext.getInstance().getTimeSystem();
+
+		final double nanosPerHour = measure(name + ": next hour", numberOfHoursPerRound, new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < numberOfHoursPerRound; i++) {
+					timeSystem.nextHour();
+				}
+			}
+		});
+
+		System.out.println(String.format("%-50s %12.1f hours/s", name, 1000000000.0 / nanosPerHour));
+
+		ApplicationContext.getInstance().getAgentFactory().deconstructAgents();
+		ApplicationContext.getInstance().reset();
+	}
+
+	protected void run() throws IOException {
+		System.out.println("available processors: " + Runtime.getRuntime().availableProcessors());
+
+		benchmark("sequential event execution", false);
+		benchmark("parallel event execution", true);
+	}
+}
@@ -0,0 +1,303 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.timesystem;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.timesystem.impl.DayType;
+import io.github.uwol.compecon.engine.timesystem.impl.HourType;
+import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
+import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
+import io.github.uwol.compecon.engine.timesystem.impl.YearImpl;
+
+public class TimeSystemImplTest extends CompEconTestSupport {
+
+	/**
+	 * records, that it has been triggered
+	 */
+	protected class RecordingEvent implements TimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public boolean isDeconstructed() {
+			return false;
+		}
+
+		@Override
+		public void onEvent() {
+			triggeredEvents.add(this);
+		}
+	}
+
+	/**
+	 * registers an event for every hour of the national economy of its currency,
+	 * when it is triggered first
+	 */
+	protected class RegisteringEvent extends RecordingEvent implements NationalEconomyTimeSystemEvent {
+
+		private static final long serialVersionUID = 1L;
+
+		protected final Currency currency;
+
+		protected final TimeSystemEvent registeredEvent = new RecordingEvent();
+
+		public RegisteringEvent(final Currency currency) {
+			this.currency = currency;
+		}
+
+		@Override
+		public Currency getCurrency() {
+			return currency;
+		}
+
+		@Override
+		public void onEvent() {
+			if (!triggeredEvents.contains(this)) {
+				ApplicationContext.getInstance().getTimeSystem().addEventForEveryHour(registeredEvent);
+			}
+			super.onEvent();
+		}
+	}
+
+	protected final int numberOfDays = 30;
+
+	protected final Set<TimeSystemEvent> triggeredEvents = Collections
+			.synchronizedSet(new HashSet<TimeSystemEvent>());
+
+	protected void addEvent(final Map<Integer, YearImpl> referenceYears, final TimeSystemEvent event, final int year,
+			final MonthType monthType, final DayType dayType, final HourType hourType) {
+		ApplicationContext.getInstance().getTimeSystem().addEvent(event, year, monthType, dayType, hourType);
+
+		if (!referenceYears.containsKey(year)) {
+			referenceYears.put(year, new YearImpl());
+		}
+		referenceYears.get(year).addEvent(event, monthType, dayType, hourType);
+	}
+
+	/**
+	 * @return marginal market prices and sorted bank account balances after the
+	 *         simulation of the given number of days with test agents.
+	 */
+	protected List<Double> simulate(final boolean parallelEventExecution) throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		ApplicationContext.getInstance().getConfiguration().timeSystemConfig.parallelEventExecution = parallelEventExecution;
+		super.setUpTestAgents();
+
+		for (int hour = 0; hour < numberOfDays * 24; hour++) {
+			ApplicationContext.getInstance().getTimeSystem().nextHour();
+		}
+
+		final List<Double> result = new ArrayList<Double>();
+		for (final Currency currency : Currency.values()) {
+			for (final GoodType goodType : GoodType.values()) {
+				result.add(ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(currency,
+						goodType));
+			}
+		}
+
+		// ids of agents constructed in parallel depend on the interleaving of
+		// tasks, hence balances are compared independent of the order of ids
+		final List<Double> balances = new ArrayList<Double>();
+		for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO().findAll()) {
+			balances.add(bankAccount.getBalance());
+		}
+		Collections.sort(balances);
+		result.addAll(balances);
+
+		super.tearDown();
+		return result;
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		ApplicationContext.getInstance().reset();
+	}
+
+	/**
+	 * date components advanced arithmetically have to match the calendar,
+	 * including leap years
+	 */
+	@Test
+	public void testDateComponentsEquivalentToGregorianCalendar() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+
+		final TimeSystem timeSystem = ApplicationContext.getInstance().getTimeSystem();
+		final GregorianCalendar gregorianCalendar = new GregorianCalendar(TimeSystemImpl.TIME_ZONE);
+		gregorianCalendar.setTime(timeSystem.getCurrentDate());
+
+		for (int hour = 0; hour < 5 * 366 * 24; hour++) {
+			timeSystem.nextHour();
+			gregorianCalendar.add(GregorianCalendar.HOUR_OF_DAY, 1);
+
+			assertEquals(hour + 1, timeSystem.getCurrentTick());
+			assertEquals(gregorianCalendar.get(GregorianCalendar.YEAR), timeSystem.getCurrentYear());
+			assertEquals(gregorianCalendar.get(GregorianCalendar.MONTH) + 1, timeSystem.getCurrentMonthNumberInYear());
+			assertEquals(MonthType.getMonthType(gregorianCalendar.get(GregorianCalendar.MONTH)),
+					timeSystem.getCurrentMonthType());
+			assertEquals(gregorianCalendar.get(GregorianCalendar.DAY_OF_MONTH),
+					timeSystem.getCurrentDayNumberInMonth());
+			assertEquals(DayType.getDayType(gregorianCalendar.get(GregorianCalendar.DAY_OF_MONTH)),
+					timeSystem.getCurrentDayType());
+			assertEquals(HourType.getHourType(gregorianCalendar.get(GregorianCalendar.HOUR_OF_DAY)),
+					timeSystem.getCurrentHourType());
+			assertEquals(gregorianCalendar.getTime(), timeSystem.getCurrentDate());
+		}
+
+		super.tearDown();
+	}
+
+	/**
+	 * the flat schedule of daily events combined with the tree of dated events
+	 * has to trigger the same events as a tree holding all registrations
+	 */
+	@Test
+	public void testEventScheduleEquivalentToTree() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+
+		final TimeSystem timeSystem = ApplicationContext.getInstance().getTimeSystem();
+		final Map<Integer, YearImpl> referenceYears = new HashMap<Integer, YearImpl>();
+		final List<TimeSystemEvent> events = new ArrayList<TimeSystemEvent>();
+		final Random random = new Random(0);
+
+		final int year = timeSystem.getCurrentYear();
+		final MonthType[] monthTypes = { MonthType.EVERY, MonthType.JANUARY, MonthType.FEBRUARY };
+		final DayType[] dayTypes = { DayType.EVERY, DayType.DAY_01, DayType.DAY_02, DayType.DAY_03 };
+
+		for (int i = 0; i < 200; i++) {
+			final TimeSystemEvent event = new RecordingEvent();
+			events.add(event);
+
+			// mostly daily events, some of them for every hour, and dated events
+			final HourType hourType = HourType.values()[random.nextInt(HourType.values().length)];
+			if (random.nextInt(4) > 0) {
+				addEvent(referenceYears, event, -1, MonthType.EVERY, DayType.EVERY, hourType);
+			} else {
+				addEvent(referenceYears, event, random.nextBoolean() ? -1 : year,
+						monthTypes[random.nextInt(monthTypes.length)], dayTypes[random.nextInt(dayTypes.length)],
+						hourType);
+			}
+
+			// some events are registered twice
+			if (random.nextInt(10) == 0) {
+				addEvent(referenceYears, event, -1, MonthType.EVERY, DayType.EVERY, HourType.EVERY);
+			}
+		}
+
+		for (int hour = 0; hour < 4 * 24; hour++) {
+			if (hour % 24 == 12) {
+				final Set<TimeSystemEvent> removedEvents = new HashSet<TimeSystemEvent>();
+				for (int i = 0; i < 10; i++) {
+					removedEvents.add(events.get(random.nextInt(events.size())));
+				}
+				timeSystem.removeEvents(removedEvents);
+				for (final YearImpl referenceYear : referenceYears.values()) {
+					referenceYear.removeEvents(removedEvents);
+				}
+			}
+
+			triggeredEvents.clear();
+			timeSystem.nextHour();
+
+			final Set<TimeSystemEvent> expectedEvents = new HashSet<TimeSystemEvent>();
+			for (final int referenceYear : new int[] { year, -1 }) {
+				if (referenceYears.containsKey(referenceYear)) {
+					expectedEvents.addAll(referenceYears.get(referenceYear).getEvents(timeSystem.getCurrentMonthType(),
+							timeSystem.getCurrentDayType(), timeSystem.getCurrentHourType()));
+				}
+			}
+
+			assertEquals(expectedEvents, triggeredEvents);
+		}
+
+		super.tearDown();
+	}
+
+	/**
+	 * events registered by tasks of national economies are scheduled after the
+	 * tasks have been joined, so that they are triggered from the next hour on
+	 */
+	@Test
+	public void testParallelEventExecutionBuffersScheduleChanges() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		ApplicationContext.getInstance().getConfiguration().timeSystemConfig.parallelEventExecution = true;
+
+		final TimeSystem timeSystem = ApplicationContext.getInstance().getTimeSystem();
+		final List<RegisteringEvent> registeringEvents = new ArrayList<RegisteringEvent>();
+
+		for (final Currency currency : Currency.values()) {
+			final RegisteringEvent registeringEvent = new RegisteringEvent(currency);
+			registeringEvents.add(registeringEvent);
+			timeSystem.addEventForEveryHour(registeringEvent);
+		}
+
+		timeSystem.nextHour();
+
+		for (final RegisteringEvent registeringEvent : registeringEvents) {
+			assertTrue(triggeredEvents.contains(registeringEvent));
+			assertFalse(triggeredEvents.contains(registeringEvent.registeredEvent));
+		}
+
+		timeSystem.nextHour();
+
+		for (final RegisteringEvent registeringEvent : registeringEvents) {
+			assertTrue(triggeredEvents.contains(registeringEvent.registeredEvent));
+		}
+
+		super.tearDown();
+	}
+
+	/**
+	 * parallel event execution has to yield the same results for the same seed
+	 */
+	@Test
+	public void testParallelEventExecutionIsReproducible() throws IOException {
+		final List<Double> expectedResult = simulate(true);
+		assertEquals(expectedResult, simulate(true));
+	}
+
+	@Test
+	public void testSequentialEventExecutionIsReproducible() throws IOException {
+		final List<Double> expectedResult = simulate(false);
+		assertEquals(expectedResult, simulate(false));
+	}
+}
@@ -0,0 +1,91 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.math;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.github.uwol.compecon.CompEconBenchmarkSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
+import io.github.uwol.compecon.math.impl.CESFunctionImpl;
+import io.github.uwol.compecon.math.impl.FunctionImpl;
+import io.github.uwol.compecon.math.price.PriceFunction;
+
+/**
+ * Compares the branch and bound search for output maximizing inputs with the
+ * range scan. The range scan is exponential in the number of input types and
+ * is measured for two input types only.
+ */
+public class BranchAndBoundBenchmark extends CompEconBenchmarkSupport {
+
+	public static void main(final String[] args) throws IOException {
+		new BranchAndBoundBenchmark().run();
+	}
+
+	protected final double budget = 10.0;
+
+	protected final int maxNumberOfInputTypesForRangeScan = 2;
+
+	protected void benchmark(final int numberOfInputTypes) {
+		final GoodType[] goodTypes = new GoodType[] { GoodType.KILOWATT, GoodType.WHEAT, GoodType.COAL,
+				GoodType.IRON };
+
+		final Map<GoodType, Double> coefficients = new HashMap<GoodType, Double>();
+		final Map<GoodType, PriceFunction> priceFunctions = new HashMap<GoodType, PriceFunction>();
+
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			coefficients.put(goodTypes[i], 1.0 / numberOfInputTypes);
+			priceFunctions.put(goodTypes[i], new FixedPriceFunctionImpl(1.0 + i));
+		}
+
+		final FunctionImpl<GoodType> function = new CESFunctionImpl<GoodType>(1.0, coefficients, -0.5, 0.4);
+
+		if (numberOfInputTypes <= maxNumberOfInputTypesForRangeScan) {
+			measure(numberOfInputTypes + " input types: range scan", 1, new Runnable() {
+				@Override
+				public void run() {
+					function.calculateOutputMaximizingInputsByRangeScan(priceFunctions, budget);
+				}
+			});
+		}
+
+		measure(numberOfInputTypes + " input types: branch and bound", 1, new Runnable() {
+			@Override
+			public void run() {
+				function.calculateOutputMaximizingInputsByBranchAndBound(priceFunctions, budget,
+						FunctionImpl.DEFAULT_BRANCH_AND_BOUND_TOLERANCE);
+			}
+		});
+	}
+
+	protected void run() throws IOException {
+		ApplicationContextFactory.configureInMemoryApplicationContext("testing.configuration.properties");
+
+		for (int numberOfInputTypes = 2; numberOfInputTypes <= 4; numberOfInputTypes++) {
+			benchmark(numberOfInputTypes);
+		}
+
+		ApplicationContext.getInstance().reset();
+	}
+}
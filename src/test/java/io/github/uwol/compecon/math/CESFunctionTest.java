@@ -20,10 +20,14 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.math;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Before;
@@ -36,12 +40,115 @@ import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
 import io.github.uwol.compecon.math.impl.CESFunctionImpl;
+import io.github.uwol.compecon.math.impl.FunctionImpl;
 import io.github.uwol.compecon.math.price.PriceFunction;
 
 public class CESFunctionTest extends CompEconTestSupport {
 
 	final int numberOfIterations = 500;
 
+	final int numberOfRandomMarkets = 40;
+
+	final double relativeBudgetTolerance = 0.000001;
+
+	/**
+	 * solves the budget problem for CES functions with random coefficients under
+	 * random multi-segment price step functions and asserts, that the budget is
+	 * spent, unless the markets are sold out, and that the output is not below
+	 * the output of branch and bound.
+	 *
+	 * @param complements if true, the substitution factor is > 0, else in ]-1,
+	 *                    0[.
+	 */
+	protected void assertPriceStepFunctionsSolutionIsOptimal(final boolean complements, final long seed) {
+		final Currency currency = Currency.EURO;
+		final GoodType[] goodTypes = new GoodType[] { GoodType.KILOWATT, GoodType.WHEAT, GoodType.COAL };
+		final List<Household> households = ApplicationContext.getInstance().getAgentService()
+				.findHouseholds(currency);
+		final Random random = new Random(seed);
+
+		for (int market = 0; market < numberOfRandomMarkets; market++) {
+			/*
+			 * prepare market with 1 to 5 offers per good type
+			 */
+			double costsOfAllOffers = 0.0;
+
+			for (final GoodType goodType : goodTypes) {
+				final int numberOfOffers = 1 + random.nextInt(5);
+
+				for (int offer = 0; offer < numberOfOffers; offer++) {
+					final Household household = households.get(random.nextInt(households.size()));
+					final double amount = 1.0 + random.nextInt(10);
+					final double pricePerUnit = 0.5 + random.nextInt(20) / 4.0;
+
+					ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodType, household,
+							household.getBankAccountTransactionsDelegate(), amount, pricePerUnit);
+					costsOfAllOffers += amount * pricePerUnit;
+				}
+			}
+
+			/*
+			 * prepare function
+			 */
+			final Map<GoodType, Double> coefficients = new HashMap<GoodType, Double>();
+			for (final GoodType goodType : goodTypes) {
+				coefficients.put(goodType, 0.1 + random.nextDouble());
+			}
+
+			final double substitutionFactor;
+			final double homogenityFactor;
+
+			if (complements) {
+				substitutionFactor = 0.1 + 2.0 * random.nextDouble();
+				homogenityFactor = 0.1 + 0.9 * random.nextDouble();
+			} else {
+				substitutionFactor = -0.1 - 0.8 * random.nextDouble();
+				homogenityFactor = -substitutionFactor * (0.1 + 0.8 * random.nextDouble());
+			}
+
+			final CESFunctionImpl<GoodType> cesFunction = new CESFunctionImpl<GoodType>(1.0, coefficients,
+					substitutionFactor, homogenityFactor);
+
+			/*
+			 * maximize output under budget restriction; some budgets exceed the
+			 * costs of all offers
+			 */
+			final Map<GoodType, PriceFunction> priceFunctions = ApplicationContext.getInstance().getMarketService()
+					.getMarketPriceFunctions(currency, goodTypes);
+			final double budget = 1.0 + 1.2 * costsOfAllOffers * random.nextDouble();
+
+			final Map<GoodType, Double> optimalInputsPriceStepFunctions = cesFunction
+					.calculateOutputMaximizingInputsWithPriceStepFunctions(priceFunctions, budget);
+			final Map<GoodType, Double> optimalInputsBranchAndBound = cesFunction
+					.calculateOutputMaximizingInputsByBranchAndBound(priceFunctions, budget,
+							FunctionImpl.DEFAULT_BRANCH_AND_BOUND_TOLERANCE);
+
+			/*
+			 * assert budget
+			 */
+			double costs = 0.0;
+			for (final Entry<GoodType, Double> inputEntry : optimalInputsPriceStepFunctions.entrySet()) {
+				if (inputEntry.getValue() > 0.0) {
+					costs += priceFunctions.get(inputEntry.getKey()).getPrice(inputEntry.getValue())
+							* inputEntry.getValue();
+				}
+			}
+
+			assertTrue(costs <= budget * (1.0 + relativeBudgetTolerance));
+			assertTrue(costs >= Math.min(budget, costsOfAllOffers) * (1.0 - relativeBudgetTolerance));
+
+			/*
+			 * assert output
+			 */
+			assertTrue(cesFunction.f(optimalInputsPriceStepFunctions) >= cesFunction.f(optimalInputsBranchAndBound)
+					* (1.0 - relativeBudgetTolerance));
+
+			for (final Household household : households) {
+				ApplicationContext.getInstance().getMarketService().removeAllSellingOffers(household);
+			}
+		}
+	}
+
 	@Before
 	public void setup() throws IOException {
 		super.setUpApplicationContext(testConfigurationPropertiesFilename);
@@ -91,6 +198,9 @@ public class CESFunctionTest extends CompEconTestSupport {
 		// takes some seconds for completion due to large solution space
 		final Map<GoodType, Double> optimalInputsBruteForce = cesFunction
 				.calculateOutputMaximizingInputsByRangeScan(priceFunctions, budget);
+		final Map<GoodType, Double> optimalInputsBranchAndBound = cesFunction
+				.calculateOutputMaximizingInputsByBranchAndBound(priceFunctions, budget,
+						FunctionImpl.DEFAULT_BRANCH_AND_BOUND_TOLERANCE);
 		final Map<GoodType, Double> optimalInputs = cesFunction.calculateOutputMaximizingInputs(priceFunctions, budget);
 
 		/*
@@ -107,6 +217,8 @@ public class CESFunctionTest extends CompEconTestSupport {
 					epsilon);
 			assertEquals(optimalInputsAnalyticalFixedPrices.get(goodType), optimalInputsBruteForce.get(goodType),
 					epsilon);
+			assertEquals(optimalInputsAnalyticalFixedPrices.get(goodType), optimalInputsBranchAndBound.get(goodType),
+					epsilon);
 			assertEquals(optimalInputsAnalyticalFixedPrices.get(goodType), optimalInputs.get(goodType), epsilon);
 		}
 
@@ -191,6 +303,11 @@ public class CESFunctionTest extends CompEconTestSupport {
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputsIterative, priceFunctions);
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputsBruteForce, priceFunctions);
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputs, priceFunctions);
+
+		/*
+		 * assert primitive kernel
+		 */
+		assertIterativeKernelEqualsReference(cesFunction, priceFunctions, budget, numberOfIterations);
 	}
 
 	@Test
@@ -256,6 +373,16 @@ public class CESFunctionTest extends CompEconTestSupport {
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputs, priceFunctions);
 	}
 
+	@Test
+	public void testCalculateForThreeGoodsWithRandomPriceStepFunctionsOfComplements() {
+		assertPriceStepFunctionsSolutionIsOptimal(true, 0);
+	}
+
+	@Test
+	public void testCalculateForThreeGoodsWithRandomPriceStepFunctionsOfSubstitutes() {
+		assertPriceStepFunctionsSolutionIsOptimal(false, 0);
+	}
+
 	@Test
 	public void testCalculateForTwoGoodsWithMarketPrices() {
 
@@ -309,6 +436,10 @@ public class CESFunctionTest extends CompEconTestSupport {
 				.calculateOutputMaximizingInputsIterative(priceFunctions, budget, numberOfIterations);
 		final Map<GoodType, Double> optimalInputsBruteForce = cesFunction
 				.calculateOutputMaximizingInputsByRangeScan(priceFunctions, budget);
+		final Map<GoodType, Double> optimalInputsBranchAndBound = cesFunction
+				.calculateOutputMaximizingInputsByBranchAndBound(priceFunctions, budget,
+						FunctionImpl.DEFAULT_BRANCH_AND_BOUND_TOLERANCE);
+		final Map<GoodType, Double> optimalInputs = cesFunction.calculateOutputMaximizingInputs(priceFunctions, budget);
 
 		/*
 		 * assert inputs
@@ -316,11 +447,14 @@ public class CESFunctionTest extends CompEconTestSupport {
 		for (final GoodType goodType : optimalInputsAnalytical.keySet()) {
 			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsIterative.get(goodType), epsilon);
 			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsBruteForce.get(goodType), epsilon);
+			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsBranchAndBound.get(goodType), epsilon);
+			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputs.get(goodType), epsilon);
 		}
 
 		/*
 		 * assert output
 		 */
+		assertOutputIsOptimalUnderBudget(cesFunction, budget, priceFunctions, optimalInputs);
 
 		/*
 		 * assert marginal outputs
@@ -328,5 +462,10 @@ public class CESFunctionTest extends CompEconTestSupport {
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputsAnalytical, priceFunctions);
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputsIterative, priceFunctions);
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputsBruteForce, priceFunctions);
+
+		/*
+		 * assert primitive kernel
+		 */
+		assertIterativeKernelEqualsReference(cesFunction, priceFunctions, budget, numberOfIterations);
 	}
 }
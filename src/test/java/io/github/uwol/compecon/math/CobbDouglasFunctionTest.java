@@ -36,6 +36,7 @@ import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
 import io.github.uwol.compecon.math.impl.CobbDouglasFunctionImpl;
+import io.github.uwol.compecon.math.impl.FunctionImpl;
 import io.github.uwol.compecon.math.price.PriceFunction;
 
 public class CobbDouglasFunctionTest extends CompEconTestSupport {
@@ -136,6 +137,11 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 		 * assert marginal outputs
 		 */
 		assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsIterative, priceFunctions);
+
+		/*
+		 * assert primitive kernel
+		 */
+		assertIterativeKernelEqualsReference(cobbDouglasFunction, priceFunctions, budget, numberOfIterations);
 	}
 
 	@Test
@@ -350,6 +356,9 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 				.calculateOutputMaximizingInputsIterative(priceFunctions, budget, numberOfIterations);
 		final Map<GoodType, Double> optimalInputsBruteForce = cobbDouglasFunction
 				.calculateOutputMaximizingInputsByRangeScan(priceFunctions, budget);
+		final Map<GoodType, Double> optimalInputsBranchAndBound = cobbDouglasFunction
+				.calculateOutputMaximizingInputsByBranchAndBound(priceFunctions, budget,
+						FunctionImpl.DEFAULT_BRANCH_AND_BOUND_TOLERANCE);
 
 		/*
 		 * assert inputs
@@ -357,6 +366,7 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 		for (final GoodType goodType : optimalInputsAnalytical.keySet()) {
 			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsIterative.get(goodType), epsilon);
 			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsBruteForce.get(goodType), epsilon);
+			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsBranchAndBound.get(goodType), epsilon);
 		}
 
 		/*
@@ -369,6 +379,11 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 		assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsAnalytical, priceFunctions);
 		assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsIterative, priceFunctions);
 		assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsBruteForce, priceFunctions);
+
+		/*
+		 * assert primitive kernel
+		 */
+		assertIterativeKernelEqualsReference(cobbDouglasFunction, priceFunctions, budget, numberOfIterations);
 	}
 
 	@Test
@@ -447,5 +462,10 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 		assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsAnalytical, priceFunctions);
 		assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsIterative, priceFunctions);
 		assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsBruteForce, priceFunctions);
+
+		/*
+		 * assert primitive kernel
+		 */
+		assertIterativeKernelEqualsReference(cobbDouglasFunction, priceFunctions, budget, numberOfIterations);
 	}
 }
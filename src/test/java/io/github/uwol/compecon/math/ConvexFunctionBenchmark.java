@@ -0,0 +1,91 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.math;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.github.uwol.compecon.CompEconBenchmarkSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
+import io.github.uwol.compecon.math.impl.CESFunctionImpl;
+import io.github.uwol.compecon.math.impl.CobbDouglasFunctionImpl;
+import io.github.uwol.compecon.math.impl.ConvexFunctionImpl;
+import io.github.uwol.compecon.math.price.PriceFunction;
+
+/**
+ * Compares the iterative calculation of output maximizing inputs over primitive
+ * arrays with the map based reference implementation.
+ */
+public class ConvexFunctionBenchmark extends CompEconBenchmarkSupport {
+
+	public static void main(final String[] args) throws IOException {
+		new ConvexFunctionBenchmark().run();
+	}
+
+	protected final double budget = 1000.0;
+
+	protected final int numberOfIterations = 500;
+
+	protected void benchmark(final String name, final ConvexFunctionImpl<GoodType> function,
+			final Map<GoodType, PriceFunction> priceFunctions) {
+		final double initializationValue = ApplicationContext.getInstance().getConfiguration().mathConfig
+				.getInitializationValue();
+
+		measure(name + ": iterative with maps", 1, new Runnable() {
+			@Override
+			public void run() {
+				ConvexFunctionReference.calculateOutputMaximizingInputsIterativeWithMaps(function, priceFunctions,
+						budget, numberOfIterations, initializationValue);
+			}
+		});
+
+		measure(name + ": iterative with arrays", 1, new Runnable() {
+			@Override
+			public void run() {
+				function.calculateOutputMaximizingInputsIterative(priceFunctions, budget, numberOfIterations);
+			}
+		});
+	}
+
+	protected void run() throws IOException {
+		ApplicationContextFactory.configureInMemoryApplicationContext("testing.configuration.properties");
+
+		final GoodType[] goodTypes = new GoodType[] { GoodType.KILOWATT, GoodType.WHEAT, GoodType.COAL,
+				GoodType.IRON };
+
+		final Map<GoodType, Double> coefficients = new HashMap<GoodType, Double>();
+		final Map<GoodType, PriceFunction> priceFunctions = new HashMap<GoodType, PriceFunction>();
+
+		for (int i = 0; i < goodTypes.length; i++) {
+			coefficients.put(goodTypes[i], 1.0 / goodTypes.length);
+			priceFunctions.put(goodTypes[i], new FixedPriceFunctionImpl(1.0 + i));
+		}
+
+		benchmark("CobbDouglasFunctionImpl", new CobbDouglasFunctionImpl<GoodType>(1.0, coefficients),
+				priceFunctions);
+		benchmark("CESFunctionImpl", new CESFunctionImpl<GoodType>(1.0, coefficients, -0.5, 0.4), priceFunctions);
+
+		ApplicationContext.getInstance().reset();
+	}
+}
@@ -35,6 +35,7 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
+import io.github.uwol.compecon.math.impl.CobbDouglasFunctionImpl;
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.production.impl.CobbDouglasProductionFunctionImpl;
 
@@ -233,4 +234,43 @@ public class CobbDouglasProductionFunctionTest extends CompEconTestSupport {
 				cobbDouglasProductionFunction.calculateMarginalOutput(optimalInputsIterative, GoodType.MACHINE),
 				epsilon);
 	}
+
+	@Test
+	public void testSetProductivityOfSharedFunction() {
+		/*
+		 * prepare functions
+		 */
+		final Map<GoodType, Double> exponents = new HashMap<GoodType, Double>();
+		exponents.put(GoodType.KILOWATT, 0.4);
+		exponents.put(GoodType.WHEAT, 0.6);
+		final CobbDouglasFunctionImpl<GoodType> sharedFunction = new CobbDouglasFunctionImpl<GoodType>(1.0,
+				exponents);
+
+		final CobbDouglasProductionFunctionImpl cobbDouglasProductionFunction1 = new CobbDouglasProductionFunctionImpl(
+				sharedFunction);
+		final CobbDouglasProductionFunctionImpl cobbDouglasProductionFunction2 = new CobbDouglasProductionFunctionImpl(
+				sharedFunction);
+
+		final Map<GoodType, Double> bundleOfInputs = new HashMap<GoodType, Double>();
+		bundleOfInputs.put(GoodType.KILOWATT, 4.0);
+		bundleOfInputs.put(GoodType.WHEAT, 3.0);
+
+		/*
+		 * change productivity of one production function
+		 */
+		cobbDouglasProductionFunction1.setProductivity(2.0);
+
+		/*
+		 * assert productivity
+		 */
+		assertEquals(2.0, cobbDouglasProductionFunction1.getProductivity(), epsilon);
+		assertEquals(1.0, cobbDouglasProductionFunction2.getProductivity(), epsilon);
+		assertEquals(1.0, sharedFunction.getCoefficient(), epsilon);
+
+		/*
+		 * assert output
+		 */
+		assertEquals(6.73173, cobbDouglasProductionFunction1.calculateOutput(bundleOfInputs), epsilon);
+		assertEquals(3.36586, cobbDouglasProductionFunction2.calculateOutput(bundleOfInputs), epsilon);
+	}
 }
@@ -20,7 +20,9 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.math.utility;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,9 +30,11 @@ import org.junit.Test;
 
 import io.github.uwol.compecon.CompEconTestSupport;
 import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.utility.impl.CobbDouglasUtilityFunctionImpl;
+import io.github.uwol.compecon.math.utility.impl.OptimalBundleCache;
 
 public class CobbDouglasUtilityFunctionTest extends CompEconTestSupport {
 
@@ -71,4 +75,79 @@ public class CobbDouglasUtilityFunctionTest extends CompEconTestSupport {
 		assertEquals(0.673173, cobbDouglasUtilityFunction.calculateMarginalUtility(optimalInputs, GoodType.WHEAT),
 				epsilon);
 	}
+
+	@Test
+	public void testCalculateUtilityMaximizingInputsFromCache() {
+		/*
+		 * prepare cache of the application context
+		 */
+		final OptimalBundleCache optimalBundleCache = new OptimalBundleCache(OptimalBundleCache.DEFAULT_CAPACITY,
+				OptimalBundleCache.DEFAULT_PRICE_PRECISION_BITS);
+		ApplicationContext.getInstance().setOptimalBundleCache(optimalBundleCache);
+
+		/*
+		 * prepare function
+		 */
+		final Map<GoodType, Double> preferences = new HashMap<GoodType, Double>();
+		preferences.put(GoodType.KILOWATT, 0.4);
+		preferences.put(GoodType.WHEAT, 0.6);
+		final CobbDouglasUtilityFunctionImpl cobbDouglasUtilityFunction = new CobbDouglasUtilityFunctionImpl(1.0,
+				preferences);
+
+		/*
+		 * maximize output under budget restriction -> miss
+		 */
+		final Map<GoodType, PriceFunction> prices = new HashMap<GoodType, PriceFunction>();
+		prices.put(GoodType.KILOWATT, new FixedPriceFunctionImpl(1.0));
+		prices.put(GoodType.WHEAT, new FixedPriceFunctionImpl(2.0));
+
+		cobbDouglasUtilityFunction.calculateUtilityMaximizingInputs(prices, 10.0);
+
+		assertEquals(0, optimalBundleCache.getNumberOfHits());
+		assertEquals(1, optimalBundleCache.getNumberOfMisses());
+
+		/*
+		 * identical prices and scaled budget -> hit, scaled bundle of inputs
+		 */
+		final Map<GoodType, PriceFunction> identicalPrices = new HashMap<GoodType, PriceFunction>();
+		identicalPrices.put(GoodType.KILOWATT, new FixedPriceFunctionImpl(1.0));
+		identicalPrices.put(GoodType.WHEAT, new FixedPriceFunctionImpl(2.0));
+
+		final Map<GoodType, Double> optimalInputs = cobbDouglasUtilityFunction
+				.calculateUtilityMaximizingInputs(identicalPrices, 20.0);
+		assertEquals(8.0, optimalInputs.get(GoodType.KILOWATT), epsilon);
+		assertEquals(6.0, optimalInputs.get(GoodType.WHEAT), epsilon);
+
+		assertEquals(1, optimalBundleCache.getNumberOfHits());
+		assertEquals(1, optimalBundleCache.getNumberOfMisses());
+
+		/*
+		 * different prices -> miss
+		 */
+		final Map<GoodType, PriceFunction> differentPrices = new HashMap<GoodType, PriceFunction>();
+		differentPrices.put(GoodType.KILOWATT, new FixedPriceFunctionImpl(2.0));
+		differentPrices.put(GoodType.WHEAT, new FixedPriceFunctionImpl(2.0));
+
+		final Map<GoodType, Double> differentOptimalInputs = cobbDouglasUtilityFunction
+				.calculateUtilityMaximizingInputs(differentPrices, 10.0);
+		assertEquals(2.0, differentOptimalInputs.get(GoodType.KILOWATT), epsilon);
+		assertEquals(3.0, differentOptimalInputs.get(GoodType.WHEAT), epsilon);
+
+		assertEquals(1, optimalBundleCache.getNumberOfHits());
+		assertEquals(2, optimalBundleCache.getNumberOfMisses());
+
+		ApplicationContext.getInstance().reset();
+	}
+
+	/**
+	 * the optimal bundle cache is disabled by default
+	 */
+	@Test
+	public void testNoOptimalBundleCacheByDefault() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+
+		assertNull(ApplicationContext.getInstance().getOptimalBundleCache());
+
+		ApplicationContext.getInstance().reset();
+	}
 }
@@ -0,0 +1,189 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.sweep;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.engine.applicationcontext.Configuration;
+
+public class ParameterSweepTest extends CompEconTestSupport {
+
+	/**
+	 * counts the executed runs
+	 */
+	protected class CountingParameterSweep extends ParameterSweep {
+
+		protected final AtomicInteger numberOfExecutedRuns = new AtomicInteger();
+
+		public CountingParameterSweep(final File resultsFile) {
+			super(testConfigurationPropertiesFilename, resultsFile);
+			addParameter(new SweepParameter("pricingBehaviourConfig.defaultPriceChangeIncrementExplicit", 0.1, 0.2));
+			setDesign(SweepDesign.Grid);
+			setNumberOfSamples(2);
+			setNumberOfRepetitions(2);
+			setNumberOfDays(2);
+			setNumberOfThreads(2);
+		}
+
+		@Override
+		protected double[] simulate(final SweepRun run) throws IOException {
+			numberOfExecutedRuns.incrementAndGet();
+			return super.simulate(run);
+		}
+	}
+
+	protected void assertRefused(final CountingParameterSweep parameterSweep)
+			throws IOException, InterruptedException, ExecutionException {
+		try {
+			parameterSweep.run();
+			fail();
+		} catch (final IllegalStateException e) {
+		}
+		assertEquals(0, parameterSweep.numberOfExecutedRuns.get());
+	}
+
+	@Test
+	public void testGridDesign() {
+		final List<double[]> points = SweepDesign.Grid.createPoints(2, 3, new Random(0));
+
+		assertEquals(9, points.size());
+		assertArrayEquals(new double[] { 0.0, 0.0 }, points.get(0), epsilon);
+		assertArrayEquals(new double[] { 0.0, 0.5 }, points.get(1), epsilon);
+		assertArrayEquals(new double[] { 1.0, 1.0 }, points.get(8), epsilon);
+	}
+
+	/**
+	 * each parameter has exactly one point in each stratum
+	 */
+	@Test
+	public void testLatinHypercubeDesign() {
+		final int numberOfSamples = 10;
+		final List<double[]> points = SweepDesign.LatinHypercube.createPoints(3, numberOfSamples, new Random(0));
+
+		assertEquals(numberOfSamples, points.size());
+
+		for (int j = 0; j < 3; j++) {
+			final boolean[] strata = new boolean[numberOfSamples];
+			for (final double[] point : points) {
+				final int stratum = (int) (point[j] * numberOfSamples);
+				assertTrue(!strata[stratum]);
+				strata[stratum] = true;
+			}
+		}
+	}
+
+	/**
+	 * results of a sweep with a different seed or different parameters must not
+	 * be resumed
+	 */
+	@Test
+	public void testResumeOfDifferentSweepIsRefused() throws IOException, InterruptedException, ExecutionException {
+		final File resultsFile = File.createTempFile("sweep", ".csv");
+
+		try {
+			final CountingParameterSweep parameterSweep = new CountingParameterSweep(resultsFile);
+			Files.write(resultsFile.toPath(), (parameterSweep.getDescription() + "\n" + parameterSweep.getHeader()
+					+ "\n0,0,0,0.1,1,2,3,4,5,6,7,8,9\n").getBytes(StandardCharsets.UTF_8));
+
+			final CountingParameterSweep sweepWithDifferentSeed = new CountingParameterSweep(resultsFile);
+			sweepWithDifferentSeed.setSeed(1);
+			assertRefused(sweepWithDifferentSeed);
+
+			final CountingParameterSweep sweepWithDifferentRange = new CountingParameterSweep(resultsFile);
+			sweepWithDifferentRange.parameters.set(0,
+					new SweepParameter("pricingBehaviourConfig.defaultPriceChangeIncrementExplicit", 0.1, 0.3));
+			assertRefused(sweepWithDifferentRange);
+
+			// the description matches, but run 0 has been written with another value
+			Files.write(resultsFile.toPath(), (parameterSweep.getDescription() + "\n" + parameterSweep.getHeader()
+					+ "\n0,0,0,0.15,1,2,3,4,5,6,7,8,9\n").getBytes(StandardCharsets.UTF_8));
+			assertRefused(new CountingParameterSweep(resultsFile));
+		} finally {
+			resultsFile.delete();
+		}
+	}
+
+	/**
+	 * a resumed sweep executes only the runs missing in the results file
+	 */
+	@Test
+	public void testResumeInterruptedSweep() throws IOException, InterruptedException, ExecutionException {
+		final File resultsFile = File.createTempFile("sweep", ".csv");
+		resultsFile.delete();
+
+		try {
+			final CountingParameterSweep parameterSweep = new CountingParameterSweep(resultsFile);
+			final List<SweepRun> runs = parameterSweep.run();
+
+			assertEquals(4, parameterSweep.numberOfExecutedRuns.get());
+			final List<String> lines = Files.readAllLines(resultsFile.toPath(), StandardCharsets.UTF_8);
+			assertEquals(6, lines.size());
+
+			// interrupt the sweep during the write of the last run
+			final String lastLine = lines.remove(lines.size() - 1);
+			final int interruptedRunNumber = Integer.parseInt(lastLine.split(",")[0]);
+			final StringBuilder content = new StringBuilder();
+			for (final String line : lines) {
+				content.append(line).append("\n");
+			}
+			content.append(lastLine.substring(0, lastLine.length() / 2));
+			Files.write(resultsFile.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+
+			final CountingParameterSweep resumedParameterSweep = new CountingParameterSweep(resultsFile);
+			final List<SweepRun> resumedRuns = resumedParameterSweep.run();
+
+			assertEquals(1, resumedParameterSweep.numberOfExecutedRuns.get());
+			for (int i = 0; i < runs.size(); i++) {
+				assertArrayEquals(runs.get(i).getMetrics(), resumedRuns.get(i).getMetrics(), epsilon);
+			}
+			assertArrayEquals(runs.get(interruptedRunNumber).getParameterValues(),
+					resumedRuns.get(interruptedRunNumber).getParameterValues(), epsilon);
+		} finally {
+			resultsFile.delete();
+		}
+	}
+
+	@Test
+	public void testSweepParameterAppliedToConfiguration() throws IOException {
+		final Configuration configuration = new Configuration(testConfigurationPropertiesFilename);
+
+		new SweepParameter("pricingBehaviourConfig.defaultPriceChangeIncrementExplicit", 0.0, 1.0)
+				.apply(configuration, 0.3);
+		new SweepParameter("timeSystemConfig.initializationPhaseInDays", 0, 100).apply(configuration, 41.6);
+
+		assertEquals(0.3, configuration.pricingBehaviourConfig.getDefaultPriceChangeIncrementExplicit(), epsilon);
+		assertEquals(42, configuration.timeSystemConfig.getInitializationPhaseInDays());
+	}
+}